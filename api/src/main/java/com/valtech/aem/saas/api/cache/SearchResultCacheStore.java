@@ -0,0 +1,36 @@
+package com.valtech.aem.saas.api.cache;
+
+import lombok.NonNull;
+
+import java.util.Optional;
+
+/**
+ * Service provider interface storing the cached search and autocomplete results as opaque bytes, behind the in-memory
+ * result caches of each instance. A store shared by all publish instances, for example a network key value store,
+ * lets every instance reuse the results fetched by the others.
+ * <p>
+ * Stores are called on request threads, hence they should answer quickly and fail fast: a lookup that fails is
+ * treated as a miss, a put that fails is ignored. If several stores are registered, the one with the highest service
+ * ranking is used.
+ */
+public interface SearchResultCacheStore {
+
+    /**
+     * Gets a stored value.
+     *
+     * @param cacheName name of the cache the value belongs to.
+     * @param key       key of the value within the cache.
+     * @return the stored value, or empty if it is missing or expired.
+     */
+    Optional<byte[]> get(@NonNull String cacheName, @NonNull String key);
+
+    /**
+     * Stores a value, replacing the existing one for the same key.
+     *
+     * @param cacheName        name of the cache the value belongs to.
+     * @param key              key of the value within the cache.
+     * @param value            the value.
+     * @param timeToLiveMillis time in milliseconds after which the value expires.
+     */
+    void put(@NonNull String cacheName, @NonNull String key, @NonNull byte[] value, long timeToLiveMillis);
+}
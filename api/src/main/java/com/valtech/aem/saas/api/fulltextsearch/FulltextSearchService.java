@@ -2,11 +2,13 @@ package com.valtech.aem.saas.api.fulltextsearch;
 
 import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.SearchQueryResultDTO;
 import com.valtech.aem.saas.api.query.Filter;
 import com.valtech.aem.saas.api.query.Sort;
 import java.util.List;
 import lombok.NonNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
@@ -132,7 +134,7 @@ public interface FulltextSearchService {
      * @return search results object
      */
     @SuppressWarnings("java:S107")
-    Optional<FulltextSearchResultsDTO> getResults(
+    default Optional<FulltextSearchResultsDTO> getResults(
             @NonNull SearchCAConfigurationModel searchConfiguration,
             String searchText,
             @NonNull String language,
@@ -140,7 +142,9 @@ public interface FulltextSearchService {
             int rows,
             Set<Filter> filters,
             Set<String> facets,
-            String template);
+            String template) {
+        return getResults(searchConfiguration, searchText, language, start, rows, filters, facets, false, template);
+    }
 
     /**
      * @param searchConfiguration   sling model accessing context aware search configurations (i.e client and index).
@@ -154,8 +158,7 @@ public interface FulltextSearchService {
      * @param template              a template to filter by.
      * @return search results object
      */
-
-    Optional<FulltextSearchResultsDTO> getResults(//NOSONAR
+    default Optional<FulltextSearchResultsDTO> getResults(//NOSONAR
             @NonNull SearchCAConfigurationModel searchConfiguration,
             String searchText,
             @NonNull String language,
@@ -164,7 +167,10 @@ public interface FulltextSearchService {
             Set<Filter> filters,
             Set<String> facets,
             boolean disableContextFilters,
-            String template);
+            String template) {
+        return getResults(searchConfiguration, searchText, language, start, rows, filters, facets,
+                          disableContextFilters, template, null);
+    }
 
     /**
      * @param searchConfiguration   sling model accessing context aware search configurations (i.e client and index).
@@ -191,4 +197,54 @@ public interface FulltextSearchService {
             boolean disableContextFilters,
             String template,
             List<Pair<String, Sort>> sortParameters);
+
+    /**
+     * Gets search results for the specified query.
+     *
+     * @param searchConfiguration sling model accessing context aware search configurations (i.e client and index).
+     * @param querySpec           the query specification.
+     * @return search results object
+     */
+    default Optional<FulltextSearchResultsDTO> getResults(
+            @NonNull SearchCAConfigurationModel searchConfiguration,
+            @NonNull SearchQuerySpec querySpec) {
+        return getResults(searchConfiguration,
+                          querySpec.getSearchText(),
+                          querySpec.getLanguage(),
+                          querySpec.getStart(),
+                          querySpec.getRows(),
+                          querySpec.getFilters(),
+                          querySpec.getFacets(),
+                          querySpec.isDisableContextFilters(),
+                          querySpec.getTemplate(),
+                          querySpec.getSortParameters());
+    }
+
+    /**
+     * Gets search results for several queries at once, e.g. the result counts of all the tabs of a search page. The
+     * default implementation executes the queries one after another; the implementation of the module executes them
+     * concurrently and identical queries only once.
+     *
+     * @param searchConfiguration sling model accessing context aware search configurations (i.e client and index).
+     * @param querySpecs          the query specifications.
+     * @return one entry per query specification, in the same order, holding either the results or the error that
+     * prevented retrieving them.
+     */
+    default List<SearchQueryResultDTO> getResultsBatch(
+            @NonNull SearchCAConfigurationModel searchConfiguration,
+            @NonNull List<SearchQuerySpec> querySpecs) {
+        List<SearchQueryResultDTO> batchResults = new ArrayList<>(querySpecs.size());
+        for (SearchQuerySpec querySpec : querySpecs) {
+            SearchQueryResultDTO.SearchQueryResultDTOBuilder builder = SearchQueryResultDTO.builder().query(querySpec);
+            if (querySpec == null) {
+                batchResults.add(builder.error("Query specification is null.").build());
+                continue;
+            }
+            batchResults.add(getResults(searchConfiguration, querySpec).map(builder::results)
+                                                                        .orElseGet(() -> builder.error(
+                                                                                "No search results retrieved."))
+                                                                        .build());
+        }
+        return batchResults;
+    }
 }
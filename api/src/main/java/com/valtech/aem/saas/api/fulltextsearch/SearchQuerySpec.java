@@ -0,0 +1,70 @@
+package com.valtech.aem.saas.api.fulltextsearch;
+
+import com.valtech.aem.saas.api.query.Filter;
+import com.valtech.aem.saas.api.query.Sort;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Value object specifying a single fulltext search query: a results page of a tab, a facet query or a plain count
+ * query (zero rows). Specs are immutable and compare by value, so equal specs describe the same search request.
+ */
+@Value
+@Builder(toBuilder = true)
+public class SearchQuerySpec {
+
+    /**
+     * Full text query value. Blank queries match all documents.
+     */
+    String searchText;
+
+    /**
+     * Full text search language scope.
+     */
+    @NonNull
+    String language;
+
+    /**
+     * Offset of the first result.
+     */
+    int start;
+
+    /**
+     * Number of results to retrieve. Zero retrieves only the total results count (and facets).
+     */
+    int rows;
+
+    /**
+     * Additional filters of type SimpleFilter or CompositeFilter.
+     */
+    @Singular
+    Set<Filter> filters;
+
+    /**
+     * Facet field names.
+     */
+    @Singular
+    Set<String> facets;
+
+    /**
+     * Flag to disable the filters configured in context aware configuration.
+     */
+    boolean disableContextFilters;
+
+    /**
+     * A template to filter by.
+     */
+    String template;
+
+    /**
+     * Field - sort direction parameters used for sorting of results.
+     */
+    @Singular
+    List<Pair<String, Sort>> sortParameters;
+}
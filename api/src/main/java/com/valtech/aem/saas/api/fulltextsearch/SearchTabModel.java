@@ -73,4 +73,13 @@ public interface SearchTabModel {
         return null;
     }
 
+    /**
+     * Tells whether the results are outdated cached results, served because the search service failed.
+     *
+     * @return true if the results are stale.
+     */
+    default boolean isStale() {
+        return false;
+    }
+
 }
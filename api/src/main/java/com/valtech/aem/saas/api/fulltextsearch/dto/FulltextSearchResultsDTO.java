@@ -9,7 +9,7 @@ import java.util.List;
 /**
  * Value object representing the fulltext search results data.
  */
-@Builder
+@Builder(toBuilder = true)
 @Value
 public class FulltextSearchResultsDTO {
 
@@ -24,4 +24,9 @@ public class FulltextSearchResultsDTO {
 
     @Singular
     List<FacetFieldResultsDTO> facetFieldsResults;
+
+    /**
+     * True if the results are outdated cached results, served because the search request failed.
+     */
+    boolean stale;
 }
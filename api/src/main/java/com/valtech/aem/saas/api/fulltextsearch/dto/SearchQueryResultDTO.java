@@ -0,0 +1,24 @@
+package com.valtech.aem.saas.api.fulltextsearch.dto;
+
+import com.valtech.aem.saas.api.fulltextsearch.SearchQuerySpec;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Value object representing the outcome of a single query of a batch. It holds either the query results, or the error
+ * that prevented retrieving them.
+ */
+@Value
+@Builder
+public class SearchQueryResultDTO {
+
+    SearchQuerySpec query;
+
+    FulltextSearchResultsDTO results;
+
+    String error;
+
+    public boolean isSuccess() {
+        return results != null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.valtech.aem.saas.api.indexing;
+
+import com.day.cq.wcm.api.Page;
+import com.valtech.aem.saas.api.indexing.dto.ExtractedContentDTO;
+import lombok.NonNull;
+
+import java.util.Optional;
+
+/**
+ * Service provider interface extracting the indexed content of a page inside AEM, so that the content is pushed to
+ * SaaS instead of being crawled. Implementations register as OSGi services and list the resource types of the page
+ * content they handle in the {@link #PROPERTY_RESOURCE_TYPES} service property. Resource super types are taken into
+ * account; if several extractors handle a page, the one with the highest service ranking is used. Pages without a
+ * matching extractor are handled by the core implementation, which collects the text properties of the page content.
+ */
+public interface ContentExtractor {
+
+    /**
+     * Service property listing the resource types handled by the extractor.
+     */
+    String PROPERTY_RESOURCE_TYPES = "saas.contentExtractor.resourceTypes";
+
+    /**
+     * Extracts the indexed content of the page.
+     *
+     * @param page the page.
+     * @return the extracted content, or empty if the page should be crawled by SaaS instead.
+     */
+    Optional<ExtractedContentDTO> extract(@NonNull Page page);
+}
@@ -1,10 +1,17 @@
 package com.valtech.aem.saas.api.indexing;
 
 import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentsResultDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateItemDTO;
 import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResultDTO;
 import lombok.NonNull;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for indexing content on SaaS admin.
@@ -39,4 +46,69 @@ public interface IndexUpdateService {
      */
     Optional<IndexUpdateResponseDTO> indexContent(@NonNull IndexContentPayloadDTO indexContentPayloadDto);
 
+    /**
+     * Schedules 'add index content' jobs for multiple urls. The default implementation submits the items one by one.
+     *
+     * @param items urls and repository paths of the content that will be indexed.
+     * @return the result of each item, in the order of the items.
+     */
+    default List<IndexUpdateResultDTO> indexUrls(@NonNull List<IndexUpdateItemDTO> items) {
+        return items.stream()
+                    .map(item -> toResult(item, indexUrl(item.getUrl(), item.getRepositoryPath())))
+                    .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds 'delete index' jobs for multiple urls. The default implementation submits the items one by one.
+     *
+     * @param items urls and repository paths of the content that will be removed from indexed data.
+     * @return the result of each item, in the order of the items.
+     */
+    default List<IndexUpdateResultDTO> deleteIndexedUrls(@NonNull List<IndexUpdateItemDTO> items) {
+        return items.stream()
+                    .map(item -> toResult(item, deleteIndexedUrl(item.getUrl(), item.getRepositoryPath())))
+                    .collect(Collectors.toList());
+    }
+
+    /**
+     * Pushes multiple documents to the index. The stream is consumed lazily, so that the documents need not be held in
+     * memory all at once. The default implementation pushes the documents one by one.
+     *
+     * @param indexContentPayloadDtos the documents to be indexed.
+     * @return summary of the push, listing the failed documents.
+     */
+    default IndexContentsResultDTO indexContents(@NonNull Stream<IndexContentPayloadDTO> indexContentPayloadDtos) {
+        IndexContentsResultDTO.IndexContentsResultDTOBuilder result = IndexContentsResultDTO.builder();
+        int total = 0;
+        int succeeded = 0;
+        for (Iterator<IndexContentPayloadDTO> iterator = indexContentPayloadDtos.iterator(); iterator.hasNext(); ) {
+            IndexContentPayloadDTO payload = iterator.next();
+            IndexUpdateResultDTO itemResult = toResult(new IndexUpdateItemDTO(payload.getUrl(),
+                                                                              payload.getRepositoryPath()),
+                                                       indexContent(payload));
+            total++;
+            if (itemResult.isSuccess()) {
+                succeeded++;
+            } else {
+                result.failure(itemResult);
+            }
+        }
+        return result.total(total).succeeded(succeeded).build();
+    }
+
+    /**
+     * Creates the result of a bulk request item from its response.
+     *
+     * @param item     the bulk request item.
+     * @param response the item response, empty if the request has failed.
+     * @return the item result.
+     */
+    static IndexUpdateResultDTO toResult(@NonNull IndexUpdateItemDTO item,
+                                         @NonNull Optional<IndexUpdateResponseDTO> response) {
+        return IndexUpdateResultDTO.builder()
+                                   .item(item)
+                                   .response(response.orElse(null))
+                                   .error(response.isPresent() ? null : "Index update request to SaaS has failed.")
+                                   .build();
+    }
 }
@@ -0,0 +1,27 @@
+package com.valtech.aem.saas.api.indexing.dto;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Value object holding the content of a page extracted inside AEM. The language is optional; the language of the page
+ * applies if it is not set.
+ */
+@Value
+@Builder
+public class ExtractedContentDTO {
+
+    String title;
+
+    String content;
+
+    String description;
+
+    @Singular
+    List<String> keywords;
+
+    String language;
+}
@@ -0,0 +1,27 @@
+package com.valtech.aem.saas.api.indexing.dto;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Value object summarizing a bulk content push. Only the failed documents are listed individually, so that the
+ * summary of a large push stays small.
+ */
+@Value
+@Builder
+public class IndexContentsResultDTO {
+
+    int total;
+
+    int succeeded;
+
+    @Singular
+    List<IndexUpdateResultDTO> failures;
+
+    public int getFailed() {
+        return failures.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.valtech.aem.saas.api.indexing.dto;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Value object identifying a single url of a bulk index update request.
+ */
+@Value
+public class IndexUpdateItemDTO {
+
+    @NonNull
+    String url;
+
+    @NonNull
+    String repositoryPath;
+}
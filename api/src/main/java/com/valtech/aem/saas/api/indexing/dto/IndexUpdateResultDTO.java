@@ -0,0 +1,23 @@
+package com.valtech.aem.saas.api.indexing.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Value object representing the outcome of a single item of a bulk index update request. It holds either the index
+ * update response, or the error that prevented the update.
+ */
+@Value
+@Builder
+public class IndexUpdateResultDTO {
+
+    IndexUpdateItemDTO item;
+
+    IndexUpdateResponseDTO response;
+
+    String error;
+
+    public boolean isSuccess() {
+        return response != null;
+    }
+}
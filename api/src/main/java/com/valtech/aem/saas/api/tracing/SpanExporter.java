@@ -0,0 +1,19 @@
+package com.valtech.aem.saas.api.tracing;
+
+import com.valtech.aem.saas.api.tracing.dto.SpanDTO;
+import lombok.NonNull;
+
+/**
+ * Service provider interface receiving the ended spans of the sampled traces. Implementations register as OSGi
+ * services; every registered exporter receives every span. Spans are handed over on the thread that ended them, which
+ * is usually a request thread, hence implementations should buffer the spans rather than block on I/O.
+ */
+public interface SpanExporter {
+
+    /**
+     * Exports an ended span.
+     *
+     * @param span the span.
+     */
+    void export(@NonNull SpanDTO span);
+}
@@ -0,0 +1,33 @@
+package com.valtech.aem.saas.api.tracing.dto;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Value object holding an ended span. The identifiers are lower case hex strings as defined by the W3C trace context
+ * specification; the parent span id is null for the root span of a trace started in AEM.
+ */
+@Value
+@Builder
+public class SpanDTO {
+
+    String traceId;
+
+    String spanId;
+
+    String parentSpanId;
+
+    String name;
+
+    long startTimeMillis;
+
+    long durationMicros;
+
+    @Singular
+    Map<String, String> attributes;
+
+    String error;
+}
@@ -1,6 +1,5 @@
 package com.valtech.aem.saas.core.autocomplete;
 
-import com.google.gson.Gson;
 import com.valtech.aem.saas.api.autocomplete.AutocompleteService;
 import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.fulltextsearch.SearchModel;
@@ -8,6 +7,7 @@ import com.valtech.aem.saas.api.fulltextsearch.SearchTabModel;
 import com.valtech.aem.saas.core.common.request.RequestWrapper;
 import com.valtech.aem.saas.core.common.response.JsonResponseCommitter;
 import com.valtech.aem.saas.core.fulltextsearch.SearchModelImpl;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
 import lombok.NonNull;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.SlingHttpServletResponse;
@@ -35,6 +35,9 @@ public class AutocompleteServlet extends SlingSafeMethodsServlet {
     @Reference
     private transient AutocompleteService autocompleteService;
 
+    @Reference
+    private transient SerializerRegistry serializerRegistry;
+
     @Override
     protected void doGet(@NonNull SlingHttpServletRequest request,
                          @NonNull SlingHttpServletResponse response) throws ServletException, IOException {
@@ -56,7 +59,8 @@ public class AutocompleteServlet extends SlingSafeMethodsServlet {
                                                               searchModel.getLanguage(),
                                                               searchModel.getFilters(),
                                                               searchModel.isDisableContextFilters());
-        new JsonResponseCommitter(response).flush(printWriter -> new Gson().toJson(results, printWriter));
+        new JsonResponseCommitter(response).flush(
+                printWriter -> serializerRegistry.getGson().toJson(results, printWriter));
     }
 
     private Optional<SearchModel> getSearch(@NonNull Resource resource) {
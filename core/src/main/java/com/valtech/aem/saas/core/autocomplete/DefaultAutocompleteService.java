@@ -1,6 +1,7 @@
 package com.valtech.aem.saas.core.autocomplete;
 
 import com.valtech.aem.saas.api.autocomplete.AutocompleteService;
+import com.valtech.aem.saas.api.cache.SearchResultCacheStore;
 import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.query.Filter;
 import com.valtech.aem.saas.api.query.FiltersQuery;
@@ -8,7 +9,12 @@ import com.valtech.aem.saas.api.query.GetQueryStringConstructor;
 import com.valtech.aem.saas.api.query.LanguageQuery;
 import com.valtech.aem.saas.api.query.TypeaheadTextQuery;
 import com.valtech.aem.saas.core.autocomplete.DefaultAutocompleteService.Configuration;
+import com.valtech.aem.saas.core.cache.CacheMetrics;
+import com.valtech.aem.saas.core.cache.CacheStoreTier;
+import com.valtech.aem.saas.core.cache.SingleFlight;
+import com.valtech.aem.saas.core.health.IndexHealthService;
 import com.valtech.aem.saas.core.http.client.SearchApiRequestExecutorService;
+import com.valtech.aem.saas.core.http.client.SearchTrafficType;
 import com.valtech.aem.saas.core.http.request.SearchRequestGet;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
 import com.valtech.aem.saas.core.http.response.TypeaheadDataExtractionStrategy;
@@ -17,15 +23,20 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.commons.metrics.MetricsService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.osgi.service.component.propertytypes.ServiceDescription;
 import org.osgi.service.metatype.annotations.AttributeDefinition;
 import org.osgi.service.metatype.annotations.AttributeType;
@@ -38,11 +49,30 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 @Designate(ocd = Configuration.class)
 public class DefaultAutocompleteService implements AutocompleteService {
 
+    public static final String CACHE_NAME = "autocomplete";
+
     @Reference
     private SearchApiRequestExecutorService searchApiRequestExecutorService;
 
+    @Reference
+    private MetricsService metricsService;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+               policy = ReferencePolicy.DYNAMIC,
+               policyOption = ReferencePolicyOption.GREEDY)
+    private volatile IndexHealthService indexHealthService;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+               policy = ReferencePolicy.DYNAMIC,
+               policyOption = ReferencePolicyOption.GREEDY)
+    private volatile SearchResultCacheStore searchResultCacheStore;
+
     private Configuration configuration;
 
+    private volatile TypeaheadOptionsCache optionsCache;
+
+    private volatile SingleFlight<String, Optional<List<String>>> optionsFlight;
+
     @Override
     public List<String> getResults(
         @NonNull SearchCAConfigurationModel searchConfiguration,
@@ -65,18 +95,55 @@ public class DefaultAutocompleteService implements AutocompleteService {
         if (StringUtils.isBlank(language)) {
             throw new IllegalArgumentException("Typeahead payload should contain a search language scope.");
         }
-        String index = searchConfiguration.getIndex();
-        SearchRequestGet searchRequestGet = new SearchRequestGet(
-                getApiUrl(index) + getQueryString(text, language,
-                                                  getEffectiveFilters(searchConfiguration.getFilters(), filters, disableContextFilters)));
-        return searchApiRequestExecutorService.execute(searchRequestGet)
+        String apiUrl = getApiUrl(searchConfiguration.getIndex());
+        Set<Filter> effectiveFilters = getEffectiveFilters(searchConfiguration.getFilters(), filters,
+                                                           disableContextFilters);
+        TypeaheadOptionsCache cache = optionsCache;
+        Optional<List<String>> options;
+        if (cache == null) {
+            options = getOptions(searchConfiguration.getIndex(), apiUrl, text, language, effectiveFilters);
+        } else {
+            TypeaheadCacheKey cacheKey = TypeaheadCacheKey.of(apiUrl, language, effectiveFilters, text);
+            options = cache.get(cacheKey);
+            if (!options.isPresent()) {
+                options = getOptions(searchConfiguration.getIndex(), apiUrl, text, language, effectiveFilters);
+                options.ifPresent(o -> cache.put(cacheKey, o));
+            }
+        }
+        return options.orElse(Collections.emptyList())
+                      .stream()
+                      .limit(searchConfiguration.getAutocompleteResultsMaxTotal())
+                      .collect(Collectors.toList());
+    }
+
+    private Optional<List<String>> getOptions(String index,
+                                              String apiUrl,
+                                              String text,
+                                              String language,
+                                              Set<Filter> filters) {
+        // checked by the loader, so that the cached options are still served while the index is unavailable
+        IndexHealthService healthService = indexHealthService;
+        if (healthService != null && !healthService.isAvailable(index)) {
+            log.debug("Search index {} is unavailable. Skipping typeahead query.", index);
+            return Optional.empty();
+        }
+        String requestUrl = apiUrl + getQueryString(text, language, filters);
+        SingleFlight<String, Optional<List<String>>> flight = optionsFlight;
+        Optional<List<String>> options = flight == null
+                ? executeOptionsRequest(requestUrl, language)
+                : flight.execute(requestUrl, () -> executeOptionsRequest(requestUrl, language));
+        if (healthService != null) {
+            healthService.recordResult(index, options.isPresent());
+        }
+        return options;
+    }
+
+    private Optional<List<String>> executeOptionsRequest(String requestUrl, String language) {
+        SearchRequestGet searchRequestGet = new SearchRequestGet(requestUrl);
+        return searchApiRequestExecutorService.execute(searchRequestGet, SearchTrafficType.AUTOCOMPLETE)
                                               .filter(SearchResponse::isSuccess)
                                               .flatMap(response -> response.get(new TypeaheadDataExtractionStrategy(
-                                                      language)))
-                                              .orElse(Collections.emptyList())
-                                              .stream()
-                                              .limit(searchConfiguration.getAutocompleteResultsMaxTotal())
-                                              .collect(Collectors.toList());
+                                                      language)));
     }
 
     private String getQueryString(
@@ -113,6 +180,26 @@ public class DefaultAutocompleteService implements AutocompleteService {
     @Modified
     private void activate(Configuration configuration) {
         this.configuration = configuration;
+        this.optionsCache = createOptionsCache(configuration);
+        this.optionsFlight = configuration.typeaheadService_requestCoalescingEnabled()
+                ? new SingleFlight<>(metricsService, CACHE_NAME)
+                : null;
+    }
+
+    private TypeaheadOptionsCache createOptionsCache(Configuration configuration) {
+        if (!configuration.typeaheadService_cacheEnabled()
+                || configuration.typeaheadService_cacheMaxSize() < 1
+                || configuration.typeaheadService_cacheTimeToLive() < 1) {
+            log.info("Typeahead options cache is disabled.");
+            return null;
+        }
+        return new TypeaheadOptionsCache(configuration.typeaheadService_cacheMaxSize(),
+                                         TimeUnit.SECONDS.toMillis(configuration.typeaheadService_cacheTimeToLive()),
+                                         configuration.typeaheadService_upstreamResultsLimit(),
+                                         new CacheMetrics(metricsService, CACHE_NAME),
+                                         new CacheStoreTier<>(CACHE_NAME,
+                                                              new TypeaheadOptionsCodec(),
+                                                              () -> searchResultCacheStore));
     }
 
     @ObjectClassDefinition(name = "Search as a Service - Typeahead Service Configuration",
@@ -121,6 +208,11 @@ public class DefaultAutocompleteService implements AutocompleteService {
 
         String DEFAULT_API_ACTION = "/typeahead";
         String DEFAULT_API_VERSION_PATH = "/api/v3";  // NOSONAR
+        boolean DEFAULT_CACHE_ENABLED = true;
+        int DEFAULT_CACHE_MAX_SIZE = 5000;
+        int DEFAULT_CACHE_TIME_TO_LIVE = 300;
+        int DEFAULT_UPSTREAM_RESULTS_LIMIT = 10;
+        boolean DEFAULT_REQUEST_COALESCING_ENABLED = true;
 
         @AttributeDefinition(name = "Api version path",
                 description = "Path designating the api version",
@@ -132,5 +224,32 @@ public class DefaultAutocompleteService implements AutocompleteService {
                 type = AttributeType.STRING)
         String typeaheadService_apiAction() default DEFAULT_API_ACTION; // NOSONAR
 
+        @AttributeDefinition(name = "Enable options cache",
+                description = "Cache typeahead options in memory, per index, language, filters and typed prefix",
+                type = AttributeType.BOOLEAN)
+        boolean typeaheadService_cacheEnabled() default DEFAULT_CACHE_ENABLED; // NOSONAR
+
+        @AttributeDefinition(name = "Options cache max size",
+                description = "Maximum number of cached prefixes. Least recently used are evicted first",
+                type = AttributeType.INTEGER)
+        int typeaheadService_cacheMaxSize() default DEFAULT_CACHE_MAX_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Options cache time to live",
+                description = "Number of seconds the options of a prefix are cached",
+                type = AttributeType.INTEGER)
+        int typeaheadService_cacheTimeToLive() default DEFAULT_CACHE_TIME_TO_LIVE; // NOSONAR
+
+        @AttributeDefinition(name = "Upstream results limit",
+                description = "Maximum number of options returned by the typeahead api. Cached options are reused "
+                        + "for longer prefixes only if fewer options than this limit have been returned",
+                type = AttributeType.INTEGER)
+        int typeaheadService_upstreamResultsLimit() default DEFAULT_UPSTREAM_RESULTS_LIMIT; // NOSONAR
+
+        @AttributeDefinition(name = "Enable request coalescing",
+                description = "Identical concurrent typeahead requests wait for a single request to SaaS and share "
+                        + "its options",
+                type = AttributeType.BOOLEAN)
+        boolean typeaheadService_requestCoalescingEnabled() default DEFAULT_REQUEST_COALESCING_ENABLED; // NOSONAR
+
     }
 }
@@ -0,0 +1,40 @@
+package com.valtech.aem.saas.core.autocomplete;
+
+import com.valtech.aem.saas.api.query.Filter;
+import lombok.Value;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead options cache key. Options are cached per index (api url), language and effective filter set, for a
+ * given typed prefix.
+ */
+@Value
+class TypeaheadCacheKey {
+
+    String apiUrl;
+    String language;
+    SortedSet<String> filters;
+    String prefix;
+
+    static TypeaheadCacheKey of(String apiUrl, String language, Collection<Filter> filters, String prefix) {
+        return new TypeaheadCacheKey(apiUrl,
+                                     language,
+                                     CollectionUtils.emptyIfNull(filters)
+                                                    .stream()
+                                                    .filter(Objects::nonNull)
+                                                    .map(Filter::getQueryString)
+                                                    .filter(Objects::nonNull)
+                                                    .collect(Collectors.toCollection(TreeSet::new)),
+                                     prefix);
+    }
+
+    TypeaheadCacheKey withPrefix(String otherPrefix) {
+        return new TypeaheadCacheKey(apiUrl, language, filters, otherPrefix);
+    }
+}
@@ -0,0 +1,128 @@
+package com.valtech.aem.saas.core.autocomplete;
+
+import com.valtech.aem.saas.core.cache.CacheMetrics;
+import com.valtech.aem.saas.core.cache.CacheStoreTier;
+import com.valtech.aem.saas.core.cache.ExpiringLruCache;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Caches typeahead options per typed prefix. A lookup for a prefix that is not cached is answered from the cached
+ * options of a shorter prefix it extends, as long as those options are complete, i.e. not truncated by the upstream
+ * results limit.
+ * <p>
+ * If a {@link CacheStoreTier} is set, options of prefixes missing in memory are looked up in the store, and put
+ * options are written through to it.
+ */
+@Slf4j
+final class TypeaheadOptionsCache {
+
+    private final ExpiringLruCache<TypeaheadCacheKey, TypeaheadOptions> cache;
+    private final CacheMetrics metrics;
+    private final long timeToLiveMillis;
+    private final int upstreamResultsLimit;
+    private final CacheStoreTier<TypeaheadCacheKey, TypeaheadOptions> storeTier;
+
+    TypeaheadOptionsCache(int maxSize,
+                          long timeToLiveMillis,
+                          int upstreamResultsLimit,
+                          @NonNull CacheMetrics metrics,
+                          CacheStoreTier<TypeaheadCacheKey, TypeaheadOptions> storeTier) {
+        this.cache = new ExpiringLruCache<>(maxSize, timeToLiveMillis, metrics);
+        this.metrics = metrics;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.upstreamResultsLimit = upstreamResultsLimit;
+        this.storeTier = storeTier;
+    }
+
+    /**
+     * Gets the typeahead options for the key's prefix.
+     *
+     * @param key the cache key.
+     * @return optional typeahead options; empty if neither the prefix nor a reusable shorter prefix is cached or
+     * stored.
+     */
+    Optional<List<String>> get(@NonNull TypeaheadCacheKey key) {
+        Optional<TypeaheadOptions> exact = cache.peek(key);
+        if (exact.isPresent()) {
+            metrics.hit();
+            return exact.map(TypeaheadOptions::getOptions);
+        }
+        String prefix = key.getPrefix();
+        for (int length = prefix.length() - 1; length > 0; length--) {
+            Optional<TypeaheadOptions> shorter = cache.peek(key.withPrefix(prefix.substring(0, length)));
+            if (shorter.isPresent()) {
+                if (!shorter.get().isComplete()) {
+                    // options of even shorter prefixes would be truncated as well
+                    break;
+                }
+                List<String> options = filter(shorter.get().getOptions(), prefix);
+                log.debug("Typeahead options for '{}' resolved from cached options for '{}'.",
+                          prefix,
+                          prefix.substring(0, length));
+                cache.put(key, new TypeaheadOptions(options, true));
+                metrics.hit();
+                return Optional.of(options);
+            }
+        }
+        Optional<TypeaheadOptions> stored = getStored(key);
+        if (stored.isPresent()) {
+            metrics.hit();
+            return stored.map(TypeaheadOptions::getOptions);
+        }
+        metrics.miss();
+        return Optional.empty();
+    }
+
+    /**
+     * Caches the upstream typeahead options for the key's prefix.
+     *
+     * @param key     the cache key.
+     * @param options the complete list of options returned from upstream.
+     */
+    void put(@NonNull TypeaheadCacheKey key, @NonNull List<String> options) {
+        TypeaheadOptions value =
+                new TypeaheadOptions(Collections.unmodifiableList(options), isComplete(key.getPrefix(), options));
+        cache.put(key, value);
+        if (storeTier != null) {
+            storeTier.put(key, value, System.currentTimeMillis(), timeToLiveMillis);
+        }
+    }
+
+    private Optional<TypeaheadOptions> getStored(TypeaheadCacheKey key) {
+        if (storeTier == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        Optional<CacheStoreTier.StoredValue<TypeaheadOptions>> stored =
+                storeTier.get(key).filter(value -> now - value.getCreatedAt() < timeToLiveMillis);
+        stored.ifPresent(value -> cache.put(key, value.getValue(), timeToLiveMillis - (now - value.getCreatedAt())));
+        return stored.map(CacheStoreTier.StoredValue::getValue);
+    }
+
+    private boolean isComplete(String prefix, List<String> options) {
+        // the cached options can be filtered for a longer prefix only if upstream has not truncated them and they
+        // are all matched by plain prefix comparison
+        return options.size() < upstreamResultsLimit && options.stream().allMatch(o -> o.startsWith(prefix));
+    }
+
+    private List<String> filter(List<String> options, String prefix) {
+        return Collections.unmodifiableList(options.stream()
+                                                   .filter(o -> o.startsWith(prefix))
+                                                   .collect(Collectors.toList()));
+    }
+
+    @Value
+    static class TypeaheadOptions {
+
+        List<String> options;
+
+        boolean complete;
+    }
+}
@@ -0,0 +1,46 @@
+package com.valtech.aem.saas.core.autocomplete;
+
+import com.valtech.aem.saas.core.autocomplete.TypeaheadOptionsCache.TypeaheadOptions;
+import com.valtech.aem.saas.core.serialization.BinaryFormat;
+import com.valtech.aem.saas.core.serialization.StringTable;
+import com.valtech.aem.saas.core.serialization.VersionedBinaryCodec;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Binary codec of the cached typeahead options.
+ */
+final class TypeaheadOptionsCodec extends VersionedBinaryCodec<TypeaheadOptions> {
+
+    static final int FORMAT_VERSION = 1;
+
+    TypeaheadOptionsCodec() {
+        super(FORMAT_VERSION);
+    }
+
+    @Override
+    public void encodeBody(@NonNull TypeaheadOptions value, @NonNull DataOutput out, @NonNull StringTable strings)
+            throws IOException {
+        BinaryFormat.writeVarInt(out, value.getOptions().size());
+        for (String option : value.getOptions()) {
+            BinaryFormat.writeString(out, option);
+        }
+        out.writeBoolean(value.isComplete());
+    }
+
+    @Override
+    public TypeaheadOptions decodeBody(@NonNull DataInput in, @NonNull StringTable strings) throws IOException {
+        int size = BinaryFormat.readLength(in);
+        List<String> options = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            options.add(BinaryFormat.readString(in));
+        }
+        return new TypeaheadOptions(Collections.unmodifiableList(options), in.readBoolean());
+    }
+}
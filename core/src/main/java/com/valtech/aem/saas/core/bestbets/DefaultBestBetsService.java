@@ -1,6 +1,5 @@
 package com.valtech.aem.saas.core.bestbets;
 
-import com.google.gson.Gson;
 import com.valtech.aem.saas.api.bestbets.BestBetsActionFailedException;
 import com.valtech.aem.saas.api.bestbets.BestBetsService;
 import com.valtech.aem.saas.api.bestbets.dto.BestBetDTO;
@@ -11,6 +10,7 @@ import com.valtech.aem.saas.core.http.client.SearchAdminRequestExecutorService;
 import com.valtech.aem.saas.core.http.client.SearchServiceConnectionConfigurationService;
 import com.valtech.aem.saas.core.http.request.*;
 import com.valtech.aem.saas.core.http.response.*;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -49,6 +49,9 @@ public class DefaultBestBetsService implements BestBetsService {
     @Reference
     private SearchServiceConnectionConfigurationService searchServiceConnectionConfigurationService;
 
+    @Reference
+    private SerializerRegistry serializerRegistry;
+
     private Configuration configuration;
 
     @Override
@@ -184,7 +187,7 @@ public class DefaultBestBetsService implements BestBetsService {
 
     private <T> HttpEntity createJsonPayloadEntity(T jsonPayload) {
         return EntityBuilder.create()
-                            .setText(new Gson().toJson(jsonPayload))
+                            .setText(serializerRegistry.getGson().toJson(jsonPayload))
                             .setContentType(ContentType.APPLICATION_JSON)
                             .setContentEncoding(StandardCharsets.UTF_8.name())
                             .build();
@@ -193,7 +196,7 @@ public class DefaultBestBetsService implements BestBetsService {
     private void handleSearchResponseError(SearchResponse searchResponse, String exceptionMessage) {
         if (!searchResponse.isSuccess()) {
             searchResponse.get(new JsonObjectDataExtractionStrategy())
-                          .map(jsonObject -> new Gson().toJson(jsonObject))
+                          .map(jsonObject -> serializerRegistry.getGson().toJson(jsonObject))
                           .ifPresent(s -> {
                               throw new BestBetsActionFailedException(String.format("%s. Reason: %s",
                                                                                     exceptionMessage,
@@ -0,0 +1,15 @@
+package com.valtech.aem.saas.core.cache;
+
+import lombok.Value;
+
+@Value
+class CacheEntry<V> {
+
+    V value;
+
+    long expiresAt;
+
+    boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.valtech.aem.saas.core.cache;
+
+import lombok.NonNull;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+
+/**
+ * Hit, miss and eviction counters of a local cache, published through the sling metrics service.
+ */
+public final class CacheMetrics {
+
+    public static final String METRIC_NAME_PREFIX = "saas.cache.";
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    /**
+     * Constructs the cache metrics.
+     *
+     * @param metricsService the metrics service the counters are registered with.
+     * @param cacheName      name of the cache, used as part of the metric names.
+     */
+    public CacheMetrics(@NonNull MetricsService metricsService, @NonNull String cacheName) {
+        String prefix = METRIC_NAME_PREFIX + cacheName;
+        hits = metricsService.counter(prefix + ".hit");
+        misses = metricsService.counter(prefix + ".miss");
+        evictions = metricsService.counter(prefix + ".eviction");
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public void eviction() {
+        evictions.increment();
+    }
+}
@@ -0,0 +1,117 @@
+package com.valtech.aem.saas.core.cache;
+
+import com.valtech.aem.saas.api.cache.SearchResultCacheStore;
+import com.valtech.aem.saas.core.serialization.BinaryCodec;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Second tier of an in-memory cache, backed by the {@link SearchResultCacheStore} currently registered, if any. The
+ * values are stored in the binary form of their codec, prefixed by the time they were created, so that each instance
+ * applies its own expiration policy to the values stored by the others.
+ * <p>
+ * Store keys are digests of the string form of the cache keys, hence cache keys are expected to be value objects with
+ * a stable string representation, such as lombok value classes.
+ *
+ * @param <K> key type.
+ * @param <V> value type.
+ */
+@Slf4j
+public final class CacheStoreTier<K, V> {
+
+    private final String cacheName;
+    private final BinaryCodec<V> codec;
+    private final Supplier<SearchResultCacheStore> storeSupplier;
+
+    /**
+     * Constructs the tier.
+     *
+     * @param cacheName     name of the cache, distinguishing its values from the values of the other caches.
+     * @param codec         codec of the values.
+     * @param storeSupplier supplies the store currently registered, or null if none is.
+     */
+    public CacheStoreTier(@NonNull String cacheName,
+                          @NonNull BinaryCodec<V> codec,
+                          @NonNull Supplier<SearchResultCacheStore> storeSupplier) {
+        this.cacheName = cacheName;
+        this.codec = codec;
+        this.storeSupplier = storeSupplier;
+    }
+
+    /**
+     * Gets a stored value.
+     *
+     * @param key the cache key.
+     * @return the stored value, or empty if no store is registered, the value is missing or cannot be read.
+     */
+    public Optional<StoredValue<V>> get(@NonNull K key) {
+        SearchResultCacheStore store = storeSupplier.get();
+        if (store == null) {
+            return Optional.empty();
+        }
+        try {
+            Optional<byte[]> bytes = store.get(cacheName, toStoreKey(key));
+            if (!bytes.isPresent()) {
+                return Optional.empty();
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.get()));
+            long createdAt = in.readLong();
+            return Optional.of(new StoredValue<>(codec.decode(in), createdAt));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to get {} value {} from the cache store.", cacheName, key, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a value. Does nothing if no store is registered.
+     *
+     * @param key              the cache key.
+     * @param value            the value.
+     * @param createdAt        time in milliseconds the value was created.
+     * @param timeToLiveMillis time in milliseconds after which the store may discard the value.
+     */
+    public void put(@NonNull K key, @NonNull V value, long createdAt, long timeToLiveMillis) {
+        SearchResultCacheStore store = storeSupplier.get();
+        if (store == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeLong(createdAt);
+                codec.encode(value, out);
+            }
+            store.put(cacheName, toStoreKey(key), bytes.toByteArray(), timeToLiveMillis);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to put {} value {} into the cache store.", cacheName, key, e);
+        }
+    }
+
+    private String toStoreKey(K key) {
+        return DigestUtils.sha256Hex(key.toString());
+    }
+
+    /**
+     * Value read from the store.
+     *
+     * @param <V> value type.
+     */
+    @Value
+    public static class StoredValue<V> {
+
+        V value;
+
+        long createdAt;
+    }
+}
@@ -0,0 +1,138 @@
+package com.valtech.aem.saas.core.cache;
+
+import lombok.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * A thread safe, size bounded in-memory cache. When full, the least recently used entry is evicted. Entries expire
+ * after the configured time to live, counted from the moment they have been put in the cache.
+ *
+ * @param <K> key type. Keys are expected to be immutable value objects.
+ * @param <V> value type. Values are shared between callers and hence expected to be immutable.
+ */
+public final class ExpiringLruCache<K, V> {
+
+    private final long timeToLiveMillis;
+    private final CacheMetrics metrics;
+    private final LongSupplier clock;
+    private final Map<K, CacheEntry<V>> entries;
+
+    /**
+     * Constructs the cache.
+     *
+     * @param maxSize          maximum number of entries.
+     * @param timeToLiveMillis entry time to live in milliseconds.
+     * @param metrics          the cache metrics.
+     */
+    public ExpiringLruCache(int maxSize, long timeToLiveMillis, @NonNull CacheMetrics metrics) {
+        this(maxSize, timeToLiveMillis, metrics, System::currentTimeMillis);
+    }
+
+    ExpiringLruCache(int maxSize, long timeToLiveMillis, @NonNull CacheMetrics metrics, @NonNull LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache max size must be positive.");
+        }
+        if (timeToLiveMillis < 1) {
+            throw new IllegalArgumentException("Cache entry time to live must be positive.");
+        }
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                boolean evict = size() > maxSize;
+                if (evict) {
+                    metrics.eviction();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached value if present and not expired.
+     *
+     * @param key the cache key.
+     * @return optional cached value.
+     */
+    public synchronized Optional<V> get(@NonNull K key) {
+        Optional<V> value = peek(key);
+        if (value.isPresent()) {
+            metrics.hit();
+        } else {
+            metrics.miss();
+        }
+        return value;
+    }
+
+    /**
+     * Gets the cached value if present and not expired, without recording a hit or a miss. Meant for callers that
+     * probe several keys for a single logical lookup and record the outcome on their own.
+     *
+     * @param key the cache key.
+     * @return optional cached value.
+     */
+    public synchronized Optional<V> peek(@NonNull K key) {
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            entries.remove(key);
+            metrics.eviction();
+            return Optional.empty();
+        }
+        return Optional.of(entry.getValue());
+    }
+
+    /**
+     * Puts a value in the cache, replacing the existing one for the same key.
+     *
+     * @param key   the cache key.
+     * @param value the value.
+     */
+    public void put(@NonNull K key, @NonNull V value) {
+        put(key, value, timeToLiveMillis);
+    }
+
+    /**
+     * Puts a value in the cache with its own time to live, replacing the existing one for the same key.
+     *
+     * @param key              the cache key.
+     * @param value            the value.
+     * @param timeToLiveMillis entry time to live in milliseconds.
+     */
+    public synchronized void put(@NonNull K key, @NonNull V value, long timeToLiveMillis) {
+        entries.put(key, new CacheEntry<>(value, clock.getAsLong() + timeToLiveMillis));
+    }
+
+    /**
+     * Removes the entry of a key.
+     *
+     * @param key the cache key.
+     */
+    public synchronized void invalidate(@NonNull K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of entries currently held, including the expired ones not yet evicted.
+     *
+     * @return number of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
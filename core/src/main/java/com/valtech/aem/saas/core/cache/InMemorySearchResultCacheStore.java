@@ -0,0 +1,90 @@
+package com.valtech.aem.saas.core.cache;
+
+import com.valtech.aem.saas.api.cache.SearchResultCacheStore;
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the stored values in a size bounded in-memory cache. Since the values are held in their binary form, the store
+ * holds many more results than the in-memory result caches for the same amount of heap, but it neither survives a
+ * restart nor is it shared between instances. Only active if configured.
+ */
+@Component(service = SearchResultCacheStore.class,
+           configurationPolicy = ConfigurationPolicy.REQUIRE)
+@ServiceDescription("Search as a Service - In Memory Search Result Cache Store")
+@Designate(ocd = InMemorySearchResultCacheStore.Configuration.class)
+public class InMemorySearchResultCacheStore implements SearchResultCacheStore {
+
+    public static final String CACHE_NAME = "store.memory";
+
+    @Reference
+    private MetricsService metricsService;
+
+    private volatile ExpiringLruCache<StoreKey, byte[]> values;
+
+    private volatile long maxTimeToLiveMillis;
+
+    @Override
+    public Optional<byte[]> get(@NonNull String cacheName, @NonNull String key) {
+        return values.get(new StoreKey(cacheName, key));
+    }
+
+    @Override
+    public void put(@NonNull String cacheName, @NonNull String key, @NonNull byte[] value, long timeToLiveMillis) {
+        long timeToLive = Math.min(timeToLiveMillis, maxTimeToLiveMillis);
+        if (timeToLive > 0) {
+            values.put(new StoreKey(cacheName, key), value, timeToLive);
+        }
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        maxTimeToLiveMillis =
+                TimeUnit.SECONDS.toMillis(Math.max(1, configuration.inMemorySearchResultCacheStore_maxTimeToLive()));
+        values = new ExpiringLruCache<>(Math.max(1, configuration.inMemorySearchResultCacheStore_maxSize()),
+                                        maxTimeToLiveMillis,
+                                        new CacheMetrics(metricsService, CACHE_NAME));
+    }
+
+    @Value
+    private static class StoreKey {
+
+        String cacheName;
+
+        String key;
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - In Memory Search Result Cache Store Configuration",
+                           description = "Stores the cached search and autocomplete results in memory.")
+    public @interface Configuration {
+
+        int DEFAULT_MAX_SIZE = 20000;
+        int DEFAULT_MAX_TIME_TO_LIVE = 3600;
+
+        @AttributeDefinition(name = "Max size",
+                             description = "Maximum number of stored results. Least recently used are evicted first.",
+                             type = AttributeType.INTEGER)
+        int inMemorySearchResultCacheStore_maxSize() default DEFAULT_MAX_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Max time to live",
+                             description = "Maximum number of seconds a result is stored, regardless of the time to "
+                                     + "live requested by the result cache.",
+                             type = AttributeType.INTEGER)
+        int inMemorySearchResultCacheStore_maxTimeToLive() default DEFAULT_MAX_TIME_TO_LIVE; // NOSONAR
+    }
+}
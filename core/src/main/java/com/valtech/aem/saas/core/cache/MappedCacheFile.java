@@ -0,0 +1,273 @@
+package com.valtech.aem.saas.core.cache;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Key value store in a memory mapped file of fixed size, written as a circular log: records are appended at the write
+ * position, which wraps around to the start of the file when the end is reached, overwriting the oldest records. Only
+ * the index of the records is held on the heap; it is rebuilt from the file when the file is opened, so that the
+ * stored values survive restarts.
+ * <p>
+ * The file consists of a header and the record area. The header holds the write position and the position of the
+ * oldest record not overwritten yet, which delimit the two runs of records to read when the file is opened: the run
+ * from the oldest record up to the end of the area and the run from the start of the area up to the write position.
+ * Each record carries a checksum, so that a record torn by a crash ends its run instead of being misread.
+ */
+@Slf4j
+final class MappedCacheFile implements Closeable {
+
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_OVERHEAD = 24;
+
+    private static final int MAGIC = 0x53414153;
+    private static final int VERSION = 1;
+    private static final int RECORD_MARKER = 0x52454331;
+    private static final int END_MARKER = 0;
+    private static final int POSITION_CAPACITY = 8;
+    private static final int POSITION_WRITE = 16;
+    private static final int POSITION_OLDEST = 24;
+    private static final long NONE = -1L;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int end;
+    private final LongSupplier clock;
+    private final Map<String, Integer> index = new HashMap<>();
+    private final NavigableMap<Integer, String> keysByPosition = new TreeMap<>();
+    private int writePosition;
+
+    /**
+     * Opens the file, creating it if it does not exist. An existing file of a different capacity or format is reset.
+     *
+     * @param path     path of the file.
+     * @param capacity size of the record area in bytes.
+     * @param clock    clock the expiration times are compared with.
+     * @throws IOException if the file cannot be opened or mapped.
+     */
+    MappedCacheFile(@NonNull Path path, int capacity, @NonNull LongSupplier clock) throws IOException {
+        if (capacity < RECORD_OVERHEAD || capacity > Integer.MAX_VALUE - HEADER_SIZE) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.end = HEADER_SIZE + capacity;
+        this.clock = clock;
+        this.channel = FileChannel.open(path,
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.READ,
+                                        StandardOpenOption.WRITE);
+        try {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, end);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (isValidHeader()) {
+            load();
+        } else {
+            reset();
+        }
+    }
+
+    /**
+     * Gets a stored value.
+     *
+     * @param key the key.
+     * @return the value, or empty if it is missing or expired.
+     */
+    synchronized Optional<byte[]> get(@NonNull String key) {
+        Integer position = index.get(key);
+        if (position == null) {
+            return Optional.empty();
+        }
+        if (buffer.getLong(position + 12) <= clock.getAsLong()) {
+            remove(key, position);
+            return Optional.empty();
+        }
+        int keyLength = buffer.getInt(position + 4);
+        byte[] value = new byte[buffer.getInt(position + 8)];
+        read(position + 20 + keyLength, value);
+        return Optional.of(value);
+    }
+
+    /**
+     * Stores a value, replacing the existing one for the same key. Values taking more than a quarter of the capacity
+     * are not stored, so that a few large values cannot flush the whole file.
+     *
+     * @param key       the key.
+     * @param value     the value.
+     * @param expiresAt time in milliseconds the value expires.
+     * @return true if the value has been stored.
+     */
+    synchronized boolean put(@NonNull String key, @NonNull byte[] value, long expiresAt) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int length = RECORD_OVERHEAD + keyBytes.length + value.length;
+        if (length > capacity / 4) {
+            return false;
+        }
+        if (writePosition + length > end) {
+            if (writePosition + 4 <= end) {
+                buffer.putInt(writePosition, END_MARKER);
+            }
+            evict(writePosition, end);
+            writePosition = HEADER_SIZE;
+        }
+        evict(writePosition, writePosition + length);
+        int position = writePosition;
+        buffer.putInt(position, RECORD_MARKER);
+        buffer.putInt(position + 4, keyBytes.length);
+        buffer.putInt(position + 8, value.length);
+        buffer.putLong(position + 12, expiresAt);
+        write(position + 20, keyBytes);
+        write(position + 20 + keyBytes.length, value);
+        buffer.putInt(position + length - 4, checksum(position, length - 4));
+        Integer previous = index.put(key, position);
+        if (previous != null) {
+            keysByPosition.remove(previous);
+        }
+        keysByPosition.put(position, key);
+        writePosition = position + length;
+        writeHeader();
+        return true;
+    }
+
+    /**
+     * Gets the number of indexed records, including the expired ones not yet overwritten.
+     *
+     * @return number of records.
+     */
+    synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            buffer.force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private boolean isValidHeader() {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getLong(POSITION_CAPACITY) != capacity) {
+            return false;
+        }
+        long write = buffer.getLong(POSITION_WRITE);
+        long oldest = buffer.getLong(POSITION_OLDEST);
+        return write >= HEADER_SIZE && write <= end && (oldest == NONE || (oldest >= write && oldest < end));
+    }
+
+    private void reset() {
+        index.clear();
+        keysByPosition.clear();
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(POSITION_CAPACITY, capacity);
+        writePosition = HEADER_SIZE;
+        writeHeader();
+    }
+
+    private void load() {
+        writePosition = (int) buffer.getLong(POSITION_WRITE);
+        long oldest = buffer.getLong(POSITION_OLDEST);
+        if (oldest != NONE) {
+            scan((int) oldest, end);
+        }
+        int scanned = scan(HEADER_SIZE, writePosition);
+        if (scanned != writePosition) {
+            log.warn("Cache file records end at {} instead of {}. Resuming after the last valid record.",
+                     scanned,
+                     writePosition);
+            evict(scanned, end);
+            writePosition = scanned;
+            writeHeader();
+        }
+        long now = clock.getAsLong();
+        index.entrySet().removeIf(entry -> {
+            boolean expired = buffer.getLong(entry.getValue() + 12) <= now;
+            if (expired) {
+                keysByPosition.remove(entry.getValue());
+            }
+            return expired;
+        });
+    }
+
+    private int scan(int from, int to) {
+        int position = from;
+        while (position + RECORD_OVERHEAD <= to && buffer.getInt(position) == RECORD_MARKER) {
+            int keyLength = buffer.getInt(position + 4);
+            int valueLength = buffer.getInt(position + 8);
+            if (keyLength < 0 || valueLength < 0 || (long) RECORD_OVERHEAD + keyLength + valueLength > to - position) {
+                break;
+            }
+            int length = RECORD_OVERHEAD + keyLength + valueLength;
+            if (buffer.getInt(position + length - 4) != checksum(position, length - 4)) {
+                break;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            read(position + 20, keyBytes);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+            Integer previous = index.put(key, position);
+            if (previous != null) {
+                keysByPosition.remove(previous);
+            }
+            keysByPosition.put(position, key);
+            position += length;
+        }
+        return position;
+    }
+
+    private void evict(int from, int to) {
+        NavigableMap<Integer, String> overwritten = keysByPosition.subMap(from, true, to, false);
+        overwritten.forEach((position, key) -> index.remove(key, position));
+        overwritten.clear();
+    }
+
+    private void remove(String key, int position) {
+        index.remove(key, position);
+        keysByPosition.remove(position);
+    }
+
+    private void writeHeader() {
+        Integer oldest = keysByPosition.ceilingKey(writePosition);
+        buffer.putLong(POSITION_WRITE, writePosition);
+        buffer.putLong(POSITION_OLDEST, oldest != null ? oldest : NONE);
+    }
+
+    private int checksum(int position, int length) {
+        CRC32 crc = new CRC32();
+        for (int i = position; i < position + length; i++) {
+            crc.update(buffer.get(i));
+        }
+        return (int) crc.getValue();
+    }
+
+    private void read(int position, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(position + i);
+        }
+    }
+
+    private void write(int position, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(position + i, bytes[i]);
+        }
+    }
+}
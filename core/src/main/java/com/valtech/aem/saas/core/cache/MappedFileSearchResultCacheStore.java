@@ -0,0 +1,101 @@
+package com.valtech.aem.saas.core.cache;
+
+import com.valtech.aem.saas.api.cache.SearchResultCacheStore;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Keeps the stored values off the heap, in a memory mapped file of fixed size written as a circular log, so that the
+ * oldest values are overwritten first. The file is read again on activation, hence the stored values survive bundle and
+ * instance restarts. It is not shared between instances. Only active if configured.
+ */
+@Slf4j
+@Component(service = SearchResultCacheStore.class,
+           configurationPolicy = ConfigurationPolicy.REQUIRE)
+@ServiceDescription("Search as a Service - Mapped File Search Result Cache Store")
+@Designate(ocd = MappedFileSearchResultCacheStore.Configuration.class)
+public class MappedFileSearchResultCacheStore implements SearchResultCacheStore {
+
+    static final String PROPERTY_SLING_HOME = "sling.home";
+
+    private static final char KEY_SEPARATOR = '/';
+    private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+    private static final int MAX_SIZE_MEGABYTES = 1024;
+
+    private MappedCacheFile file;
+
+    @Override
+    public Optional<byte[]> get(@NonNull String cacheName, @NonNull String key) {
+        return file.get(cacheName + KEY_SEPARATOR + key);
+    }
+
+    @Override
+    public void put(@NonNull String cacheName, @NonNull String key, @NonNull byte[] value, long timeToLiveMillis) {
+        if (timeToLiveMillis > 0
+                && !file.put(cacheName + KEY_SEPARATOR + key, value, System.currentTimeMillis() + timeToLiveMillis)) {
+            log.debug("{} value {} of {} bytes is too large for the cache file.", cacheName, key, value.length);
+        }
+    }
+
+    @Activate
+    private void activate(Configuration configuration, BundleContext bundleContext) throws IOException {
+        Path path = resolvePath(configuration.mappedFileSearchResultCacheStore_path(),
+                                bundleContext.getProperty(PROPERTY_SLING_HOME));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        int sizeMegabytes = Math.min(Math.max(1, configuration.mappedFileSearchResultCacheStore_size()),
+                                     MAX_SIZE_MEGABYTES);
+        file = new MappedCacheFile(path, sizeMegabytes * BYTES_PER_MEGABYTE, System::currentTimeMillis);
+        log.info("Storing search results in {}, {} stored.", path, file.size());
+    }
+
+    @Deactivate
+    private void deactivate() {
+        IOUtils.closeQuietly(file, e -> log.error("Could not close cache file.", e));
+    }
+
+    static Path resolvePath(String path, String slingHome) {
+        Path resolved = Paths.get(path);
+        return resolved.isAbsolute() || StringUtils.isBlank(slingHome)
+                ? resolved
+                : Paths.get(slingHome).resolve(resolved);
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Mapped File Search Result Cache Store Configuration",
+                           description = "Stores the cached search and autocomplete results in a memory mapped file.")
+    public @interface Configuration {
+
+        String DEFAULT_PATH = "saas-aem-module/search-results.cache";
+        int DEFAULT_SIZE = 64;
+
+        @AttributeDefinition(name = "Path",
+                             description = "Path of the file. Relative paths are resolved against the sling home "
+                                     + "directory.")
+        String mappedFileSearchResultCacheStore_path() default DEFAULT_PATH; // NOSONAR
+
+        @AttributeDefinition(name = "Size",
+                             description = "Size of the file in megabytes, at most 1024. When it is full, the oldest "
+                                     + "results are overwritten first. Changing it discards the stored results.",
+                             type = AttributeType.INTEGER)
+        int mappedFileSearchResultCacheStore_size() default DEFAULT_SIZE; // NOSONAR
+    }
+}
@@ -0,0 +1,93 @@
+package com.valtech.aem.saas.core.cache;
+
+import lombok.NonNull;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls: while a call is in flight, callers with the same key wait for it and share its
+ * result instead of issuing the same upstream request again. Complements the caches, which only help once the first
+ * result has arrived.
+ * <p>
+ * The executed and coalesced calls are counted through the sling metrics service.
+ *
+ * @param <K> key type. Keys are expected to be immutable value objects.
+ * @param <V> value type. Values are shared between callers and hence expected to be immutable.
+ */
+public final class SingleFlight<K, V> {
+
+    public static final String METRIC_NAME_PREFIX = "saas.singleflight.";
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    /**
+     * Constructs the single flight.
+     *
+     * @param metricsService the metrics service the counters are registered with.
+     * @param name           name of the coalesced calls, used as part of the metric names.
+     */
+    public SingleFlight(@NonNull MetricsService metricsService, @NonNull String name) {
+        String prefix = METRIC_NAME_PREFIX + name;
+        executed = metricsService.counter(prefix + ".executed");
+        coalesced = metricsService.counter(prefix + ".coalesced");
+    }
+
+    /**
+     * Executes the call on the calling thread, unless a call with the same key is in flight, in which case the calling
+     * thread waits for that call and gets its result.
+     *
+     * @param key  the call key.
+     * @param call the call.
+     * @return the result of the call.
+     */
+    public V execute(@NonNull K key, @NonNull Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        executed.increment();
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Gets the number of calls currently in flight.
+     *
+     * @return number of calls.
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.valtech.aem.saas.core.cache;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A size bounded in-memory cache that keeps serving values while their source is slow or failing, following the
+ * stale-while-revalidate and stale-if-error semantics of HTTP caching. Depending on its age, a cached value is
+ * <ul>
+ *     <li><em>fresh</em> until its time to live has passed, and served as is,</li>
+ *     <li><em>stale</em> during the stale while revalidate period that follows, and served as is while a single
+ *     background refresh per key replaces it,</li>
+ *     <li><em>expired</em> during the stale if error period that follows, and only served if loading the value
+ *     fails, marked by the stale marker,</li>
+ * </ul>
+ * after which it is evicted. Serving stale values keeps the latency flat while the source is degraded and in the
+ * moments after a popular value expires, at the price of showing slightly outdated values.
+ * <p>
+ * If a {@link CacheStoreTier} is set, values missing or expired in memory are looked up in the store, and put values
+ * are written through to it, so that the instances sharing the store share their values as well.
+ *
+ * @param <K> key type. Keys are expected to be immutable value objects.
+ * @param <V> value type. Values are shared between callers and hence expected to be immutable.
+ */
+@Slf4j
+public final class StaleWhileRevalidateCache<K, V> {
+
+    private final long timeToLiveMillis;
+    private final long staleWhileRevalidateMillis;
+    private final long retentionMillis;
+    private final UnaryOperator<V> staleMarker;
+    private final CacheMetrics metrics;
+    private final LongSupplier clock;
+    private final ExpiringLruCache<K, TimestampedValue<V>> entries;
+    private final CacheStoreTier<K, V> storeTier;
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs the cache.
+     *
+     * @param maxSize                    maximum number of entries.
+     * @param timeToLiveMillis           time in milliseconds a value is fresh.
+     * @param staleWhileRevalidateMillis time in milliseconds a value is served past its time to live while it is
+     *                                   refreshed in the background.
+     * @param staleIfErrorMillis         time in milliseconds an expired value is still served if loading fails.
+     * @param staleMarker                marks the expired values served because loading failed.
+     * @param metrics                    the cache metrics.
+     * @param storeTier                  the second tier consulted on misses and written through on puts, or null.
+     */
+    public StaleWhileRevalidateCache(int maxSize,
+                                     long timeToLiveMillis,
+                                     long staleWhileRevalidateMillis,
+                                     long staleIfErrorMillis,
+                                     @NonNull UnaryOperator<V> staleMarker,
+                                     @NonNull CacheMetrics metrics,
+                                     CacheStoreTier<K, V> storeTier) {
+        this(maxSize,
+             timeToLiveMillis,
+             staleWhileRevalidateMillis,
+             staleIfErrorMillis,
+             staleMarker,
+             metrics,
+             storeTier,
+             System::currentTimeMillis);
+    }
+
+    StaleWhileRevalidateCache(int maxSize,
+                              long timeToLiveMillis,
+                              long staleWhileRevalidateMillis,
+                              long staleIfErrorMillis,
+                              @NonNull UnaryOperator<V> staleMarker,
+                              @NonNull CacheMetrics metrics,
+                              CacheStoreTier<K, V> storeTier,
+                              @NonNull LongSupplier clock) {
+        if (timeToLiveMillis < 1) {
+            throw new IllegalArgumentException("Cache entry time to live must be positive.");
+        }
+        if (staleWhileRevalidateMillis < 0 || staleIfErrorMillis < 0) {
+            throw new IllegalArgumentException("Cache entry stale periods must not be negative.");
+        }
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.staleWhileRevalidateMillis = staleWhileRevalidateMillis;
+        this.staleMarker = staleMarker;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.storeTier = storeTier;
+        this.retentionMillis = timeToLiveMillis + staleWhileRevalidateMillis + staleIfErrorMillis;
+        this.entries = new ExpiringLruCache<>(maxSize, retentionMillis, metrics, clock);
+    }
+
+    /**
+     * Gets the cached value, or loads it on the calling thread if it is missing or expired.
+     *
+     * @param key       the cache key.
+     * @param loader    loads the value on the calling thread. Empty if loading failed.
+     * @param refresher loads the value in the background, if a stale value is served.
+     * @return the cached or loaded value, or the marked expired value if loading failed, or empty.
+     */
+    public Optional<V> get(@NonNull K key,
+                           @NonNull Supplier<Optional<V>> loader,
+                           @NonNull Supplier<CompletableFuture<V>> refresher) {
+        long now = clock.getAsLong();
+        Optional<TimestampedValue<V>> cached = lookup(key, now);
+        if (cached.isPresent() && !isExpired(cached.get(), now)) {
+            return Optional.of(serve(key, cached.get(), now, refresher));
+        }
+        metrics.miss();
+        Optional<V> loaded = loader.get();
+        if (loaded.isPresent()) {
+            put(key, loaded.get());
+            return loaded;
+        }
+        return cached.map(value -> serveOnError(key, value));
+    }
+
+    /**
+     * Gets the cached value, or loads it asynchronously if it is missing or expired.
+     *
+     * @param key    the cache key.
+     * @param loader loads the value asynchronously, also used to refresh the value in the background.
+     * @return future completed with the cached or loaded value, or the marked expired value if loading failed.
+     */
+    public CompletableFuture<V> getAsync(@NonNull K key, @NonNull Supplier<CompletableFuture<V>> loader) {
+        long now = clock.getAsLong();
+        Optional<TimestampedValue<V>> cached = lookup(key, now);
+        if (cached.isPresent() && !isExpired(cached.get(), now)) {
+            return CompletableFuture.completedFuture(serve(key, cached.get(), now, loader));
+        }
+        metrics.miss();
+        CompletableFuture<V> loaded = loader.get().thenApply(value -> {
+            put(key, value);
+            return value;
+        });
+        if (!cached.isPresent()) {
+            return loaded;
+        }
+        return loaded.exceptionally(throwable -> serveOnError(key, cached.get()));
+    }
+
+    /**
+     * Puts a fresh value in the cache, replacing the existing one for the same key.
+     *
+     * @param key   the cache key.
+     * @param value the value.
+     */
+    public void put(@NonNull K key, @NonNull V value) {
+        long now = clock.getAsLong();
+        entries.put(key, new TimestampedValue<>(value, now));
+        if (storeTier != null) {
+            storeTier.put(key, value, now, retentionMillis);
+        }
+    }
+
+    /**
+     * Removes all the entries held in memory. The values written through to the store tier expire on their own.
+     */
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * Gets the number of entries currently held, including the expired ones not yet evicted.
+     *
+     * @return number of entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private Optional<TimestampedValue<V>> lookup(K key, long now) {
+        Optional<TimestampedValue<V>> cached = entries.peek(key);
+        if (storeTier == null || (cached.isPresent() && !isExpired(cached.get(), now))) {
+            return cached;
+        }
+        Optional<TimestampedValue<V>> stored =
+                storeTier.get(key)
+                         .map(value -> new TimestampedValue<>(value.getValue(), value.getCreatedAt()))
+                         .filter(value -> now - value.getCreatedAt() < retentionMillis)
+                         .filter(value -> !cached.isPresent() || value.getCreatedAt() > cached.get().getCreatedAt());
+        if (!stored.isPresent()) {
+            return cached;
+        }
+        entries.put(key, stored.get(), retentionMillis - (now - stored.get().getCreatedAt()));
+        return stored;
+    }
+
+    private V serve(K key, TimestampedValue<V> cached, long now, Supplier<CompletableFuture<V>> refresher) {
+        metrics.hit();
+        if (now - cached.getCreatedAt() >= timeToLiveMillis) {
+            refresh(key, refresher);
+        }
+        return cached.getValue();
+    }
+
+    private V serveOnError(K key, TimestampedValue<V> cached) {
+        log.debug("Loading {} failed. Serving stale value.", key);
+        return staleMarker.apply(cached.getValue());
+    }
+
+    private boolean isExpired(TimestampedValue<V> cached, long now) {
+        return now - cached.getCreatedAt() >= timeToLiveMillis + staleWhileRevalidateMillis;
+    }
+
+    private void refresh(K key, Supplier<CompletableFuture<V>> refresher) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        log.debug("Serving stale value of {} while refreshing it.", key);
+        CompletableFuture<V> refreshed;
+        try {
+            refreshed = refresher.get();
+        } catch (RuntimeException e) {
+            refreshing.remove(key);
+            log.debug("Failed to refresh {}.", key, e);
+            return;
+        }
+        refreshed.whenComplete((value, throwable) -> {
+            refreshing.remove(key);
+            if (throwable == null) {
+                put(key, value);
+            } else {
+                log.debug("Failed to refresh {}.", key, throwable);
+            }
+        });
+    }
+
+    @Value
+    private static class TimestampedValue<V> {
+
+        V value;
+
+        long createdAt;
+    }
+}
@@ -1,10 +1,13 @@
 package com.valtech.aem.saas.core.fulltextsearch;
 
+import com.valtech.aem.saas.api.cache.SearchResultCacheStore;
 import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.fulltextsearch.FulltextSearchPingService;
 import com.valtech.aem.saas.api.fulltextsearch.FulltextSearchService;
+import com.valtech.aem.saas.api.fulltextsearch.SearchQuerySpec;
 import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
 import com.valtech.aem.saas.api.fulltextsearch.dto.ResultDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.SearchQueryResultDTO;
 import com.valtech.aem.saas.api.query.FacetsQuery;
 import com.valtech.aem.saas.api.query.Filter;
 import com.valtech.aem.saas.api.query.FiltersQuery;
@@ -15,9 +18,15 @@ import com.valtech.aem.saas.api.query.SearchTemplateQuery;
 import com.valtech.aem.saas.api.query.Sort;
 import com.valtech.aem.saas.api.query.SortQuery;
 import com.valtech.aem.saas.api.query.TermQuery;
+import com.valtech.aem.saas.core.cache.CacheMetrics;
+import com.valtech.aem.saas.core.cache.CacheStoreTier;
+import com.valtech.aem.saas.core.cache.SingleFlight;
+import com.valtech.aem.saas.core.cache.StaleWhileRevalidateCache;
 import com.valtech.aem.saas.core.fulltextsearch.DefaultFulltextSearchService.Configuration;
+import com.valtech.aem.saas.core.health.IndexHealthService;
 import com.valtech.aem.saas.core.http.client.SearchApiRequestExecutorService;
 import com.valtech.aem.saas.core.http.client.SearchServiceConnectionConfigurationService;
+import com.valtech.aem.saas.core.http.client.SearchTrafficType;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.request.SearchRequestGet;
 import com.valtech.aem.saas.core.http.request.SearchRequestHead;
@@ -31,24 +40,38 @@ import com.valtech.aem.saas.core.http.response.dto.FallbackHighlightingDTO;
 import com.valtech.aem.saas.core.http.response.dto.HighlightingDTO;
 import com.valtech.aem.saas.core.http.response.dto.ResponseBodyDTO;
 import com.valtech.aem.saas.core.http.response.dto.SearchResultDTO;
+import com.valtech.aem.saas.core.serialization.FulltextSearchResultsCodec;
+import com.valtech.aem.saas.core.tracing.Span;
 import com.valtech.aem.saas.core.util.LoggedOptional;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sling.commons.metrics.MetricsService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.osgi.service.component.propertytypes.ServiceDescription;
 import org.osgi.service.metatype.annotations.AttributeDefinition;
 import org.osgi.service.metatype.annotations.AttributeType;
@@ -56,10 +79,21 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 
 @Slf4j
-@Component(service = {FulltextSearchService.class, FulltextSearchPingService.class})
+@Component(service = {FulltextSearchService.class,
+                      FulltextSearchPingService.class,
+                      IndexPingService.class,
+                      UncachedFulltextSearchService.class})
 @ServiceDescription("Search as a Service - Fulltext Search Service")
 @Designate(ocd = Configuration.class)
-public class DefaultFulltextSearchService implements FulltextSearchService, FulltextSearchPingService {
+public class DefaultFulltextSearchService
+        implements FulltextSearchService, FulltextSearchPingService, IndexPingService, UncachedFulltextSearchService {
+
+    public static final String CACHE_NAME = "fulltextsearch";
+
+    static final String SPAN_GET_RESULTS = "FulltextSearchService.getResults";
+    static final String SPAN_CREATE_QUERY_STRING = "FulltextSearchService.createQueryString";
+    static final String SPAN_MAP_RESULTS = "FulltextSearchService.mapResults";
+    static final String SPAN_ATTRIBUTE_INDEX = "saas.index";
 
     @Reference
     private SearchServiceConnectionConfigurationService searchServiceConnectionConfigurationService;
@@ -67,19 +101,25 @@ public class DefaultFulltextSearchService implements FulltextSearchService, Full
     @Reference
     private SearchApiRequestExecutorService searchApiRequestExecutorService;
 
+    @Reference
+    private MetricsService metricsService;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+               policy = ReferencePolicy.DYNAMIC,
+               policyOption = ReferencePolicyOption.GREEDY)
+    private volatile IndexHealthService indexHealthService;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+               policy = ReferencePolicy.DYNAMIC,
+               policyOption = ReferencePolicyOption.GREEDY)
+    private volatile SearchResultCacheStore searchResultCacheStore;
+
     private Configuration configuration;
 
-    @Override
-    public Optional<FulltextSearchResultsDTO> getResults(@NonNull SearchCAConfigurationModel searchConfiguration,
-        String searchText,
-        @NonNull String language,
-        int start,
-        int rows,
-        Set<Filter> filters,
-        Set<String> facets,
-        String template) {
-        return getResults(searchConfiguration, searchText, language, start, rows, filters, facets, false, template, null);
-    }
+    private volatile StaleWhileRevalidateCache<FulltextSearchCacheKey, FulltextSearchResultsDTO> resultsCache;
+
+    private volatile SingleFlight<SearchFlightKey, Optional<FulltextSearchResultsDTO>> searchFlight;
+
     @Override
     public Optional<FulltextSearchResultsDTO> getResults(@NonNull SearchCAConfigurationModel searchConfiguration,
                                                          String searchText,
@@ -89,85 +129,244 @@ public class DefaultFulltextSearchService implements FulltextSearchService, Full
                                                          Set<Filter> filters,
                                                          Set<String> facets,
                                                          boolean disableContextFilters,
-                                                         String template) {
-        return getResults(searchConfiguration, searchText, language, start, rows, filters, facets, disableContextFilters, template, null);
+                                                         String template,
+                                                         List<Pair<String, Sort>> sortParameters) {
+        return getResults(searchConfiguration,
+                          SearchQuerySpec.builder()
+                                         .searchText(searchText)
+                                         .language(language)
+                                         .start(start)
+                                         .rows(rows)
+                                         .filters(CollectionUtils.emptyIfNull(filters))
+                                         .facets(CollectionUtils.emptyIfNull(facets))
+                                         .disableContextFilters(disableContextFilters)
+                                         .template(template)
+                                         .sortParameters(CollectionUtils.emptyIfNull(sortParameters))
+                                         .build());
     }
 
     @Override
     public Optional<FulltextSearchResultsDTO> getResults(@NonNull SearchCAConfigurationModel searchConfiguration,
-        String searchText,
-        @NonNull String language,
-        int start,
-        int rows,
-        Set<Filter> filters,
-        Set<String> facets,
-        boolean disableContextFilters,
-        String template,
-        List<Pair<String, Sort>> sortParameters) {
-        String requestUrl = getRequestUrl(getApiUrl(searchConfiguration.getIndex()),
-            createQueryString(searchText,
-                language,
-                start,
-                rows,
-                getEffectiveFilters(searchConfiguration.getFilters(),
-                    filters, disableContextFilters),
-                facets,
-                template,
-                sortParameters));
+                                                         @NonNull SearchQuerySpec querySpec) {
+        try (Span span = Span.start(SPAN_GET_RESULTS)) {
+            span.setAttribute(SPAN_ATTRIBUTE_INDEX, searchConfiguration.getIndex());
+            String apiUrl = getApiUrl(searchConfiguration.getIndex());
+            Set<Filter> effectiveFilters = getEffectiveFilters(searchConfiguration.getFilters(), querySpec);
+            String requestUrl;
+            try (Span ignored = Span.start(SPAN_CREATE_QUERY_STRING)) {
+                requestUrl = getRequestUrl(apiUrl, createQueryString(querySpec, effectiveFilters));
+            }
+            StaleWhileRevalidateCache<FulltextSearchCacheKey, FulltextSearchResultsDTO> cache = resultsCache;
+            if (cache == null) {
+                return executeSearch(searchConfiguration, requestUrl);
+            }
+            FulltextSearchCacheKey cacheKey = FulltextSearchCacheKey.of(apiUrl,
+                                                                        querySpec,
+                                                                        effectiveFilters,
+                                                                        searchConfiguration.isAutoSuggestEnabled(),
+                                                                        searchConfiguration.isBestBetsEnabled());
+            return cache.get(cacheKey,
+                             () -> executeSearch(searchConfiguration, requestUrl),
+                             () -> executeSearchAsync(searchConfiguration, requestUrl));
+        }
+    }
+
+    private Optional<FulltextSearchResultsDTO> executeSearch(SearchCAConfigurationModel searchConfiguration,
+                                                             String requestUrl) {
+        // checked by the loader, so that the cache serves its expired value while the index is unavailable
+        if (!isIndexAvailable(searchConfiguration.getIndex())) {
+            log.debug("Search index {} is unavailable. Skipping query.", searchConfiguration.getIndex());
+            return Optional.empty();
+        }
+        SingleFlight<SearchFlightKey, Optional<FulltextSearchResultsDTO>> flight = searchFlight;
+        boolean autoSuggestEnabled = searchConfiguration.isAutoSuggestEnabled();
+        boolean bestBetsEnabled = searchConfiguration.isBestBetsEnabled();
+        Optional<FulltextSearchResultsDTO> results;
+        if (flight == null) {
+            results = executeSearchRequest(requestUrl, autoSuggestEnabled, bestBetsEnabled);
+        } else {
+            SearchFlightKey flightKey = new SearchFlightKey(requestUrl, autoSuggestEnabled, bestBetsEnabled);
+            results = flight.execute(flightKey,
+                                     () -> executeSearchRequest(requestUrl, autoSuggestEnabled, bestBetsEnabled));
+        }
+        recordIndexResult(searchConfiguration.getIndex(), results.isPresent());
+        return results;
+    }
+
+    private Optional<FulltextSearchResultsDTO> executeSearchRequest(String requestUrl,
+                                                                    boolean autoSuggestEnabled,
+                                                                    boolean bestBetsEnabled) {
         log.debug("Search GET Request: {}", requestUrl);
         Optional<SearchResponse> searchResponse =
             searchApiRequestExecutorService.execute(new SearchRequestGet(requestUrl));
         if (searchResponse.isPresent()) {
             printResponseHeaderInLog(searchResponse.get());
-            return getFulltextSearchResults(searchResponse.get(),
-                searchConfiguration.isAutoSuggestEnabled(),
-                searchConfiguration.isBestBetsEnabled());
+            try (Span ignored = Span.start(SPAN_MAP_RESULTS)) {
+                return getFulltextSearchResults(searchResponse.get(), autoSuggestEnabled, bestBetsEnabled);
+            }
         }
         return Optional.empty();
     }
 
+    @Override
+    public Optional<FulltextSearchResultsDTO> getUncachedResults(
+            @NonNull SearchCAConfigurationModel searchConfiguration,
+            @NonNull SearchQuerySpec querySpec) {
+        String queryString = createQueryString(querySpec,
+                                               getEffectiveFilters(searchConfiguration.getFilters(), querySpec));
+        return executeSearchRequest(getRequestUrl(getApiUrl(searchConfiguration.getIndex()), queryString),
+                                    false,
+                                    false);
+    }
+
+    @Override
+    public List<SearchQueryResultDTO> getResultsBatch(@NonNull SearchCAConfigurationModel searchConfiguration,
+                                                      @NonNull List<SearchQuerySpec> querySpecs) {
+        String apiUrl = getApiUrl(searchConfiguration.getIndex());
+        StaleWhileRevalidateCache<FulltextSearchCacheKey, FulltextSearchResultsDTO> cache = resultsCache;
+        int batchMaxSize = configuration.fulltextSearchService_batchMaxSize();
+        Map<FulltextSearchCacheKey, CompletableFuture<FulltextSearchResultsDTO>> pendingResults = new HashMap<>();
+        List<CompletableFuture<FulltextSearchResultsDTO>> orderedResults = new ArrayList<>(querySpecs.size());
+        for (SearchQuerySpec querySpec : querySpecs) {
+            if (querySpec == null) {
+                orderedResults.add(failed(new IllegalArgumentException("Query specification is null.")));
+                continue;
+            }
+            Set<Filter> effectiveFilters = getEffectiveFilters(searchConfiguration.getFilters(), querySpec);
+            FulltextSearchCacheKey cacheKey = FulltextSearchCacheKey.of(apiUrl,
+                                                                        querySpec,
+                                                                        effectiveFilters,
+                                                                        searchConfiguration.isAutoSuggestEnabled(),
+                                                                        searchConfiguration.isBestBetsEnabled());
+            CompletableFuture<FulltextSearchResultsDTO> results = pendingResults.get(cacheKey);
+            if (results == null) {
+                if (pendingResults.size() >= batchMaxSize) {
+                    results = failed(new IllegalStateException(
+                            String.format("Batch exceeds the limit of %d distinct queries.", batchMaxSize)));
+                } else {
+                    results = getResultsAsync(searchConfiguration,
+                                              getRequestUrl(apiUrl, createQueryString(querySpec, effectiveFilters)),
+                                              cacheKey,
+                                              cache);
+                    pendingResults.put(cacheKey, results);
+                }
+            }
+            orderedResults.add(results);
+        }
+        List<SearchQueryResultDTO> batchResults = new ArrayList<>(querySpecs.size());
+        for (int i = 0; i < querySpecs.size(); i++) {
+            batchResults.add(toSearchQueryResult(querySpecs.get(i), orderedResults.get(i)));
+        }
+        return batchResults;
+    }
+
+    private CompletableFuture<FulltextSearchResultsDTO> getResultsAsync(
+            SearchCAConfigurationModel searchConfiguration,
+            String requestUrl,
+            FulltextSearchCacheKey cacheKey,
+            StaleWhileRevalidateCache<FulltextSearchCacheKey, FulltextSearchResultsDTO> cache) {
+        if (cache == null) {
+            return executeSearchAsync(searchConfiguration, requestUrl);
+        }
+        return cache.getAsync(cacheKey, () -> executeSearchAsync(searchConfiguration, requestUrl));
+    }
+
+    private CompletableFuture<FulltextSearchResultsDTO> executeSearchAsync(
+            SearchCAConfigurationModel searchConfiguration,
+            String requestUrl) {
+        if (!isIndexAvailable(searchConfiguration.getIndex())) {
+            return failed(new IllegalStateException(
+                    String.format("Search index %s is unavailable.", searchConfiguration.getIndex())));
+        }
+        boolean autoSuggestEnabled = searchConfiguration.isAutoSuggestEnabled();
+        boolean bestBetsEnabled = searchConfiguration.isBestBetsEnabled();
+        log.debug("Search GET Request (async): {}", requestUrl);
+        return searchApiRequestExecutorService.executeAsync(new SearchRequestGet(requestUrl))
+                                              .thenApply(searchResponse -> {
+                                                  printResponseHeaderInLog(searchResponse);
+                                                  return getFulltextSearchResults(searchResponse,
+                                                                                  autoSuggestEnabled,
+                                                                                  bestBetsEnabled)
+                                                          .orElseThrow(() -> new IllegalStateException(
+                                                                  "No search results found in response."));
+                                              })
+                                              .whenComplete((results, throwable) -> recordIndexResult(
+                                                      searchConfiguration.getIndex(), throwable == null));
+    }
+
+    private SearchQueryResultDTO toSearchQueryResult(SearchQuerySpec querySpec,
+                                                     CompletableFuture<FulltextSearchResultsDTO> results) {
+        SearchQueryResultDTO.SearchQueryResultDTOBuilder builder = SearchQueryResultDTO.builder().query(querySpec);
+        try {
+            return builder.results(results.join()).build();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Batch query failed: {}", querySpec, cause);
+            return builder.error(StringUtils.defaultIfBlank(cause.getMessage(), cause.getClass().getSimpleName()))
+                          .build();
+        }
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable throwable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
     @Override
     public boolean ping(@NonNull SearchCAConfigurationModel searchConfiguration) {
-        String url = getApiUrl(searchConfiguration.getIndex());
+        return ping(searchConfiguration.getIndex());
+    }
+
+    @Override
+    public boolean ping(@NonNull String index) {
+        String url = getApiUrl(index);
         SearchRequest pingRequest = new SearchRequestHead(url);
-        return searchApiRequestExecutorService.execute(pingRequest).map(SearchResponse::isSuccess).orElse(false);
+        return searchApiRequestExecutorService.execute(pingRequest, SearchTrafficType.PING)
+                                              .map(SearchResponse::isSuccess)
+                                              .orElse(false);
     }
 
-    private Set<Filter> getEffectiveFilters(Set<Filter> contextFilters, Set<Filter> specifiedFilters, boolean disableContextFilters) {
+    private boolean isIndexAvailable(String index) {
+        IndexHealthService healthService = indexHealthService;
+        return healthService == null || healthService.isAvailable(index);
+    }
+
+    private void recordIndexResult(String index, boolean success) {
+        IndexHealthService healthService = indexHealthService;
+        if (healthService != null) {
+            healthService.recordResult(index, success);
+        }
+    }
+
+    private Set<Filter> getEffectiveFilters(Set<Filter> contextFilters, SearchQuerySpec querySpec) {
         Set<Filter> filters = new HashSet<>();
-        if (!disableContextFilters) {
+        if (!querySpec.isDisableContextFilters()) {
             Optional.ofNullable(contextFilters).ifPresent(filters::addAll);
         }
-        Optional.ofNullable(specifiedFilters).ifPresent(filters::addAll);
+        filters.addAll(querySpec.getFilters());
         return filters;
     }
 
 
-    private String createQueryString(String term, //NOSONAR
-                                     String language,
-                                     int start,
-                                     int rows,
-                                     Set<Filter> filters,
-                                     Set<String> facets,
-                                     String template,
-                                     List<Pair<String, Sort>> sortParameters) {
+    private String createQueryString(SearchQuerySpec querySpec, Set<Filter> filters) {
         GetQueryStringConstructor.GetQueryStringConstructorBuilder builder =
                 GetQueryStringConstructor.builder()
-                                         .query(new TermQuery(term))
-                                         .query(new LanguageQuery(language))
-                                         .query(new PaginationQuery(start,
-                                                                    rows))
+                                         .query(new TermQuery(querySpec.getSearchText()))
+                                         .query(new LanguageQuery(querySpec.getLanguage()))
+                                         .query(new PaginationQuery(querySpec.getStart(),
+                                                                    querySpec.getRows()))
                                          .query(FiltersQuery.builder()
                                                             .filters(CollectionUtils.emptyIfNull(filters))
                                                             .build())
                                          .query(FacetsQuery.builder()
-                                                           .fields(CollectionUtils.emptyIfNull(facets))
+                                                           .fields(querySpec.getFacets())
                                                            .build());
-        if (StringUtils.isNotBlank(template)) {
-            builder.query(new SearchTemplateQuery(template));
+        if (StringUtils.isNotBlank(querySpec.getTemplate())) {
+            builder.query(new SearchTemplateQuery(querySpec.getTemplate()));
         }
-        if (CollectionUtils.isNotEmpty(sortParameters)) {
-            builder.query(new SortQuery(sortParameters));
+        if (CollectionUtils.isNotEmpty(querySpec.getSortParameters())) {
+            builder.query(new SortQuery(querySpec.getSortParameters()));
         }
         return builder.build().getQueryString();
     }
@@ -245,6 +444,42 @@ public class DefaultFulltextSearchService implements FulltextSearchService, Full
     @Modified
     private void activate(Configuration configuration) {
         this.configuration = configuration;
+        this.resultsCache = createResultsCache(configuration);
+        this.searchFlight = configuration.fulltextSearchService_requestCoalescingEnabled()
+                ? new SingleFlight<>(metricsService, CACHE_NAME)
+                : null;
+    }
+
+    private StaleWhileRevalidateCache<FulltextSearchCacheKey, FulltextSearchResultsDTO> createResultsCache(
+            Configuration configuration) {
+        if (!configuration.fulltextSearchService_cacheEnabled()
+                || configuration.fulltextSearchService_cacheMaxSize() < 1
+                || configuration.fulltextSearchService_cacheTimeToLive() < 1) {
+            log.info("Fulltext search results cache is disabled.");
+            return null;
+        }
+        return new StaleWhileRevalidateCache<>(
+                configuration.fulltextSearchService_cacheMaxSize(),
+                TimeUnit.SECONDS.toMillis(configuration.fulltextSearchService_cacheTimeToLive()),
+                TimeUnit.SECONDS.toMillis(Math.max(0, configuration.fulltextSearchService_cacheStaleWhileRevalidate())),
+                TimeUnit.SECONDS.toMillis(Math.max(0, configuration.fulltextSearchService_cacheStaleIfError())),
+                results -> results.toBuilder().stale(true).build(),
+                new CacheMetrics(metricsService, CACHE_NAME),
+                new CacheStoreTier<>(CACHE_NAME, new FulltextSearchResultsCodec(), () -> searchResultCacheStore));
+    }
+
+    /**
+     * Key of the coalesced search requests. The result mapping depends on the search configuration, hence its flags
+     * are part of the key next to the request url.
+     */
+    @Value
+    private static class SearchFlightKey {
+
+        String requestUrl;
+
+        boolean autoSuggestEnabled;
+
+        boolean bestBetsEnabled;
     }
 
     @ObjectClassDefinition(name = "Search as a Service - Fulltext Search Service Configuration",
@@ -253,6 +488,13 @@ public class DefaultFulltextSearchService implements FulltextSearchService, Full
 
         String DEFAULT_API_ACTION = "/search";
         String DEFAULT_API_VERSION_PATH = "/api/v3"; // NOSONAR
+        boolean DEFAULT_CACHE_ENABLED = true;
+        int DEFAULT_CACHE_MAX_SIZE = 1000;
+        int DEFAULT_CACHE_TIME_TO_LIVE = 60;
+        int DEFAULT_CACHE_STALE_WHILE_REVALIDATE = 60;
+        int DEFAULT_CACHE_STALE_IF_ERROR = 600;
+        int DEFAULT_BATCH_MAX_SIZE = 50;
+        boolean DEFAULT_REQUEST_COALESCING_ENABLED = true;
 
         @AttributeDefinition(name = "Api version path",
                              description = "Api version path",
@@ -262,5 +504,33 @@ public class DefaultFulltextSearchService implements FulltextSearchService, Full
                              description = "What kind of action should be defined",
                              type = AttributeType.STRING) String fulltextSearchService_apiAction() default DEFAULT_API_ACTION; // NOSONAR
 
+        @AttributeDefinition(name = "Enable results cache",
+                             description = "Cache fulltext search results in memory, keyed by the normalized query",
+                             type = AttributeType.BOOLEAN) boolean fulltextSearchService_cacheEnabled() default DEFAULT_CACHE_ENABLED; // NOSONAR
+
+        @AttributeDefinition(name = "Results cache max size",
+                             description = "Maximum number of cached queries. Least recently used are evicted first",
+                             type = AttributeType.INTEGER) int fulltextSearchService_cacheMaxSize() default DEFAULT_CACHE_MAX_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Results cache time to live",
+                             description = "Number of seconds the results of a query are cached",
+                             type = AttributeType.INTEGER) int fulltextSearchService_cacheTimeToLive() default DEFAULT_CACHE_TIME_TO_LIVE; // NOSONAR
+
+        @AttributeDefinition(name = "Results cache stale while revalidate",
+                             description = "Number of seconds past the time to live during which cached results are served while they are refreshed in the background",
+                             type = AttributeType.INTEGER) int fulltextSearchService_cacheStaleWhileRevalidate() default DEFAULT_CACHE_STALE_WHILE_REVALIDATE; // NOSONAR
+
+        @AttributeDefinition(name = "Results cache stale if error",
+                             description = "Number of seconds past the stale while revalidate period during which cached results are still served, flagged as stale, if the search request fails",
+                             type = AttributeType.INTEGER) int fulltextSearchService_cacheStaleIfError() default DEFAULT_CACHE_STALE_IF_ERROR; // NOSONAR
+
+        @AttributeDefinition(name = "Batch max size",
+                             description = "Maximum number of distinct queries executed per batch. Queries exceeding it fail",
+                             type = AttributeType.INTEGER) int fulltextSearchService_batchMaxSize() default DEFAULT_BATCH_MAX_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Enable request coalescing",
+                             description = "Identical concurrent search requests wait for a single request to SaaS and share its results",
+                             type = AttributeType.BOOLEAN) boolean fulltextSearchService_requestCoalescingEnabled() default DEFAULT_REQUEST_COALESCING_ENABLED; // NOSONAR
+
     }
 }
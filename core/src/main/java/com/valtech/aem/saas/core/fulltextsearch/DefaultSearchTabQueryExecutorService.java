@@ -0,0 +1,99 @@
+package com.valtech.aem.saas.core.fulltextsearch;
+
+import com.valtech.aem.saas.core.util.ThreadPools;
+import lombok.extern.slf4j.Slf4j;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Component(service = SearchTabQueryExecutorService.class)
+@ServiceDescription("Search as a Service - Search Tab Query Executor Service")
+@Designate(ocd = DefaultSearchTabQueryExecutorService.Configuration.class)
+public class DefaultSearchTabQueryExecutorService implements SearchTabQueryExecutorService {
+
+    private static final String THREAD_NAME_FORMAT = "saas-search-tab-%d";
+
+    private volatile Configuration configuration;
+
+    private volatile ThreadPoolExecutor executor;
+
+    @Override
+    public Optional<SearchTabQueryDispatcher> createDispatcher() {
+        Configuration currentConfiguration = configuration;
+        ThreadPoolExecutor currentExecutor = executor;
+        if (!currentConfiguration.searchTabQueryExecutorService_enabled() || currentExecutor == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new SearchTabQueryDispatcher(currentExecutor,
+                                                        Math.max(0L, currentConfiguration.searchTabQueryExecutorService_renderTimeout()),
+                                                        currentConfiguration.searchTabQueryExecutorService_failurePolicy()));
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        this.configuration = configuration;
+        ThreadPoolExecutor previous = executor;
+        executor = configuration.searchTabQueryExecutorService_enabled()
+                ? ThreadPools.newBoundedThreadPool(THREAD_NAME_FORMAT,
+                                                   configuration.searchTabQueryExecutorService_threadPoolSize(),
+                                                   configuration.searchTabQueryExecutorService_queueSize())
+                : null;
+        if (previous != null) {
+            ThreadPools.shutdown(previous, configuration.searchTabQueryExecutorService_renderTimeout());
+        }
+    }
+
+    @Deactivate
+    private void deactivate() {
+        if (executor != null) {
+            ThreadPools.shutdown(executor, configuration.searchTabQueryExecutorService_renderTimeout());
+            executor = null;
+        }
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Search Tab Query Executor Service Configuration",
+                           description = "Concurrent execution of the search tab queries of a search component.")
+    public @interface Configuration {
+
+        boolean DEFAULT_ENABLED = true;
+        int DEFAULT_THREAD_POOL_SIZE = 20;
+        int DEFAULT_QUEUE_SIZE = 100;
+        long DEFAULT_RENDER_TIMEOUT = 10000L;
+
+        @AttributeDefinition(name = "Enabled",
+                             description = "Execute the search tab queries concurrently. When disabled, the tabs query one after the other.",
+                             type = AttributeType.BOOLEAN)
+        boolean searchTabQueryExecutorService_enabled() default DEFAULT_ENABLED; // NOSONAR
+
+        @AttributeDefinition(name = "Threads",
+                             description = "Number of threads executing search tab queries, shared by all renders.",
+                             type = AttributeType.INTEGER)
+        int searchTabQueryExecutorService_threadPoolSize() default DEFAULT_THREAD_POOL_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Queue size",
+                             description = "Maximum number of search tab queries waiting for a free thread. Queries exceeding it are executed on the rendering thread.",
+                             type = AttributeType.INTEGER)
+        int searchTabQueryExecutorService_queueSize() default DEFAULT_QUEUE_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Render timeout",
+                             description = "Maximum time in milliseconds a search component render waits for all its tab queries.",
+                             type = AttributeType.LONG)
+        long searchTabQueryExecutorService_renderTimeout() default DEFAULT_RENDER_TIMEOUT; // NOSONAR
+
+        @AttributeDefinition(name = "Failure policy",
+                             description = "How a tab whose query failed or timed out is rendered: SKIP renders it without results, RETRY executes the query once more on the rendering thread.")
+        SearchTabFailurePolicy searchTabQueryExecutorService_failurePolicy() default SearchTabFailurePolicy.SKIP; // NOSONAR
+
+    }
+}
@@ -0,0 +1,79 @@
+package com.valtech.aem.saas.core.fulltextsearch;
+
+import com.valtech.aem.saas.api.fulltextsearch.SearchQuerySpec;
+import com.valtech.aem.saas.api.query.Filter;
+import lombok.Value;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Normalized form of a {@link SearchQuerySpec}, used as fulltext search results cache key. Queries that result in the
+ * same search request are represented by equal keys, regardless of the filter and facet iteration order.
+ */
+@Value
+class FulltextSearchCacheKey {
+
+    private static final String SEARCH_TERM_ALL = "*";
+
+    String apiUrl;
+    String term;
+    String language;
+    int start;
+    int rows;
+    SortedSet<String> filters;
+    SortedSet<String> facets;
+    String template;
+    List<String> sortParameters;
+    boolean autoSuggestEnabled;
+    boolean bestBetsEnabled;
+
+    /**
+     * Creates the key of the specified query.
+     *
+     * @param apiUrl             the search api url, identifying the index.
+     * @param querySpec          the query specification.
+     * @param effectiveFilters   the query filters merged with the context aware configuration filters.
+     * @param autoSuggestEnabled whether the results include a suggestion.
+     * @param bestBetsEnabled    whether the best bets are sorted on top of the results.
+     * @return the cache key.
+     */
+    static FulltextSearchCacheKey of(String apiUrl,
+                                     SearchQuerySpec querySpec,
+                                     Collection<Filter> effectiveFilters,
+                                     boolean autoSuggestEnabled,
+                                     boolean bestBetsEnabled) {
+        return new FulltextSearchCacheKey(apiUrl,
+                                          StringUtils.isNotBlank(querySpec.getSearchText())
+                                                  ? querySpec.getSearchText()
+                                                  : SEARCH_TERM_ALL,
+                                          querySpec.getLanguage(),
+                                          querySpec.getStart(),
+                                          querySpec.getRows(),
+                                          CollectionUtils.emptyIfNull(effectiveFilters)
+                                                         .stream()
+                                                         .filter(Objects::nonNull)
+                                                         .map(Filter::getQueryString)
+                                                         .filter(Objects::nonNull)
+                                                         .collect(Collectors.toCollection(TreeSet::new)),
+                                          querySpec.getFacets()
+                                                   .stream()
+                                                   .filter(Objects::nonNull)
+                                                   .collect(Collectors.toCollection(TreeSet::new)),
+                                          StringUtils.isNotBlank(querySpec.getTemplate())
+                                                  ? querySpec.getTemplate()
+                                                  : StringUtils.EMPTY,
+                                          querySpec.getSortParameters()
+                                                   .stream()
+                                                   .map(p -> p.getKey() + ":" + p.getValue())
+                                                   .collect(Collectors.toList()),
+                                          autoSuggestEnabled,
+                                          bestBetsEnabled);
+    }
+}
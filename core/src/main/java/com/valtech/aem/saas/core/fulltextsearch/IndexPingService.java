@@ -0,0 +1,18 @@
+package com.valtech.aem.saas.core.fulltextsearch;
+
+import lombok.NonNull;
+
+/**
+ * Checks the connection to the api of a search index, for the module's own health checks that only know the index
+ * name, without a context aware search configuration.
+ */
+public interface IndexPingService {
+
+    /**
+     * Checks connection to the api of the specified index.
+     *
+     * @param index the search index name.
+     * @return true if api is accessed.
+     */
+    boolean ping(@NonNull String index);
+}
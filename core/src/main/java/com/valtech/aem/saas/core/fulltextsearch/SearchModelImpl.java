@@ -5,10 +5,9 @@ import com.adobe.cq.export.json.ContainerExporter;
 import com.adobe.cq.export.json.ExporterConstants;
 import com.day.cq.i18n.I18n;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.fulltextsearch.FulltextSearchPingService;
 import com.valtech.aem.saas.api.fulltextsearch.SearchModel;
@@ -17,7 +16,12 @@ import com.valtech.aem.saas.api.query.Filter;
 import com.valtech.aem.saas.api.resource.PathTransformer;
 import com.valtech.aem.saas.core.autocomplete.AutocompleteServlet;
 import com.valtech.aem.saas.core.common.resource.ResourceWrapper;
+import com.valtech.aem.saas.core.health.IndexHealth;
+import com.valtech.aem.saas.core.health.IndexHealthService;
 import com.valtech.aem.saas.core.i18n.I18nProvider;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
+import com.valtech.aem.saas.core.tracing.Span;
+import com.valtech.aem.saas.core.tracing.Tracer;
 import com.valtech.aem.saas.core.tracking.SearchResultItemTrackingServlet;
 import com.valtech.aem.saas.core.util.ResourceUtil;
 import lombok.Getter;
@@ -68,6 +72,9 @@ public class SearchModelImpl implements SearchModel, ContainerExporter {
     public static final String I18N_SEARCH_CONNECTION_FAILED_FURTHER_ACTION_CHECK_OSGI_CONFIGURATION =
             "com.valtech.aem.saas.core.search.apiConnectionFail.furtherAction.checkOsgiConfigurations.text";
 
+    static final String SPAN_INIT = "SearchModel.init";
+    static final String SPAN_ATTRIBUTE_RESOURCE_PATH = "sling.resource_path";
+
     @JsonInclude(Include.NON_EMPTY)
     @Getter
     @ValueMapValue
@@ -149,34 +156,56 @@ public class SearchModelImpl implements SearchModel, ContainerExporter {
     @OSGiService
     private ModelFactory modelFactory;
 
+    @OSGiService
+    private SerializerRegistry serializerRegistry;
+
     @OSGiService
     private PathTransformer pathTransformer;
 
     @OSGiService
     private FulltextSearchPingService fulltextSearchPingService;
 
+    @OSGiService
+    private SearchTabQueryExecutorService searchTabQueryExecutorService;
+
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private IndexHealthService indexHealthService;
+
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private Tracer tracer;
+
     private I18n i18n;
 
     private SearchCAConfigurationModel searchCAConfigurationModel;
 
     @PostConstruct
     private void init() {
-        searchCAConfigurationModel = resource.adaptTo(SearchCAConfigurationModel.class);
-        createAutocompleteUrl().ifPresent(url -> autocompleteUrl = url);
-        createTrackingUrl().ifPresent(url -> trackingUrl = url);
-        i18n = i18nProvider.getI18n(getLocale());
-        connectionFailedAlert = resolveConnectionFailedAlert();
-        getAutocompleteThreshold().ifPresent(threshold -> autocompleteTriggerThreshold = threshold);
-        autoSuggestText = i18n.get(I18N_SEARCH_SUGGESTION_TEXT);
-        noResultsText = i18n.get(I18N_SEARCH_NO_RESULTS_TEXT);
-        filters = getConfiguredFilters();
-        searchFieldPlaceholderText = StringUtils.isNotBlank(searchFieldPlaceholderText)
-                ? searchFieldPlaceholderText
-                : i18n.get(I18N_SEARCH_INPUT_PLACEHOLDER);
-        searchButtonText = i18n.get(I18N_KEY_SEARCH_BUTTON_LABEL);
-        loadMoreButtonText = i18n.get(SearchTabModelImpl.I18N_KEY_LOAD_MORE_BUTTON_LABEL);
-        searchTabs = getSearchTabList();
-        configJson = getSearchConfigJson();
+        try (Span span = startSpan()) {
+            span.setAttribute(SPAN_ATTRIBUTE_RESOURCE_PATH, resource.getPath());
+            searchCAConfigurationModel = resource.adaptTo(SearchCAConfigurationModel.class);
+            createAutocompleteUrl().ifPresent(url -> autocompleteUrl = url);
+            createTrackingUrl().ifPresent(url -> trackingUrl = url);
+            i18n = i18nProvider.getI18n(getLocale());
+            connectionFailedAlert = resolveConnectionFailedAlert();
+            getAutocompleteThreshold().ifPresent(threshold -> autocompleteTriggerThreshold = threshold);
+            autoSuggestText = i18n.get(I18N_SEARCH_SUGGESTION_TEXT);
+            noResultsText = i18n.get(I18N_SEARCH_NO_RESULTS_TEXT);
+            filters = getConfiguredFilters();
+            searchFieldPlaceholderText = StringUtils.isNotBlank(searchFieldPlaceholderText)
+                    ? searchFieldPlaceholderText
+                    : i18n.get(I18N_SEARCH_INPUT_PLACEHOLDER);
+            searchButtonText = i18n.get(I18N_KEY_SEARCH_BUTTON_LABEL);
+            loadMoreButtonText = i18n.get(SearchTabModelImpl.I18N_KEY_LOAD_MORE_BUTTON_LABEL);
+            searchTabs = getSearchTabList();
+            configJson = getSearchConfigJson();
+        }
+    }
+
+    private Span startSpan() {
+        if (tracer == null) {
+            return Span.NOOP;
+        }
+        return tracer.startSpan(SPAN_INIT, request != null ? request.getHeader(Span.HEADER_TRACEPARENT) : null);
     }
 
     @JsonIgnore
@@ -207,12 +236,21 @@ public class SearchModelImpl implements SearchModel, ContainerExporter {
 
     private List<SearchTabModel> getSearchTabList() {
         if (isResolvedFromRequest() && !isResourceOverriddenRequest() && !hasTrackingSelectors()) {
-            return searchTabResources.stream()
-                                     .map(r -> modelFactory.getModelFromWrappedRequest(request,
-                                                                                       r,
-                                                                                       SearchTabModel.class))
-                                     .filter(Objects::nonNull)
-                                     .collect(Collectors.toList());
+            Optional<SearchTabQueryDispatcher> dispatcher = Optional.ofNullable(searchTabQueryExecutorService)
+                                                                    .flatMap(SearchTabQueryExecutorService::createDispatcher);
+            dispatcher.ifPresent(d -> request.setAttribute(SearchTabQueryDispatcher.REQUEST_ATTRIBUTE, d));
+            try {
+                List<SearchTabModel> tabs = searchTabResources.stream()
+                                                              .map(r -> modelFactory.getModelFromWrappedRequest(request,
+                                                                                                                r,
+                                                                                                                SearchTabModel.class))
+                                                              .filter(Objects::nonNull)
+                                                              .collect(Collectors.toList());
+                dispatcher.ifPresent(SearchTabQueryDispatcher::awaitAll);
+                return tabs;
+            } finally {
+                dispatcher.ifPresent(d -> request.removeAttribute(SearchTabQueryDispatcher.REQUEST_ATTRIBUTE));
+            }
         }
         return Collections.emptyList();
     }
@@ -251,7 +289,7 @@ public class SearchModelImpl implements SearchModel, ContainerExporter {
 
     private String getSearchConfigJson() {
         try {
-            return new ObjectMapper().writeValueAsString(this);
+            return serializerRegistry.getObjectMapper().writeValueAsString(this);
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize search config to json.", e);
         }
@@ -283,7 +321,11 @@ public class SearchModelImpl implements SearchModel, ContainerExporter {
                                                          resource.getPath())));
             }
             try {
-                boolean pingSuccess = fulltextSearchPingService.ping(searchCAConfigurationModel);
+                boolean pingSuccess = indexHealthService != null
+                        ? indexHealthService.getHealth(searchCAConfigurationModel.getIndex())
+                                            .map(IndexHealth::isAvailable)
+                                            .orElse(true)
+                        : fulltextSearchPingService.ping(searchCAConfigurationModel);
                 if (!pingSuccess) {
                     return new ConnectionFailedAlert(AlertVariant.ERROR,
                                                      Arrays.asList(i18n.get(
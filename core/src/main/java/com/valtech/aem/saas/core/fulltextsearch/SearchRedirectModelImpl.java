@@ -6,11 +6,11 @@ import com.adobe.cq.export.json.ExporterConstants;
 import com.day.cq.wcm.api.Page;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.valtech.aem.saas.api.fulltextsearch.SearchModel;
 import com.valtech.aem.saas.api.fulltextsearch.SearchRedirectModel;
 import com.valtech.aem.saas.api.resource.PathTransformer;
 import com.valtech.aem.saas.core.common.resource.ResourceWrapper;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
 import com.valtech.aem.saas.core.util.LoggedOptional;
 import com.valtech.aem.saas.core.util.ResourceUtil;
 import lombok.Getter;
@@ -86,6 +86,9 @@ public class SearchRedirectModelImpl implements SearchRedirectModel, ComponentEx
     @OSGiService
     private ModelFactory modelFactory;
 
+    @OSGiService
+    private SerializerRegistry serializerRegistry;
+
     @ScriptVariable
     private Page currentPage;
 
@@ -122,7 +125,7 @@ public class SearchRedirectModelImpl implements SearchRedirectModel, ComponentEx
 
     private String getSearchConfigJson() {
         try {
-            return new ObjectMapper().writeValueAsString(this);
+            return serializerRegistry.getObjectMapper().writeValueAsString(this);
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize search config to json.", e);
         }
@@ -0,0 +1,18 @@
+package com.valtech.aem.saas.core.fulltextsearch;
+
+/**
+ * Defines how a search tab is rendered when its concurrently dispatched query fails or does not complete within the
+ * render timeout.
+ */
+public enum SearchTabFailurePolicy {
+
+    /**
+     * The tab is rendered without results.
+     */
+    SKIP,
+
+    /**
+     * The query is executed once more, synchronously on the rendering thread.
+     */
+    RETRY
+}
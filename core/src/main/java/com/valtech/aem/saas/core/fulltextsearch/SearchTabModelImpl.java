@@ -3,8 +3,8 @@ package com.valtech.aem.saas.core.fulltextsearch;
 
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.fulltextsearch.FulltextSearchService;
 import com.valtech.aem.saas.api.fulltextsearch.SearchModel;
@@ -16,6 +16,8 @@ import com.valtech.aem.saas.api.query.Sort;
 import com.valtech.aem.saas.api.resource.PathTransformer;
 import com.valtech.aem.saas.core.common.request.RequestWrapper;
 import com.valtech.aem.saas.core.common.resource.ResourceWrapper;
+import com.valtech.aem.saas.core.tracing.Span;
+import com.valtech.aem.saas.core.tracing.Tracer;
 import com.valtech.aem.saas.core.util.ResourceUtil;
 import com.valtech.aem.saas.core.util.StringToInteger;
 import lombok.Getter;
@@ -24,6 +26,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
@@ -36,6 +39,7 @@ import org.apache.sling.models.annotations.injectorspecific.*;
 import javax.annotation.PostConstruct;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -59,6 +63,9 @@ public class SearchTabModelImpl implements SearchTabModel, ComponentExporter {
     public static final String I18N_KEY_LOAD_MORE_BUTTON_LABEL =
             "com.valtech.aem.saas.core.search.loadmore.button.label";
 
+    static final String SPAN_INIT = "SearchTabModel.init";
+    static final String SPAN_APPLY_RESULTS = "SearchTabModel.applyResults";
+
     @Getter
     @JsonInclude(Include.NON_EMPTY)
     @ValueMapValue
@@ -96,6 +103,10 @@ public class SearchTabModelImpl implements SearchTabModel, ComponentExporter {
     @Getter
     private FacetFiltersDTO facetFilters;
 
+    @JsonInclude(Include.NON_DEFAULT)
+    @Getter
+    private boolean stale;
+
     @ChildResource(name = "filters")
     private List<FilterConfigurationModel> configuredFilters;
 
@@ -129,6 +140,9 @@ public class SearchTabModelImpl implements SearchTabModel, ComponentExporter {
     @OSGiService
     private PathTransformer pathTransformer;
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private Tracer tracer;
+
     private SearchModel parentSearch;
 
     private String searchTerm;
@@ -141,20 +155,31 @@ public class SearchTabModelImpl implements SearchTabModel, ComponentExporter {
 
     @PostConstruct
     private void init() {
-        constructJsonExportUrl().ifPresent(u -> url = u);
-        getRequestWrapper().ifPresent(rw -> requestWrapper = rw);
-        getSearchTerm().ifPresent(s -> searchTerm = s);
-        getParentSearchComponent().ifPresent(cmp -> parentSearch = cmp);
-        resultsPerPage = getConfiguredResultsPerPage().orElse(DEFAULT_RESULTS_PER_PAGE);
-        resultsPage = getResultsPage(requestWrapper);
-        getFulltextSearchResults().ifPresent(fulltextSearchResults -> {
-            results = fulltextSearchResults.getResults();
-            resultsTotal = fulltextSearchResults.getTotalResultsFound();
-            showLoadMoreButton = resultsPage * resultsPerPage < resultsTotal;
-            suggestion = fulltextSearchResults.getSuggestion();
-            facetFilters = getFacetFilters(fulltextSearchResults.getFacetFieldsResults());
-        });
-        tabId = StringUtils.isNotBlank(tabId) ? tabId : ResourceUtil.generateId("tab", resource.getPath());
+        try (Span span = startSpan()) {
+            span.setAttribute(SearchModelImpl.SPAN_ATTRIBUTE_RESOURCE_PATH, resource.getPath());
+            constructJsonExportUrl().ifPresent(u -> url = u);
+            getRequestWrapper().ifPresent(rw -> requestWrapper = rw);
+            getSearchTerm().ifPresent(s -> searchTerm = s);
+            getParentSearchComponent().ifPresent(cmp -> parentSearch = cmp);
+            resultsPerPage = getConfiguredResultsPerPage().orElse(DEFAULT_RESULTS_PER_PAGE);
+            resultsPage = getResultsPage(requestWrapper);
+            SearchTabQueryDispatcher dispatcher = getQueryDispatcher();
+            createFulltextSearchQuery(dispatcher != null).ifPresent(query -> {
+                if (dispatcher != null) {
+                    dispatcher.dispatch(query, this::applyFulltextSearchResults);
+                } else {
+                    query.get().ifPresent(this::applyFulltextSearchResults);
+                }
+            });
+            tabId = StringUtils.isNotBlank(tabId) ? tabId : ResourceUtil.generateId("tab", resource.getPath());
+        }
+    }
+
+    private Span startSpan() {
+        if (tracer == null) {
+            return Span.NOOP;
+        }
+        return tracer.startSpan(SPAN_INIT, request != null ? request.getHeader(Span.HEADER_TRACEPARENT) : null);
     }
 
     private Optional<Integer> getConfiguredResultsPerPage() {
@@ -196,8 +221,29 @@ public class SearchTabModelImpl implements SearchTabModel, ComponentExporter {
         return (resultsPage - 1) * resultsPerPage;
     }
 
-    private Optional<FulltextSearchResultsDTO> getFulltextSearchResults() {
-        if (isResourceOverriddenRequest()) {
+    private SearchTabQueryDispatcher getQueryDispatcher() {
+        Object dispatcher = request.getAttribute(SearchTabQueryDispatcher.REQUEST_ATTRIBUTE);
+        return dispatcher instanceof SearchTabQueryDispatcher ? (SearchTabQueryDispatcher) dispatcher : null;
+    }
+
+    private void applyFulltextSearchResults(FulltextSearchResultsDTO fulltextSearchResults) {
+        try (Span ignored = Span.start(SPAN_APPLY_RESULTS)) {
+            results = fulltextSearchResults.getResults();
+            resultsTotal = fulltextSearchResults.getTotalResultsFound();
+            showLoadMoreButton = resultsPage * resultsPerPage < resultsTotal;
+            suggestion = fulltextSearchResults.getSuggestion();
+            facetFilters = getFacetFilters(fulltextSearchResults.getFacetFieldsResults());
+            stale = fulltextSearchResults.isStale();
+        }
+    }
+
+    /**
+     * Resolves all the query inputs on the calling (request) thread, so that the returned query can be executed on any
+     * thread. Tabs adapted by the parent search component with a wrapped request only query when the search component
+     * dispatches their queries.
+     */
+    private Optional<Supplier<Optional<FulltextSearchResultsDTO>>> createFulltextSearchQuery(boolean dispatched) {
+        if (!dispatched && isResourceOverriddenRequest()) {
             log.trace(
                     String.join(StringUtils.EMPTY,
                                 "Skip querying for search results in case this sling model is initialized with a " +
@@ -227,21 +273,30 @@ public class SearchTabModelImpl implements SearchTabModel, ComponentExporter {
                               "should never happen.)");
             return Optional.empty();
         }
-        return fulltextSearchService.getResults(
+        String queryTerm = searchTerm;
+        String queryLanguage = StringUtils.defaultIfBlank(language, parentSearch.getLanguage());
+        int start = resolveStartOffset();
+        int rows = resultsPerPage;
+        Set<Filter> filters = getEffectiveFilters(parentSearch, requestWrapper);
+        Set<String> facetFields = Optional.ofNullable(facets).map(List::stream).orElse(
+                Stream.empty()).map(FacetModel::getFieldName).collect(
+                Collectors.toCollection(LinkedHashSet::new));
+        boolean contextFiltersDisabled = disableContextFilters || parentSearch.isDisableContextFilters();
+        String queryTemplate = template;
+        List<Pair<String, Sort>> sort = Optional.ofNullable(sortParameters).map(List::stream).orElse(Stream.empty())
+            .map(sortParameter -> new ImmutablePair<>(sortParameter.getFieldName(), EnumUtils.getEnumIgnoreCase(Sort.class, sortParameter.getDirection())))
+            .collect(Collectors.toList());
+        return Optional.of(() -> fulltextSearchService.getResults(
                 searchCAConfigurationModel,
-                searchTerm,
-                StringUtils.defaultIfBlank(language, parentSearch.getLanguage()),
-                resolveStartOffset(),
-                resultsPerPage,
-                getEffectiveFilters(parentSearch, requestWrapper),
-                Optional.ofNullable(facets).map(List::stream).orElse(
-                        Stream.empty()).map(FacetModel::getFieldName).collect(
-                        Collectors.toCollection(LinkedHashSet::new)),
-                disableContextFilters || parentSearch.isDisableContextFilters(),
-                template,
-                Optional.ofNullable(sortParameters).map(List::stream).orElse(Stream.empty())
-                    .map(sortParameter -> new ImmutablePair<>(sortParameter.getFieldName(), EnumUtils.getEnumIgnoreCase(Sort.class, sortParameter.getDirection())))
-                    .collect(Collectors.toList()));
+                queryTerm,
+                queryLanguage,
+                start,
+                rows,
+                filters,
+                facetFields,
+                contextFiltersDisabled,
+                queryTemplate,
+                sort));
     }
 
     private boolean isResourceOverriddenRequest() {
@@ -0,0 +1,125 @@
+package com.valtech.aem.saas.core.fulltextsearch;
+
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
+import com.valtech.aem.saas.core.tracing.Span;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches the search tab queries of a single search component render concurrently and joins them before the
+ * component is rendered. An instance is bound to one render (and hence one request thread) and is not meant to be
+ * shared.
+ * <p>
+ * The results are handed over to the tabs on the rendering thread, in the order the queries were dispatched. All the
+ * queries share one deadline, so the render waits at most the render timeout, regardless of the number of tabs. A
+ * query that fails, or does not complete before the deadline, is handled according to the {@link
+ * SearchTabFailurePolicy}. A query rejected by the saturated executor is executed synchronously right away.
+ */
+@Slf4j
+public final class SearchTabQueryDispatcher {
+
+    /**
+     * Request attribute under which the dispatcher of the current render is exposed to the search tab models.
+     */
+    public static final String REQUEST_ATTRIBUTE = SearchTabQueryDispatcher.class.getName();
+
+    private final Executor executor;
+    private final long renderTimeoutMillis;
+    private final SearchTabFailurePolicy failurePolicy;
+    private final List<PendingQuery> pendingQueries = new ArrayList<>();
+
+    /**
+     * Constructs the dispatcher.
+     *
+     * @param executor            executor running the queries.
+     * @param renderTimeoutMillis maximum time the render waits for all the dispatched queries.
+     * @param failurePolicy       policy applied to each failed or timed out query.
+     */
+    public SearchTabQueryDispatcher(@NonNull Executor executor,
+                                    long renderTimeoutMillis,
+                                    @NonNull SearchTabFailurePolicy failurePolicy) {
+        this.executor = executor;
+        this.renderTimeoutMillis = renderTimeoutMillis;
+        this.failurePolicy = failurePolicy;
+    }
+
+    /**
+     * Dispatches the query for concurrent execution.
+     *
+     * @param query          the search tab query.
+     * @param resultsHandler applies the query results to the tab. Invoked on the rendering thread from {@link
+     *                       #awaitAll()}.
+     */
+    public void dispatch(@NonNull Supplier<Optional<FulltextSearchResultsDTO>> query,
+                         @NonNull Consumer<FulltextSearchResultsDTO> resultsHandler) {
+        CompletableFuture<Optional<FulltextSearchResultsDTO>> future;
+        try {
+            future = CompletableFuture.supplyAsync(Span.wrap(query), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Search tab query rejected, the executor is saturated. Executing it synchronously.");
+            future = CompletableFuture.completedFuture(query.get());
+        }
+        pendingQueries.add(new PendingQuery(query, resultsHandler, future));
+    }
+
+    /**
+     * Waits for the dispatched queries and applies their results. Queries still running at the deadline are
+     * cancelled.
+     */
+    public void awaitAll() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(renderTimeoutMillis);
+        for (PendingQuery pendingQuery : pendingQueries) {
+            await(pendingQuery, deadline).ifPresent(pendingQuery.resultsHandler);
+        }
+        pendingQueries.clear();
+    }
+
+    private Optional<FulltextSearchResultsDTO> await(PendingQuery pendingQuery, long deadline) {
+        try {
+            return pendingQuery.future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            pendingQuery.future.cancel(true);
+            log.warn("Search tab query did not complete within {} ms.", renderTimeoutMillis);
+            return handleFailure(pendingQuery);
+        } catch (ExecutionException e) {
+            log.warn("Search tab query failed.", e.getCause());
+            return handleFailure(pendingQuery);
+        } catch (InterruptedException e) {
+            pendingQuery.future.cancel(true);
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private Optional<FulltextSearchResultsDTO> handleFailure(PendingQuery pendingQuery) {
+        if (failurePolicy == SearchTabFailurePolicy.RETRY) {
+            try {
+                return pendingQuery.query.get();
+            } catch (RuntimeException e) {
+                log.error("Search tab query retry failed.", e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @RequiredArgsConstructor
+    private static final class PendingQuery {
+
+        private final Supplier<Optional<FulltextSearchResultsDTO>> query;
+        private final Consumer<FulltextSearchResultsDTO> resultsHandler;
+        private final CompletableFuture<Optional<FulltextSearchResultsDTO>> future;
+    }
+}
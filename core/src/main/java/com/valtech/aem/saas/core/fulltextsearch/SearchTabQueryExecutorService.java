@@ -0,0 +1,16 @@
+package com.valtech.aem.saas.core.fulltextsearch;
+
+import java.util.Optional;
+
+/**
+ * Provides the means for executing the search tab queries of a search component concurrently.
+ */
+public interface SearchTabQueryExecutorService {
+
+    /**
+     * Creates a dispatcher for the tab queries of a single search component render.
+     *
+     * @return the dispatcher, or empty if concurrent execution is disabled and the tabs should query sequentially.
+     */
+    Optional<SearchTabQueryDispatcher> createDispatcher();
+}
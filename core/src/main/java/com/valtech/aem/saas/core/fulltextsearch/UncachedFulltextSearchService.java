@@ -0,0 +1,27 @@
+package com.valtech.aem.saas.core.fulltextsearch;
+
+import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
+import com.valtech.aem.saas.api.fulltextsearch.SearchQuerySpec;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
+import lombok.NonNull;
+
+import java.util.Optional;
+
+/**
+ * Queries the index for the module's own maintenance tasks, such as the index reconciliation. Unlike
+ * {@link com.valtech.aem.saas.api.fulltextsearch.FulltextSearchService}, every query is sent to SaaS: the results are
+ * neither cached nor coalesced, expired results are never served, and their order is the one requested, since best
+ * bets are not moved on top.
+ */
+public interface UncachedFulltextSearchService {
+
+    /**
+     * Gets the results of the query, as returned by SaaS.
+     *
+     * @param searchConfiguration the search configuration of the index.
+     * @param querySpec           the query.
+     * @return the results, or empty if the request failed.
+     */
+    Optional<FulltextSearchResultsDTO> getUncachedResults(@NonNull SearchCAConfigurationModel searchConfiguration,
+                                                          @NonNull SearchQuerySpec querySpec);
+}
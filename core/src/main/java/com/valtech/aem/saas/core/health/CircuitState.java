@@ -0,0 +1,23 @@
+package com.valtech.aem.saas.core.health;
+
+/**
+ * State of the circuit breaker guarding the calls to a search index.
+ */
+public enum CircuitState {
+
+    /**
+     * The index is reachable; calls pass through.
+     */
+    CLOSED,
+
+    /**
+     * The index is known to be down; calls are short-circuited.
+     */
+    OPEN,
+
+    /**
+     * The circuit has been open for the configured duration; a single trial call is let through, whose outcome closes
+     * or reopens the circuit.
+     */
+    HALF_OPEN
+}
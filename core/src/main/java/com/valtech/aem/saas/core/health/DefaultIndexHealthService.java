@@ -0,0 +1,170 @@
+package com.valtech.aem.saas.core.health;
+
+import com.valtech.aem.saas.core.fulltextsearch.IndexPingService;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.commons.metrics.Gauge;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the health state of the search indices in memory. The indices are registered on their first use and pinged
+ * periodically by the sling scheduler only, so that renders and search calls read the cached state instead of pinging
+ * the index themselves.
+ */
+@Slf4j
+@Component(service = {IndexHealthService.class, Runnable.class},
+           property = "scheduler.concurrent:Boolean=false")
+@ServiceDescription("Search as a Service - Index Health Service")
+@Designate(ocd = DefaultIndexHealthService.Configuration.class)
+public class DefaultIndexHealthService implements IndexHealthService, Runnable {
+
+    @Reference
+    private IndexPingService indexPingService;
+
+    @Reference
+    private MetricsService metricsService;
+
+    private final Map<String, IndexHealthTracker> trackers = new ConcurrentHashMap<>();
+
+    private final List<ServiceRegistration<?>> gaugeRegistrations = new CopyOnWriteArrayList<>();
+
+    private BundleContext bundleContext;
+
+    private volatile Configuration configuration;
+
+    @Override
+    public boolean isAvailable(@NonNull String index) {
+        return getTracker(index).tryAcquirePermission(System.currentTimeMillis());
+    }
+
+    @Override
+    public void recordResult(@NonNull String index, boolean success) {
+        getTracker(index).recordRequest(success, System.currentTimeMillis());
+    }
+
+    @Override
+    public Optional<IndexHealth> getHealth(@NonNull String index) {
+        return Optional.ofNullable(trackers.get(index))
+                       .filter(IndexHealthTracker::isChecked)
+                       .map(IndexHealthTracker::getHealth);
+    }
+
+    /**
+     * Refreshes the health state of all the known indices. Invoked by the sling scheduler; the pings of an open circuit
+     * are its probes, closing it as soon as one succeeds.
+     */
+    @Override
+    public void run() {
+        trackers.forEach(this::check);
+    }
+
+    private void check(String index, IndexHealthTracker tracker) {
+        boolean success;
+        try {
+            success = indexPingService.ping(index);
+        } catch (RuntimeException e) {
+            log.error("Failed to ping search index {}.", index, e);
+            success = false;
+        }
+        tracker.recordPing(success, System.currentTimeMillis());
+    }
+
+    private IndexHealthTracker getTracker(String index) {
+        return trackers.computeIfAbsent(index, this::createTracker);
+    }
+
+    private IndexHealthTracker createTracker(String index) {
+        IndexHealthTracker tracker = new IndexHealthTracker(index,
+                                                            configuration.indexHealthService_failureThreshold(),
+                                                            TimeUnit.SECONDS.toMillis(
+                                                                    configuration.indexHealthService_openDuration()),
+                                                            metricsService);
+        String prefix = IndexHealthTracker.getMetricNamePrefix(index);
+        registerGauge(prefix + "available", tracker.availableGauge());
+        registerGauge(prefix + "lastCheckTime", tracker.lastCheckTimeGauge());
+        return tracker;
+    }
+
+    private void registerGauge(String name, Gauge<?> gauge) {
+        if (bundleContext == null) {
+            return;
+        }
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put(Gauge.NAME, name);
+        gaugeRegistrations.add(bundleContext.registerService(Gauge.class, gauge, properties));
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration, BundleContext bundleContext) {
+        this.configuration = configuration;
+        this.bundleContext = bundleContext;
+        reset();
+    }
+
+    @Deactivate
+    private void deactivate() {
+        reset();
+        bundleContext = null;
+    }
+
+    private void reset() {
+        gaugeRegistrations.forEach(this::unregister);
+        gaugeRegistrations.clear();
+        trackers.clear();
+    }
+
+    private void unregister(ServiceRegistration<?> registration) {
+        try {
+            registration.unregister();
+        } catch (IllegalStateException e) {
+            log.debug("Gauge is already unregistered.", e);
+        }
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Index Health Service Configuration",
+                           description = "Cached health state and circuit breaker of the search indices.")
+    public @interface Configuration {
+
+        long DEFAULT_SCHEDULER_PERIOD = 30L;
+        int DEFAULT_FAILURE_THRESHOLD = 3;
+        long DEFAULT_OPEN_DURATION = 30L;
+
+        @AttributeDefinition(name = "Refresh period",
+                             description = "Number of seconds between the background health checks of the known indices.",
+                             type = AttributeType.LONG)
+        long scheduler_period() default DEFAULT_SCHEDULER_PERIOD; // NOSONAR
+
+        @AttributeDefinition(name = "Failure threshold",
+                             description = "Number of consecutive failed health checks after which the circuit opens and calls to the index are short-circuited.",
+                             type = AttributeType.INTEGER)
+        int indexHealthService_failureThreshold() default DEFAULT_FAILURE_THRESHOLD; // NOSONAR
+
+        @AttributeDefinition(name = "Open duration",
+                             description = "Number of seconds the circuit stays open before it turns half-open and lets a single trial request through.",
+                             type = AttributeType.LONG)
+        long indexHealthService_openDuration() default DEFAULT_OPEN_DURATION; // NOSONAR
+
+    }
+}
@@ -0,0 +1,25 @@
+package com.valtech.aem.saas.core.health;
+
+import lombok.Value;
+
+/**
+ * Snapshot of the cached health state of a search index.
+ */
+@Value
+public class IndexHealth {
+
+    String index;
+
+    CircuitState circuitState;
+
+    /**
+     * Time of the last health check, in milliseconds since the epoch.
+     */
+    long lastCheckTime;
+
+    int consecutiveFailures;
+
+    public boolean isAvailable() {
+        return circuitState == CircuitState.CLOSED;
+    }
+}
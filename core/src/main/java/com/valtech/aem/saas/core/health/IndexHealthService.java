@@ -0,0 +1,41 @@
+package com.valtech.aem.saas.core.health;
+
+import lombok.NonNull;
+
+import java.util.Optional;
+
+/**
+ * Provides the cached health state of the search indices. The state of each index is kept up to date in the
+ * background, so that checking it does not cost an upstream request per call. Calls to an index that is known to be
+ * down should be short-circuited, and the outcome of the calls that are sent should be recorded, so that the circuit of
+ * the index closes as soon as it answers again.
+ */
+public interface IndexHealthService {
+
+    /**
+     * Checks whether a request may be sent to the index. The index is never pinged by this call: an index that has not
+     * been checked yet is considered available, and is checked by the next background refresh. While the circuit of
+     * the index is half-open, only the caller sending the trial request gets {@code true}.
+     *
+     * @param index the search index name.
+     * @return {@code false} if the circuit of the index is open.
+     */
+    boolean isAvailable(@NonNull String index);
+
+    /**
+     * Records the outcome of a request sent to the index after {@link #isAvailable(String)} permitted it. A successful
+     * request closes the circuit; a failed trial request of a half-open circuit opens it again.
+     *
+     * @param index   the search index name.
+     * @param success whether the index answered the request successfully.
+     */
+    void recordResult(@NonNull String index, boolean success);
+
+    /**
+     * Gets the cached health state of the index, without pinging it.
+     *
+     * @param index the search index name.
+     * @return the health state, or empty if the index has not been checked yet.
+     */
+    Optional<IndexHealth> getHealth(@NonNull String index);
+}
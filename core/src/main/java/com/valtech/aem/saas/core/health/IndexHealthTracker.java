@@ -0,0 +1,137 @@
+package com.valtech.aem.saas.core.health;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.Gauge;
+import org.apache.sling.commons.metrics.MetricsService;
+
+/**
+ * Circuit breaker over the health checks of a single index. The circuit opens after the configured number of
+ * consecutive failed pings. Once it has been open for the configured duration, it turns half-open and lets a single
+ * trial request through: the circuit closes if the trial succeeds and opens again if it fails. Any successful ping or
+ * request closes the circuit, whatever its state. State transitions and failed pings are counted through the sling
+ * metrics service; the current state and the last check time are exposed as gauges.
+ */
+@Slf4j
+final class IndexHealthTracker {
+
+    static final String METRIC_NAME_PREFIX = "saas.health.";
+
+    private final String index;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final Counter opened;
+    private final Counter closed;
+    private final Counter pingFailures;
+
+    private CircuitState circuitState = CircuitState.CLOSED;
+    private long lastCheckTime;
+    private int consecutiveFailures;
+    private long stateChangeTime;
+
+    IndexHealthTracker(@NonNull String index,
+                       int failureThreshold,
+                       long openDurationMillis,
+                       @NonNull MetricsService metricsService) {
+        this.index = index;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMillis = Math.max(0L, openDurationMillis);
+        String prefix = getMetricNamePrefix(index);
+        opened = metricsService.counter(prefix + "circuit.opened");
+        closed = metricsService.counter(prefix + "circuit.closed");
+        pingFailures = metricsService.counter(prefix + "ping.failure");
+    }
+
+    static String getMetricNamePrefix(String index) {
+        return METRIC_NAME_PREFIX + index + ".";
+    }
+
+    /**
+     * Checks whether a request may be sent to the index. While the circuit is half-open, only one caller gets the
+     * permission for the trial request; another trial is permitted if its outcome is not recorded within the open
+     * duration.
+     */
+    synchronized boolean tryAcquirePermission(long now) {
+        if (circuitState == CircuitState.CLOSED) {
+            return true;
+        }
+        if (now - stateChangeTime < openDurationMillis) {
+            return false;
+        }
+        if (circuitState == CircuitState.OPEN) {
+            circuitState = CircuitState.HALF_OPEN;
+            log.info("Circuit of search index {} is half-open. Trial request permitted.", index);
+        }
+        stateChangeTime = now;
+        return true;
+    }
+
+    /**
+     * Records the result of a health check ping. Failed pings open the circuit once the failure threshold is reached;
+     * a failed ping of a half-open circuit opens it again right away.
+     */
+    synchronized void recordPing(boolean success, long now) {
+        lastCheckTime = now;
+        if (success) {
+            close("Search index {} is reachable again. Circuit closed.");
+            return;
+        }
+        pingFailures.increment();
+        consecutiveFailures++;
+        if ((circuitState == CircuitState.CLOSED && consecutiveFailures >= failureThreshold)
+                || circuitState == CircuitState.HALF_OPEN) {
+            open(now);
+        }
+    }
+
+    /**
+     * Records the outcome of a request sent to the index. Failures are detected by the pings; a failed request only
+     * matters as outcome of the trial request of a half-open circuit, which opens the circuit again.
+     */
+    synchronized void recordRequest(boolean success, long now) {
+        if (success) {
+            close("Request to search index {} succeeded. Circuit closed.");
+        } else if (circuitState == CircuitState.HALF_OPEN) {
+            consecutiveFailures++;
+            open(now);
+        }
+    }
+
+    private void open(long now) {
+        circuitState = CircuitState.OPEN;
+        stateChangeTime = now;
+        opened.increment();
+        log.warn("Search index {} is not reachable. Circuit opened after {} consecutive failures.",
+                 index, consecutiveFailures);
+    }
+
+    private void close(String message) {
+        consecutiveFailures = 0;
+        if (circuitState != CircuitState.CLOSED) {
+            circuitState = CircuitState.CLOSED;
+            closed.increment();
+            log.info(message, index);
+        }
+    }
+
+    synchronized boolean isChecked() {
+        return lastCheckTime > 0;
+    }
+
+    synchronized long getLastCheckTime() {
+        return lastCheckTime;
+    }
+
+    synchronized IndexHealth getHealth() {
+        return new IndexHealth(index, circuitState, lastCheckTime, consecutiveFailures);
+    }
+
+    Gauge<Integer> availableGauge() {
+        return () -> getHealth().isAvailable() ? 1 : 0;
+    }
+
+    Gauge<Long> lastCheckTimeGauge() {
+        return this::getLastCheckTime;
+    }
+}
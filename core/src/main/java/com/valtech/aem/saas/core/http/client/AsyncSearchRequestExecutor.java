@@ -0,0 +1,103 @@
+package com.valtech.aem.saas.core.http.client;
+
+import com.valtech.aem.saas.core.http.metrics.SearchRequestMetrics;
+import com.valtech.aem.saas.core.http.request.SearchRequest;
+import com.valtech.aem.saas.core.http.response.SearchResponse;
+import com.valtech.aem.saas.core.tracing.Span;
+import com.valtech.aem.saas.core.util.ThreadPools;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executes search requests off the calling thread. The requests are run on a dedicated, bounded thread pool with a
+ * dedicated http client (and hence connection pool), so that asynchronous requests never compete with the blocking
+ * ones for connections. When both the pool and its queue are saturated, the returned future fails immediately with
+ * {@link RejectedExecutionException} instead of piling up work.
+ */
+@Slf4j
+public final class AsyncSearchRequestExecutor implements Closeable {
+
+    private static final String THREAD_NAME_FORMAT = "saas-search-async-%d";
+
+    private final CloseableHttpClient httpClient;
+    private final SearchRequestMetrics searchRequestMetrics;
+    private final ThreadPoolExecutor executor;
+    private final long shutdownTimeoutMillis;
+
+    /**
+     * Constructs the executor.
+     *
+     * @param httpClient            http client dedicated to the asynchronous requests. It is closed along with the
+     *                              executor.
+     * @param searchRequestMetrics  metrics the requests are recorded in.
+     * @param threadPoolSize        number of threads executing requests.
+     * @param queueSize             maximum number of requests waiting for a free thread.
+     * @param shutdownTimeoutMillis time given to the pending requests to complete when the executor is closed.
+     */
+    public AsyncSearchRequestExecutor(@NonNull CloseableHttpClient httpClient,
+                                      @NonNull SearchRequestMetrics searchRequestMetrics,
+                                      int threadPoolSize,
+                                      int queueSize,
+                                      long shutdownTimeoutMillis) {
+        this.httpClient = httpClient;
+        this.searchRequestMetrics = searchRequestMetrics;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.executor = ThreadPools.newBoundedThreadPool(THREAD_NAME_FORMAT, threadPoolSize, queueSize);
+    }
+
+    /**
+     * Executes the search request asynchronously.
+     *
+     * @param searchRequest the search request.
+     * @return future completed with the search response, or exceptionally if the request could not be executed.
+     */
+    public CompletableFuture<SearchResponse> execute(@NonNull SearchRequest searchRequest) {
+        try {
+            return CompletableFuture.supplyAsync(Span.wrap(() -> executeBlocking(searchRequest)), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Async search request rejected, the executor is saturated or shut down.");
+            CompletableFuture<SearchResponse> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    /**
+     * Checks whether the executor has been closed and hence rejects new requests.
+     *
+     * @return true if the executor has been closed.
+     */
+    public boolean isClosed() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * Stops accepting requests and waits for the pending ones to complete, within the shutdown timeout, before closing
+     * the http client.
+     */
+    @Override
+    public void close() {
+        try {
+            ThreadPools.shutdown(executor, shutdownTimeoutMillis);
+        } finally {
+            IOUtils.closeQuietly(httpClient, e -> log.error("Could not close async client.", e));
+        }
+    }
+
+    private SearchResponse executeBlocking(SearchRequest searchRequest) {
+        try {
+            return new SearchRequestExecutor(httpClient, searchRequestMetrics).executeOrThrow(searchRequest);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.valtech.aem.saas.core.http.client;
+
+/**
+ * Failure rate based circuit breaker. The outcomes of the most recent requests are kept in a sliding window; once the
+ * window holds the minimum number of requests and the share of failed ones reaches the threshold, the circuit opens
+ * and requests are refused for the open duration. After that a single trial request is let through: its success
+ * closes the circuit, its failure opens it again.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean[] window;
+    private final int minimumRequests;
+    private final int failureRateThreshold;
+    private final long openDurationMillis;
+
+    private State state = State.CLOSED;
+    private int position;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * Constructs the circuit breaker.
+     *
+     * @param windowSize           number of most recent requests the failure rate is computed on.
+     * @param minimumRequests      number of requests required before the failure rate is evaluated.
+     * @param failureRateThreshold failure rate, in percent, at which the circuit opens.
+     * @param openDurationMillis   time the circuit stays open before a trial request is let through.
+     */
+    CircuitBreaker(int windowSize, int minimumRequests, int failureRateThreshold, long openDurationMillis) {
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumRequests = Math.min(window.length, Math.max(1, minimumRequests));
+        this.failureRateThreshold = Math.min(100, Math.max(1, failureRateThreshold));
+        this.openDurationMillis = Math.max(0L, openDurationMillis);
+    }
+
+    /**
+     * Checks whether a request may be executed. A granted permission must be followed by {@link #onSuccess()}, {@link
+     * #onFailure(long)} or {@link #release()}.
+     *
+     * @param now current time in milliseconds.
+     * @return true if the request may be executed.
+     */
+    synchronized boolean tryAcquirePermission(long now) {
+        if (state == State.OPEN) {
+            if (now - openedAt < openDurationMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    /**
+     * Gives back a permission whose request was not executed.
+     */
+    synchronized void release() {
+        trialInFlight = false;
+    }
+
+    /**
+     * Records a successful request.
+     *
+     * @return true if the success closed the circuit.
+     */
+    synchronized boolean onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset(State.CLOSED);
+            return true;
+        }
+        if (state == State.CLOSED) {
+            record(false);
+        }
+        return false;
+    }
+
+    /**
+     * Records a failed request.
+     *
+     * @param now current time in milliseconds.
+     * @return true if the failure opened the circuit.
+     */
+    synchronized boolean onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return true;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumRequests && failures * 100 >= failureRateThreshold * recorded) {
+                open(now);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+    }
+
+    private void open(long now) {
+        reset(State.OPEN);
+        openedAt = now;
+    }
+
+    private void reset(State newState) {
+        state = newState;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        trialInFlight = false;
+    }
+}
@@ -0,0 +1,57 @@
+package com.valtech.aem.saas.core.http.client;
+
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps an http entity to count the bytes streamed through it, since the content length of streamed and chunked
+ * entities is not known upfront.
+ */
+final class CountingHttpEntity extends HttpEntityWrapper {
+
+    private final AtomicLong byteCount = new AtomicLong();
+
+    CountingHttpEntity(HttpEntity wrappedEntity) {
+        super(wrappedEntity);
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        InputStream content = super.getContent();
+        return content != null ? new CountingInputStream(content) {
+            @Override
+            protected synchronized void afterRead(int n) {
+                super.afterRead(n);
+                if (n > 0) {
+                    byteCount.addAndGet(n);
+                }
+            }
+        } : null;
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        CountingOutputStream countingStream = new CountingOutputStream(outStream);
+        try {
+            super.writeTo(countingStream);
+        } finally {
+            byteCount.addAndGet(countingStream.getByteCount());
+        }
+    }
+
+    /**
+     * Gets the number of bytes read from or written by the entity.
+     *
+     * @return byte count.
+     */
+    long getByteCount() {
+        return byteCount.get();
+    }
+}
@@ -1,5 +1,6 @@
 package com.valtech.aem.saas.core.http.client;
 
+import com.valtech.aem.saas.core.http.metrics.SearchRequestMetrics;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
 import lombok.AccessLevel;
@@ -10,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.osgi.services.HttpClientBuilderFactory;
+import org.apache.sling.commons.metrics.MetricsService;
 import org.osgi.service.component.annotations.*;
 import org.osgi.service.component.propertytypes.ServiceDescription;
 import org.osgi.service.metatype.annotations.AttributeDefinition;
@@ -17,7 +19,10 @@ import org.osgi.service.metatype.annotations.AttributeType;
 import org.osgi.service.metatype.annotations.Designate;
 import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component(service = SearchAdminRequestExecutorService.class,
@@ -33,8 +38,16 @@ public class DefaultSearchAdminRequestExecutorService implements SearchAdminRequ
             onMethod_ = {@Synchronized})
     private SearchServiceConnectionConfigurationService searchConnectionConfig;
 
+    @Reference
+    private MetricsService metricsService;
+
+    @Reference
+    private SearchRequestMetrics searchRequestMetrics;
+
     private CloseableHttpClient httpClient;
 
+    private volatile Map<SearchTrafficType, RequestGuard> requestGuards;
+
     private Configuration configuration;
 
     @Reference
@@ -55,8 +68,10 @@ public class DefaultSearchAdminRequestExecutorService implements SearchAdminRequ
     }
 
     @Override
-    public Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest) {
-        return new SearchRequestExecutor(httpClient).execute(searchRequest);
+    public Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest,
+                                            @NonNull SearchTrafficType trafficType) {
+        return getRequestGuard(trafficType).execute(searchRequest,
+                                                    new SearchRequestExecutor(httpClient, searchRequestMetrics));
 
     }
 
@@ -64,6 +79,7 @@ public class DefaultSearchAdminRequestExecutorService implements SearchAdminRequ
     @Modified
     private void activate(Configuration configuration) {
         this.configuration = configuration;
+        requestGuards = createRequestGuards();
         initHttpClient();
     }
 
@@ -85,6 +101,34 @@ public class DefaultSearchAdminRequestExecutorService implements SearchAdminRequ
                                             .create();
     }
 
+    private Map<SearchTrafficType, RequestGuard> createRequestGuards() {
+        Map<SearchTrafficType, RequestGuard> guards = new EnumMap<>(SearchTrafficType.class);
+        guards.put(SearchTrafficType.TRACKING,
+                   createRequestGuard(SearchTrafficType.TRACKING, configuration.searchAdminRequestExecutorService_tracking_maxConcurrentRequests()));
+        guards.put(SearchTrafficType.ADMIN,
+                   createRequestGuard(SearchTrafficType.ADMIN, configuration.searchAdminRequestExecutorService_admin_maxConcurrentRequests()));
+        return guards;
+    }
+
+    private RequestGuard createRequestGuard(SearchTrafficType trafficType, int maxConcurrentRequests) {
+        CircuitBreaker circuitBreaker = configuration.searchAdminRequestExecutorService_circuitBreaker_enable()
+                ? new CircuitBreaker(configuration.searchAdminRequestExecutorService_circuitBreaker_slidingWindowSize(),
+                                     configuration.searchAdminRequestExecutorService_circuitBreaker_minimumRequests(),
+                                     configuration.searchAdminRequestExecutorService_circuitBreaker_failureRateThreshold(),
+                                     TimeUnit.SECONDS.toMillis(configuration.searchAdminRequestExecutorService_circuitBreaker_openDuration()))
+                : null;
+        return new RequestGuard(trafficType, maxConcurrentRequests, circuitBreaker, metricsService);
+    }
+
+    private RequestGuard getRequestGuard(SearchTrafficType trafficType) {
+        RequestGuard requestGuard = requestGuards.get(trafficType);
+        if (requestGuard == null) {
+            throw new IllegalArgumentException(
+                    String.format("%s requests are not served by this executor.", trafficType));
+        }
+        return requestGuard;
+    }
+
     @Deactivate
     private void deactivate() {
         IOUtils.closeQuietly(httpClient, e -> log.error("Could not close client.", e));
@@ -97,6 +141,13 @@ public class DefaultSearchAdminRequestExecutorService implements SearchAdminRequ
         String DEFAULT_WEB_SERVICE_URL = "https://ic-search-admin.valtech.swiss/admin";
         boolean DEFAULT_BASIC_AUTHENTICATION_ENABLE = false;
         boolean DEFAULT_JWT_AUTHENTICATION_ENABLE = false;
+        int DEFAULT_TRACKING_MAX_CONCURRENT_REQUESTS = 10;
+        int DEFAULT_ADMIN_MAX_CONCURRENT_REQUESTS = 10;
+        boolean DEFAULT_CIRCUIT_BREAKER_ENABLE = true;
+        int DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = 50;
+        int DEFAULT_CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE = 20;
+        int DEFAULT_CIRCUIT_BREAKER_MINIMUM_REQUESTS = 10;
+        int DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = 30;
 
         @AttributeDefinition(name = "Base URL",
                              description = "The protocol + url for the search service")
@@ -126,5 +177,40 @@ public class DefaultSearchAdminRequestExecutorService implements SearchAdminRequ
                              type = AttributeType.BOOLEAN)
         boolean searchAdminRequestExecutorService_jwtAuthentication_enable() default DEFAULT_JWT_AUTHENTICATION_ENABLE; // NOSONAR
 
+        @AttributeDefinition(name = "Max concurrent tracking requests",
+                             description = "Maximum number of tracking requests in flight. Requests above it fail immediately. Values lower than 1 disable the limit.",
+                             type = AttributeType.INTEGER)
+        int searchAdminRequestExecutorService_tracking_maxConcurrentRequests() default DEFAULT_TRACKING_MAX_CONCURRENT_REQUESTS; // NOSONAR
+
+        @AttributeDefinition(name = "Max concurrent admin requests",
+                             description = "Maximum number of admin requests in flight. Requests above it fail immediately. Values lower than 1 disable the limit.",
+                             type = AttributeType.INTEGER)
+        int searchAdminRequestExecutorService_admin_maxConcurrentRequests() default DEFAULT_ADMIN_MAX_CONCURRENT_REQUESTS; // NOSONAR
+
+        @AttributeDefinition(name = "Enable circuit breaker",
+                             description = "Stop sending requests of a traffic type while its failure rate is above the threshold.",
+                             type = AttributeType.BOOLEAN)
+        boolean searchAdminRequestExecutorService_circuitBreaker_enable() default DEFAULT_CIRCUIT_BREAKER_ENABLE; // NOSONAR
+
+        @AttributeDefinition(name = "Circuit breaker - Failure rate threshold",
+                             description = "Percentage of failed requests at which the circuit opens.",
+                             type = AttributeType.INTEGER)
+        int searchAdminRequestExecutorService_circuitBreaker_failureRateThreshold() default DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD; // NOSONAR
+
+        @AttributeDefinition(name = "Circuit breaker - Sliding window size",
+                             description = "Number of most recent requests the failure rate is computed on.",
+                             type = AttributeType.INTEGER)
+        int searchAdminRequestExecutorService_circuitBreaker_slidingWindowSize() default DEFAULT_CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Circuit breaker - Minimum requests",
+                             description = "Number of requests required before the failure rate is evaluated.",
+                             type = AttributeType.INTEGER)
+        int searchAdminRequestExecutorService_circuitBreaker_minimumRequests() default DEFAULT_CIRCUIT_BREAKER_MINIMUM_REQUESTS; // NOSONAR
+
+        @AttributeDefinition(name = "Circuit breaker - Open duration",
+                             description = "Time (in seconds) the circuit stays open before a trial request is let through.",
+                             type = AttributeType.INTEGER)
+        int searchAdminRequestExecutorService_circuitBreaker_openDuration() default DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION; // NOSONAR
+
     }
 }
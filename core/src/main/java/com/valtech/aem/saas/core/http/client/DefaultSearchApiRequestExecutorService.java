@@ -1,5 +1,6 @@
 package com.valtech.aem.saas.core.http.client;
 
+import com.valtech.aem.saas.core.http.metrics.SearchRequestMetrics;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
 import lombok.AccessLevel;
@@ -10,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.osgi.services.HttpClientBuilderFactory;
+import org.apache.sling.commons.metrics.MetricsService;
 import org.osgi.service.component.annotations.*;
 import org.osgi.service.component.propertytypes.ServiceDescription;
 import org.osgi.service.metatype.annotations.AttributeDefinition;
@@ -17,7 +19,11 @@ import org.osgi.service.metatype.annotations.AttributeType;
 import org.osgi.service.metatype.annotations.Designate;
 import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 
 @Slf4j
@@ -32,8 +38,18 @@ public class DefaultSearchApiRequestExecutorService implements SearchApiRequestE
     @Getter(value = AccessLevel.PRIVATE,
             onMethod_ = {@Synchronized}) private SearchServiceConnectionConfigurationService searchConnectionConfig;
 
+    @Reference
+    private MetricsService metricsService;
+
+    @Reference
+    private SearchRequestMetrics searchRequestMetrics;
+
     private CloseableHttpClient httpClient;
 
+    private volatile Map<SearchTrafficType, RequestGuard> requestGuards;
+
+    private volatile AsyncSearchRequestExecutor asyncExecutor;
+
     private Configuration configuration;
 
     @Reference
@@ -46,6 +62,7 @@ public class DefaultSearchApiRequestExecutorService implements SearchApiRequestE
     protected void updatedSearchConnectionConfig(SearchServiceConnectionConfigurationService service) {
         this.searchConnectionConfig = service;
         initHttpClient();
+        initAsyncExecutor();
     }
 
     @Override
@@ -54,34 +71,103 @@ public class DefaultSearchApiRequestExecutorService implements SearchApiRequestE
     }
 
     @Override
-    public Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest) {
-        return new SearchRequestExecutor(httpClient).execute(searchRequest);
+    public Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest,
+                                            @NonNull SearchTrafficType trafficType) {
+        return getRequestGuard(trafficType).execute(searchRequest,
+                                                    new SearchRequestExecutor(httpClient, searchRequestMetrics));
+    }
+
+    @Override
+    public CompletableFuture<SearchResponse> executeAsync(@NonNull SearchRequest searchRequest) {
+        RequestGuard requestGuard = getRequestGuard(SearchTrafficType.SEARCH);
+        AsyncSearchRequestExecutor executor = asyncExecutor;
+        CompletableFuture<SearchResponse> future = requestGuard.executeAsync(searchRequest, executor);
+        // the executor may have been replaced and closed by a configuration update after it was read
+        while (future.isCompletedExceptionally() && executor.isClosed() && executor != asyncExecutor) {
+            executor = asyncExecutor;
+            future = requestGuard.executeAsync(searchRequest, executor);
+        }
+        return future;
     }
 
     @Activate
     @Modified
     private void activate(Configuration configuration) {
         this.configuration = configuration;
+        requestGuards = createRequestGuards();
         initHttpClient();
+        initAsyncExecutor();
     }
 
     private void initHttpClient() {
-        httpClient = SearchHttpClientFactory.builder()
-                                            .httpClientBuilderFactory(httpClientBuilderFactory)
-                                            .httpConnectionTimeout(getSearchConnectionConfig().getHttpConnectionTimeout())
-                                            .httpSocketTimeout(getSearchConnectionConfig().getHttpSocketTimeout())
-                                            .jwtAuthenticationEnabled(configuration.searchApiRequestExecutorService_jwtAuthentication_enable())
-                                            .jwtToken(configuration.searchApiRequestExecutorService_jwtAuthentication_token())
-                                            .ignoreSslEnabled(getSearchConnectionConfig().isIgnoreSslEnabled())
-                                            .httpMaxTotalConnections(getSearchConnectionConfig().getHttpMaxTotalConnections())
-                                            .httpMaxConnectionsPerRoute(getSearchConnectionConfig().getHttpMaxConnectionsPerRoute())
-                                            .build()
-                                            .create();
+        httpClient = createHttpClient(getSearchConnectionConfig().getHttpMaxTotalConnections(),
+                                      getSearchConnectionConfig().getHttpMaxConnectionsPerRoute());
+    }
+
+    private void initAsyncExecutor() {
+        int threadPoolSize = Math.max(1, configuration.searchApiRequestExecutorService_async_threadPoolSize());
+        AsyncSearchRequestExecutor previous = asyncExecutor;
+        // the replacement is published first, so that the previous executor only drains the requests already submitted
+        asyncExecutor = new AsyncSearchRequestExecutor(createHttpClient(threadPoolSize, threadPoolSize),
+                                                       searchRequestMetrics,
+                                                       threadPoolSize,
+                                                       Math.max(1, configuration.searchApiRequestExecutorService_async_queueSize()),
+                                                       (long) getSearchConnectionConfig().getHttpConnectionTimeout()
+                                                               + getSearchConnectionConfig().getHttpSocketTimeout());
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    private CloseableHttpClient createHttpClient(int maxTotalConnections, int maxConnectionsPerRoute) {
+        return SearchHttpClientFactory.builder()
+                                      .httpClientBuilderFactory(httpClientBuilderFactory)
+                                      .httpConnectionTimeout(getSearchConnectionConfig().getHttpConnectionTimeout())
+                                      .httpSocketTimeout(getSearchConnectionConfig().getHttpSocketTimeout())
+                                      .jwtAuthenticationEnabled(configuration.searchApiRequestExecutorService_jwtAuthentication_enable())
+                                      .jwtToken(configuration.searchApiRequestExecutorService_jwtAuthentication_token())
+                                      .ignoreSslEnabled(getSearchConnectionConfig().isIgnoreSslEnabled())
+                                      .httpMaxTotalConnections(maxTotalConnections)
+                                      .httpMaxConnectionsPerRoute(maxConnectionsPerRoute)
+                                      .build()
+                                      .create();
+    }
+
+    private Map<SearchTrafficType, RequestGuard> createRequestGuards() {
+        Map<SearchTrafficType, RequestGuard> guards = new EnumMap<>(SearchTrafficType.class);
+        guards.put(SearchTrafficType.SEARCH,
+                   createRequestGuard(SearchTrafficType.SEARCH, configuration.searchApiRequestExecutorService_search_maxConcurrentRequests()));
+        guards.put(SearchTrafficType.AUTOCOMPLETE,
+                   createRequestGuard(SearchTrafficType.AUTOCOMPLETE, configuration.searchApiRequestExecutorService_autocomplete_maxConcurrentRequests()));
+        guards.put(SearchTrafficType.PING, new RequestGuard(SearchTrafficType.PING, 0, null, metricsService));
+        return guards;
+    }
+
+    private RequestGuard createRequestGuard(SearchTrafficType trafficType, int maxConcurrentRequests) {
+        CircuitBreaker circuitBreaker = configuration.searchApiRequestExecutorService_circuitBreaker_enable()
+                ? new CircuitBreaker(configuration.searchApiRequestExecutorService_circuitBreaker_slidingWindowSize(),
+                                     configuration.searchApiRequestExecutorService_circuitBreaker_minimumRequests(),
+                                     configuration.searchApiRequestExecutorService_circuitBreaker_failureRateThreshold(),
+                                     TimeUnit.SECONDS.toMillis(configuration.searchApiRequestExecutorService_circuitBreaker_openDuration()))
+                : null;
+        return new RequestGuard(trafficType, maxConcurrentRequests, circuitBreaker, metricsService);
+    }
+
+    private RequestGuard getRequestGuard(SearchTrafficType trafficType) {
+        RequestGuard requestGuard = requestGuards.get(trafficType);
+        if (requestGuard == null) {
+            throw new IllegalArgumentException(
+                    String.format("%s requests are not served by this executor.", trafficType));
+        }
+        return requestGuard;
     }
 
     @Deactivate
     private void deactivate() {
         IOUtils.closeQuietly(httpClient, e -> log.error("Could not close client.", e));
+        if (asyncExecutor != null) {
+            asyncExecutor.close();
+        }
     }
 
     @ObjectClassDefinition(name = "Search as a Service - Search Api Request Executor Service Configuration",
@@ -90,6 +176,15 @@ public class DefaultSearchApiRequestExecutorService implements SearchApiRequestE
 
         String DEFAULT_WEB_SERVICE_URL = "https://ic-search-api.valtech.swiss";
         boolean DEFAULT_JWT_AUTHENTICATION_ENABLE = true;
+        int DEFAULT_ASYNC_THREAD_POOL_SIZE = 10;
+        int DEFAULT_ASYNC_QUEUE_SIZE = 100;
+        int DEFAULT_SEARCH_MAX_CONCURRENT_REQUESTS = 20;
+        int DEFAULT_AUTOCOMPLETE_MAX_CONCURRENT_REQUESTS = 10;
+        boolean DEFAULT_CIRCUIT_BREAKER_ENABLE = true;
+        int DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = 50;
+        int DEFAULT_CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE = 20;
+        int DEFAULT_CIRCUIT_BREAKER_MINIMUM_REQUESTS = 10;
+        int DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = 30;
 
         @AttributeDefinition(name = "Base URL",
                              description = "The protocol + url for the search service")
@@ -105,5 +200,50 @@ public class DefaultSearchApiRequestExecutorService implements SearchApiRequestE
                              type = AttributeType.BOOLEAN)
         boolean searchApiRequestExecutorService_jwtAuthentication_enable() default DEFAULT_JWT_AUTHENTICATION_ENABLE; // NOSONAR
 
+        @AttributeDefinition(name = "Async request threads",
+                             description = "Number of threads (and pooled connections) executing asynchronous search requests.",
+                             type = AttributeType.INTEGER)
+        int searchApiRequestExecutorService_async_threadPoolSize() default DEFAULT_ASYNC_THREAD_POOL_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Async request queue size",
+                             description = "Maximum number of asynchronous search requests waiting for a free thread. Requests exceeding it fail immediately.",
+                             type = AttributeType.INTEGER)
+        int searchApiRequestExecutorService_async_queueSize() default DEFAULT_ASYNC_QUEUE_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Max concurrent search requests",
+                             description = "Maximum number of search requests in flight. Requests above it fail immediately. Values lower than 1 disable the limit.",
+                             type = AttributeType.INTEGER)
+        int searchApiRequestExecutorService_search_maxConcurrentRequests() default DEFAULT_SEARCH_MAX_CONCURRENT_REQUESTS; // NOSONAR
+
+        @AttributeDefinition(name = "Max concurrent autocomplete requests",
+                             description = "Maximum number of autocomplete requests in flight. Requests above it fail immediately. Values lower than 1 disable the limit.",
+                             type = AttributeType.INTEGER)
+        int searchApiRequestExecutorService_autocomplete_maxConcurrentRequests() default DEFAULT_AUTOCOMPLETE_MAX_CONCURRENT_REQUESTS; // NOSONAR
+
+        @AttributeDefinition(name = "Enable circuit breaker",
+                             description = "Stop sending requests of a traffic type while its failure rate is above the threshold.",
+                             type = AttributeType.BOOLEAN)
+        boolean searchApiRequestExecutorService_circuitBreaker_enable() default DEFAULT_CIRCUIT_BREAKER_ENABLE; // NOSONAR
+
+        @AttributeDefinition(name = "Circuit breaker - Failure rate threshold",
+                             description = "Percentage of failed requests at which the circuit opens.",
+                             type = AttributeType.INTEGER)
+        int searchApiRequestExecutorService_circuitBreaker_failureRateThreshold() default DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD; // NOSONAR
+
+        @AttributeDefinition(name = "Circuit breaker - Sliding window size",
+                             description = "Number of most recent requests the failure rate is computed on.",
+                             type = AttributeType.INTEGER)
+        int searchApiRequestExecutorService_circuitBreaker_slidingWindowSize() default DEFAULT_CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Circuit breaker - Minimum requests",
+                             description = "Number of requests required before the failure rate is evaluated.",
+                             type = AttributeType.INTEGER)
+        int searchApiRequestExecutorService_circuitBreaker_minimumRequests() default DEFAULT_CIRCUIT_BREAKER_MINIMUM_REQUESTS; // NOSONAR
+
+        @AttributeDefinition(name = "Circuit breaker - Open duration",
+                             description = "Time (in seconds) the circuit stays open before a trial request is let through.",
+                             type = AttributeType.INTEGER)
+        int searchApiRequestExecutorService_circuitBreaker_openDuration() default DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION; // NOSONAR
+
     }
 }
@@ -1,45 +1,36 @@
 package com.valtech.aem.saas.core.http.client;
 
-import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.valtech.aem.saas.core.serialization.Serializers;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
 
-import java.io.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 /**
- * Helper class for parsing http response.
+ * Helper class for parsing http response. The response entity is decoded in a streaming manner, straight from the
+ * entity's content stream. The content is buffered only if debug logging is enabled, so that it can be logged.
  */
 @Slf4j
 public final class HttpResponseParser {
 
     private final HttpResponse response;
-    private final ByteArrayOutputStream responseContentCopy;
 
     public HttpResponseParser(@NonNull HttpResponse response) {
         this.response = response;
-        this.responseContentCopy = copyToOutputStream();
-    }
-
-    /**
-     * Gets the response content.
-     *
-     * @return response content string.
-     */
-    public String getContentString() {
-        InputStream contentInputStream = getCopy();
-        if (contentInputStream != null) {
-            try {
-                return IOUtils.toString(contentInputStream, StandardCharsets.UTF_8.name());
-            } catch (IOException e) {
-                log.error("IOException occurred while trying to parse the response {}", response);
-            }
-        }
-        return StringUtils.EMPTY;
     }
 
     /**
@@ -50,34 +41,53 @@ public final class HttpResponseParser {
      * @return POJO of specified type.
      */
     public <T> T toGsonModel(Class<T> gsonModel) {
-        InputStream in = getCopy();
-        if (in != null) {
-            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8.name())) {
-                return new Gson().fromJson(reader, gsonModel);
-            } catch (IOException | IllegalStateException | JsonSyntaxException e) {
-                log.error("Cannot serialize JSON", e);
+        return toGsonModel((Type) gsonModel);
+    }
+
+    /**
+     * Returns the response content serialized in an object of the specified type. The response content stream is
+     * consumed in the process, hence the method should be called once per response.
+     *
+     * @param type the target type.
+     * @param <T>  the target object type.
+     * @return object of specified type, or null if the response has no content or the content can not be parsed.
+     */
+    public <T> T toGsonModel(Type type) {
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            return null;
+        }
+        try (Reader reader = createReader(entity)) {
+            if (reader != null) {
+                return Serializers.gson().fromJson(new JsonReader(reader), type);
             }
+        } catch (IOException | IllegalStateException | JsonIOException | JsonSyntaxException e) {
+            log.error("Cannot serialize JSON", e);
         }
         return null;
     }
 
-    private InputStream getCopy() {
-        if (responseContentCopy != null) {
-            return new ByteArrayInputStream(responseContentCopy.toByteArray());
+    private Reader createReader(HttpEntity entity) throws IOException {
+        Charset charset = getCharset(entity);
+        if (log.isDebugEnabled()) {
+            byte[] content = EntityUtils.toByteArray(entity);
+            if (content == null) {
+                return null;
+            }
+            log.debug("Response content: {}", new String(content, charset));
+            return new InputStreamReader(new ByteArrayInputStream(content), charset);
         }
-        return null;
+        InputStream content = entity.getContent();
+        return content != null ? new InputStreamReader(content, charset) : null;
     }
 
-    private ByteArrayOutputStream copyToOutputStream() {
-        if (response.getEntity() != null) {
-            try {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                IOUtils.copy(response.getEntity().getContent(), baos);
-                return baos;
-            } catch (IOException e) {
-                log.error("Error while fetching content input stream.", e);
-            }
+    private Charset getCharset(HttpEntity entity) {
+        try {
+            Charset charset = ContentType.getOrDefault(entity).getCharset();
+            return charset != null ? charset : StandardCharsets.UTF_8;
+        } catch (RuntimeException e) {
+            log.debug("Could not resolve response charset. Falling back to UTF-8.", e);
         }
-        return null;
+        return StandardCharsets.UTF_8;
     }
 }
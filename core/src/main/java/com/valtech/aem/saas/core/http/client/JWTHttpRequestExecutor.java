@@ -2,14 +2,13 @@ package com.valtech.aem.saas.core.http.client;
 
 import org.apache.http.*;
 import org.apache.http.protocol.HttpContext;
-import org.apache.http.protocol.HttpRequestExecutor;
 
 import java.io.IOException;
 
 /**
- * Extension of {@link HttpRequestExecutor} that adds authorization header prior to request execution.
+ * Extension of {@link TimedHttpRequestExecutor} that adds authorization header prior to request execution.
  */
-public class JWTHttpRequestExecutor extends HttpRequestExecutor {
+public class JWTHttpRequestExecutor extends TimedHttpRequestExecutor {
     String jwtToken;
 
     public JWTHttpRequestExecutor(String jwtToken) {
@@ -0,0 +1,170 @@
+package com.valtech.aem.saas.core.http.client;
+
+import com.valtech.aem.saas.core.http.request.SearchRequest;
+import com.valtech.aem.saas.core.http.response.SearchResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Guards the requests of a single {@link SearchTrafficType} with a bulkhead and a circuit breaker. The bulkhead caps
+ * the number of requests in flight, so that a slow SaaS endpoint holds at most that many request threads; the requests
+ * above the cap fail fast instead of waiting. The circuit breaker stops sending requests while most of them fail.
+ * <p>
+ * Requests that could not be executed (connection failures and timeouts) count as failures, as do responses with a
+ * server error (5xx) or too many requests (429) status code, since they show that SaaS is failing or overloaded. These
+ * responses are still delivered to the caller. Responses with another error status code, such as 404, count as
+ * successes, since they are caused by the request.
+ */
+@Slf4j
+final class RequestGuard {
+
+    static final String METRIC_NAME_PREFIX = "saas.requests.";
+
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+    private static final int SC_INTERNAL_SERVER_ERROR = 500;
+
+    private final SearchTrafficType trafficType;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter rejected;
+    private final Counter shortCircuited;
+    private final Counter circuitOpened;
+
+    /**
+     * Constructs the guard.
+     *
+     * @param trafficType        the guarded traffic.
+     * @param maxConcurrentCalls maximum number of requests in flight. Values lower than 1 disable the limit.
+     * @param circuitBreaker     the circuit breaker, or null if the circuit breaker is disabled.
+     * @param metricsService     service publishing the rejected requests and circuit transitions.
+     */
+    RequestGuard(@NonNull SearchTrafficType trafficType,
+                 int maxConcurrentCalls,
+                 CircuitBreaker circuitBreaker,
+                 @NonNull MetricsService metricsService) {
+        this.trafficType = trafficType;
+        this.bulkhead = maxConcurrentCalls > 0 ? new Semaphore(maxConcurrentCalls) : null;
+        this.circuitBreaker = circuitBreaker;
+        String prefix = METRIC_NAME_PREFIX + trafficType.getMetricName() + ".";
+        rejected = metricsService.counter(prefix + "rejected");
+        shortCircuited = metricsService.counter(prefix + "shortCircuited");
+        circuitOpened = metricsService.counter(prefix + "circuit.opened");
+    }
+
+    /**
+     * Executes the request on the calling thread, if both the bulkhead and the circuit breaker permit it.
+     *
+     * @param searchRequest the search request.
+     * @param executor      executor of the request.
+     * @return the search response, or empty if the request was refused or could not be executed.
+     */
+    Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest, @NonNull SearchRequestExecutor executor) {
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            rejected.increment();
+            log.warn("Maximum number of concurrent {} requests reached. Request rejected.", trafficType);
+            return Optional.empty();
+        }
+        try {
+            if (!tryAcquirePermission()) {
+                return Optional.empty();
+            }
+            try {
+                SearchResponse response = executor.executeOrThrow(searchRequest);
+                onResponse(response);
+                return Optional.of(response);
+            } catch (IOException | RuntimeException e) {
+                onFailure();
+                log.error("Error while executing request", e);
+            }
+            return Optional.empty();
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    /**
+     * Executes the request asynchronously, if the circuit breaker permits it. The concurrency of asynchronous requests
+     * is bounded by the thread pool of the executor, hence the bulkhead does not apply.
+     *
+     * @param searchRequest the search request.
+     * @param executor      executor of the request.
+     * @return future completed with the search response, or exceptionally with {@link RejectedExecutionException} if
+     * the request was refused.
+     */
+    CompletableFuture<SearchResponse> executeAsync(@NonNull SearchRequest searchRequest,
+                                                   @NonNull AsyncSearchRequestExecutor executor) {
+        if (!tryAcquirePermission()) {
+            CompletableFuture<SearchResponse> refused = new CompletableFuture<>();
+            refused.completeExceptionally(new RejectedExecutionException(
+                    String.format("Circuit for %s requests is open.", trafficType)));
+            return refused;
+        }
+        CompletableFuture<SearchResponse> future = executor.execute(searchRequest);
+        future.whenComplete((response, throwable) -> {
+            Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            if (cause == null) {
+                onResponse(response);
+            } else if (cause instanceof RejectedExecutionException || cause instanceof CancellationException) {
+                release();
+            } else {
+                onFailure();
+            }
+        });
+        return future;
+    }
+
+    private boolean tryAcquirePermission() {
+        if (circuitBreaker == null || circuitBreaker.tryAcquirePermission(System.currentTimeMillis())) {
+            return true;
+        }
+        shortCircuited.increment();
+        log.debug("Circuit for {} requests is open. Request short-circuited.", trafficType);
+        return false;
+    }
+
+    private void onResponse(SearchResponse response) {
+        if (isServiceFailure(response)) {
+            log.debug("{} request answered with status code {}. Counted as failure.", trafficType,
+                      response.getStatusCode());
+            onFailure();
+        } else {
+            onSuccess();
+        }
+    }
+
+    private static boolean isServiceFailure(SearchResponse response) {
+        int statusCode = response.getStatusCode();
+        return statusCode >= SC_INTERNAL_SERVER_ERROR || statusCode == SC_TOO_MANY_REQUESTS;
+    }
+
+    private void onSuccess() {
+        if (circuitBreaker != null && circuitBreaker.onSuccess()) {
+            log.info("Trial {} request succeeded. Circuit closed.", trafficType);
+        }
+    }
+
+    private void onFailure() {
+        if (circuitBreaker != null && circuitBreaker.onFailure(System.currentTimeMillis())) {
+            circuitOpened.increment();
+            log.warn("Failure rate of {} requests reached the threshold. Circuit opened.", trafficType);
+        }
+    }
+
+    private void release() {
+        if (circuitBreaker != null) {
+            circuitBreaker.release();
+        }
+    }
+}
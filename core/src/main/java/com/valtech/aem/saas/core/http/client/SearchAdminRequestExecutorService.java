@@ -19,11 +19,24 @@ public interface SearchAdminRequestExecutorService {
     String getBaseUrl();
 
     /**
-     * Returns the response from SaaS.
+     * Returns the response from SaaS, executing the request as {@link SearchTrafficType#ADMIN} traffic.
      *
      * @param searchRequest http request.
      * @return SearchResponse optional, which is empty if an error/exception occured during request execution.
      */
-    Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest);
+    default Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest) {
+        return execute(searchRequest, SearchTrafficType.ADMIN);
+    }
+
+    /**
+     * Returns the response from SaaS. The request is subject to the concurrency limit and circuit breaker of the
+     * specified traffic type.
+     *
+     * @param searchRequest http request.
+     * @param trafficType   either {@link SearchTrafficType#TRACKING} or {@link SearchTrafficType#ADMIN}.
+     * @return SearchResponse optional, which is empty if the request was refused or an error/exception occured
+     * during request execution.
+     */
+    Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest, @NonNull SearchTrafficType trafficType);
 
 }
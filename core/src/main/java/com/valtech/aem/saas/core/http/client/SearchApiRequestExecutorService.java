@@ -5,6 +5,7 @@ import com.valtech.aem.saas.core.http.response.SearchResponse;
 import lombok.NonNull;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a service for executing search requests on SaaS.
@@ -19,11 +20,34 @@ public interface SearchApiRequestExecutorService {
     String getBaseUrl();
 
     /**
-     * Returns the response from SaaS.
+     * Returns the response from SaaS, executing the request as {@link SearchTrafficType#SEARCH} traffic.
      *
      * @param searchRequest http request.
      * @return SearchResponse optional, which is empty if an error/exception occured during request execution.
      */
-    Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest);
+    default Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest) {
+        return execute(searchRequest, SearchTrafficType.SEARCH);
+    }
+
+    /**
+     * Returns the response from SaaS. The request is subject to the concurrency limit and circuit breaker of the
+     * specified traffic type.
+     *
+     * @param searchRequest http request.
+     * @param trafficType   either {@link SearchTrafficType#SEARCH}, {@link SearchTrafficType#AUTOCOMPLETE} or
+     *                      {@link SearchTrafficType#PING}.
+     * @return SearchResponse optional, which is empty if the request was refused or an error/exception occured
+     * during request execution.
+     */
+    Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest, @NonNull SearchTrafficType trafficType);
+
+    /**
+     * Executes the request asynchronously, so that the calling thread is not blocked for the upstream round-trip.
+     *
+     * @param searchRequest http request.
+     * @return future completed with the SearchResponse, or completed exceptionally if the request was refused or an
+     * error/exception occurred during request execution.
+     */
+    CompletableFuture<SearchResponse> executeAsync(@NonNull SearchRequest searchRequest);
 
 }
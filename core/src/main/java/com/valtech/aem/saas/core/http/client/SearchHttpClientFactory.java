@@ -42,7 +42,10 @@ public final class SearchHttpClientFactory {
                                                                       .setDefaultRequestConfig(requestConfig);
         if (jwtAuthenticationEnabled) {
             httpClientBuilder.setRequestExecutor(new JWTHttpRequestExecutor(jwtToken));
-        } else if (basicAuthenticationEnabled) {
+        } else {
+            httpClientBuilder.setRequestExecutor(new TimedHttpRequestExecutor());
+        }
+        if (!jwtAuthenticationEnabled && basicAuthenticationEnabled) {
             log.debug("Basic Authentication is enabled.");
             getCredentialsProvider().ifPresent(credentialsProvider -> {
                 log.debug("Setting basic authentication details for the http client.");
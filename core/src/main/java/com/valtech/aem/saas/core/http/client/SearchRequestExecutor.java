@@ -1,49 +1,181 @@
 package com.valtech.aem.saas.core.http.client;
 
 import com.google.gson.JsonElement;
+import com.valtech.aem.saas.core.http.metrics.SearchEndpoint;
+import com.valtech.aem.saas.core.http.metrics.SearchRequestMetrics;
+import com.valtech.aem.saas.core.http.metrics.SearchRequestSample;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
+import com.valtech.aem.saas.core.tracing.Span;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.DateUtils;
 import org.apache.http.impl.client.CloseableHttpClient;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RequiredArgsConstructor
 public final class SearchRequestExecutor {
+
+    static final String SPAN_EXECUTE = "SearchRequestExecutor.execute";
+    static final String SPAN_PARSE_RESPONSE = "SearchRequestExecutor.parseResponse";
+    static final String SPAN_ATTRIBUTE_METHOD = "http.method";
+    static final String SPAN_ATTRIBUTE_STATUS_CODE = "http.status_code";
+    static final String SPAN_ATTRIBUTE_ENDPOINT = "saas.endpoint";
+
     private final CloseableHttpClient httpClient;
+    private final SearchRequestMetrics searchRequestMetrics;
 
     public Optional<SearchResponse> execute(@NonNull SearchRequest searchRequest) {
+        try {
+            return Optional.of(executeOrThrow(searchRequest));
+        } catch (IOException e) {
+            log.error("Error while executing request", e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Executes the search request, propagating the execution failure to the caller.
+     *
+     * @param searchRequest the search request.
+     * @return the search response.
+     * @throws IOException if the request can not be executed.
+     */
+    public SearchResponse executeOrThrow(@NonNull SearchRequest searchRequest) throws IOException {
         HttpUriRequest request = searchRequest.getRequest();
+        SearchEndpoint endpoint = SearchEndpoint.of(request);
+        SearchRequestSample.SearchRequestSampleBuilder sample = SearchRequestSample.builder().endpoint(endpoint);
+        CountingHttpEntity requestEntity = wrapRequestEntity(request);
+        HttpClientContext context = HttpClientContext.create();
         CloseableHttpResponse response = null;
+        CountingHttpEntity responseEntity = null;
+        Span span = Span.start(SPAN_EXECUTE);
+        long start = System.nanoTime();
         try {
-            response = httpClient.execute(request);
-            log.info("Executing {} request on search api {}", request.getMethod(), request.getURI());
-            log.info("Success status codes: {}", searchRequest.getSuccessStatusCodes());
-            log.info("Status Code: {}", response.getStatusLine().getStatusCode());
-            log.debug("Reason: {}", response.getStatusLine().getReasonPhrase());
-            boolean isSuccess = isRequestSuccessful(searchRequest, response);
-            HttpResponseParser httpResponseParser = new HttpResponseParser(response);
+            propagateTrace(span, request, endpoint);
+            response = httpClient.execute(request, context);
+            int statusCode = response.getStatusLine().getStatusCode();
+            sample.statusCode(statusCode);
+            span.setAttribute(SPAN_ATTRIBUTE_STATUS_CODE, statusCode);
             if (log.isDebugEnabled()) {
-                log.debug("Response content: {}", httpResponseParser.getContentString());
+                log.debug("Executed {} request on search api {}", request.getMethod(), request.getURI());
+                log.debug("Status Code: {}, success status codes: {}",
+                          statusCode,
+                          searchRequest.getSuccessStatusCodes());
+                log.debug("Reason: {}", response.getStatusLine().getReasonPhrase());
             }
-            JsonElement jsonResponse = httpResponseParser.toGsonModel(JsonElement.class);
-            return Optional.of(new SearchResponse(jsonResponse, isSuccess));
-        } catch (IOException e) {
-            log.error("Error while executing request", e);
+            responseEntity = wrapResponseEntity(response);
+            boolean isSuccess = isRequestSuccessful(searchRequest, response);
+            long retryAfterMillis = isSuccess ? 0L : getRetryAfterMillis(response, System.currentTimeMillis());
+            try (Span ignored = Span.start(SPAN_PARSE_RESPONSE)) {
+                return parseResponse(response, endpoint, isSuccess, statusCode, retryAfterMillis);
+            }
+        } catch (IOException | RuntimeException e) {
+            span.setError(e);
+            throw e;
         } finally {
             if (response != null) {
                 IOUtils.closeQuietly(response, e -> log.error("Could not close response.", e));
             }
+            searchRequestMetrics.record(sample.durationNanos(System.nanoTime() - start)
+                                              .leaseWaitNanos(getLeaseWaitNanos(context, start))
+                                              .bytesSent(requestEntity != null ? requestEntity.getByteCount() : 0L)
+                                              .bytesReceived(responseEntity != null ? responseEntity.getByteCount() : 0L)
+                                              .build());
+            span.close();
         }
-        return Optional.empty();
+    }
+
+    /**
+     * Decodes the response content. Fulltext search and typeahead responses are decoded straight into their typed
+     * model, so that the fields not mapped by the model are skipped while reading, instead of being built into a json
+     * tree first. The other responses are decoded into a json tree.
+     */
+    static SearchResponse parseResponse(HttpResponse response,
+                                        SearchEndpoint endpoint,
+                                        boolean isSuccess,
+                                        int statusCode,
+                                        long retryAfterMillis) {
+        HttpResponseParser parser = new HttpResponseParser(response);
+        if (endpoint == SearchEndpoint.SEARCH || endpoint == SearchEndpoint.TYPEAHEAD) {
+            return SearchResponse.ofFulltextSearchResponse(parser.toGsonModel(FulltextSearchResponseDTO.class),
+                                                           isSuccess,
+                                                           statusCode,
+                                                           retryAfterMillis);
+        }
+        return new SearchResponse(parser.toGsonModel(JsonElement.class), isSuccess, statusCode, retryAfterMillis);
+    }
+
+    private static void propagateTrace(Span span, HttpUriRequest request, SearchEndpoint endpoint) {
+        if (!span.isRecording()) {
+            return;
+        }
+        span.setAttribute(SPAN_ATTRIBUTE_METHOD, request.getMethod())
+            .setAttribute(SPAN_ATTRIBUTE_ENDPOINT, endpoint.getMetricName());
+        request.setHeader(Span.HEADER_TRACEPARENT, span.getTraceparent());
+    }
+
+    private static CountingHttpEntity wrapRequestEntity(HttpUriRequest request) {
+        if (request instanceof HttpEntityEnclosingRequest && ((HttpEntityEnclosingRequest) request).getEntity() != null) {
+            CountingHttpEntity entity = new CountingHttpEntity(((HttpEntityEnclosingRequest) request).getEntity());
+            ((HttpEntityEnclosingRequest) request).setEntity(entity);
+            return entity;
+        }
+        return null;
+    }
+
+    private static CountingHttpEntity wrapResponseEntity(HttpResponse response) {
+        if (response.getEntity() == null) {
+            return null;
+        }
+        CountingHttpEntity entity = new CountingHttpEntity(response.getEntity());
+        response.setEntity(entity);
+        return entity;
+    }
+
+    private static long getLeaseWaitNanos(HttpClientContext context, long start) {
+        Object requestSent = context.getAttribute(TimedHttpRequestExecutor.ATTRIBUTE_REQUEST_SENT);
+        return requestSent instanceof Long ? (Long) requestSent - start : -1L;
+    }
+
+    /**
+     * Reads the Retry-After header, specified either as a number of seconds or as an http date.
+     *
+     * @param httpResponse the http response.
+     * @param now          current time in milliseconds.
+     * @return time to wait in milliseconds, or 0 if the header is missing or invalid.
+     */
+    static long getRetryAfterMillis(HttpResponse httpResponse, long now) {
+        Header header = httpResponse.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        String value = header != null ? StringUtils.trimToNull(header.getValue()) : null;
+        if (value == null) {
+            return 0L;
+        }
+        if (StringUtils.isNumeric(value)) {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+        }
+        Date date = DateUtils.parseDate(value);
+        if (date == null) {
+            log.debug("Invalid Retry-After header: {}", value);
+            return 0L;
+        }
+        return Math.max(0L, date.getTime() - now);
     }
 
     private boolean isRequestSuccessful(
@@ -0,0 +1,45 @@
+package com.valtech.aem.saas.core.http.client;
+
+import java.util.Locale;
+
+/**
+ * Classifies the requests sent to SaaS, so that each kind of traffic is isolated by its own concurrency limit and
+ * circuit breaker. A slow autocomplete endpoint, for example, can then not exhaust the threads serving search pages.
+ */
+public enum SearchTrafficType {
+
+    /**
+     * Fulltext search requests, served by {@link SearchApiRequestExecutorService}.
+     */
+    SEARCH,
+
+    /**
+     * Autocomplete requests, served by {@link SearchApiRequestExecutorService}.
+     */
+    AUTOCOMPLETE,
+
+    /**
+     * Ping requests of the index health checks, served by {@link SearchApiRequestExecutorService}. They are neither
+     * limited nor short-circuited, since the health checks pace them and a refused ping would mark the index down.
+     */
+    PING,
+
+    /**
+     * Search result item tracking requests, served by {@link SearchAdminRequestExecutorService}.
+     */
+    TRACKING,
+
+    /**
+     * Index update and best bets requests, served by {@link SearchAdminRequestExecutorService}.
+     */
+    ADMIN;
+
+    /**
+     * Gets the name identifying the traffic type in the metric names.
+     *
+     * @return lower case name.
+     */
+    public String getMetricName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
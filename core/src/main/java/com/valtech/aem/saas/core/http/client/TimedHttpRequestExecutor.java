@@ -0,0 +1,33 @@
+package com.valtech.aem.saas.core.http.client;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+
+/**
+ * Extension of {@link HttpRequestExecutor} that records in the http context when the request is sent. The executor is
+ * invoked once the connection is leased from the pool and connected, hence the recorded time tells how long the
+ * request waited for a connection.
+ */
+public class TimedHttpRequestExecutor extends HttpRequestExecutor {
+
+    /**
+     * Http context attribute holding the {@link System#nanoTime()} at which the request was sent.
+     */
+    public static final String ATTRIBUTE_REQUEST_SENT = "saas.requestSent";
+
+    @Override
+    public HttpResponse execute(final HttpRequest request,
+                                final HttpClientConnection conn,
+                                final HttpContext context) throws IOException, HttpException {
+        if (context != null && context.getAttribute(ATTRIBUTE_REQUEST_SENT) == null) {
+            context.setAttribute(ATTRIBUTE_REQUEST_SENT, System.nanoTime());
+        }
+        return super.execute(request, conn, context);
+    }
+}
@@ -0,0 +1,89 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import com.adobe.granite.jmx.annotation.AnnotatedStandardMBean;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import javax.management.DynamicMBean;
+import javax.management.NotCompliantMBeanException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.EnumMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the metrics of the requests sent to SaaS in memory. The metrics of each endpoint are registered as an MBean
+ * with the JMX whiteboard, and are rendered in the Prometheus text format by {@link SearchRequestMetricsServlet}.
+ */
+@Slf4j
+@Component(service = SearchRequestMetrics.class)
+@ServiceDescription("Search as a Service - Search Request Metrics")
+public class DefaultSearchRequestMetrics implements SearchRequestMetrics {
+
+    static final String JMX_OBJECT_NAME = "jmx.objectname";
+    static final String OBJECT_NAME_FORMAT = "com.valtech.aem.saas:type=SearchRequestMetrics,endpoint=%s";
+
+    private final Map<SearchEndpoint, SearchEndpointMetrics> endpointMetrics = createEndpointMetrics();
+
+    private final List<ServiceRegistration<?>> mbeanRegistrations = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void record(@NonNull SearchRequestSample sample) {
+        endpointMetrics.get(sample.getEndpoint()).record(sample);
+    }
+
+    @Override
+    public Collection<SearchEndpointMetrics> getEndpointMetrics() {
+        return Collections.unmodifiableCollection(endpointMetrics.values());
+    }
+
+    @Activate
+    private void activate(BundleContext bundleContext) {
+        endpointMetrics.values().forEach(metrics -> registerMBean(bundleContext, metrics));
+    }
+
+    @Deactivate
+    private void deactivate() {
+        mbeanRegistrations.forEach(this::unregister);
+        mbeanRegistrations.clear();
+    }
+
+    private void registerMBean(BundleContext bundleContext, SearchEndpointMetrics metrics) {
+        try {
+            Dictionary<String, Object> properties = new Hashtable<>();
+            properties.put(JMX_OBJECT_NAME, String.format(OBJECT_NAME_FORMAT, metrics.getEndpoint().getMetricName()));
+            mbeanRegistrations.add(bundleContext.registerService(DynamicMBean.class,
+                                                                 new AnnotatedStandardMBean(metrics,
+                                                                                            SearchEndpointMetricsMBean.class),
+                                                                 properties));
+        } catch (NotCompliantMBeanException e) {
+            log.error("Failed to register the request metrics MBean of {}.", metrics.getEndpoint(), e);
+        }
+    }
+
+    private void unregister(ServiceRegistration<?> registration) {
+        try {
+            registration.unregister();
+        } catch (IllegalStateException e) {
+            log.debug("MBean is already unregistered.", e);
+        }
+    }
+
+    private static Map<SearchEndpoint, SearchEndpointMetrics> createEndpointMetrics() {
+        Map<SearchEndpoint, SearchEndpointMetrics> metrics = new EnumMap<>(SearchEndpoint.class);
+        for (SearchEndpoint endpoint : SearchEndpoint.values()) {
+            metrics.put(endpoint, new SearchEndpointMetrics(endpoint));
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,126 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations over fixed buckets. Recording a duration increments a single bucket counter, without locking
+ * or allocating, so that it is cheap enough for every request. Percentiles are estimated by the upper bound of the
+ * bucket they fall into.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Upper bounds (in milliseconds) of the buckets. Durations above the last bound fall into the overflow bucket.
+     */
+    static final long[] BUCKET_BOUNDS_MILLIS = {5L, 10L, 25L, 50L, 100L, 250L, 500L, 1000L, 2500L, 5000L, 10000L};
+
+    private static final long[] BUCKET_BOUNDS_NANOS = toNanos(BUCKET_BOUNDS_MILLIS);
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_NANOS.length + 1];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration. Negative durations are ignored.
+     *
+     * @param nanos the duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (nanos < 0L) {
+            return;
+        }
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_NANOS.length && nanos > BUCKET_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Gets the upper bounds of the buckets, without the overflow bucket.
+     *
+     * @return bounds in milliseconds.
+     */
+    public long[] getBucketBoundsMillis() {
+        return BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    /**
+     * Gets the number of recorded durations less than or equal to each bucket bound. The last element, belonging to
+     * the overflow bucket, is the total count.
+     *
+     * @return cumulative bucket counts.
+     */
+    public long[] getCumulativeCounts() {
+        long[] counts = new long[buckets.length];
+        long total = 0L;
+        for (int i = 0; i < buckets.length; i++) {
+            total += buckets[i].sum();
+            counts[i] = total;
+        }
+        return counts;
+    }
+
+    public long getCount() {
+        long[] counts = getCumulativeCounts();
+        return counts[counts.length - 1];
+    }
+
+    public long getSumNanos() {
+        return sum.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Gets the mean of the recorded durations.
+     *
+     * @return mean in milliseconds, or 0 if nothing was recorded.
+     */
+    public double getMeanMillis() {
+        long count = getCount();
+        return count > 0L ? (double) getSumNanos() / count / TimeUnit.MILLISECONDS.toNanos(1L) : 0d;
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations.
+     *
+     * @param quantile the quantile, between 0 and 1.
+     * @return the upper bound (in milliseconds) of the bucket holding the percentile, the maximum duration if it falls
+     * into the overflow bucket, or 0 if nothing was recorded.
+     */
+    public long getPercentileMillis(double quantile) {
+        long[] counts = getCumulativeCounts();
+        long total = counts[counts.length - 1];
+        if (total == 0L) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(1d, quantile) * total));
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (counts[i] >= rank) {
+                return BUCKET_BOUNDS_MILLIS[i];
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(getMaxNanos());
+    }
+
+    private static long[] toNanos(long[] millis) {
+        long[] nanos = new long[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            nanos[i] = TimeUnit.MILLISECONDS.toNanos(millis[i]);
+        }
+        return nanos;
+    }
+}
@@ -0,0 +1,76 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.util.Locale;
+
+/**
+ * Classifies the requests sent to SaaS by the api endpoint they target, so that their metrics can be told apart.
+ */
+public enum SearchEndpoint {
+
+    SEARCH("search"),
+    TYPEAHEAD("typeahead"),
+    PING(),
+    INDEX("index"),
+    CONTENT("content"),
+    BESTBETS("bestbet", "bestbets"),
+    TRACKING("analytics", "track"),
+    OTHER();
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private final String[] pathSegments;
+
+    SearchEndpoint(String... pathSegments) {
+        this.pathSegments = pathSegments;
+    }
+
+    /**
+     * Gets the name identifying the endpoint in the metric names.
+     *
+     * @return lower case name.
+     */
+    public String getMetricName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolves the endpoint targeted by the request. HEAD requests are pings of the search api; for the other requests
+     * the path segments are matched from the last to the first one, so that the action path wins over the index or
+     * client name preceding it.
+     *
+     * @param request the http request.
+     * @return the endpoint, or {@link #OTHER} if the path does not match any of the api actions.
+     */
+    public static SearchEndpoint of(@NonNull HttpUriRequest request) {
+        if (HttpHead.METHOD_NAME.equals(request.getMethod())) {
+            return PING;
+        }
+        String path = request.getURI() != null ? request.getURI().getPath() : null;
+        String[] segments = StringUtils.split(path, PATH_SEPARATOR);
+        if (segments == null) {
+            return OTHER;
+        }
+        for (int i = segments.length - 1; i >= 0; i--) {
+            for (SearchEndpoint endpoint : values()) {
+                if (endpoint.matches(segments[i])) {
+                    return endpoint;
+                }
+            }
+        }
+        return OTHER;
+    }
+
+    private boolean matches(String pathSegment) {
+        for (String segment : pathSegments) {
+            if (segment.equalsIgnoreCase(pathSegment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,157 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the requests sent to a single SaaS endpoint: latency and lease wait histograms, status code counters and
+ * the transferred bytes. All the values are cumulative since the activation of the metrics service.
+ */
+public final class SearchEndpointMetrics implements SearchEndpointMetricsMBean {
+
+    private static final int STATUS_CLASS_DIVISOR = 100;
+    private static final int STATUS_CLASS_SUCCESS = 2;
+    private static final int STATUS_CLASS_CLIENT_ERROR = 4;
+    private static final int STATUS_CLASS_SERVER_ERROR = 5;
+
+    @Getter
+    private final SearchEndpoint endpoint;
+
+    @Getter
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    @Getter
+    private final LatencyHistogram leaseWait = new LatencyHistogram();
+
+    private final ConcurrentMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    public SearchEndpointMetrics(@NonNull SearchEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Records the measurements of a request.
+     *
+     * @param sample the measurements.
+     */
+    public void record(@NonNull SearchRequestSample sample) {
+        latency.record(sample.getDurationNanos());
+        leaseWait.record(sample.getLeaseWaitNanos());
+        if (sample.getStatusCode() == SearchRequestSample.NO_RESPONSE) {
+            failures.increment();
+        } else {
+            statusCodes.computeIfAbsent(sample.getStatusCode(), statusCode -> new LongAdder()).increment();
+        }
+        bytesSent.add(Math.max(0L, sample.getBytesSent()));
+        bytesReceived.add(Math.max(0L, sample.getBytesReceived()));
+    }
+
+    /**
+     * Gets the number of responses per status code.
+     *
+     * @return counts sorted by status code.
+     */
+    public SortedMap<Integer, Long> getStatusCodes() {
+        SortedMap<Integer, Long> counts = new TreeMap<>();
+        statusCodes.forEach((statusCode, count) -> counts.put(statusCode, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public long getRequestCount() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getSuccessCount() {
+        return getStatusClassCount(STATUS_CLASS_SUCCESS);
+    }
+
+    @Override
+    public long getClientErrorCount() {
+        return getStatusClassCount(STATUS_CLASS_CLIENT_ERROR);
+    }
+
+    @Override
+    public long getServerErrorCount() {
+        return getStatusClassCount(STATUS_CLASS_SERVER_ERROR);
+    }
+
+    @Override
+    public String[] getStatusCodeCounts() {
+        return getStatusCodes().entrySet()
+                               .stream()
+                               .map(entry -> entry.getKey() + "=" + entry.getValue())
+                               .toArray(String[]::new);
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        return latency.getMeanMillis();
+    }
+
+    @Override
+    public long getP50LatencyMillis() {
+        return latency.getPercentileMillis(0.5d);
+    }
+
+    @Override
+    public long getP95LatencyMillis() {
+        return latency.getPercentileMillis(0.95d);
+    }
+
+    @Override
+    public long getP99LatencyMillis() {
+        return latency.getPercentileMillis(0.99d);
+    }
+
+    @Override
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(latency.getMaxNanos());
+    }
+
+    @Override
+    public double getMeanLeaseWaitMillis() {
+        return leaseWait.getMeanMillis();
+    }
+
+    @Override
+    public long getP99LeaseWaitMillis() {
+        return leaseWait.getPercentileMillis(0.99d);
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    private long getStatusClassCount(int statusClass) {
+        return statusCodes.entrySet()
+                          .stream()
+                          .filter(entry -> entry.getKey() / STATUS_CLASS_DIVISOR == statusClass)
+                          .map(Map.Entry::getValue)
+                          .mapToLong(LongAdder::sum)
+                          .sum();
+    }
+}
@@ -0,0 +1,55 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import com.adobe.granite.jmx.annotation.Description;
+
+/**
+ * JMX view of the metrics of the requests sent to a single SaaS endpoint.
+ */
+@Description("Search as a Service - Endpoint Request Metrics")
+public interface SearchEndpointMetricsMBean {
+
+    @Description("Number of requests sent, including the failed ones.")
+    long getRequestCount();
+
+    @Description("Number of requests that failed without a response (connection failures and timeouts).")
+    long getFailureCount();
+
+    @Description("Number of responses with a 2xx status code.")
+    long getSuccessCount();
+
+    @Description("Number of responses with a 4xx status code.")
+    long getClientErrorCount();
+
+    @Description("Number of responses with a 5xx status code.")
+    long getServerErrorCount();
+
+    @Description("Number of responses per status code, formatted as <status>=<count>.")
+    String[] getStatusCodeCounts();
+
+    @Description("Mean request latency in milliseconds.")
+    double getMeanLatencyMillis();
+
+    @Description("Median request latency in milliseconds, estimated from the histogram buckets.")
+    long getP50LatencyMillis();
+
+    @Description("95th percentile of the request latency in milliseconds, estimated from the histogram buckets.")
+    long getP95LatencyMillis();
+
+    @Description("99th percentile of the request latency in milliseconds, estimated from the histogram buckets.")
+    long getP99LatencyMillis();
+
+    @Description("Maximum request latency in milliseconds.")
+    long getMaxLatencyMillis();
+
+    @Description("Mean time in milliseconds spent obtaining a connection from the pool, including connecting.")
+    double getMeanLeaseWaitMillis();
+
+    @Description("99th percentile of the time in milliseconds spent obtaining a connection from the pool.")
+    long getP99LeaseWaitMillis();
+
+    @Description("Number of request body bytes sent.")
+    long getBytesSent();
+
+    @Description("Number of response body bytes received.")
+    long getBytesReceived();
+}
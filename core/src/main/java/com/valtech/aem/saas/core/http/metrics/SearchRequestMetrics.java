@@ -0,0 +1,25 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import lombok.NonNull;
+
+import java.util.Collection;
+
+/**
+ * Collects the metrics of the requests sent to SaaS, per {@link SearchEndpoint}.
+ */
+public interface SearchRequestMetrics {
+
+    /**
+     * Records the measurements of a request.
+     *
+     * @param sample the measurements.
+     */
+    void record(@NonNull SearchRequestSample sample);
+
+    /**
+     * Gets the metrics of all the endpoints.
+     *
+     * @return the endpoint metrics, ordered by endpoint.
+     */
+    Collection<SearchEndpointMetrics> getEndpointMetrics();
+}
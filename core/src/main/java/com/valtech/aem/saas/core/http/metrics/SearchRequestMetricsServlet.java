@@ -0,0 +1,217 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.jackrabbit.api.security.user.Authorizable;
+import org.apache.jackrabbit.api.security.user.Group;
+import org.apache.jackrabbit.api.security.user.User;
+import org.apache.jackrabbit.api.security.user.UserManager;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletPaths;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import javax.jcr.RepositoryException;
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Renders the metrics of the requests sent to SaaS in the Prometheus text exposition format. Since the metrics reveal
+ * the latency, status and volume of the upstream traffic, they are only rendered for administrators and the members
+ * of the configured groups; everyone else, including anonymous users, is answered with 403.
+ */
+@Slf4j
+@Component(service = Servlet.class)
+@SlingServletPaths(SearchRequestMetricsServlet.PATH)
+@Designate(ocd = SearchRequestMetricsServlet.Configuration.class)
+public class SearchRequestMetricsServlet extends SlingSafeMethodsServlet {
+
+    public static final String PATH = "/bin/saas-aem-module/metrics";
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4";
+
+    private static final String LABEL_ENDPOINT = "endpoint";
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+    private static final double MILLIS_PER_SECOND = TimeUnit.SECONDS.toMillis(1L);
+
+    @Reference
+    private transient SearchRequestMetrics searchRequestMetrics;
+
+    private transient Set<String> allowedGroups;
+
+    @Override
+    protected void doGet(@NonNull SlingHttpServletRequest request,
+                         @NonNull SlingHttpServletResponse response) throws IOException {
+        if (!isAuthorized(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        Collection<SearchEndpointMetrics> endpointMetrics = searchRequestMetrics.getEndpointMetrics();
+        StringBuilder output = new StringBuilder();
+        appendHistogram(output,
+                        "saas_request_duration_seconds",
+                        "Latency of the requests sent to SaaS, until their response was read.",
+                        endpointMetrics,
+                        SearchEndpointMetrics::getLatency);
+        appendHistogram(output,
+                        "saas_request_lease_wait_seconds",
+                        "Time spent obtaining a pooled connection (lease and connect) for the requests sent to SaaS.",
+                        endpointMetrics,
+                        SearchEndpointMetrics::getLeaseWait);
+        appendStatusCodes(output, endpointMetrics);
+        appendCounter(output,
+                      "saas_request_failures_total",
+                      "Requests sent to SaaS that failed without a response.",
+                      endpointMetrics,
+                      SearchEndpointMetrics::getFailureCount);
+        appendCounter(output,
+                      "saas_request_sent_bytes_total",
+                      "Request body bytes sent to SaaS.",
+                      endpointMetrics,
+                      SearchEndpointMetrics::getBytesSent);
+        appendCounter(output,
+                      "saas_response_received_bytes_total",
+                      "Response body bytes received from SaaS.",
+                      endpointMetrics,
+                      SearchEndpointMetrics::getBytesReceived);
+        response.setContentType(CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(output.toString());
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        String[] groups = ArrayUtils.nullToEmpty(configuration.searchRequestMetricsServlet_allowedGroups());
+        allowedGroups = Arrays.stream(groups)
+                              .filter(StringUtils::isNotBlank)
+                              .collect(Collectors.toSet());
+    }
+
+    private boolean isAuthorized(SlingHttpServletRequest request) {
+        String userId = request.getResourceResolver().getUserID();
+        UserManager userManager = request.getResourceResolver().adaptTo(UserManager.class);
+        if (userId == null || userManager == null) {
+            return false;
+        }
+        try {
+            Authorizable authorizable = userManager.getAuthorizable(userId);
+            if (authorizable == null || authorizable.isGroup()) {
+                return false;
+            }
+            if (((User) authorizable).isAdmin()) {
+                return true;
+            }
+            Iterator<Group> groups = authorizable.memberOf();
+            while (groups.hasNext()) {
+                if (allowedGroups.contains(groups.next().getID())) {
+                    return true;
+                }
+            }
+        } catch (RepositoryException e) {
+            log.warn("Could not check the group memberships of {}.", userId, e);
+        }
+        return false;
+    }
+
+    private static void appendHistogram(StringBuilder output,
+                                        String name,
+                                        String help,
+                                        Collection<SearchEndpointMetrics> endpointMetrics,
+                                        Function<SearchEndpointMetrics, LatencyHistogram> histogramGetter) {
+        appendHeader(output, name, help, "histogram");
+        for (SearchEndpointMetrics metrics : endpointMetrics) {
+            String endpoint = metrics.getEndpoint().getMetricName();
+            LatencyHistogram histogram = histogramGetter.apply(metrics);
+            long[] bounds = histogram.getBucketBoundsMillis();
+            long[] counts = histogram.getCumulativeCounts();
+            for (int i = 0; i < bounds.length; i++) {
+                appendSample(output,
+                             name + "_bucket",
+                             labels(endpoint) + ",le=\"" + (bounds[i] / MILLIS_PER_SECOND) + "\"",
+                             String.valueOf(counts[i]));
+            }
+            appendSample(output,
+                         name + "_bucket",
+                         labels(endpoint) + ",le=\"+Inf\"",
+                         String.valueOf(counts[counts.length - 1]));
+            appendSample(output,
+                         name + "_sum",
+                         labels(endpoint),
+                         String.valueOf(histogram.getSumNanos() / NANOS_PER_SECOND));
+            appendSample(output, name + "_count", labels(endpoint), String.valueOf(counts[counts.length - 1]));
+        }
+    }
+
+    private static void appendStatusCodes(StringBuilder output, Collection<SearchEndpointMetrics> endpointMetrics) {
+        String name = "saas_responses_total";
+        appendHeader(output, name, "Responses received from SaaS, per status code.", "counter");
+        for (SearchEndpointMetrics metrics : endpointMetrics) {
+            for (Map.Entry<Integer, Long> entry : metrics.getStatusCodes().entrySet()) {
+                appendSample(output,
+                             name,
+                             labels(metrics.getEndpoint().getMetricName()) + ",status=\"" + entry.getKey() + "\"",
+                             String.valueOf(entry.getValue()));
+            }
+        }
+    }
+
+    private static void appendCounter(StringBuilder output,
+                                      String name,
+                                      String help,
+                                      Collection<SearchEndpointMetrics> endpointMetrics,
+                                      ToLongFunction<SearchEndpointMetrics> valueGetter) {
+        appendHeader(output, name, help, "counter");
+        for (SearchEndpointMetrics metrics : endpointMetrics) {
+            appendSample(output,
+                         name,
+                         labels(metrics.getEndpoint().getMetricName()),
+                         String.valueOf(valueGetter.applyAsLong(metrics)));
+        }
+    }
+
+    private static void appendHeader(StringBuilder output, String name, String help, String type) {
+        output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void appendSample(StringBuilder output, String name, String labels, String value) {
+        output.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static String labels(String endpoint) {
+        return LABEL_ENDPOINT + "=\"" + endpoint + "\"";
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Search Request Metrics Servlet Configuration",
+                           description = "Access to the metrics of the requests sent to SaaS.")
+    public @interface Configuration {
+
+        String DEFAULT_ALLOWED_GROUP = "administrators";
+
+        @AttributeDefinition(name = "Allowed groups",
+                             description = "Groups whose members may read the metrics, in addition to the "
+                                     + "administrators.")
+        String[] searchRequestMetricsServlet_allowedGroups() default {DEFAULT_ALLOWED_GROUP}; // NOSONAR
+    }
+}
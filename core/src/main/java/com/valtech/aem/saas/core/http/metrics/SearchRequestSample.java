@@ -0,0 +1,41 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Measurements of a single request sent to SaaS.
+ */
+@Value
+@Builder
+public class SearchRequestSample {
+
+    /**
+     * Status code of requests that failed without a response.
+     */
+    public static final int NO_RESPONSE = 0;
+
+    @NonNull
+    SearchEndpoint endpoint;
+
+    /**
+     * Status code of the response, or {@link #NO_RESPONSE} if the request could not be executed.
+     */
+    int statusCode;
+
+    /**
+     * Time from sending the request until its response was read.
+     */
+    long durationNanos;
+
+    /**
+     * Time spent obtaining a connection (pool lease and connect), or a negative value if unknown.
+     */
+    @Builder.Default
+    long leaseWaitNanos = -1L;
+
+    long bytesSent;
+
+    long bytesReceived;
+}
@@ -0,0 +1,71 @@
+package com.valtech.aem.saas.core.http.request;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import lombok.NonNull;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Json request body that is serialized straight into the request output stream and sent with chunked transfer
+ * encoding, instead of being built as an in-memory string first. Collections are written as json arrays, one element
+ * at a time. The entity is repeatable, since the value is serialized anew on each write.
+ */
+public final class GsonHttpEntity extends AbstractHttpEntity {
+
+    private final Gson gson;
+    private final Object value;
+
+    /**
+     * Constructs the entity.
+     *
+     * @param gson  gson instance serializing the value.
+     * @param value the request body.
+     */
+    public GsonHttpEntity(@NonNull Gson gson, @NonNull Object value) {
+        this.gson = gson;
+        this.value = value;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1L;
+    }
+
+    /**
+     * Gets the serialized body. Meant for diagnostics only, as it buffers the whole body in memory.
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        JsonWriter writer = new JsonWriter(new OutputStreamWriter(outStream, StandardCharsets.UTF_8));
+        gson.toJson(value, value.getClass(), writer);
+        writer.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
@@ -1,9 +1,9 @@
 package com.valtech.aem.saas.core.http.response;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.reflect.TypeToken;
 import com.valtech.aem.saas.api.bestbets.dto.BestBetDTO;
+import com.valtech.aem.saas.core.serialization.Serializers;
 
 import java.lang.reflect.Type;
 import java.util.List;
@@ -27,6 +27,6 @@ public class BestBetsDataExtractionStrategy implements
         return Optional.ofNullable(response)
                        .filter(JsonElement::isJsonArray)
                        .map(JsonElement::getAsJsonArray)
-                       .map(jsonArray -> new Gson().fromJson(jsonArray, type));
+                       .map(jsonArray -> Serializers.gson().fromJson(jsonArray, type));
     }
 }
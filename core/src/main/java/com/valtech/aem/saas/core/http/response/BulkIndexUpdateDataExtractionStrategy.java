@@ -0,0 +1,39 @@
+package com.valtech.aem.saas.core.http.response;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A strategy for extracting the per item responses of a bulk index update request. The response is expected to be a
+ * json array holding one element per item, in the order of the items. Elements that are not valid index update
+ * responses are extracted as null.
+ */
+public class BulkIndexUpdateDataExtractionStrategy implements
+        SearchResponseDataExtractionStrategy<List<IndexUpdateResponseDTO>> {
+
+    private final DefaultIndexUpdateDataExtractionStrategy itemStrategy = new DefaultIndexUpdateDataExtractionStrategy();
+
+    @Override
+    public String propertyName() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<List<IndexUpdateResponseDTO>> getData(JsonElement response) {
+        return Optional.ofNullable(response)
+                       .filter(JsonElement::isJsonArray)
+                       .map(JsonElement::getAsJsonArray)
+                       .map(this::getItems);
+    }
+
+    private List<IndexUpdateResponseDTO> getItems(JsonArray array) {
+        List<IndexUpdateResponseDTO> items = new ArrayList<>(array.size());
+        array.forEach(element -> items.add(itemStrategy.getData(element).orElse(null)));
+        return items;
+    }
+}
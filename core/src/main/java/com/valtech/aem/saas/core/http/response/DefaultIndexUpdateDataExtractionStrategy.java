@@ -1,8 +1,8 @@
 package com.valtech.aem.saas.core.http.response;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import com.valtech.aem.saas.core.serialization.Serializers;
 
 import java.util.Optional;
 
@@ -21,6 +21,6 @@ public class DefaultIndexUpdateDataExtractionStrategy implements
     public Optional<IndexUpdateResponseDTO> getData(JsonElement response) {
         return Optional.ofNullable(response)
                        .filter(JsonElement::isJsonObject)
-                       .map(jsonObject -> new Gson().fromJson(jsonObject, IndexUpdateResponseDTO.class));
+                       .map(jsonObject -> Serializers.gson().fromJson(jsonObject, IndexUpdateResponseDTO.class));
     }
 }
@@ -1,8 +1,7 @@
 package com.valtech.aem.saas.core.http.response;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
 import com.valtech.aem.saas.core.http.response.dto.FacetCountsDTO;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Optional;
@@ -11,7 +10,8 @@ import java.util.Optional;
  * A strategy for extracting facet counts data.
  */
 @RequiredArgsConstructor
-public final class FacetCountsDataExtractionStrategy implements SearchResponseDataExtractionStrategy<FacetCountsDTO> {
+public final class FacetCountsDataExtractionStrategy implements
+        FulltextSearchResponseDataExtractionStrategy<FacetCountsDTO> {
 
     @Override
     public String propertyName() {
@@ -19,12 +19,8 @@ public final class FacetCountsDataExtractionStrategy implements SearchResponseDa
     }
 
     @Override
-    public Optional<FacetCountsDTO> getData(JsonElement response) {
-        return Optional.ofNullable(response)
-                       .filter(JsonElement::isJsonObject)
-                       .map(JsonElement::getAsJsonObject)
-                       .map(r -> r.getAsJsonObject(propertyName()))
-                       .map(jsonObject -> new Gson().fromJson(jsonObject, FacetCountsDTO.class));
+    public Optional<FacetCountsDTO> getData(FulltextSearchResponseDTO response) {
+        return Optional.ofNullable(response).map(FulltextSearchResponseDTO::getFacetCounts);
     }
 
 }
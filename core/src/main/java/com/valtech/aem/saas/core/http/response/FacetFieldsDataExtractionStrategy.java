@@ -4,6 +4,7 @@ import com.google.gson.JsonElement;
 import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultDTO;
 import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultsDTO;
 import com.valtech.aem.saas.core.http.response.dto.FacetCountsDTO;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
 import lombok.NonNull;
 import org.apache.commons.collections4.MapUtils;
 
@@ -15,7 +16,7 @@ import java.util.stream.Stream;
  * A strategy for extracting response body data.
  */
 public final class FacetFieldsDataExtractionStrategy implements
-        SearchResponseDataExtractionStrategy<List<FacetFieldResultsDTO>> {
+        FulltextSearchResponseDataExtractionStrategy<List<FacetFieldResultsDTO>> {
 
     @Override
     public String propertyName() {
@@ -23,7 +24,7 @@ public final class FacetFieldsDataExtractionStrategy implements
     }
 
     @Override
-    public Optional<List<FacetFieldResultsDTO>> getData(JsonElement response) {
+    public Optional<List<FacetFieldResultsDTO>> getData(FulltextSearchResponseDTO response) {
         return new FacetCountsDataExtractionStrategy().getData(response)
                                                       .map(this::getFacetResults);
     }
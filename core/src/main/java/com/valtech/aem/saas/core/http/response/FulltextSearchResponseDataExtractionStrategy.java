@@ -0,0 +1,39 @@
+package com.valtech.aem.saas.core.http.response;
+
+import com.google.gson.JsonElement;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
+import com.valtech.aem.saas.core.serialization.Serializers;
+
+import java.util.Optional;
+
+/**
+ * A strategy for extracting specific data from an already decoded fulltext search response. Multiple strategies
+ * applied on the same {@link SearchResponse} share a single decoded {@link FulltextSearchResponseDTO}.
+ *
+ * @param <T> type of the POJO containing the extracted data.
+ */
+public interface FulltextSearchResponseDataExtractionStrategy<T> extends SearchResponseDataExtractionStrategy<T> {
+
+    /**
+     * Performs the extraction logic on the decoded response and returns the data in a predefined object type.
+     *
+     * @param response the decoded response of a fulltext search request.
+     * @return POJO containing the extracted data.
+     */
+    Optional<T> getData(FulltextSearchResponseDTO response);
+
+    /**
+     * Decodes the json response and performs the extraction on it. Prefer {@link SearchResponse#get} when more than
+     * one strategy is applied on the same response, so that the response is decoded only once.
+     *
+     * @param response the response of a search request.
+     * @return POJO containing the extracted data.
+     */
+    @Override
+    default Optional<T> getData(JsonElement response) {
+        return Optional.ofNullable(response)
+                       .filter(JsonElement::isJsonObject)
+                       .map(jsonObject -> Serializers.gson().fromJson(jsonObject, FulltextSearchResponseDTO.class))
+                       .flatMap(this::getData);
+    }
+}
@@ -1,7 +1,6 @@
 package com.valtech.aem.saas.core.http.response;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
 import com.valtech.aem.saas.core.http.response.dto.HighlightingDTO;
 
 import java.util.Optional;
@@ -9,7 +8,8 @@ import java.util.Optional;
 /**
  * A strategy for extracting highlighting data.
  */
-public final class HighlightingDataExtractionStrategy implements SearchResponseDataExtractionStrategy<HighlightingDTO> {
+public final class HighlightingDataExtractionStrategy implements
+        FulltextSearchResponseDataExtractionStrategy<HighlightingDTO> {
 
     @Override
     public String propertyName() {
@@ -17,9 +17,8 @@ public final class HighlightingDataExtractionStrategy implements SearchResponseD
     }
 
     @Override
-    public Optional<HighlightingDTO> getData(JsonElement response) {
+    public Optional<HighlightingDTO> getData(FulltextSearchResponseDTO response) {
         return Optional.ofNullable(response)
-                       .filter(JsonElement::isJsonObject)
-                       .map(jsonObject -> new Gson().fromJson(jsonObject, HighlightingDTO.class));
+                       .map(r -> new HighlightingDTO(r.getHighlighting()));
     }
 }
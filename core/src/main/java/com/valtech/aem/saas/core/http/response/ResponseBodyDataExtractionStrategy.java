@@ -1,7 +1,6 @@
 package com.valtech.aem.saas.core.http.response;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
 import com.valtech.aem.saas.core.http.response.dto.ResponseBodyDTO;
 
 import java.util.Optional;
@@ -9,7 +8,8 @@ import java.util.Optional;
 /**
  * A strategy for extracting response body data.
  */
-public final class ResponseBodyDataExtractionStrategy implements SearchResponseDataExtractionStrategy<ResponseBodyDTO> {
+public final class ResponseBodyDataExtractionStrategy implements
+        FulltextSearchResponseDataExtractionStrategy<ResponseBodyDTO> {
 
     @Override
     public String propertyName() {
@@ -17,11 +17,7 @@ public final class ResponseBodyDataExtractionStrategy implements SearchResponseD
     }
 
     @Override
-    public Optional<ResponseBodyDTO> getData(JsonElement response) {
-        return Optional.ofNullable(response)
-                       .filter(JsonElement::isJsonObject)
-                       .map(JsonElement::getAsJsonObject)
-                       .map(r -> r.getAsJsonObject(propertyName()))
-                       .map(jsonObject -> new Gson().fromJson(jsonObject, ResponseBodyDTO.class));
+    public Optional<ResponseBodyDTO> getData(FulltextSearchResponseDTO response) {
+        return Optional.ofNullable(response).map(FulltextSearchResponseDTO::getResponse);
     }
 }
@@ -1,7 +1,6 @@
 package com.valtech.aem.saas.core.http.response;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
 import com.valtech.aem.saas.core.http.response.dto.ResponseHeaderDTO;
 
 import java.util.Optional;
@@ -10,7 +9,7 @@ import java.util.Optional;
  * A strategy for extracting response header data.
  */
 public final class ResponseHeaderDataExtractionStrategy implements
-        SearchResponseDataExtractionStrategy<ResponseHeaderDTO> {
+        FulltextSearchResponseDataExtractionStrategy<ResponseHeaderDTO> {
 
     @Override
     public String propertyName() {
@@ -18,11 +17,7 @@ public final class ResponseHeaderDataExtractionStrategy implements
     }
 
     @Override
-    public Optional<ResponseHeaderDTO> getData(JsonElement response) {
-        return Optional.ofNullable(response)
-                       .filter(JsonElement::isJsonObject)
-                       .map(JsonElement::getAsJsonObject)
-                       .map(r -> r.getAsJsonObject(propertyName()))
-                       .map(jsonObject -> new Gson().fromJson(jsonObject, ResponseHeaderDTO.class));
+    public Optional<ResponseHeaderDTO> getData(FulltextSearchResponseDTO response) {
+        return Optional.ofNullable(response).map(FulltextSearchResponseDTO::getResponseHeader);
     }
 }
@@ -1,20 +1,136 @@
 package com.valtech.aem.saas.core.http.response;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
+import com.valtech.aem.saas.core.serialization.Serializers;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.Optional;
 
-@RequiredArgsConstructor
+@Slf4j
 public class SearchResponse {
 
-    private final JsonElement response;
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+    private static final int SC_SERVICE_UNAVAILABLE = 503;
+
+    private JsonElement response;
     @Getter
     private final boolean success;
 
+    /**
+     * The http status code, or 0 if unknown.
+     */
+    @Getter
+    private final int statusCode;
+
+    /**
+     * The time in milliseconds the service asked to wait before retrying, as specified by the Retry-After header, or
+     * 0 if not specified.
+     */
+    @Getter
+    private final long retryAfterMillis;
+
+    private FulltextSearchResponseDTO fulltextSearchResponse;
+    private boolean fulltextSearchResponseDecoded;
+
+    public SearchResponse(JsonElement response, boolean success) {
+        this(response, success, 0, 0L);
+    }
+
+    public SearchResponse(JsonElement response, boolean success, int statusCode, long retryAfterMillis) {
+        this.response = response;
+        this.success = success;
+        this.statusCode = statusCode;
+        this.retryAfterMillis = Math.max(0L, retryAfterMillis);
+    }
+
+    /**
+     * Creates the response of a fulltext search request, already decoded as typed model straight from the response
+     * content, without building its json tree. The json tree is built from the model only if a json based extraction
+     * strategy is applied on the response. That tree only holds the fields mapped by {@link FulltextSearchResponseDTO}:
+     * the fields of the original response not mapped by the model are lost.
+     *
+     * @param fulltextSearchResponse the decoded response, or null if the response could not be decoded.
+     * @param success                whether the request was successful.
+     * @param statusCode             the http status code, or 0 if unknown.
+     * @param retryAfterMillis       the time in milliseconds the service asked to wait before retrying.
+     * @return the search response.
+     */
+    public static SearchResponse ofFulltextSearchResponse(FulltextSearchResponseDTO fulltextSearchResponse,
+                                                          boolean success,
+                                                          int statusCode,
+                                                          long retryAfterMillis) {
+        SearchResponse searchResponse = new SearchResponse(null, success, statusCode, retryAfterMillis);
+        searchResponse.fulltextSearchResponse = fulltextSearchResponse;
+        searchResponse.fulltextSearchResponseDecoded = true;
+        return searchResponse;
+    }
+
+    /**
+     * Checks whether the service refused the request because it is overloaded or rate limiting its clients.
+     *
+     * @return true if the status code is 429 (too many requests) or 503 (service unavailable).
+     */
+    public boolean isThrottled() {
+        return statusCode == SC_TOO_MANY_REQUESTS || statusCode == SC_SERVICE_UNAVAILABLE;
+    }
+
+    /**
+     * Extracts data from the json response. For the responses created by {@link #ofFulltextSearchResponse}, the json is
+     * rebuilt from the typed model and lacks the fields not mapped by it.
+     *
+     * @param strategy the extraction strategy.
+     * @param <T>      type of the extracted data.
+     * @return extracted data.
+     */
     public <T> Optional<T> get(SearchResponseDataExtractionStrategy<T> strategy) {
-        return Optional.ofNullable(response).flatMap(strategy::getData);
+        return getJsonResponse().flatMap(strategy::getData);
+    }
+
+    private synchronized Optional<JsonElement> getJsonResponse() {
+        if (response == null && fulltextSearchResponse != null) {
+            response = Serializers.gson().toJsonTree(fulltextSearchResponse);
+        }
+        return Optional.ofNullable(response);
+    }
+
+    /**
+     * Extracts data from the typed fulltext search response model, which is decoded on first access and reused for
+     * all subsequent extractions.
+     *
+     * @param strategy the extraction strategy.
+     * @param <T>      type of the extracted data.
+     * @return extracted data.
+     */
+    public <T> Optional<T> get(FulltextSearchResponseDataExtractionStrategy<T> strategy) {
+        return getFulltextSearchResponse().flatMap(strategy::getData);
+    }
+
+    /**
+     * Gets the response decoded as fulltext search response model.
+     *
+     * @return decoded response, or empty if the response is not a valid fulltext search response.
+     */
+    public synchronized Optional<FulltextSearchResponseDTO> getFulltextSearchResponse() {
+        if (!fulltextSearchResponseDecoded) {
+            fulltextSearchResponse = decodeFulltextSearchResponse();
+            fulltextSearchResponseDecoded = true;
+        }
+        return Optional.ofNullable(fulltextSearchResponse);
+    }
+
+    private FulltextSearchResponseDTO decodeFulltextSearchResponse() {
+        if (response == null || !response.isJsonObject()) {
+            return null;
+        }
+        try {
+            return Serializers.gson().fromJson(response, FulltextSearchResponseDTO.class);
+        } catch (JsonParseException e) {
+            log.error("Failed to decode fulltext search response.", e);
+        }
+        return null;
     }
 
 }
@@ -1,8 +1,8 @@
 package com.valtech.aem.saas.core.http.response;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.valtech.aem.saas.api.tracking.dto.SearchResultItemTrackingDTO;
+import com.valtech.aem.saas.core.serialization.Serializers;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Optional;
@@ -23,7 +23,7 @@ public final class SearchResultItemTrackingExtractionStrategy implements SearchR
         return Optional.ofNullable(response)
                        .filter(JsonElement::isJsonObject)
                        .map(JsonElement::getAsJsonObject)
-                       .map(jsonObject -> new Gson().fromJson(jsonObject, SearchResultItemTrackingDTO.class));
+                       .map(jsonObject -> Serializers.gson().fromJson(jsonObject, SearchResultItemTrackingDTO.class));
     }
 
 }
@@ -4,6 +4,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.valtech.aem.saas.api.fulltextsearch.dto.SuggestionDTO;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Optional;
@@ -13,9 +14,9 @@ import java.util.Optional;
  */
 @Slf4j
 public final class SuggestionDataExtractionStrategy implements
-        SearchResponseDataExtractionStrategy<SuggestionDTO> {
+        FulltextSearchResponseDataExtractionStrategy<SuggestionDTO> {
 
-    public static final String SPELLCHECK = "spellcheck";
+    public static final String SPELLCHECK = FulltextSearchResponseDTO.PN_SPELLCHECK;
     public static final String COLLATION_QUERY = "collationQuery";
     public static final String COLLATIONS = "collations";
     public static final String HITS = "hits";
@@ -26,11 +27,9 @@ public final class SuggestionDataExtractionStrategy implements
     }
 
     @Override
-    public Optional<SuggestionDTO> getData(JsonElement response) {
+    public Optional<SuggestionDTO> getData(FulltextSearchResponseDTO response) {
         return Optional.ofNullable(response)
-                       .filter(JsonElement::isJsonObject)
-                       .map(JsonElement::getAsJsonObject)
-                       .map(r -> r.getAsJsonObject(propertyName()))
+                       .map(FulltextSearchResponseDTO::getSpellcheck)
                        .map(this::getCollations)
                        .map(this::getCollation)
                        .filter(this::isCollationQueryExisting)
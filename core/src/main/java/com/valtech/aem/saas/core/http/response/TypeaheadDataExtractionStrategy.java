@@ -2,6 +2,7 @@ package com.valtech.aem.saas.core.http.response;
 
 import com.google.gson.JsonElement;
 import com.valtech.aem.saas.core.http.response.dto.FacetCountsDTO;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.MapUtils;
@@ -15,7 +16,8 @@ import java.util.Optional;
  * A strategy for extracting typeahead options.
  */
 @RequiredArgsConstructor
-public final class TypeaheadDataExtractionStrategy implements SearchResponseDataExtractionStrategy<List<String>> {
+public final class TypeaheadDataExtractionStrategy implements
+        FulltextSearchResponseDataExtractionStrategy<List<String>> {
 
     private static final String TYPEAHEAD_INDEX_FIELD_NAME_PREFIX = "autocomplete_text_";
 
@@ -27,7 +29,7 @@ public final class TypeaheadDataExtractionStrategy implements SearchResponseData
     }
 
     @Override
-    public Optional<List<String>> getData(JsonElement response) {
+    public Optional<List<String>> getData(FulltextSearchResponseDTO response) {
         return new FacetCountsDataExtractionStrategy().getData(response)
                                                       .map(this::getTypeaheadResults);
     }
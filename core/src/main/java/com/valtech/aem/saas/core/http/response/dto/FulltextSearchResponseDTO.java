@@ -0,0 +1,33 @@
+package com.valtech.aem.saas.core.http.response.dto;
+
+import com.google.gson.JsonObject;
+import com.google.gson.annotations.SerializedName;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed model of a complete fulltext search response. It is decoded once per response and shared by all the
+ * fulltext search related data extraction strategies.
+ */
+@Value
+public class FulltextSearchResponseDTO {
+
+    public static final String PN_SPELLCHECK = "spellcheck";
+
+    @SerializedName(ResponseHeaderDTO.PN_RESPONSE_HEADER)
+    ResponseHeaderDTO responseHeader;
+
+    @SerializedName(ResponseBodyDTO.PN_RESPONSE)
+    ResponseBodyDTO response;
+
+    @SerializedName(HighlightingDTO.PN_HIGHLIGHTING)
+    Map<String, Map<String, List<String>>> highlighting;
+
+    @SerializedName(FacetCountsDTO.PN_FACET_COUNTS)
+    FacetCountsDTO facetCounts;
+
+    @SerializedName(PN_SPELLCHECK)
+    JsonObject spellcheck;
+}
@@ -1,12 +1,16 @@
 package com.valtech.aem.saas.core.http.response.dto;
 
 import com.google.gson.annotations.SerializedName;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 import java.util.Map;
 
 @Getter
+@NoArgsConstructor
+@AllArgsConstructor
 public class HighlightingDTO {
 
     public static final String HIGHLIGHTING_TAG_NAME = "em";
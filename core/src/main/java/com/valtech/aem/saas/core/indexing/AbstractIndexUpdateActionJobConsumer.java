@@ -3,14 +3,25 @@ package com.valtech.aem.saas.core.indexing;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.event.jobs.ScheduledJobInfo;
 import org.apache.sling.event.jobs.consumer.JobConsumer;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
 @Slf4j
 public abstract class AbstractIndexUpdateActionJobConsumer implements JobConsumer {
 
     public static final String JOB_PROPERTY_ACTION = "action";
     public static final String JOB_PROPERTY_URL = "url";
     public static final String JOB_PROPERTY_REPOSITORY_PATH = "repositoryPath";
+    public static final String JOB_PROPERTY_TIMESTAMP = "timestamp";
+    public static final String JOB_PROPERTY_RESERVED = "reserved";
 
     @Override
     public JobResult process(Job job) {
@@ -18,11 +29,61 @@ public abstract class AbstractIndexUpdateActionJobConsumer implements JobConsume
         String repositoryPath = job.getProperty(JOB_PROPERTY_REPOSITORY_PATH, StringUtils.EMPTY);
         validateJobProperty(StringUtils.isNotEmpty(url), "Url is not specified.", job);
         validateJobProperty(StringUtils.isNotEmpty(repositoryPath), "Repository path is not specified.", job);
-        return processJob(url, repositoryPath);
+        Long timestamp = job.getProperty(JOB_PROPERTY_TIMESTAMP, Long.class);
+        if (timestamp != null && getIndexUpdateJobDeduplicationService().isSuperseded(url, timestamp)) {
+            log.debug("Job [{}] is superseded by a more recent job for {} and will be dropped.", job.getId(), url);
+            return JobResult.OK;
+        }
+        long delay = getIndexUpdateThrottle().acquire(isReserved(job));
+        if (delay > 0L) {
+            return defer(job, delay);
+        }
+        JobResult result = processJob(url, repositoryPath);
+        if (result == JobResult.FAILED && getIndexUpdateThrottle().isBackingOff()) {
+            delay = getIndexUpdateThrottle().acquire(false);
+            if (delay > 0L) {
+                return defer(job, delay);
+            }
+        }
+        return result;
     }
 
     protected abstract JobResult processJob(String url, String repositoryPath);
 
+    protected abstract IndexUpdateJobDeduplicationService getIndexUpdateJobDeduplicationService();
+
+    protected abstract IndexUpdateThrottle getIndexUpdateThrottle();
+
+    protected abstract JobManager getJobManager();
+
+    private static boolean isReserved(Job job) {
+        return Boolean.TRUE.equals(job.getProperty(JOB_PROPERTY_RESERVED, Boolean.class));
+    }
+
+    /**
+     * Returns the job to the queue by scheduling a copy of it after the delay, instead of failing it. Failed jobs are
+     * retried at the retry delay of the queue, which would keep hitting SaaS while it asks to back off.
+     */
+    private JobResult defer(Job job, long delay) {
+        Map<String, Object> properties = new HashMap<>();
+        Stream.of(JOB_PROPERTY_URL, JOB_PROPERTY_REPOSITORY_PATH, JOB_PROPERTY_TIMESTAMP)
+              .filter(name -> job.getProperty(name) != null)
+              .forEach(name -> properties.put(name, job.getProperty(name)));
+        properties.put(JOB_PROPERTY_RESERVED, true);
+        List<String> errorMessages = new ArrayList<>();
+        ScheduledJobInfo deferred = getJobManager().createJob(job.getTopic())
+                                      .properties(properties)
+                                      .schedule()
+                                      .at(new Date(System.currentTimeMillis() + delay))
+                                      .add(errorMessages);
+        if (deferred == null) {
+            log.warn("Failed to defer job [{}]: {}", job.getId(), errorMessages);
+            return JobResult.FAILED;
+        }
+        log.debug("Job [{}] is throttled and deferred by {} ms.", job.getId(), delay);
+        return JobResult.OK;
+    }
+
     private void validateJobProperty(
             boolean validation,
             String failMessage,
@@ -0,0 +1,27 @@
+package com.valtech.aem.saas.core.indexing;
+
+import lombok.NonNull;
+
+/**
+ * Indexes DAM assets by pushing the text extracted from their original rendition. Assets are processed by their own job
+ * topic and queue, with a memory budget bounding the binaries parsed at the same time, so that large binaries can not
+ * hold back the indexing of pages.
+ */
+public interface AssetContentPushService {
+
+    /**
+     * Checks whether the activated assets are indexed.
+     *
+     * @return true if enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Extracts the text of the asset and pushes it to the index, unless it did not change since it was last indexed.
+     *
+     * @param url            the externalized url of the asset.
+     * @param repositoryPath the asset's location in jcr.
+     * @return the outcome of the push.
+     */
+    IndexContentPushService.Result push(@NonNull String url, @NonNull String repositoryPath);
+}
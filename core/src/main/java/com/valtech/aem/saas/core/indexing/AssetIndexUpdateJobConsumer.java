@@ -0,0 +1,79 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.event.jobs.consumer.JobConsumer;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import java.util.Optional;
+
+/**
+ * Consumes the index update jobs of DAM assets. The jobs have their own topic, processed by their own queue, so that
+ * the text extraction of large binaries does not hold back the indexing of pages.
+ */
+@Component(service = JobConsumer.class,
+           configurationPolicy = ConfigurationPolicy.REQUIRE,
+           property = {
+                   JobConsumer.PROPERTY_TOPICS + "=" + AssetIndexUpdateJobConsumer.JOB_TOPIC
+           })
+@ServiceDescription("Search as a Service - Asset Index Update Job Consumer")
+@Slf4j
+public class AssetIndexUpdateJobConsumer extends AbstractIndexUpdateActionJobConsumer {
+
+    public static final String JOB_TOPIC = "com/valtech/aem/saas/indexing/jobs/assetIndexUpdate";
+
+    @Reference
+    private AssetContentPushService assetContentPushService;
+
+    @Reference
+    private IndexUpdateService indexUpdateService;
+
+    @Reference
+    private IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @Reference
+    private IndexUpdateThrottle indexUpdateThrottle;
+
+    @Reference
+    private JobManager jobManager;
+
+    @Override
+    protected JobResult processJob(String url, String repositoryPath) {
+        log.debug("Processing 'Asset Index Update' Job with url: {} and repository path: {}", url, repositoryPath);
+        IndexContentPushService.Result result = assetContentPushService.push(url, repositoryPath);
+        log.debug("Asset content push of {}: {}", url, result);
+        if (result == IndexContentPushService.Result.FAILED) {
+            return JobResult.FAILED;
+        }
+        if (result != IndexContentPushService.Result.NOT_EXTRACTED) {
+            return JobResult.OK;
+        }
+        Optional<IndexUpdateResponseDTO> response = indexUpdateService.indexUrl(url, repositoryPath);
+        if (response.isPresent()) {
+            log.debug("Index update successful: {}", response.get());
+            return JobResult.OK;
+        }
+        log.debug("Index update request to SaaS has failed.");
+        return JobResult.FAILED;
+    }
+
+    @Override
+    protected IndexUpdateJobDeduplicationService getIndexUpdateJobDeduplicationService() {
+        return indexUpdateJobDeduplicationService;
+    }
+
+    @Override
+    protected IndexUpdateThrottle getIndexUpdateThrottle() {
+        return indexUpdateThrottle;
+    }
+
+    @Override
+    protected JobManager getJobManager() {
+        return jobManager;
+    }
+}
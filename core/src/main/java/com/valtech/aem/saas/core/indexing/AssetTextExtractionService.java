@@ -0,0 +1,23 @@
+package com.valtech.aem.saas.core.indexing;
+
+import lombok.NonNull;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Extracts the plain text of binaries, e.g. PDF or office documents.
+ */
+public interface AssetTextExtractionService {
+
+    /**
+     * Extracts the plain text of a binary. The binary is streamed, and the heap used is bounded by the maximum length
+     * rather than by the size of the binary.
+     *
+     * @param inputStream the binary, closed by the caller.
+     * @param mimeType    the mime type of the binary, used as a hint for the parser.
+     * @param maxLength   maximum number of characters extracted; the text beyond is dropped.
+     * @return the whitespace normalized text, or empty if the binary holds no text or can not be parsed.
+     */
+    Optional<String> extract(@NonNull InputStream inputStream, String mimeType, int maxLength);
+}
@@ -0,0 +1,275 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.day.cq.dam.api.Asset;
+import com.day.cq.dam.api.DamConstants;
+import com.day.cq.dam.api.Rendition;
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes the text of DAM assets, streamed from their original rendition through the
+ * {@link AssetTextExtractionService}. The title, description, keywords and language are read from the Dublin Core
+ * metadata of the asset.
+ * <p>
+ * The memory budget is a semaphore of kilobytes: an asset is parsed once the size of its original rendition is
+ * available in the budget, since some parsers hold the whole document in memory. Assets larger than the maximum
+ * binary size are left to the crawler.
+ */
+@Slf4j
+@Component(service = AssetContentPushService.class)
+@ServiceDescription("Search as a Service - Asset Content Push Service")
+@Designate(ocd = DefaultAssetContentPushService.Configuration.class)
+public class DefaultAssetContentPushService implements AssetContentPushService {
+
+    private static final long KILOBYTE = 1024L;
+    private static final long MEGABYTE = KILOBYTE * KILOBYTE;
+
+    @Reference
+    private ResourceResolverProvider resourceResolverProvider;
+
+    @Reference
+    private IndexFingerprintService indexFingerprintService;
+
+    @Reference
+    private IndexUpdateService indexUpdateService;
+
+    @Reference
+    private AssetTextExtractionService assetTextExtractionService;
+
+    private volatile Configuration configuration;
+
+    private volatile Semaphore memoryBudget;
+
+    private volatile int memoryBudgetPermits;
+
+    @Override
+    public boolean isEnabled() {
+        return configuration.assetContentPushService_enabled();
+    }
+
+    @Override
+    public IndexContentPushService.Result push(@NonNull String url, @NonNull String repositoryPath) {
+        Optional<Extraction> extraction = resourceResolverProvider.resourceResolverFunction(
+                resourceResolver -> extract(resourceResolver, url, repositoryPath));
+        if (!extraction.isPresent() || extraction.get().getStatus() == ExtractionStatus.POSTPONED) {
+            return IndexContentPushService.Result.FAILED;
+        }
+        if (extraction.get().getStatus() == ExtractionStatus.NOT_EXTRACTED) {
+            return IndexContentPushService.Result.NOT_EXTRACTED;
+        }
+        IndexContentPayloadDTO payload = extraction.get().getPayload();
+        String fingerprint = indexFingerprintService.fingerprint(payload);
+        if (indexFingerprintService.isUnchanged(url, repositoryPath, fingerprint)) {
+            log.debug("Content of {} did not change since it was last indexed.", url);
+            return IndexContentPushService.Result.UNCHANGED;
+        }
+        if (indexUpdateService.indexContent(payload).isPresent()) {
+            indexFingerprintService.update(url, repositoryPath, fingerprint);
+            return IndexContentPushService.Result.PUSHED;
+        }
+        return IndexContentPushService.Result.FAILED;
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        this.configuration = configuration;
+        memoryBudgetPermits = (int) Math.min(Integer.MAX_VALUE,
+                                             Math.max(1L, configuration.assetContentPushService_memoryBudget())
+                                                     * MEGABYTE / KILOBYTE);
+        memoryBudget = new Semaphore(memoryBudgetPermits);
+    }
+
+    /**
+     * Extracts the payload of the asset.
+     *
+     * @return the extracted payload, or the reason it was not extracted.
+     */
+    private Extraction extract(ResourceResolver resourceResolver, String url, String repositoryPath) {
+        Resource resource = resourceResolver.getResource(repositoryPath);
+        Asset asset = resource != null ? resource.adaptTo(Asset.class) : null;
+        Rendition original = asset != null ? asset.getOriginal() : null;
+        if (original == null) {
+            log.debug("No original rendition found for {}.", repositoryPath);
+            return Extraction.NOT_EXTRACTED;
+        }
+        long size = original.getSize();
+        if (size > configuration.assetContentPushService_maxBinarySize() * MEGABYTE) {
+            log.info("Asset {} of {} bytes exceeds the maximum binary size and is left to the crawler.",
+                     repositoryPath,
+                     size);
+            return Extraction.NOT_EXTRACTED;
+        }
+        Semaphore currentMemoryBudget = memoryBudget;
+        int permits = (int) Math.max(1L, Math.min(memoryBudgetPermits, size / KILOBYTE));
+        if (!tryAcquire(currentMemoryBudget, permits)) {
+            log.info("Memory budget exhausted, text extraction of {} postponed.", repositoryPath);
+            return Extraction.POSTPONED;
+        }
+        try (InputStream inputStream = original.getStream()) {
+            if (inputStream == null) {
+                return Extraction.NOT_EXTRACTED;
+            }
+            return assetTextExtractionService.extract(inputStream,
+                                                      original.getMimeType(),
+                                                      configuration.assetContentPushService_maxTextLength())
+                                             .map(text -> Extraction.of(toPayload(asset, text, url)))
+                                             .orElse(Extraction.NOT_EXTRACTED);
+        } catch (IOException e) {
+            log.warn("Failed to read the original rendition of {}.", repositoryPath, e);
+            return Extraction.NOT_EXTRACTED;
+        } finally {
+            currentMemoryBudget.release(permits);
+        }
+    }
+
+    private boolean tryAcquire(Semaphore semaphore, int permits) {
+        try {
+            return semaphore.tryAcquire(permits,
+                                        configuration.assetContentPushService_memoryBudgetTimeout(),
+                                        TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private IndexContentPayloadDTO toPayload(Asset asset, String text, String url) {
+        String title = StringUtils.defaultIfBlank(getMetadata(asset, DamConstants.DC_TITLE), asset.getName());
+        String description = StringUtils.defaultIfBlank(getMetadata(asset, DamConstants.DC_DESCRIPTION),
+                                                        StringUtils.abbreviate(text,
+                                                                               DefaultIndexContentExtractionService.DESCRIPTION_MAX_LENGTH));
+        String keywords = StringUtils.defaultIfBlank(getMetadata(asset, DamConstants.DC_SUBJECT), title);
+        String language = StringUtils.defaultIfBlank(getMetadata(asset, DamConstants.DC_LANGUAGE),
+                                                     configuration.assetContentPushService_defaultLanguage());
+        return new IndexContentPayloadDTO(text,
+                                          title,
+                                          url,
+                                          asset.getPath(),
+                                          language.toLowerCase(Locale.ROOT),
+                                          keywords,
+                                          description,
+                                          configuration.assetContentPushService_scope());
+    }
+
+    private static String getMetadata(Asset asset, String name) {
+        Object value = asset.getMetadata(name);
+        if (value instanceof Object[]) {
+            return Arrays.stream((Object[]) value)
+                         .filter(Objects::nonNull)
+                         .map(Object::toString)
+                         .filter(StringUtils::isNotBlank)
+                         .collect(Collectors.joining(", "));
+        }
+        return value != null ? value.toString() : null;
+    }
+
+    private enum ExtractionStatus {
+
+        EXTRACTED,
+
+        /**
+         * The asset is left to the crawler.
+         */
+        NOT_EXTRACTED,
+
+        /**
+         * The memory budget was exhausted; the job is retried.
+         */
+        POSTPONED
+    }
+
+    /**
+     * Outcome of the text extraction of an asset.
+     */
+    @Value
+    private static class Extraction {
+
+        static final Extraction NOT_EXTRACTED = new Extraction(ExtractionStatus.NOT_EXTRACTED, null);
+        static final Extraction POSTPONED = new Extraction(ExtractionStatus.POSTPONED, null);
+
+        ExtractionStatus status;
+
+        /**
+         * The extracted payload, or null if not extracted.
+         */
+        IndexContentPayloadDTO payload;
+
+        static Extraction of(@NonNull IndexContentPayloadDTO payload) {
+            return new Extraction(ExtractionStatus.EXTRACTED, payload);
+        }
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Asset Content Push Service Configuration",
+                           description = "Indexing of DAM assets by pushing the text extracted from their binaries.")
+    public @interface Configuration {
+
+        boolean DEFAULT_ENABLED = false;
+        long DEFAULT_MAX_BINARY_SIZE = 100L;
+        int DEFAULT_MAX_TEXT_LENGTH = 100000;
+        long DEFAULT_MEMORY_BUDGET = 256L;
+        long DEFAULT_MEMORY_BUDGET_TIMEOUT = 10L;
+        String DEFAULT_SCOPE = "asset";
+        String DEFAULT_LANGUAGE = "en";
+
+        @AttributeDefinition(name = "Enabled",
+                             description = "Index the activated DAM assets.",
+                             type = AttributeType.BOOLEAN)
+        boolean assetContentPushService_enabled() default DEFAULT_ENABLED; // NOSONAR
+
+        @AttributeDefinition(name = "Max binary size",
+                             description = "Maximum size (in megabytes) of the binaries whose text is extracted.",
+                             type = AttributeType.LONG)
+        long assetContentPushService_maxBinarySize() default DEFAULT_MAX_BINARY_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Max text length",
+                             description = "Maximum number of characters extracted from a binary.",
+                             type = AttributeType.INTEGER)
+        int assetContentPushService_maxTextLength() default DEFAULT_MAX_TEXT_LENGTH; // NOSONAR
+
+        @AttributeDefinition(name = "Memory budget",
+                             description = "Total size (in megabytes) of the binaries parsed at the same time.",
+                             type = AttributeType.LONG)
+        long assetContentPushService_memoryBudget() default DEFAULT_MEMORY_BUDGET; // NOSONAR
+
+        @AttributeDefinition(name = "Memory budget timeout",
+                             description = "Time (in seconds) an asset waits for the memory budget before its job "
+                                     + "is retried.",
+                             type = AttributeType.LONG)
+        long assetContentPushService_memoryBudgetTimeout() default DEFAULT_MEMORY_BUDGET_TIMEOUT; // NOSONAR
+
+        @AttributeDefinition(name = "Scope",
+                             description = "Scope metadata of the pushed assets.")
+        String assetContentPushService_scope() default DEFAULT_SCOPE; // NOSONAR
+
+        @AttributeDefinition(name = "Default language",
+                             description = "Language of the assets without dc:language metadata.")
+        String assetContentPushService_defaultLanguage() default DEFAULT_LANGUAGE; // NOSONAR
+    }
+}
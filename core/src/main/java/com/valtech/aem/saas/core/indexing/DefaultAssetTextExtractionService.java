@@ -0,0 +1,74 @@
+package com.valtech.aem.saas.core.indexing;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.WriteOutContentHandler;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the plain text of binaries with the Tika parsers available in AEM. The binary is streamed through the
+ * parser, which spools it to a temporary file if it needs random access, and the extracted text is written to a buffer
+ * capped at the maximum length.
+ */
+@Slf4j
+@Component(service = AssetTextExtractionService.class)
+@ServiceDescription("Search as a Service - Asset Text Extraction Service")
+public class DefaultAssetTextExtractionService implements AssetTextExtractionService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Override
+    public Optional<String> extract(@NonNull InputStream inputStream, String mimeType, int maxLength) {
+        return extract(ParserHolder.PARSER, inputStream, mimeType, maxLength);
+    }
+
+    static Optional<String> extract(Parser parser, InputStream inputStream, String mimeType, int maxLength) {
+        StringWriter text = new StringWriter();
+        WriteOutContentHandler handler = new WriteOutContentHandler(text, maxLength);
+        Metadata metadata = new Metadata();
+        if (StringUtils.isNotBlank(mimeType)) {
+            metadata.set(Metadata.CONTENT_TYPE, mimeType);
+        }
+        try {
+            parser.parse(TikaInputStream.get(inputStream), handler, metadata, new ParseContext());
+        } catch (SAXException e) {
+            if (!handler.isWriteLimitReached(e)) {
+                log.warn("Failed to extract the text of a {} binary.", mimeType, e);
+                return Optional.empty();
+            }
+            log.debug("Extracted text of a {} binary truncated to {} characters.", mimeType, maxLength);
+        } catch (IOException | TikaException | RuntimeException e) {
+            log.warn("Failed to extract the text of a {} binary.", mimeType, e);
+            return Optional.empty();
+        }
+        return Optional.of(WHITESPACE.matcher(text.toString()).replaceAll(StringUtils.SPACE).trim())
+                       .filter(StringUtils::isNotEmpty);
+    }
+
+    /**
+     * Holds the parser shared by all the extractions. Setting up the auto detecting parser loads the detectors and
+     * parsers available, hence it is done once, on the first extraction; the parser itself is thread-safe.
+     */
+    private static final class ParserHolder {
+
+        private static final Parser PARSER = new AutoDetectParser();
+
+        private ParserHolder() {
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.day.cq.wcm.api.Page;
+import com.day.cq.wcm.api.PageManager;
+import com.valtech.aem.saas.api.indexing.ContentExtractor;
+import com.valtech.aem.saas.api.indexing.dto.ExtractedContentDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Extracts the content of pages with the {@link ContentExtractor} registered for their resource type, or with the
+ * built-in {@link PageContentExtractor} if none matches.
+ * <p>
+ * SaaS requires all the metadata of a pushed document, hence a missing description falls back to the beginning of the
+ * content and missing keywords fall back to the title. Pages without any extracted content are left to the crawler.
+ */
+@Slf4j
+@Component(service = IndexContentExtractionService.class)
+@ServiceDescription("Search as a Service - Index Content Extraction Service")
+@Designate(ocd = DefaultIndexContentExtractionService.Configuration.class)
+public class DefaultIndexContentExtractionService implements IndexContentExtractionService {
+
+    static final int DESCRIPTION_MAX_LENGTH = 160;
+
+    private static final ContentExtractor DEFAULT_CONTENT_EXTRACTOR = new PageContentExtractor();
+
+    @Reference
+    private ResourceResolverProvider resourceResolverProvider;
+
+    private final Map<ContentExtractor, ExtractorRegistration> contentExtractors = new ConcurrentHashMap<>();
+
+    private volatile Configuration configuration;
+
+    @Override
+    public Optional<IndexContentPayloadDTO> extract(@NonNull String url, @NonNull String repositoryPath) {
+        return resourceResolverProvider.resourceResolverFunction(
+                resourceResolver -> extract(resourceResolver, url, repositoryPath)).flatMap(extracted -> extracted);
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Reference(service = ContentExtractor.class,
+               cardinality = ReferenceCardinality.MULTIPLE,
+               policy = ReferencePolicy.DYNAMIC,
+               policyOption = ReferencePolicyOption.GREEDY)
+    protected void bindContentExtractor(ContentExtractor contentExtractor, Map<String, Object> properties) {
+        contentExtractors.put(contentExtractor, new ExtractorRegistration(
+                getResourceTypes(properties.get(ContentExtractor.PROPERTY_RESOURCE_TYPES)),
+                properties.get(Constants.SERVICE_RANKING) instanceof Integer
+                        ? (Integer) properties.get(Constants.SERVICE_RANKING)
+                        : 0));
+    }
+
+    protected void unbindContentExtractor(ContentExtractor contentExtractor) {
+        contentExtractors.remove(contentExtractor);
+    }
+
+    private Optional<IndexContentPayloadDTO> extract(ResourceResolver resourceResolver,
+                                                     String url,
+                                                     String repositoryPath) {
+        PageManager pageManager = resourceResolver.adaptTo(PageManager.class);
+        Page page = pageManager != null ? pageManager.getPage(repositoryPath) : null;
+        if (page == null || page.getContentResource() == null) {
+            log.debug("No content extracted from {}, the page does not exist.", repositoryPath);
+            return Optional.empty();
+        }
+        ContentExtractor contentExtractor = getContentExtractor(resourceResolver, page.getContentResource());
+        try {
+            return contentExtractor.extract(page).flatMap(extracted -> toPayload(extracted, page, url));
+        } catch (RuntimeException e) {
+            log.error("Failed to extract the content of {}.", repositoryPath, e);
+            return Optional.empty();
+        }
+    }
+
+    private ContentExtractor getContentExtractor(ResourceResolver resourceResolver, Resource contentResource) {
+        return contentExtractors.entrySet()
+                                .stream()
+                                .filter(entry -> entry.getValue()
+                                                      .getResourceTypes()
+                                                      .stream()
+                                                      .anyMatch(resourceType -> resourceResolver.isResourceType(
+                                                              contentResource,
+                                                              resourceType)))
+                                .max(Comparator.comparingInt(entry -> entry.getValue().getRanking()))
+                                .map(Map.Entry::getKey)
+                                .orElse(DEFAULT_CONTENT_EXTRACTOR);
+    }
+
+    private Optional<IndexContentPayloadDTO> toPayload(ExtractedContentDTO extracted, Page page, String url) {
+        if (StringUtils.isBlank(extracted.getContent())) {
+            return Optional.empty();
+        }
+        String title = StringUtils.defaultIfBlank(extracted.getTitle(), page.getName());
+        String language = StringUtils.defaultIfBlank(extracted.getLanguage(),
+                                                     page.getLanguage(false).getLanguage());
+        String keywords = extracted.getKeywords().isEmpty() ? title : String.join(", ", extracted.getKeywords());
+        String description = StringUtils.defaultIfBlank(extracted.getDescription(),
+                                                        StringUtils.abbreviate(extracted.getContent(),
+                                                                               DESCRIPTION_MAX_LENGTH));
+        return Optional.of(new IndexContentPayloadDTO(extracted.getContent(),
+                                                      title,
+                                                      url,
+                                                      page.getPath(),
+                                                      language.toLowerCase(Locale.ROOT),
+                                                      keywords,
+                                                      description,
+                                                      configuration.indexContentExtractionService_scope()));
+    }
+
+    private static List<String> getResourceTypes(Object resourceTypes) {
+        if (resourceTypes instanceof String[]) {
+            return Arrays.asList((String[]) resourceTypes);
+        }
+        if (resourceTypes instanceof String) {
+            return Collections.singletonList((String) resourceTypes);
+        }
+        return Collections.emptyList();
+    }
+
+    @Value
+    private static class ExtractorRegistration {
+
+        List<String> resourceTypes;
+        int ranking;
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Index Content Extraction Service Configuration",
+                           description = "Extraction of the indexed content of pages inside AEM.")
+    public @interface Configuration {
+
+        String DEFAULT_SCOPE = "page";
+
+        @AttributeDefinition(name = "Scope",
+                             description = "Scope metadata of the extracted documents.")
+        String indexContentExtractionService_scope() default DEFAULT_SCOPE; // NOSONAR
+    }
+}
@@ -0,0 +1,81 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.Optional;
+
+/**
+ * Pushes the content of pages extracted by the {@link IndexContentExtractionService}. Documents whose fingerprint did
+ * not change since they were last indexed are not pushed again.
+ */
+@Slf4j
+@Component(service = IndexContentPushService.class)
+@ServiceDescription("Search as a Service - Index Content Push Service")
+@Designate(ocd = DefaultIndexContentPushService.Configuration.class)
+public class DefaultIndexContentPushService implements IndexContentPushService {
+
+    @Reference
+    private IndexContentExtractionService indexContentExtractionService;
+
+    @Reference
+    private IndexFingerprintService indexFingerprintService;
+
+    @Reference
+    private IndexUpdateService indexUpdateService;
+
+    private volatile Configuration configuration;
+
+    @Override
+    public boolean isEnabled() {
+        return configuration.indexContentPushService_enabled();
+    }
+
+    @Override
+    public Result push(@NonNull String url, @NonNull String repositoryPath) {
+        Optional<IndexContentPayloadDTO> payload = indexContentExtractionService.extract(url, repositoryPath);
+        if (!payload.isPresent()) {
+            return Result.NOT_EXTRACTED;
+        }
+        String fingerprint = indexFingerprintService.fingerprint(payload.get());
+        if (indexFingerprintService.isUnchanged(url, repositoryPath, fingerprint)) {
+            log.debug("Content of {} did not change since it was last indexed.", url);
+            return Result.UNCHANGED;
+        }
+        if (indexUpdateService.indexContent(payload.get()).isPresent()) {
+            indexFingerprintService.update(url, repositoryPath, fingerprint);
+            return Result.PUSHED;
+        }
+        return Result.FAILED;
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Index Content Push Service Configuration",
+                           description = "Indexing of pages by pushing their content extracted in AEM instead of "
+                                   + "having SaaS crawl them.")
+    public @interface Configuration {
+
+        boolean DEFAULT_ENABLED = false;
+
+        @AttributeDefinition(name = "Enabled",
+                             description = "Push the content of activated pages instead of triggering their crawl.",
+                             type = AttributeType.BOOLEAN)
+        boolean indexContentPushService_enabled() default DEFAULT_ENABLED; // NOSONAR
+    }
+}
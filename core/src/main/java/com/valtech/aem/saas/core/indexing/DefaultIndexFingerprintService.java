@@ -0,0 +1,243 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.core.cache.CacheMetrics;
+import com.valtech.aem.saas.core.cache.ExpiringLruCache;
+import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.Gauge;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists the fingerprints in the repository, below {@link #FINGERPRINTS_PATH} mirroring the content tree: the node of
+ * a page holds one property per url, named after the hash of the url, whose value is the SHA-256 hash of the indexed
+ * payload. The fingerprints hence survive restarts, and recently used ones are cached in memory.
+ * <p>
+ * The share of skipped index updates is published as the {@code saas.indexing.fingerprint.skipRatio} gauge.
+ */
+@Slf4j
+@Component(service = IndexFingerprintService.class)
+@ServiceDescription("Search as a Service - Index Fingerprint Service")
+@Designate(ocd = DefaultIndexFingerprintService.Configuration.class)
+public class DefaultIndexFingerprintService implements IndexFingerprintService {
+
+    public static final String CACHE_NAME = "indexFingerprints";
+
+    static final String FINGERPRINTS_PATH = "/var/saas-aem-module/fingerprints";
+    static final String METRIC_NAME_PREFIX = "saas.indexing.fingerprint.";
+
+    private static final String NT_UNSTRUCTURED = "nt:unstructured";
+
+    @Reference
+    private ResourceResolverProvider resourceResolverProvider;
+
+    @Reference
+    private SerializerRegistry serializerRegistry;
+
+    @Reference
+    private MetricsService metricsService;
+
+    private final AtomicLong unchangedCount = new AtomicLong();
+
+    private final AtomicLong changedCount = new AtomicLong();
+
+    private volatile Configuration configuration;
+
+    private volatile ExpiringLruCache<String, String> fingerprints;
+
+    private Counter unchanged;
+
+    private Counter changed;
+
+    private ServiceRegistration<?> skipRatioRegistration;
+
+    @Override
+    public boolean isEnabled() {
+        return configuration.indexFingerprintService_enabled();
+    }
+
+    @Override
+    public String fingerprint(@NonNull IndexContentPayloadDTO payload) {
+        return DigestUtils.sha256Hex(serializerRegistry.getGson().toJson(payload));
+    }
+
+    @Override
+    public boolean isUnchanged(@NonNull String url, @NonNull String repositoryPath, @NonNull String fingerprint) {
+        boolean isUnchanged = get(url, repositoryPath).filter(fingerprint::equals).isPresent();
+        if (isUnchanged) {
+            unchanged.increment();
+            unchangedCount.incrementAndGet();
+        } else {
+            changed.increment();
+            changedCount.incrementAndGet();
+        }
+        return isUnchanged;
+    }
+
+    @Override
+    public void update(@NonNull String url, @NonNull String repositoryPath, @NonNull String fingerprint) {
+        fingerprints.put(url, fingerprint);
+        resourceResolverProvider.resourceResolverConsumer(resourceResolver -> {
+            try {
+                Resource resource = ResourceUtil.getOrCreateResource(resourceResolver,
+                                                                     getPath(repositoryPath),
+                                                                     Collections.singletonMap(
+                                                                             ResourceResolver.PROPERTY_RESOURCE_TYPE,
+                                                                             NT_UNSTRUCTURED),
+                                                                     NT_UNSTRUCTURED,
+                                                                     false);
+                write(resourceResolver, resource, getPropertyName(url), fingerprint);
+            } catch (PersistenceException e) {
+                log.error("Failed to create the fingerprint node of {}.", repositoryPath, e);
+                resourceResolver.revert();
+            }
+        });
+    }
+
+    @Override
+    public void remove(@NonNull String url, @NonNull String repositoryPath) {
+        fingerprints.invalidate(url);
+        resourceResolverProvider.resourceResolverConsumer(resourceResolver -> {
+            Resource resource = resourceResolver.getResource(getPath(repositoryPath));
+            if (resource != null && resource.getValueMap().containsKey(getPropertyName(url))) {
+                write(resourceResolver, resource, getPropertyName(url), null);
+            }
+        });
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration, BundleContext bundleContext) {
+        this.configuration = configuration;
+        unchanged = metricsService.counter(METRIC_NAME_PREFIX + "unchanged");
+        changed = metricsService.counter(METRIC_NAME_PREFIX + "changed");
+        fingerprints = new ExpiringLruCache<>(configuration.indexFingerprintService_cacheMaxSize(),
+                                              TimeUnit.SECONDS.toMillis(
+                                                      configuration.indexFingerprintService_cacheTimeToLive()),
+                                              new CacheMetrics(metricsService, CACHE_NAME));
+        unregisterSkipRatio();
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put(Gauge.NAME, METRIC_NAME_PREFIX + "skipRatio");
+        skipRatioRegistration = bundleContext.registerService(Gauge.class,
+                                                              (Gauge<Double>) this::getSkipRatio,
+                                                              properties);
+    }
+
+    @Deactivate
+    private void deactivate() {
+        unregisterSkipRatio();
+    }
+
+    double getSkipRatio() {
+        long skipped = unchangedCount.get();
+        long total = skipped + changedCount.get();
+        return total > 0 ? (double) skipped / total : 0D;
+    }
+
+    private Optional<String> get(String url, String repositoryPath) {
+        Optional<String> fingerprint = fingerprints.get(url);
+        if (fingerprint.isPresent()) {
+            return fingerprint;
+        }
+        fingerprint = resourceResolverProvider.resourceResolverFunction(
+                resourceResolver -> Optional.ofNullable(resourceResolver.getResource(getPath(repositoryPath)))
+                                            .map(resource -> resource.getValueMap()
+                                                                     .get(getPropertyName(url), String.class)))
+                                              .flatMap(stored -> stored);
+        fingerprint.ifPresent(stored -> fingerprints.put(url, stored));
+        return fingerprint;
+    }
+
+    private void write(ResourceResolver resourceResolver, Resource resource, String name, String fingerprint) {
+        ModifiableValueMap properties = resource.adaptTo(ModifiableValueMap.class);
+        if (properties == null) {
+            log.error("Fingerprint node {} is not modifiable.", resource.getPath());
+            return;
+        }
+        try {
+            if (fingerprint != null) {
+                properties.put(name, fingerprint);
+            } else {
+                properties.remove(name);
+            }
+            resourceResolver.commit();
+        } catch (PersistenceException e) {
+            log.error("Failed to write the fingerprint node {}.", resource.getPath(), e);
+            resourceResolver.revert();
+        }
+    }
+
+    private void unregisterSkipRatio() {
+        if (skipRatioRegistration == null) {
+            return;
+        }
+        try {
+            skipRatioRegistration.unregister();
+        } catch (IllegalStateException e) {
+            log.debug("Gauge is already unregistered.", e);
+        }
+        skipRatioRegistration = null;
+    }
+
+    private static String getPath(String repositoryPath) {
+        return FINGERPRINTS_PATH + repositoryPath;
+    }
+
+    private static String getPropertyName(String url) {
+        return DigestUtils.md5Hex(url);
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Index Fingerprint Service Configuration",
+                           description = "Fingerprints of the indexed content, skipping the index updates of "
+                                   + "unchanged pages.")
+    public @interface Configuration {
+
+        boolean DEFAULT_ENABLED = false;
+        int DEFAULT_CACHE_MAX_SIZE = 10000;
+        long DEFAULT_CACHE_TIME_TO_LIVE = 3600L;
+
+        @AttributeDefinition(name = "Enabled",
+                             description = "Skip triggering the crawl of activated pages whose extracted content did "
+                                     + "not change. Content pushes are always skipped when unchanged.",
+                             type = AttributeType.BOOLEAN)
+        boolean indexFingerprintService_enabled() default DEFAULT_ENABLED; // NOSONAR
+
+        @AttributeDefinition(name = "Cache max size",
+                             description = "Maximum number of fingerprints cached in memory.",
+                             type = AttributeType.INTEGER)
+        int indexFingerprintService_cacheMaxSize() default DEFAULT_CACHE_MAX_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Cache time to live",
+                             description = "Time (in seconds) a fingerprint is cached in memory.",
+                             type = AttributeType.LONG)
+        long indexFingerprintService_cacheTimeToLive() default DEFAULT_CACHE_TIME_TO_LIVE; // NOSONAR
+    }
+}
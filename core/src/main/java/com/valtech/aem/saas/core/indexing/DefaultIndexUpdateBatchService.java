@@ -0,0 +1,166 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.google.common.collect.ImmutableMap;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobManager;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the index update actions in memory and schedules them as a single {@link IndexBatchJobConsumer} job once
+ * the batch reaches its maximum size, or when the batch window elapses. The window is driven by the sling scheduler.
+ * <p>
+ * Each action is registered with the {@link IndexUpdateJobDeduplicationService} when it is added, so that the batch
+ * job drops the items superseded by a more recent action on the same url.
+ */
+@Slf4j
+@Component(service = {IndexUpdateBatchService.class, Runnable.class},
+           property = "scheduler.concurrent:Boolean=false")
+@ServiceDescription("Search as a Service - Index Update Batch Service")
+@Designate(ocd = DefaultIndexUpdateBatchService.Configuration.class)
+public class DefaultIndexUpdateBatchService implements IndexUpdateBatchService, Runnable {
+
+    @Reference
+    private JobManager jobManager;
+
+    @Reference
+    private IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    private final Map<String, PendingAction> pendingActions = new LinkedHashMap<>();
+
+    private volatile Configuration configuration;
+
+    @Override
+    public boolean isEnabled() {
+        return configuration.indexUpdateBatchService_enabled();
+    }
+
+    @Override
+    public void add(@NonNull IndexUpdateAction indexUpdateAction,
+                    @NonNull String url,
+                    @NonNull String repositoryPath) {
+        List<PendingAction> batch = Collections.emptyList();
+        synchronized (pendingActions) {
+            PendingAction replaced = pendingActions.remove(url);
+            if (replaced != null) {
+                log.debug("Pending {} action on {} replaced by {}.", replaced.getAction(), url, indexUpdateAction);
+            }
+            // registered while holding the lock, so that the pending action of a url is always its most recent one
+            long timestamp = indexUpdateJobDeduplicationService.register(url, indexUpdateAction);
+            pendingActions.put(url, new PendingAction(indexUpdateAction, url, repositoryPath, timestamp));
+            if (pendingActions.size() >= Math.max(1, configuration.indexUpdateBatchService_maxBatchSize())) {
+                batch = drain();
+            }
+        }
+        schedule(batch);
+    }
+
+    /**
+     * Submits the pending actions. Invoked by the sling scheduler at the end of each batch window.
+     */
+    @Override
+    public void run() {
+        flush();
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Deactivate
+    private void deactivate() {
+        flush();
+    }
+
+    private void flush() {
+        List<PendingAction> batch;
+        synchronized (pendingActions) {
+            batch = drain();
+        }
+        schedule(batch);
+    }
+
+    private List<PendingAction> drain() {
+        List<PendingAction> batch = new ArrayList<>(pendingActions.values());
+        pendingActions.clear();
+        return batch;
+    }
+
+    private void schedule(List<PendingAction> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        String[] actions = new String[batch.size()];
+        String[] urls = new String[batch.size()];
+        String[] repositoryPaths = new String[batch.size()];
+        Long[] timestamps = new Long[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            actions[i] = batch.get(i).getAction().getName();
+            urls[i] = batch.get(i).getUrl();
+            repositoryPaths[i] = batch.get(i).getRepositoryPath();
+            timestamps[i] = batch.get(i).getTimestamp();
+        }
+        Map<String, Object> properties = ImmutableMap.<String, Object>builder()
+                                                     .put(IndexBatchJobConsumer.JOB_PROPERTY_ACTIONS, actions)
+                                                     .put(IndexBatchJobConsumer.JOB_PROPERTY_URLS, urls)
+                                                     .put(IndexBatchJobConsumer.JOB_PROPERTY_REPOSITORY_PATHS,
+                                                          repositoryPaths)
+                                                     .put(IndexBatchJobConsumer.JOB_PROPERTY_TIMESTAMPS, timestamps)
+                                                     .build();
+        List<String> errorMessages = new ArrayList<>();
+        Job job = jobManager.createJob(IndexBatchJobConsumer.JOB_TOPIC).properties(properties).add(errorMessages);
+        log.info("Added index batch job: {} with {} items, Errors: {}", job.getId(), batch.size(), errorMessages);
+    }
+
+    @Value
+    private static class PendingAction {
+
+        IndexUpdateAction action;
+        String url;
+        String repositoryPath;
+        long timestamp;
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Index Update Batch Service Configuration",
+                           description = "Batching of the index update actions triggered by replication.")
+    public @interface Configuration {
+
+        boolean DEFAULT_ENABLED = true;
+        long DEFAULT_BATCH_WINDOW = 5L;
+        int DEFAULT_MAX_BATCH_SIZE = 500;
+
+        @AttributeDefinition(name = "Enabled",
+                             description = "Batch the index update actions. If disabled, one job is scheduled per url.",
+                             type = AttributeType.BOOLEAN)
+        boolean indexUpdateBatchService_enabled() default DEFAULT_ENABLED; // NOSONAR
+
+        @AttributeDefinition(name = "Batch window",
+                             description = "Time (in seconds) the index update actions are collected before they are submitted.",
+                             type = AttributeType.LONG)
+        long scheduler_period() default DEFAULT_BATCH_WINDOW; // NOSONAR
+
+        @AttributeDefinition(name = "Max batch size",
+                             description = "Number of collected index update actions at which the batch is submitted before the window elapses.",
+                             type = AttributeType.INTEGER)
+        int indexUpdateBatchService_maxBatchSize() default DEFAULT_MAX_BATCH_SIZE; // NOSONAR
+    }
+}
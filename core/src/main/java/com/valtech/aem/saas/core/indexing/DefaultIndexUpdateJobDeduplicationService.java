@@ -0,0 +1,105 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.core.cache.CacheMetrics;
+import com.valtech.aem.saas.core.cache.ExpiringLruCache;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the most recent job per url in a bounded, expiring in-memory cache. The jobs of urls that are no longer known,
+ * e.g. after a restart, after their entry expired, or when the job is consumed by another cluster instance, are never
+ * considered superseded and hence always processed.
+ */
+@Slf4j
+@Component(service = IndexUpdateJobDeduplicationService.class)
+@ServiceDescription("Search as a Service - Index Update Job Deduplication Service")
+@Designate(ocd = DefaultIndexUpdateJobDeduplicationService.Configuration.class)
+public class DefaultIndexUpdateJobDeduplicationService implements IndexUpdateJobDeduplicationService {
+
+    public static final String CACHE_NAME = "indexUpdateJobs";
+    public static final String METRIC_NAME_DROPPED = "saas.indexing.jobs.dropped";
+
+    @Reference
+    private MetricsService metricsService;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private volatile ExpiringLruCache<String, LatestJob> latestJobs;
+
+    private Counter dropped;
+
+    @Override
+    public long register(@NonNull String url, @NonNull IndexUpdateAction indexUpdateAction) {
+        long timestamp = clock.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+        latestJobs.put(url, new LatestJob(indexUpdateAction, timestamp));
+        return timestamp;
+    }
+
+    @Override
+    public long currentTimestamp() {
+        return clock.updateAndGet(last -> Math.max(last, System.currentTimeMillis()));
+    }
+
+    @Override
+    public boolean isSuperseded(@NonNull String url, long timestamp) {
+        Optional<LatestJob> latestJob = latestJobs.peek(url).filter(job -> job.getTimestamp() > timestamp);
+        if (latestJob.isPresent()) {
+            dropped.increment();
+            log.debug("Dropping index job of {} superseded by {} action.", url, latestJob.get().getAction());
+            return true;
+        }
+        return false;
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        dropped = metricsService.counter(METRIC_NAME_DROPPED);
+        latestJobs = new ExpiringLruCache<>(configuration.indexUpdateJobDeduplicationService_maxSize(),
+                                            TimeUnit.SECONDS.toMillis(
+                                                    configuration.indexUpdateJobDeduplicationService_timeToLive()),
+                                            new CacheMetrics(metricsService, CACHE_NAME));
+    }
+
+    @Value
+    private static class LatestJob {
+
+        IndexUpdateAction action;
+        long timestamp;
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Index Update Job Deduplication Service Configuration",
+                           description = "Deduplication of the index update jobs scheduled for the same url.")
+    public @interface Configuration {
+
+        int DEFAULT_MAX_SIZE = 10000;
+        long DEFAULT_TIME_TO_LIVE = 86400L;
+
+        @AttributeDefinition(name = "Max size",
+                             description = "Maximum number of urls whose most recent job is remembered.",
+                             type = AttributeType.INTEGER)
+        int indexUpdateJobDeduplicationService_maxSize() default DEFAULT_MAX_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Time to live",
+                             description = "Time (in seconds) the most recent job of a url is remembered. Should "
+                                     + "exceed the time jobs may wait in the queue, retries included.",
+                             type = AttributeType.LONG)
+        long indexUpdateJobDeduplicationService_timeToLive() default DEFAULT_TIME_TO_LIVE; // NOSONAR
+    }
+}
@@ -1,26 +1,32 @@
 package com.valtech.aem.saas.core.indexing;
 
-import com.google.gson.Gson;
 import com.valtech.aem.saas.api.indexing.IndexUpdateService;
 import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentsResultDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateItemDTO;
 import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResultDTO;
 import com.valtech.aem.saas.core.http.client.SearchAdminRequestExecutorService;
 import com.valtech.aem.saas.core.http.client.SearchServiceConnectionConfigurationService;
+import com.valtech.aem.saas.core.http.request.GsonHttpEntity;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.request.SearchRequestDelete;
 import com.valtech.aem.saas.core.http.request.SearchRequestPost;
+import com.valtech.aem.saas.core.http.response.BulkIndexUpdateDataExtractionStrategy;
 import com.valtech.aem.saas.core.http.response.DefaultIndexUpdateDataExtractionStrategy;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
 import com.valtech.aem.saas.core.indexing.DefaultIndexUpdateService.Configuration;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
+import com.valtech.aem.saas.core.util.ThreadPools;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.entity.EntityBuilder;
-import org.apache.http.entity.ContentType;
 import org.apache.http.message.BasicNameValuePair;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.propertytypes.ServiceDescription;
@@ -30,7 +36,18 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Component(service = IndexUpdateService.class)
@@ -41,18 +58,44 @@ public class DefaultIndexUpdateService implements IndexUpdateService {
     public static final String REQUEST_PARAMETER_URL = "url";
     public static final String REQUEST_PARAMETER_REPOSITORY_PATH = "repository_path";
 
+    private static final String BULK_THREAD_NAME_FORMAT = "saas-index-update-%d";
+    private static final int BULK_QUEUE_SIZE = 1000;
+    private static final long BULK_SHUTDOWN_TIMEOUT_MILLIS = 10000L;
+
     @Reference
     private SearchAdminRequestExecutorService searchAdminRequestExecutorService;
 
     @Reference
     private SearchServiceConnectionConfigurationService searchServiceConnectionConfigurationService;
 
+    @Reference
+    private SerializerRegistry serializerRegistry;
+
+    @Reference
+    private IndexUpdateThrottle indexUpdateThrottle;
+
     private Configuration configuration;
 
+    private ThreadPoolExecutor bulkExecutor;
+
     @Activate
     @Modified
     private void activate(Configuration configuration) {
         this.configuration = configuration;
+        ThreadPoolExecutor previous = bulkExecutor;
+        bulkExecutor = ThreadPools.newBoundedThreadPool(BULK_THREAD_NAME_FORMAT,
+                                                        configuration.indexUpdateService_bulkParallelism(),
+                                                        BULK_QUEUE_SIZE);
+        if (previous != null) {
+            ThreadPools.shutdown(previous, BULK_SHUTDOWN_TIMEOUT_MILLIS);
+        }
+    }
+
+    @Deactivate
+    private void deactivate() {
+        if (bulkExecutor != null) {
+            ThreadPools.shutdown(bulkExecutor, BULK_SHUTDOWN_TIMEOUT_MILLIS);
+        }
     }
 
     @Override
@@ -64,9 +107,8 @@ public class DefaultIndexUpdateService implements IndexUpdateService {
                                                        .httpEntity(createIndexUpdatePayloadEntity(url, repositoryPath))
                                                        .build();
 
-        return searchAdminRequestExecutorService.execute(searchRequest)
-                                                .filter(SearchResponse::isSuccess)
-                                                .flatMap(response -> response.get(new DefaultIndexUpdateDataExtractionStrategy()));
+        return send(searchRequest).filter(SearchResponse::isSuccess)
+                                  .flatMap(response -> response.get(new DefaultIndexUpdateDataExtractionStrategy()));
     }
 
     @Override
@@ -77,9 +119,8 @@ public class DefaultIndexUpdateService implements IndexUpdateService {
                                                          .httpEntity(createIndexUpdatePayloadEntity(url,
                                                                                                     repositoryPath))
                                                          .build();
-        return searchAdminRequestExecutorService.execute(searchRequest)
-                                                .filter(SearchResponse::isSuccess)
-                                                .flatMap(response -> response.get(new DefaultIndexUpdateDataExtractionStrategy()));
+        return send(searchRequest).filter(SearchResponse::isSuccess)
+                                  .flatMap(response -> response.get(new DefaultIndexUpdateDataExtractionStrategy()));
     }
 
     @Override
@@ -90,9 +131,132 @@ public class DefaultIndexUpdateService implements IndexUpdateService {
                                                                indexContentPayloadDto))
                                                        .build();
 
-        return searchAdminRequestExecutorService.execute(searchRequest)
-                                                .filter(SearchResponse::isSuccess)
-                                                .flatMap(response -> response.get(new DefaultIndexUpdateDataExtractionStrategy()));
+        return send(searchRequest).filter(SearchResponse::isSuccess)
+                                  .flatMap(response -> response.get(new DefaultIndexUpdateDataExtractionStrategy()));
+    }
+
+    @Override
+    public List<IndexUpdateResultDTO> indexUrls(@NonNull List<IndexUpdateItemDTO> items) {
+        return submitAll(items, Function.identity(), item -> indexUrl(item.getUrl(), item.getRepositoryPath()));
+    }
+
+    @Override
+    public List<IndexUpdateResultDTO> deleteIndexedUrls(@NonNull List<IndexUpdateItemDTO> items) {
+        return submitAll(items,
+                         Function.identity(),
+                         item -> deleteIndexedUrl(item.getUrl(), item.getRepositoryPath()));
+    }
+
+    @Override
+    public IndexContentsResultDTO indexContents(@NonNull Stream<IndexContentPayloadDTO> indexContentPayloadDtos) {
+        IndexContentsResultDTO.IndexContentsResultDTOBuilder result = IndexContentsResultDTO.builder();
+        int batchSize = Math.max(1, configuration.indexUpdateService_bulkBatchSize());
+        List<IndexContentPayloadDTO> batch = new ArrayList<>(batchSize);
+        int total = 0;
+        int succeeded = 0;
+        Iterator<IndexContentPayloadDTO> iterator = indexContentPayloadDtos.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() < batchSize && iterator.hasNext()) {
+                continue;
+            }
+            for (IndexUpdateResultDTO itemResult : pushContents(batch)) {
+                total++;
+                if (itemResult.isSuccess()) {
+                    succeeded++;
+                } else {
+                    result.failure(itemResult);
+                }
+            }
+            batch.clear();
+        }
+        log.info("Bulk content push completed. Documents: {}, failed: {}.", total, total - succeeded);
+        return result.total(total).succeeded(succeeded).build();
+    }
+
+    private List<IndexUpdateResultDTO> pushContents(List<IndexContentPayloadDTO> batch) {
+        String bulkPushContentAction = configuration.indexUpdateService_apiBulkPushContentAction();
+        if (StringUtils.isBlank(bulkPushContentAction)) {
+            return submitAll(batch, DefaultIndexUpdateService::toItem, this::indexContent);
+        }
+        // a bulk request takes a single permit for all of its documents
+        if (!IndexUpdateThrottle.awaitPermit(indexUpdateThrottle)) {
+            return batch.stream()
+                        .map(payload -> IndexUpdateResultDTO.builder()
+                                                            .item(toItem(payload))
+                                                            .error("Interrupted while waiting for a permit.")
+                                                            .build())
+                        .collect(Collectors.toList());
+        }
+        SearchRequest searchRequest = SearchRequestPost.builder()
+                                                       .uri(getRequestUri(bulkPushContentAction))
+                                                       .httpEntity(new GsonHttpEntity(serializerRegistry.getGson(),
+                                                                                      batch))
+                                                       .build();
+        List<IndexUpdateResponseDTO> responses =
+                send(searchRequest).filter(SearchResponse::isSuccess)
+                                   .flatMap(response -> response.get(new BulkIndexUpdateDataExtractionStrategy()))
+                                   .orElse(Collections.emptyList());
+        if (!responses.isEmpty() && responses.size() != batch.size()) {
+            log.warn("Bulk content push response holds {} results for {} documents.", responses.size(), batch.size());
+        }
+        List<IndexUpdateResultDTO> results = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Optional<IndexUpdateResponseDTO> response = responses.size() == batch.size()
+                    ? Optional.ofNullable(responses.get(i))
+                    : Optional.empty();
+            results.add(IndexUpdateService.toResult(toItem(batch.get(i)), response));
+        }
+        return results;
+    }
+
+    private Optional<SearchResponse> send(SearchRequest searchRequest) {
+        Optional<SearchResponse> searchResponse = searchAdminRequestExecutorService.execute(searchRequest);
+        searchResponse.ifPresent(indexUpdateThrottle::onResponse);
+        return searchResponse;
+    }
+
+    private <T> List<IndexUpdateResultDTO> submitAll(List<T> payloads,
+                                                     Function<T, IndexUpdateItemDTO> itemMapper,
+                                                     Function<T, Optional<IndexUpdateResponseDTO>> request) {
+        // one request per item, submitted concurrently
+        List<CompletableFuture<IndexUpdateResultDTO>> futures = payloads.stream()
+                                                                        .map(payload -> submit(payload,
+                                                                                               itemMapper,
+                                                                                               request))
+                                                                        .collect(Collectors.toList());
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    private <T> CompletableFuture<IndexUpdateResultDTO> submit(T payload,
+                                                               Function<T, IndexUpdateItemDTO> itemMapper,
+                                                               Function<T, Optional<IndexUpdateResponseDTO>> request) {
+        Supplier<IndexUpdateResultDTO> task = () -> execute(payload, itemMapper, request);
+        try {
+            return CompletableFuture.supplyAsync(task, bulkExecutor);
+        } catch (RejectedExecutionException e) {
+            log.debug("Bulk index update item rejected, the executor is saturated. Executing it synchronously.");
+            return CompletableFuture.completedFuture(task.get());
+        }
+    }
+
+    private <T> IndexUpdateResultDTO execute(T payload,
+                                             Function<T, IndexUpdateItemDTO> itemMapper,
+                                             Function<T, Optional<IndexUpdateResponseDTO>> request) {
+        IndexUpdateItemDTO item = itemMapper.apply(payload);
+        if (!IndexUpdateThrottle.awaitPermit(indexUpdateThrottle)) {
+            return IndexUpdateResultDTO.builder().item(item).error("Interrupted while waiting for a permit.").build();
+        }
+        try {
+            return IndexUpdateService.toResult(item, request.apply(payload));
+        } catch (RuntimeException e) {
+            log.error("Bulk index update item {} has failed.", item.getUrl(), e);
+            return IndexUpdateResultDTO.builder().item(item).error(e.getMessage()).build();
+        }
+    }
+
+    private static IndexUpdateItemDTO toItem(IndexContentPayloadDTO indexContentPayloadDto) {
+        return new IndexUpdateItemDTO(indexContentPayloadDto.getUrl(), indexContentPayloadDto.getRepositoryPath());
     }
 
     private HttpEntity createIndexUpdatePayloadEntity(@NonNull String url, @NonNull String repositoryPath) {
@@ -104,11 +268,7 @@ public class DefaultIndexUpdateService implements IndexUpdateService {
     }
 
     private HttpEntity createIndexContentPayloadEntity(IndexContentPayloadDTO indexContentPayloadDto) {
-        return EntityBuilder.create()
-                            .setText(new Gson().toJson(indexContentPayloadDto))
-                            .setContentType(ContentType.APPLICATION_JSON)
-                            .setContentEncoding(StandardCharsets.UTF_8.name())
-                            .build();
+        return new GsonHttpEntity(serializerRegistry.getGson(), indexContentPayloadDto);
     }
 
     private String getRequestUri(String action) {
@@ -134,6 +294,8 @@ public class DefaultIndexUpdateService implements IndexUpdateService {
         String DEFAULT_API_INDEX_TRIGGER_ACTION = "/index/trigger";
         String DEFAULT_API_PUSH_CONTENT_ACTION = "/content";
         String DEFAULT_API_VERSION_PATH = "/api/v3"; // NOSONAR
+        int DEFAULT_BULK_PARALLELISM = 4;
+        int DEFAULT_BULK_BATCH_SIZE = 100;
 
         @AttributeDefinition(name = "Api version path",
                              description = "Path designating the api version",
@@ -147,5 +309,17 @@ public class DefaultIndexUpdateService implements IndexUpdateService {
                              description = "Path designating the push content action",
                              type = AttributeType.STRING) String indexUpdateService_apiPushContentAction() default DEFAULT_API_PUSH_CONTENT_ACTION; // NOSONAR
 
+        @AttributeDefinition(name = "Bulk parallelism",
+                             description = "Number of concurrent requests submitting the items of a bulk index update.",
+                             type = AttributeType.INTEGER) int indexUpdateService_bulkParallelism() default DEFAULT_BULK_PARALLELISM; // NOSONAR
+
+        @AttributeDefinition(name = "Bulk batch size",
+                             description = "Number of documents pushed per batch by a bulk content push.",
+                             type = AttributeType.INTEGER) int indexUpdateService_bulkBatchSize() default DEFAULT_BULK_BATCH_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Api bulk push content action",
+                             description = "Path designating the bulk push content action, accepting a json array of documents and answering with a json array holding one result per document. If empty, the documents of a batch are pushed with concurrent push content requests.",
+                             type = AttributeType.STRING) String indexUpdateService_apiBulkPushContentAction(); // NOSONAR
+
     }
 }
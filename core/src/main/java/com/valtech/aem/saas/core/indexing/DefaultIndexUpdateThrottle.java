@@ -0,0 +1,254 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.core.http.response.SearchResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.Gauge;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.event.jobs.Queue;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces the index update requests to an adaptive rate. Each permit is a time slot; callers get the next free slot,
+ * which spreads the deferred jobs evenly over time instead of releasing them all at once.
+ * <p>
+ * The rate adapts additively increasing, multiplicatively decreasing: a throttled response (429 or 503) halves it and
+ * holds back all the requests for the back-off time, which is read from the Retry-After header or grows exponentially
+ * with the consecutive throttled responses. Each successful response raises the rate by a twentieth of the maximum.
+ */
+@Slf4j
+@Component(service = IndexUpdateThrottle.class)
+@ServiceDescription("Search as a Service - Index Update Throttle")
+@Designate(ocd = DefaultIndexUpdateThrottle.Configuration.class)
+public class DefaultIndexUpdateThrottle implements IndexUpdateThrottle {
+
+    /**
+     * Name of the sling job queue processing the index update jobs, as configured in the queue configuration.
+     */
+    public static final String QUEUE_NAME = "SaaS Indexing Queue";
+
+    static final String METRIC_NAME_PREFIX = "saas.indexing.";
+
+    private static final double RATE_INCREASE_FACTOR = 0.05;
+    private static final int MAX_BACKOFF_EXPONENT = 20;
+
+    @Reference
+    private MetricsService metricsService;
+
+    @Reference
+    private JobManager jobManager;
+
+    private final List<ServiceRegistration<?>> gaugeRegistrations = new CopyOnWriteArrayList<>();
+
+    private volatile Configuration configuration;
+
+    private Counter throttled;
+
+    private Counter deferred;
+
+    private double rate;
+
+    private long nextFreeSlot;
+
+    private long blockedUntil;
+
+    private int consecutiveThrottles;
+
+    @Override
+    public long acquire(boolean reserved) {
+        Configuration currentConfiguration = configuration;
+        if (!currentConfiguration.indexUpdateThrottle_enabled()) {
+            return 0L;
+        }
+        long delay;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (reserved && now >= blockedUntil) {
+                return 0L;
+            }
+            long slot = Math.max(now, Math.max(blockedUntil, nextFreeSlot));
+            nextFreeSlot = slot + (long) Math.ceil(TimeUnit.SECONDS.toMillis(1) / rate);
+            delay = slot - now;
+        }
+        if (delay <= 0L) {
+            return 0L;
+        }
+        if (delay <= currentConfiguration.indexUpdateThrottle_maxWait()) {
+            return await(delay);
+        }
+        deferred.increment();
+        return delay;
+    }
+
+    @Override
+    public synchronized boolean isBackingOff() {
+        return System.currentTimeMillis() < blockedUntil;
+    }
+
+    @Override
+    public void onResponse(@NonNull SearchResponse searchResponse) {
+        Configuration currentConfiguration = configuration;
+        if (!currentConfiguration.indexUpdateThrottle_enabled()) {
+            return;
+        }
+        if (searchResponse.isThrottled()) {
+            long backoff = onThrottled(searchResponse.getRetryAfterMillis(), currentConfiguration);
+            throttled.increment();
+            log.warn("Index update throttled by SaaS with status {}. Backing off for {} ms at {} requests per second.",
+                     searchResponse.getStatusCode(),
+                     backoff,
+                     getRate());
+        } else if (searchResponse.isSuccess()) {
+            onSuccess(currentConfiguration);
+        }
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration, BundleContext bundleContext) {
+        this.configuration = configuration;
+        throttled = metricsService.counter(METRIC_NAME_PREFIX + "throttled");
+        deferred = metricsService.counter(METRIC_NAME_PREFIX + "jobs.deferred");
+        synchronized (this) {
+            rate = getMaxRate(configuration);
+            consecutiveThrottles = 0;
+        }
+        unregisterGauges();
+        registerGauge(bundleContext, METRIC_NAME_PREFIX + "rate", (Gauge<Double>) this::getRate);
+        registerGauge(bundleContext, METRIC_NAME_PREFIX + "queue.depth", (Gauge<Long>) this::getQueueDepth);
+    }
+
+    @Deactivate
+    private void deactivate() {
+        unregisterGauges();
+    }
+
+    synchronized double getRate() {
+        return rate;
+    }
+
+    private long getQueueDepth() {
+        return Optional.ofNullable(jobManager.getQueue(QUEUE_NAME))
+                       .map(Queue::getStatistics)
+                       .map(statistics -> statistics.getNumberOfQueuedJobs())
+                       .orElse(0L);
+    }
+
+    private synchronized long onThrottled(long retryAfterMillis, Configuration currentConfiguration) {
+        long maxBackoff = TimeUnit.SECONDS.toMillis(currentConfiguration.indexUpdateThrottle_maxBackoff());
+        long backoff;
+        if (retryAfterMillis > 0L) {
+            backoff = retryAfterMillis;
+        } else {
+            int exponent = Math.min(consecutiveThrottles, MAX_BACKOFF_EXPONENT);
+            backoff = TimeUnit.SECONDS.toMillis(currentConfiguration.indexUpdateThrottle_initialBackoff()) << exponent;
+        }
+        backoff = Math.min(backoff, maxBackoff);
+        consecutiveThrottles++;
+        blockedUntil = Math.max(blockedUntil, System.currentTimeMillis() + backoff);
+        rate = Math.max(getMinRate(currentConfiguration), rate / 2);
+        return backoff;
+    }
+
+    private synchronized void onSuccess(Configuration currentConfiguration) {
+        consecutiveThrottles = 0;
+        double maxRate = getMaxRate(currentConfiguration);
+        rate = Math.min(maxRate, rate + maxRate * RATE_INCREASE_FACTOR);
+    }
+
+    private long await(long delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0L;
+    }
+
+    private double getMaxRate(Configuration currentConfiguration) {
+        return Math.max(getMinRate(currentConfiguration), currentConfiguration.indexUpdateThrottle_maxRequestsPerSecond());
+    }
+
+    private double getMinRate(Configuration currentConfiguration) {
+        return Math.max(0.1, currentConfiguration.indexUpdateThrottle_minRequestsPerSecond());
+    }
+
+    private void registerGauge(BundleContext bundleContext, String name, Gauge<?> gauge) {
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put(Gauge.NAME, name);
+        gaugeRegistrations.add(bundleContext.registerService(Gauge.class, gauge, properties));
+    }
+
+    private void unregisterGauges() {
+        gaugeRegistrations.forEach(registration -> {
+            try {
+                registration.unregister();
+            } catch (IllegalStateException e) {
+                log.debug("Gauge is already unregistered.", e);
+            }
+        });
+        gaugeRegistrations.clear();
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Index Update Throttle Configuration",
+                           description = "Rate limiting and back-off of the index update jobs.")
+    public @interface Configuration {
+
+        boolean DEFAULT_ENABLED = true;
+        double DEFAULT_MAX_REQUESTS_PER_SECOND = 10;
+        double DEFAULT_MIN_REQUESTS_PER_SECOND = 1;
+        long DEFAULT_MAX_WAIT = 1000L;
+        long DEFAULT_INITIAL_BACKOFF = 5L;
+        long DEFAULT_MAX_BACKOFF = 300L;
+
+        @AttributeDefinition(name = "Enabled",
+                             description = "Rate limit the index update jobs.",
+                             type = AttributeType.BOOLEAN)
+        boolean indexUpdateThrottle_enabled() default DEFAULT_ENABLED; // NOSONAR
+
+        @AttributeDefinition(name = "Max requests per second",
+                             description = "Rate of the index update requests while SaaS does not throttle them.",
+                             type = AttributeType.DOUBLE)
+        double indexUpdateThrottle_maxRequestsPerSecond() default DEFAULT_MAX_REQUESTS_PER_SECOND; // NOSONAR
+
+        @AttributeDefinition(name = "Min requests per second",
+                             description = "Rate the index update requests are never slowed down below.",
+                             type = AttributeType.DOUBLE)
+        double indexUpdateThrottle_minRequestsPerSecond() default DEFAULT_MIN_REQUESTS_PER_SECOND; // NOSONAR
+
+        @AttributeDefinition(name = "Max wait",
+                             description = "Time (in milliseconds) a job waits for its permit on the job thread. Jobs waiting longer are deferred.",
+                             type = AttributeType.LONG)
+        long indexUpdateThrottle_maxWait() default DEFAULT_MAX_WAIT; // NOSONAR
+
+        @AttributeDefinition(name = "Initial back-off",
+                             description = "Time (in seconds) the requests are held back after a throttled response without Retry-After header. Doubles with each consecutive throttled response.",
+                             type = AttributeType.LONG)
+        long indexUpdateThrottle_initialBackoff() default DEFAULT_INITIAL_BACKOFF; // NOSONAR
+
+        @AttributeDefinition(name = "Max back-off",
+                             description = "Maximum time (in seconds) the requests are held back.",
+                             type = AttributeType.LONG)
+        long indexUpdateThrottle_maxBackoff() default DEFAULT_MAX_BACKOFF; // NOSONAR
+    }
+}
@@ -0,0 +1,342 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.day.cq.wcm.api.Page;
+import com.day.cq.wcm.api.PageFilter;
+import com.day.cq.wcm.api.PageManager;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.RateLimiter;
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateItemDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResultDTO;
+import com.valtech.aem.saas.api.resource.PathTransformer;
+import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
+import com.valtech.aem.saas.core.util.ThreadPools;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.event.jobs.JobManager;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+/**
+ * Walks the page tree below a root page in tree order and submits the urls of the pages to {@link IndexUpdateService}
+ * in chunks, which the index update service processes in parallel. The submission rate is capped with a rate limiter.
+ * <p>
+ * The progress is checkpointed in the repository after each chunk. A run interrupted by a restart is resumed from its
+ * last checkpoint on activation. If all the urls of a chunk fail, SaaS is assumed to be unavailable and the run is
+ * paused, so that it can be resumed later on from the failed chunk. The urls failing individually are rescheduled as
+ * index update jobs.
+ */
+@Slf4j
+@Component(service = SiteReindexService.class)
+@ServiceDescription("Search as a Service - Site Reindex Service")
+@Designate(ocd = DefaultSiteReindexService.Configuration.class)
+public class DefaultSiteReindexService implements SiteReindexService {
+
+    static final String PN_LAST_REPLICATION_ACTION = "cq:lastReplicationAction";
+    static final String REPLICATION_ACTION_ACTIVATE = "Activate";
+
+    private static final String THREAD_NAME_FORMAT = "saas-site-reindex-%d";
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000L;
+
+    @Reference
+    private ResourceResolverProvider resourceResolverProvider;
+
+    @Reference
+    private PathTransformer pathTransformer;
+
+    @Reference
+    private IndexUpdateService indexUpdateService;
+
+    @Reference
+    private JobManager jobManager;
+
+    @Reference
+    private IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    private final Object lock = new Object();
+
+    private volatile Configuration configuration;
+
+    private volatile ReindexProgress progress;
+
+    private volatile boolean pauseRequested;
+
+    private volatile boolean stopped;
+
+    private ThreadPoolExecutor executor;
+
+    private Future<?> currentRun;
+
+    @Override
+    public boolean start(@NonNull String rootPath) {
+        synchronized (lock) {
+            if (isRunning()) {
+                log.warn("Site reindex of {} is already running.", progress.getRootPath());
+                return false;
+            }
+            long now = System.currentTimeMillis();
+            return submit(ReindexProgress.builder()
+                                         .rootPath(rootPath)
+                                         .state(ReindexState.RUNNING)
+                                         .startTime(now)
+                                         .updateTime(now)
+                                         .build());
+        }
+    }
+
+    @Override
+    public boolean pause() {
+        synchronized (lock) {
+            if (!isRunning()) {
+                return false;
+            }
+            pauseRequested = true;
+            return true;
+        }
+    }
+
+    @Override
+    public boolean resume() {
+        synchronized (lock) {
+            ReindexProgress last = progress;
+            if (isRunning() || last == null
+                    || (last.getState() != ReindexState.PAUSED && last.getState() != ReindexState.RUNNING)) {
+                return false;
+            }
+            return submit(last.toBuilder().state(ReindexState.RUNNING).build());
+        }
+    }
+
+    @Override
+    public Optional<ReindexProgress> getProgress() {
+        return Optional.ofNullable(progress);
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        this.configuration = configuration;
+        synchronized (lock) {
+            if (executor != null) {
+                return;
+            }
+            executor = ThreadPools.newBoundedThreadPool(THREAD_NAME_FORMAT, 1, 1);
+            progress = resourceResolverProvider.resourceResolverFunction(
+                    resourceResolver -> ReindexCheckpointStore.read(resourceResolver).orElse(null)).orElse(null);
+            if (progress != null && progress.getState() == ReindexState.RUNNING) {
+                log.info("Resuming interrupted site reindex of {} after {}.",
+                         progress.getRootPath(),
+                         progress.getLastPath());
+                resume();
+            }
+        }
+    }
+
+    @Deactivate
+    private void deactivate() {
+        stopped = true;
+        if (executor != null) {
+            ThreadPools.shutdown(executor, SHUTDOWN_TIMEOUT_MILLIS);
+        }
+    }
+
+    private boolean isRunning() {
+        ReindexProgress current = progress;
+        return current != null && current.getState() == ReindexState.RUNNING
+                && currentRun != null && !currentRun.isDone();
+    }
+
+    private boolean submit(ReindexProgress initial) {
+        ReindexProgress previous = progress;
+        pauseRequested = false;
+        progress = initial;
+        try {
+            currentRun = executor.submit(() -> reindex(initial));
+            return true;
+        } catch (RejectedExecutionException e) {
+            progress = previous;
+            log.error("Site reindex of {} could not be started.", initial.getRootPath(), e);
+            return false;
+        }
+    }
+
+    private void reindex(ReindexProgress initial) {
+        log.info("Site reindex of {} started.", initial.getRootPath());
+        ReindexProgress result = resourceResolverProvider.resourceResolverFunction(
+                resourceResolver -> reindex(resourceResolver, initial)).orElse(null);
+        if (result == null) {
+            progress = update(initial, ReindexState.FAILED);
+            log.error("Site reindex of {} failed. Repository is not accessible.", initial.getRootPath());
+            return;
+        }
+        log.info("Site reindex of {} ended in state {}, {} pages, {} urls, {} failed.",
+                 result.getRootPath(),
+                 result.getState(),
+                 result.getPages(),
+                 result.getUrls(),
+                 result.getFailedUrls());
+    }
+
+    private ReindexProgress reindex(ResourceResolver resourceResolver, ReindexProgress initial) {
+        ReindexProgress current = checkpoint(resourceResolver, initial);
+        PageManager pageManager = resourceResolver.adaptTo(PageManager.class);
+        Page root = pageManager != null ? pageManager.getPage(current.getRootPath()) : null;
+        if (root == null) {
+            log.error("Site reindex root page {} does not exist.", current.getRootPath());
+            return checkpoint(resourceResolver, update(current, ReindexState.FAILED));
+        }
+        Iterator<Page> pages = Iterators.concat(Iterators.singletonIterator(root),
+                                                root.listChildren(new PageFilter(false, true), true));
+        String lastPath = current.getLastPath();
+        if (lastPath != null && pageManager.getPage(lastPath) != null) {
+            skipUntil(pages, lastPath);
+        } else if (lastPath != null) {
+            log.warn("Last reindexed page {} does not exist anymore. Restarting from {}.",
+                     lastPath,
+                     current.getRootPath());
+        }
+        RateLimiter rateLimiter = RateLimiter.create(Math.max(1, configuration.siteReindexService_maxRequestsPerSecond()));
+        while (true) {
+            if (stopped) {
+                return current;
+            }
+            if (pauseRequested) {
+                return checkpoint(resourceResolver, update(current, ReindexState.PAUSED));
+            }
+            Chunk chunk = nextChunk(resourceResolver, pages);
+            if (chunk.getPages() == 0) {
+                return checkpoint(resourceResolver, update(current, ReindexState.COMPLETED));
+            }
+            Optional<ReindexProgress> submitted = submit(chunk, rateLimiter, current);
+            if (!submitted.isPresent()) {
+                log.warn("All the urls of the chunk ending with {} failed. Site reindex paused.", chunk.getLastPath());
+                return checkpoint(resourceResolver, update(current, ReindexState.PAUSED));
+            }
+            current = checkpoint(resourceResolver, submitted.get());
+        }
+    }
+
+    private void skipUntil(Iterator<Page> pages, String lastPath) {
+        while (pages.hasNext()) {
+            if (lastPath.equals(pages.next().getPath())) {
+                return;
+            }
+        }
+    }
+
+    private Chunk nextChunk(ResourceResolver resourceResolver, Iterator<Page> pages) {
+        int chunkSize = Math.max(1, configuration.siteReindexService_chunkSize());
+        List<IndexUpdateItemDTO> items = new ArrayList<>();
+        int pageCount = 0;
+        String lastPath = null;
+        while (items.size() < chunkSize && pages.hasNext()) {
+            Page page = pages.next();
+            pageCount++;
+            lastPath = page.getPath();
+            if (isIndexable(page)) {
+                for (String url : pathTransformer.externalizeList(resourceResolver, page.getPath())) {
+                    items.add(new IndexUpdateItemDTO(url, page.getPath()));
+                }
+            }
+        }
+        return new Chunk(items, pageCount, lastPath);
+    }
+
+    private boolean isIndexable(Page page) {
+        return !configuration.siteReindexService_activatedPagesOnly()
+                || REPLICATION_ACTION_ACTIVATE.equals(page.getProperties()
+                                                          .get(PN_LAST_REPLICATION_ACTION, String.class));
+    }
+
+    private Optional<ReindexProgress> submit(Chunk chunk, RateLimiter rateLimiter, ReindexProgress current) {
+        List<IndexUpdateResultDTO> failed = new ArrayList<>();
+        if (!chunk.getItems().isEmpty()) {
+            rateLimiter.acquire(chunk.getItems().size());
+            // the failed urls are rescheduled as of the submission, so that the actions registered since supersede them
+            long timestamp = indexUpdateJobDeduplicationService.currentTimestamp();
+            failed = indexUpdateService.indexUrls(chunk.getItems())
+                                       .stream()
+                                       .filter(result -> !result.isSuccess())
+                                       .collect(Collectors.toList());
+            if (failed.size() == chunk.getItems().size()) {
+                return Optional.empty();
+            }
+            failed.stream()
+                  .map(IndexUpdateResultDTO::getItem)
+                  .filter(item -> !indexUpdateJobDeduplicationService.isSuperseded(item.getUrl(), timestamp))
+                  .forEach(item -> IndexUpdateJobs.reschedule(jobManager,
+                                                              IndexUpdateAction.UPDATE,
+                                                              item.getUrl(),
+                                                              item.getRepositoryPath(),
+                                                              timestamp));
+        }
+        return Optional.of(current.toBuilder()
+                                  .lastPath(chunk.getLastPath())
+                                  .pages(current.getPages() + chunk.getPages())
+                                  .urls(current.getUrls() + chunk.getItems().size())
+                                  .failedUrls(current.getFailedUrls() + failed.size())
+                                  .updateTime(System.currentTimeMillis())
+                                  .build());
+    }
+
+    private ReindexProgress update(ReindexProgress current, ReindexState state) {
+        return current.toBuilder().state(state).updateTime(System.currentTimeMillis()).build();
+    }
+
+    private ReindexProgress checkpoint(ResourceResolver resourceResolver, ReindexProgress current) {
+        ReindexCheckpointStore.write(resourceResolver, current);
+        progress = current;
+        return current;
+    }
+
+    @Value
+    private static class Chunk {
+
+        List<IndexUpdateItemDTO> items;
+        int pages;
+        String lastPath;
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Site Reindex Service Configuration",
+                           description = "Reindexing of the pages of a site.")
+    public @interface Configuration {
+
+        int DEFAULT_CHUNK_SIZE = 50;
+        int DEFAULT_MAX_REQUESTS_PER_SECOND = 10;
+        boolean DEFAULT_ACTIVATED_PAGES_ONLY = true;
+
+        @AttributeDefinition(name = "Chunk size",
+                             description = "Number of urls submitted at once. The progress is checkpointed after each chunk.",
+                             type = AttributeType.INTEGER)
+        int siteReindexService_chunkSize() default DEFAULT_CHUNK_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Max requests per second",
+                             description = "Maximum number of index update requests sent to SaaS per second.",
+                             type = AttributeType.INTEGER)
+        int siteReindexService_maxRequestsPerSecond() default DEFAULT_MAX_REQUESTS_PER_SECOND; // NOSONAR
+
+        @AttributeDefinition(name = "Activated pages only",
+                             description = "Only reindex the pages whose last replication action is an activation.",
+                             type = AttributeType.BOOLEAN)
+        boolean siteReindexService_activatedPagesOnly() default DEFAULT_ACTIVATED_PAGES_ONLY; // NOSONAR
+    }
+}
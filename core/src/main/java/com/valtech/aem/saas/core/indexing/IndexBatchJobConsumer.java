@@ -0,0 +1,207 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateItemDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResultDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.event.jobs.consumer.JobConsumer;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Processes the index update batches collected by the {@link IndexUpdateBatchService}. The updates and the deletes of
+ * a batch are submitted as bulk requests. When content push is enabled, the content of the updated pages is pushed one
+ * by one, paced by the {@link IndexUpdateThrottle}, and only the pages whose content could not be extracted are
+ * crawled. Like the single update jobs, crawls of pages whose content did not change since they were last indexed are
+ * skipped, as tracked by the {@link IndexFingerprintService}. The items that fail are rescheduled as individual {@link
+ * IndexUpdateJobConsumer} or {@link IndexDeleteJobConsumer} jobs, so that they are retried one by one, without
+ * repeating the successful items of the batch. Items superseded by a more recent action on the same url are dropped.
+ */
+@Component(service = JobConsumer.class,
+           property = {
+                   JobConsumer.PROPERTY_TOPICS + "=" + IndexBatchJobConsumer.JOB_TOPIC
+           })
+@ServiceDescription("Search as a Service - Index Batch Job Consumer")
+@Slf4j
+public class IndexBatchJobConsumer implements JobConsumer {
+
+    public static final String JOB_TOPIC = "com/valtech/aem/saas/indexing/jobs/indexBatch";
+    public static final String JOB_PROPERTY_ACTIONS = "actions";
+    public static final String JOB_PROPERTY_URLS = "urls";
+    public static final String JOB_PROPERTY_REPOSITORY_PATHS = "repositoryPaths";
+    public static final String JOB_PROPERTY_TIMESTAMPS = "timestamps";
+
+    @Reference
+    private IndexUpdateService indexUpdateService;
+
+    @Reference
+    private JobManager jobManager;
+
+    @Reference
+    private IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @Reference
+    private IndexUpdateThrottle indexUpdateThrottle;
+
+    @Reference
+    private IndexContentPushService indexContentPushService;
+
+    @Reference
+    private IndexContentExtractionService indexContentExtractionService;
+
+    @Reference
+    private IndexFingerprintService indexFingerprintService;
+
+    @Override
+    public JobResult process(Job job) {
+        String[] actions = job.getProperty(JOB_PROPERTY_ACTIONS, String[].class);
+        String[] urls = job.getProperty(JOB_PROPERTY_URLS, String[].class);
+        String[] repositoryPaths = job.getProperty(JOB_PROPERTY_REPOSITORY_PATHS, String[].class);
+        Long[] timestamps = job.getProperty(JOB_PROPERTY_TIMESTAMPS, Long[].class);
+        if (actions == null || urls == null || repositoryPaths == null
+                || actions.length != urls.length || urls.length != repositoryPaths.length
+                || (timestamps != null && timestamps.length != urls.length)) {
+            log.info("Job [{}] will be canceled.", job.getId());
+            throw new IllegalArgumentException("Batch items are not specified or incomplete.");
+        }
+        Map<IndexUpdateAction, List<IndexUpdateItemDTO>> items = new EnumMap<>(IndexUpdateAction.class);
+        // failed items are rescheduled with the timestamp of their batch item, or with the current one for the jobs
+        // scheduled without timestamps, so that the actions registered since supersede them
+        Map<String, Long> itemTimestamps = new HashMap<>();
+        long currentTimestamp = indexUpdateJobDeduplicationService.currentTimestamp();
+        int dropped = 0;
+        for (int i = 0; i < actions.length; i++) {
+            IndexUpdateAction action = IndexUpdateAction.fromName(actions[i]);
+            if (action == null) {
+                log.warn("Skipping batch item {} with unknown action {}.", urls[i], actions[i]);
+                continue;
+            }
+            if (timestamps != null && timestamps[i] != null
+                    && indexUpdateJobDeduplicationService.isSuperseded(urls[i], timestamps[i])) {
+                log.debug("Batch item {} is superseded by a more recent action and will be dropped.", urls[i]);
+                dropped++;
+                continue;
+            }
+            items.computeIfAbsent(action, a -> new ArrayList<>()).add(new IndexUpdateItemDTO(urls[i],
+                                                                                            repositoryPaths[i]));
+            itemTimestamps.put(urls[i],
+                               timestamps != null && timestamps[i] != null ? timestamps[i] : currentTimestamp);
+        }
+        int failures = 0;
+        for (Map.Entry<IndexUpdateAction, List<IndexUpdateItemDTO>> entry : items.entrySet()) {
+            failures += processResults(entry.getKey(), submit(entry.getKey(), entry.getValue()), itemTimestamps);
+        }
+        log.info("Index batch job [{}] processed. Items: {}, superseded: {}, failed and rescheduled: {}.",
+                 job.getId(), urls.length, dropped, failures);
+        return JobResult.OK;
+    }
+
+    private List<IndexUpdateResultDTO> submit(IndexUpdateAction action, List<IndexUpdateItemDTO> items) {
+        log.debug("Submitting {} {} batch items.", items.size(), action);
+        if (action == IndexUpdateAction.DELETE) {
+            items.forEach(item -> indexFingerprintService.remove(item.getUrl(), item.getRepositoryPath()));
+            return indexUpdateService.deleteIndexedUrls(items);
+        }
+        return update(items);
+    }
+
+    private List<IndexUpdateResultDTO> update(List<IndexUpdateItemDTO> items) {
+        List<IndexUpdateResultDTO> results = new ArrayList<>();
+        List<IndexUpdateItemDTO> crawled = indexContentPushService.isEnabled() ? push(items, results) : items;
+        return crawl(crawled, results);
+    }
+
+    private List<IndexUpdateItemDTO> push(List<IndexUpdateItemDTO> items, List<IndexUpdateResultDTO> results) {
+        List<IndexUpdateItemDTO> crawled = new ArrayList<>();
+        for (IndexUpdateItemDTO item : items) {
+            if (!IndexUpdateThrottle.awaitPermit(indexUpdateThrottle)) {
+                results.add(IndexUpdateResultDTO.builder()
+                                                .item(item)
+                                                .error("Interrupted while waiting for a permit.")
+                                                .build());
+                continue;
+            }
+            IndexContentPushService.Result result = indexContentPushService.push(item.getUrl(),
+                                                                                 item.getRepositoryPath());
+            log.debug("Index content push of {}: {}", item.getUrl(), result);
+            if (result == IndexContentPushService.Result.FAILED) {
+                results.add(IndexUpdateResultDTO.builder().item(item).error("Index content push has failed.").build());
+            } else if (result == IndexContentPushService.Result.NOT_EXTRACTED) {
+                crawled.add(item);
+            }
+        }
+        return crawled;
+    }
+
+    private List<IndexUpdateResultDTO> crawl(List<IndexUpdateItemDTO> items, List<IndexUpdateResultDTO> results) {
+        Map<IndexUpdateItemDTO, String> fingerprints = new HashMap<>();
+        List<IndexUpdateItemDTO> crawled = new ArrayList<>();
+        for (IndexUpdateItemDTO item : items) {
+            String fingerprint = getFingerprint(item);
+            if (fingerprint != null) {
+                if (indexFingerprintService.isUnchanged(item.getUrl(), item.getRepositoryPath(), fingerprint)) {
+                    log.debug("Content of {} did not change since it was last indexed. Index update skipped.",
+                              item.getUrl());
+                    continue;
+                }
+                fingerprints.put(item, fingerprint);
+            }
+            crawled.add(item);
+        }
+        if (crawled.isEmpty()) {
+            return results;
+        }
+        for (IndexUpdateResultDTO result : indexUpdateService.indexUrls(crawled)) {
+            String fingerprint = fingerprints.get(result.getItem());
+            if (result.isSuccess() && fingerprint != null) {
+                indexFingerprintService.update(result.getItem().getUrl(),
+                                               result.getItem().getRepositoryPath(),
+                                               fingerprint);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private String getFingerprint(IndexUpdateItemDTO item) {
+        if (!indexFingerprintService.isEnabled()) {
+            return null;
+        }
+        return indexContentExtractionService.extract(item.getUrl(), item.getRepositoryPath())
+                                            .map(indexFingerprintService::fingerprint)
+                                            .orElse(null);
+    }
+
+    private int processResults(IndexUpdateAction action,
+                               List<IndexUpdateResultDTO> results,
+                               Map<String, Long> itemTimestamps) {
+        int failures = 0;
+        for (IndexUpdateResultDTO result : results) {
+            IndexUpdateItemDTO item = result.getItem();
+            if (result.isSuccess()) {
+                log.debug("Index {} successful: {}", action.getName(), result.getResponse());
+                continue;
+            }
+            long timestamp = itemTimestamps.get(item.getUrl());
+            if (indexUpdateJobDeduplicationService.isSuperseded(item.getUrl(), timestamp)) {
+                log.info("Index {} of {} has failed: {} Superseded by a more recent action, not rescheduled.",
+                         action.getName(), item.getUrl(), result.getError());
+                continue;
+            }
+            failures++;
+            log.warn("Index {} of {} has failed: {} Rescheduling it.", action.getName(), item.getUrl(),
+                     result.getError());
+            IndexUpdateJobs.reschedule(jobManager, action, item.getUrl(), item.getRepositoryPath(), timestamp);
+        }
+        return failures;
+    }
+}
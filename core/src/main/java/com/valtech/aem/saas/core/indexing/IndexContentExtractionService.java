@@ -0,0 +1,22 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import lombok.NonNull;
+
+import java.util.Optional;
+
+/**
+ * Extracts the indexed content of pages inside AEM, using the {@link com.valtech.aem.saas.api.indexing.ContentExtractor}
+ * registered for their resource type.
+ */
+public interface IndexContentExtractionService {
+
+    /**
+     * Extracts the indexed content of a page.
+     *
+     * @param url            the externalized url of the page.
+     * @param repositoryPath the page's location in jcr.
+     * @return the payload of the page, or empty if the page does not exist or no content could be extracted.
+     */
+    Optional<IndexContentPayloadDTO> extract(@NonNull String url, @NonNull String repositoryPath);
+}
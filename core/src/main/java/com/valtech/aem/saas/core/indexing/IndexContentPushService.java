@@ -0,0 +1,52 @@
+package com.valtech.aem.saas.core.indexing;
+
+import lombok.NonNull;
+
+/**
+ * Indexes pages by pushing their content extracted inside AEM, instead of having SaaS crawl their urls. Pages whose
+ * content did not change since it was last indexed are skipped.
+ */
+public interface IndexContentPushService {
+
+    /**
+     * Checks whether the pages are indexed by pushing their content.
+     *
+     * @return true if enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Extracts the content of the page and pushes it to the index, unless it did not change since it was last indexed.
+     *
+     * @param url            the externalized url of the page.
+     * @param repositoryPath the page's location in jcr.
+     * @return the outcome of the push.
+     */
+    Result push(@NonNull String url, @NonNull String repositoryPath);
+
+    /**
+     * Outcome of a content push.
+     */
+    enum Result {
+
+        /**
+         * The content was pushed.
+         */
+        PUSHED,
+
+        /**
+         * The content did not change since it was last indexed and was not pushed again.
+         */
+        UNCHANGED,
+
+        /**
+         * The push request failed.
+         */
+        FAILED,
+
+        /**
+         * No content could be extracted, the url should be crawled instead.
+         */
+        NOT_EXTRACTED
+    }
+}
@@ -3,6 +3,7 @@ package com.valtech.aem.saas.core.indexing;
 import com.valtech.aem.saas.api.indexing.IndexUpdateService;
 import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.event.jobs.JobManager;
 import org.apache.sling.event.jobs.consumer.JobConsumer;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
@@ -25,9 +26,22 @@ public class IndexDeleteJobConsumer extends AbstractIndexUpdateActionJobConsumer
     @Reference
     private IndexUpdateService indexUpdateService;
 
+    @Reference
+    private IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @Reference
+    private IndexUpdateThrottle indexUpdateThrottle;
+
+    @Reference
+    private IndexFingerprintService indexFingerprintService;
+
+    @Reference
+    private JobManager jobManager;
+
     @Override
     protected JobResult processJob(String url, String repositoryPath) {
         log.debug("Processing 'Index Delete' Job with url: {} and repository path: {}", url, repositoryPath);
+        indexFingerprintService.remove(url, repositoryPath);
         Optional<IndexUpdateResponseDTO> response = indexUpdateService.deleteIndexedUrl(url, repositoryPath);
         if (response.isPresent()) {
             log.debug("Index delete successful: {}", response.get());
@@ -37,4 +51,18 @@ public class IndexDeleteJobConsumer extends AbstractIndexUpdateActionJobConsumer
         return JobResult.FAILED;
     }
 
+    @Override
+    protected IndexUpdateJobDeduplicationService getIndexUpdateJobDeduplicationService() {
+        return indexUpdateJobDeduplicationService;
+    }
+
+    @Override
+    protected IndexUpdateThrottle getIndexUpdateThrottle() {
+        return indexUpdateThrottle;
+    }
+
+    @Override
+    protected JobManager getJobManager() {
+        return jobManager;
+    }
 }
@@ -0,0 +1,53 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import lombok.NonNull;
+
+/**
+ * Keeps a fingerprint of the content last indexed per url, so that index updates of unchanged content can be skipped.
+ */
+public interface IndexFingerprintService {
+
+    /**
+     * Checks whether the index updates triggering the crawl of unchanged pages are skipped. Content pushes are always
+     * skipped when unchanged.
+     *
+     * @return true if enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Computes the fingerprint of the indexed content and metadata.
+     *
+     * @param payload the extracted content.
+     * @return the fingerprint.
+     */
+    String fingerprint(@NonNull IndexContentPayloadDTO payload);
+
+    /**
+     * Checks whether the fingerprint matches the one last indexed for the url, and counts the outcome.
+     *
+     * @param url            the externalized url.
+     * @param repositoryPath the content's location in jcr.
+     * @param fingerprint    the fingerprint of the current content.
+     * @return true if the content did not change.
+     */
+    boolean isUnchanged(@NonNull String url, @NonNull String repositoryPath, @NonNull String fingerprint);
+
+    /**
+     * Records the fingerprint of the content indexed for the url.
+     *
+     * @param url            the externalized url.
+     * @param repositoryPath the content's location in jcr.
+     * @param fingerprint    the fingerprint of the indexed content.
+     */
+    void update(@NonNull String url, @NonNull String repositoryPath, @NonNull String fingerprint);
+
+    /**
+     * Removes the fingerprint of the url, invoked when the url is deleted from the index.
+     *
+     * @param url            the externalized url.
+     * @param repositoryPath the content's location in jcr.
+     */
+    void remove(@NonNull String url, @NonNull String repositoryPath);
+}
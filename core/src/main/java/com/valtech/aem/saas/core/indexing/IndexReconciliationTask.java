@@ -0,0 +1,367 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.day.cq.wcm.api.Page;
+import com.day.cq.wcm.api.PageManager;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
+import com.valtech.aem.saas.api.fulltextsearch.dto.ResultDTO;
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateItemDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResultDTO;
+import com.valtech.aem.saas.api.resource.PathTransformer;
+import com.valtech.aem.saas.core.fulltextsearch.UncachedFulltextSearchService;
+import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.apache.sling.event.jobs.JobManager;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Reconciles the activated pages below the configured root pages with the documents of the search index, so that the
+ * index does not drift when replication events get lost. Invoked by the sling scheduler.
+ * <p>
+ * The activated pages and the indexed documents are both iterated in order of their repository path and merged, which
+ * keeps the memory bounded regardless of the size of the site:
+ * <ul>
+ *     <li>activated pages without indexed documents are added to the index,</li>
+ *     <li>indexed page documents without an activated page are deleted from the index. Documents whose url does not
+ *     match the page url pattern, or whose repository path is a resource other than a page, such as the custom
+ *     documents pushed through {@link IndexUpdateService#indexContents}, are kept,</li>
+ *     <li>pages replicated after the last completed reconciliation are updated, since their replication event may
+ *     have been lost as well.</li>
+ * </ul>
+ * The index does not report when its documents were updated, hence the time of the last completed reconciliation is
+ * recorded in the repository instead. The items whose update failed are rescheduled as index update jobs, which are
+ * retried by the job queue.
+ */
+@Slf4j
+@Component(service = Runnable.class,
+           property = "scheduler.concurrent:Boolean=false")
+@ServiceDescription("Search as a Service - Index Reconciliation Task")
+@Designate(ocd = IndexReconciliationTask.Configuration.class)
+public class IndexReconciliationTask implements Runnable {
+
+    static final String STATE_PATH = "/var/saas-aem-module/reconciliation";
+    static final String PN_LAST_COMPLETED = "lastCompleted";
+    static final String PN_LAST_REPLICATED = "cq:lastReplicated";
+
+    private static final String NT_UNSTRUCTURED = "nt:unstructured";
+
+    @Reference
+    private ResourceResolverProvider resourceResolverProvider;
+
+    @Reference
+    private UncachedFulltextSearchService fulltextSearchService;
+
+    @Reference
+    private PathTransformer pathTransformer;
+
+    @Reference
+    private IndexUpdateService indexUpdateService;
+
+    @Reference
+    private JobManager jobManager;
+
+    @Reference
+    private IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    private volatile Configuration configuration;
+
+    private volatile Pattern pageUrlPattern;
+
+    @Override
+    public void run() {
+        Configuration currentConfiguration = configuration;
+        if (!currentConfiguration.indexReconciliation_enabled()
+                || currentConfiguration.indexReconciliation_rootPaths().length == 0) {
+            return;
+        }
+        resourceResolverProvider.resourceResolverConsumer(
+                resourceResolver -> reconcile(resourceResolver, currentConfiguration));
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        this.configuration = configuration;
+        this.pageUrlPattern = Pattern.compile(configuration.indexReconciliation_pageUrlPattern());
+    }
+
+    private void reconcile(ResourceResolver resourceResolver, Configuration currentConfiguration) {
+        long startTime = System.currentTimeMillis();
+        Long lastCompleted = Optional.ofNullable(resourceResolver.getResource(STATE_PATH))
+                                     .map(resource -> resource.getValueMap().get(PN_LAST_COMPLETED, Long.class))
+                                     .orElse(null);
+        boolean completed = true;
+        for (String rootPath : currentConfiguration.indexReconciliation_rootPaths()) {
+            try {
+                Summary summary = reconcile(resourceResolver, rootPath, lastCompleted, currentConfiguration);
+                log.info("Reconciled index of {}: {} pages, {} added, {} updated, {} deleted, {} custom documents "
+                                 + "kept, {} failed.",
+                         rootPath,
+                         summary.getPages(),
+                         summary.getAdded(),
+                         summary.getUpdated(),
+                         summary.getDeleted(),
+                         summary.getKept(),
+                         summary.getFailed());
+            } catch (IllegalStateException e) {
+                completed = false;
+                log.error("Failed to reconcile index of {}.", rootPath, e);
+            }
+        }
+        if (completed) {
+            writeLastCompleted(resourceResolver, startTime);
+        }
+    }
+
+    private Summary reconcile(ResourceResolver resourceResolver,
+                              String rootPath,
+                              Long lastCompleted,
+                              Configuration currentConfiguration) {
+        PageManager pageManager = resourceResolver.adaptTo(PageManager.class);
+        Page root = pageManager != null ? pageManager.getPage(rootPath) : null;
+        if (root == null) {
+            throw new IllegalStateException(String.format("Root page %s does not exist.", rootPath));
+        }
+        SearchCAConfigurationModel searchConfiguration = root.getContentResource() != null
+                ? root.getContentResource().adaptTo(SearchCAConfigurationModel.class)
+                : null;
+        if (searchConfiguration == null) {
+            throw new IllegalStateException(String.format("No search configuration found for %s.", rootPath));
+        }
+        Locale language = root.getLanguage(false);
+        PeekingIterator<Page> pages = Iterators.peekingIterator(
+                Iterators.filter(new SortedPageIterator(root), this::isActivated));
+        PeekingIterator<ResultDTO> documents = Iterators.peekingIterator(
+                Iterators.filter(new IndexedDocumentIterator(fulltextSearchService,
+                                                             searchConfiguration,
+                                                             language.getLanguage(),
+                                                             currentConfiguration.indexReconciliation_pageSize()),
+                                 document -> isBelow(document.getRepositoryPath(), rootPath)));
+        Summary summary = new Summary(resourceResolver, Math.max(1, currentConfiguration.indexReconciliation_chunkSize()));
+        while (pages.hasNext() || documents.hasNext()) {
+            int comparison = !documents.hasNext() ? -1
+                    : !pages.hasNext() ? 1
+                    : pages.peek().getPath().compareTo(documents.peek().getRepositoryPath());
+            if (comparison < 0) {
+                summary.add(pages.next());
+            } else if (comparison > 0) {
+                ResultDTO document = documents.next();
+                if (isPageDocument(resourceResolver, document)) {
+                    summary.delete(document);
+                } else {
+                    summary.keep(document);
+                }
+            } else {
+                Page page = pages.next();
+                while (documents.hasNext() && page.getPath().equals(documents.peek().getRepositoryPath())) {
+                    documents.next();
+                }
+                summary.keep(page, lastCompleted);
+            }
+        }
+        summary.flush();
+        return summary;
+    }
+
+    private boolean isActivated(Page page) {
+        return DefaultSiteReindexService.REPLICATION_ACTION_ACTIVATE.equals(
+                page.getProperties().get(DefaultSiteReindexService.PN_LAST_REPLICATION_ACTION, String.class));
+    }
+
+    private boolean isPageDocument(ResourceResolver resourceResolver, ResultDTO document) {
+        if (document.getUrl() == null || !pageUrlPattern.matcher(document.getUrl()).matches()) {
+            return false;
+        }
+        Resource resource = resourceResolver.getResource(document.getRepositoryPath());
+        return resource == null || resource.adaptTo(Page.class) != null;
+    }
+
+    private static boolean isBelow(String path, String rootPath) {
+        return path.equals(rootPath) || path.startsWith(rootPath + "/");
+    }
+
+    private void writeLastCompleted(ResourceResolver resourceResolver, long time) {
+        try {
+            Resource resource = ResourceUtil.getOrCreateResource(resourceResolver,
+                                                                 STATE_PATH,
+                                                                 Collections.singletonMap(ResourceResolver.PROPERTY_RESOURCE_TYPE,
+                                                                                          NT_UNSTRUCTURED),
+                                                                 NT_UNSTRUCTURED,
+                                                                 false);
+            ModifiableValueMap properties = resource.adaptTo(ModifiableValueMap.class);
+            if (properties == null) {
+                log.error("Index reconciliation state {} is not modifiable.", STATE_PATH);
+                return;
+            }
+            properties.put(PN_LAST_COMPLETED, time);
+            resourceResolver.commit();
+        } catch (PersistenceException e) {
+            log.error("Failed to write index reconciliation state {}.", STATE_PATH, e);
+            resourceResolver.revert();
+        }
+    }
+
+    /**
+     * Collects the index updates of a root page and submits them in chunks.
+     */
+    @Getter
+    private final class Summary {
+
+        private final ResourceResolver resourceResolver;
+        private final int chunkSize;
+        private final List<IndexUpdateItemDTO> additions = new ArrayList<>();
+        private final List<IndexUpdateItemDTO> deletions = new ArrayList<>();
+        private long pages;
+        private long added;
+        private long updated;
+        private long deleted;
+        private long kept;
+        private long failed;
+
+        Summary(ResourceResolver resourceResolver, int chunkSize) {
+            this.resourceResolver = resourceResolver;
+            this.chunkSize = chunkSize;
+        }
+
+        void add(Page page) {
+            pages++;
+            added += addItems(page);
+        }
+
+        void keep(Page page, Long lastCompleted) {
+            pages++;
+            Calendar lastReplicated = page.getProperties().get(PN_LAST_REPLICATED, Calendar.class);
+            if (lastCompleted != null && lastReplicated != null && lastReplicated.getTimeInMillis() > lastCompleted) {
+                updated += addItems(page);
+            }
+        }
+
+        void keep(ResultDTO document) {
+            log.debug("Indexed document {} is not a page document and is kept.", document.getUrl());
+            kept++;
+        }
+
+        void delete(ResultDTO document) {
+            deletions.add(new IndexUpdateItemDTO(document.getUrl(), document.getRepositoryPath()));
+            deleted++;
+            if (deletions.size() >= chunkSize) {
+                submit(deletions, IndexUpdateAction.DELETE, indexUpdateService::deleteIndexedUrls);
+            }
+        }
+
+        void flush() {
+            submit(additions, IndexUpdateAction.UPDATE, indexUpdateService::indexUrls);
+            submit(deletions, IndexUpdateAction.DELETE, indexUpdateService::deleteIndexedUrls);
+        }
+
+        private int addItems(Page page) {
+            List<String> urls = pathTransformer.externalizeList(resourceResolver, page.getPath());
+            urls.forEach(url -> additions.add(new IndexUpdateItemDTO(url, page.getPath())));
+            if (additions.size() >= chunkSize) {
+                submit(additions, IndexUpdateAction.UPDATE, indexUpdateService::indexUrls);
+            }
+            return urls.size();
+        }
+
+        private void submit(List<IndexUpdateItemDTO> items,
+                            IndexUpdateAction indexUpdateAction,
+                            Function<List<IndexUpdateItemDTO>, List<IndexUpdateResultDTO>> action) {
+            if (items.isEmpty()) {
+                return;
+            }
+            // the failed items are rescheduled as of the submission, so that the actions registered since supersede
+            // them
+            long timestamp = indexUpdateJobDeduplicationService.currentTimestamp();
+            action.apply(new ArrayList<>(items))
+                  .stream()
+                  .filter(result -> !result.isSuccess())
+                  .forEach(result -> reschedule(indexUpdateAction, result, timestamp));
+            items.clear();
+        }
+
+        private void reschedule(IndexUpdateAction indexUpdateAction, IndexUpdateResultDTO result, long timestamp) {
+            failed++;
+            IndexUpdateItemDTO item = result.getItem();
+            if (indexUpdateJobDeduplicationService.isSuperseded(item.getUrl(), timestamp)) {
+                log.info("Index {} of {} has failed: {} Superseded by a more recent action, not rescheduled.",
+                         indexUpdateAction.getName(), item.getUrl(), result.getError());
+                return;
+            }
+            log.warn("Index {} of {} has failed: {} Rescheduling it.", indexUpdateAction.getName(), item.getUrl(),
+                     result.getError());
+            IndexUpdateJobs.reschedule(jobManager,
+                                       indexUpdateAction,
+                                       item.getUrl(),
+                                       item.getRepositoryPath(),
+                                       timestamp);
+        }
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Index Reconciliation Configuration",
+                           description = "Periodic reconciliation of the activated pages with the search index.")
+    public @interface Configuration {
+
+        boolean DEFAULT_ENABLED = false;
+        long DEFAULT_PERIOD = 86400L;
+        int DEFAULT_PAGE_SIZE = 500;
+        int DEFAULT_CHUNK_SIZE = 100;
+        String DEFAULT_PAGE_URL_PATTERN = ".+\\.html";
+
+        @AttributeDefinition(name = "Enabled",
+                             description = "Reconcile the search index with the activated pages.",
+                             type = AttributeType.BOOLEAN)
+        boolean indexReconciliation_enabled() default DEFAULT_ENABLED; // NOSONAR
+
+        @AttributeDefinition(name = "Period",
+                             description = "Time (in seconds) between two reconciliations.",
+                             type = AttributeType.LONG)
+        long scheduler_period() default DEFAULT_PERIOD; // NOSONAR
+
+        @AttributeDefinition(name = "Root paths",
+                             description = "Paths of the root pages whose page trees are reconciled. The search "
+                                     + "configuration and language of a root page apply to its whole page tree.")
+        String[] indexReconciliation_rootPaths() default {}; // NOSONAR
+
+        @AttributeDefinition(name = "Page size",
+                             description = "Number of indexed documents retrieved per search request.",
+                             type = AttributeType.INTEGER)
+        int indexReconciliation_pageSize() default DEFAULT_PAGE_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Chunk size",
+                             description = "Number of urls submitted at once to the index update service.",
+                             type = AttributeType.INTEGER)
+        int indexReconciliation_chunkSize() default DEFAULT_CHUNK_SIZE; // NOSONAR
+
+        @AttributeDefinition(name = "Page url pattern",
+                             description = "Regular expression matching the urls of the indexed page documents. "
+                                     + "Only these documents are deleted from the index when their page is not "
+                                     + "activated anymore.")
+        String indexReconciliation_pageUrlPattern() default DEFAULT_PAGE_URL_PATTERN; // NOSONAR
+    }
+}
@@ -0,0 +1,27 @@
+package com.valtech.aem.saas.core.indexing;
+
+import lombok.NonNull;
+
+/**
+ * Collects the index update actions triggered by replication and submits them in batches, so that a replication burst
+ * does not result in one job and one request per url.
+ */
+public interface IndexUpdateBatchService {
+
+    /**
+     * Checks whether the index update actions should be batched.
+     *
+     * @return true if batching is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Adds the index update action to the current batch. A pending action for the same url is replaced, so that only
+     * the last action on a url is submitted.
+     *
+     * @param indexUpdateAction the index update action.
+     * @param url               the externalized url.
+     * @param repositoryPath    the content's location in jcr.
+     */
+    void add(@NonNull IndexUpdateAction indexUpdateAction, @NonNull String url, @NonNull String repositoryPath);
+}
@@ -3,6 +3,7 @@ package com.valtech.aem.saas.core.indexing;
 import com.valtech.aem.saas.api.indexing.IndexUpdateService;
 import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.event.jobs.JobManager;
 import org.apache.sling.event.jobs.consumer.JobConsumer;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
@@ -25,15 +26,75 @@ public class IndexUpdateJobConsumer extends AbstractIndexUpdateActionJobConsumer
     @Reference
     private IndexUpdateService indexUpdateService;
 
+    @Reference
+    private IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @Reference
+    private IndexUpdateThrottle indexUpdateThrottle;
+
+    @Reference
+    private IndexContentPushService indexContentPushService;
+
+    @Reference
+    private IndexContentExtractionService indexContentExtractionService;
+
+    @Reference
+    private IndexFingerprintService indexFingerprintService;
+
+    @Reference
+    private JobManager jobManager;
+
     @Override
     protected JobResult processJob(String url, String repositoryPath) {
         log.debug("Processing 'Index Update' Job with url: {} and repository path: {}", url, repositoryPath);
+        if (indexContentPushService.isEnabled()) {
+            IndexContentPushService.Result result = indexContentPushService.push(url, repositoryPath);
+            log.debug("Index content push of {}: {}", url, result);
+            if (result == IndexContentPushService.Result.FAILED) {
+                return JobResult.FAILED;
+            }
+            if (result != IndexContentPushService.Result.NOT_EXTRACTED) {
+                return JobResult.OK;
+            }
+        }
+        String fingerprint = getFingerprint(url, repositoryPath);
+        if (fingerprint != null && indexFingerprintService.isUnchanged(url, repositoryPath, fingerprint)) {
+            log.debug("Content of {} did not change since it was last indexed. Index update skipped.", url);
+            return JobResult.OK;
+        }
         Optional<IndexUpdateResponseDTO> response = indexUpdateService.indexUrl(url, repositoryPath);
         if (response.isPresent()) {
             log.debug("Index update successful: {}", response.get());
+            if (fingerprint != null) {
+                indexFingerprintService.update(url, repositoryPath, fingerprint);
+            }
             return JobResult.OK;
         }
         log.debug("Index update request to SaaS has failed.");
         return JobResult.FAILED;
     }
+
+    private String getFingerprint(String url, String repositoryPath) {
+        if (!indexFingerprintService.isEnabled()) {
+            return null;
+        }
+        return indexContentExtractionService.extract(url, repositoryPath)
+                                            .map(indexFingerprintService::fingerprint)
+                                            .orElse(null);
+    }
+
+    @Override
+    protected IndexUpdateJobDeduplicationService getIndexUpdateJobDeduplicationService() {
+        return indexUpdateJobDeduplicationService;
+    }
+
+    @Override
+    protected IndexUpdateThrottle getIndexUpdateThrottle() {
+        return indexUpdateThrottle;
+    }
+
+    @Override
+    protected JobManager getJobManager() {
+        return jobManager;
+    }
 }
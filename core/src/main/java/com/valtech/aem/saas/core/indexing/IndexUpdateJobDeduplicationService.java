@@ -0,0 +1,38 @@
+package com.valtech.aem.saas.core.indexing;
+
+import lombok.NonNull;
+
+/**
+ * Tracks the most recent index update job scheduled per url, so that jobs superseded by a more recent job for the same
+ * url can be dropped when they are consumed (last writer wins). This both collapses repeated activations of a page and
+ * prevents an older action from overriding a newer one when the job queue reorders them.
+ */
+public interface IndexUpdateJobDeduplicationService {
+
+    /**
+     * Registers a job as the most recent one for its url.
+     *
+     * @param url               the externalized url.
+     * @param indexUpdateAction the action of the job.
+     * @return the timestamp of the job, strictly greater than the timestamps of all previously registered jobs.
+     */
+    long register(@NonNull String url, @NonNull IndexUpdateAction indexUpdateAction);
+
+    /**
+     * Gets the current timestamp of the registrations, for the index updates that are not scheduled as jobs but may be
+     * rescheduled as jobs if they fail.
+     *
+     * @return a timestamp lower than the timestamps of all the jobs registered afterwards.
+     */
+    long currentTimestamp();
+
+    /**
+     * Checks whether a job has been superseded by a more recently registered job for the same url. Superseded jobs are
+     * counted as dropped.
+     *
+     * @param url       the externalized url.
+     * @param timestamp the timestamp the job has been registered with.
+     * @return true if the job should be dropped.
+     */
+    boolean isSuperseded(@NonNull String url, long timestamp);
+}
@@ -0,0 +1,124 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.google.common.collect.ImmutableMap;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schedules the sling jobs updating the index of a single url.
+ */
+@Slf4j
+final class IndexUpdateJobs {
+
+    private static final Map<IndexUpdateAction, String> indexUpdateActionToJobTopic =
+            new EnumMap<>(IndexUpdateAction.class);
+
+    static {
+        indexUpdateActionToJobTopic.put(IndexUpdateAction.UPDATE, IndexUpdateJobConsumer.JOB_TOPIC);
+        indexUpdateActionToJobTopic.put(IndexUpdateAction.DELETE, IndexDeleteJobConsumer.JOB_TOPIC);
+    }
+
+    private IndexUpdateJobs() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Schedules the job performing the index update action on the specified url, registering it as the most recent job
+     * of the url.
+     *
+     * @param jobManager        the sling job manager.
+     * @param deduplication     service tracking the most recent job per url.
+     * @param indexUpdateAction the index update action.
+     * @param url               the externalized url.
+     * @param repositoryPath    the content's location in jcr.
+     */
+    static void schedule(@NonNull JobManager jobManager,
+                         @NonNull IndexUpdateJobDeduplicationService deduplication,
+                         @NonNull IndexUpdateAction indexUpdateAction,
+                         @NonNull String url,
+                         @NonNull String repositoryPath) {
+        String jobTopic = indexUpdateActionToJobTopic.get(indexUpdateAction);
+        if (StringUtils.isBlank(jobTopic)) {
+            log.info("Not able to resolve jobTopic for {}", indexUpdateAction);
+            return;
+        }
+        schedule(jobManager, jobTopic, url, repositoryPath, deduplication.register(url, indexUpdateAction));
+    }
+
+    /**
+     * Schedules the job retrying an index update action that failed, with the timestamp the action was registered
+     * with. Unlike {@link #schedule(JobManager, IndexUpdateJobDeduplicationService, IndexUpdateAction, String,
+     * String)}, the job is not registered as the most recent one of the url, so that it is still superseded by the
+     * jobs registered after the failed action.
+     *
+     * @param jobManager        the sling job manager.
+     * @param indexUpdateAction the index update action.
+     * @param url               the externalized url.
+     * @param repositoryPath    the content's location in jcr.
+     * @param timestamp         the timestamp the failed action was registered with.
+     */
+    static void reschedule(@NonNull JobManager jobManager,
+                           @NonNull IndexUpdateAction indexUpdateAction,
+                           @NonNull String url,
+                           @NonNull String repositoryPath,
+                           long timestamp) {
+        String jobTopic = indexUpdateActionToJobTopic.get(indexUpdateAction);
+        if (StringUtils.isBlank(jobTopic)) {
+            log.info("Not able to resolve jobTopic for {}", indexUpdateAction);
+            return;
+        }
+        schedule(jobManager, jobTopic, url, repositoryPath, timestamp);
+    }
+
+    /**
+     * Schedules the job performing the index update action on the specified DAM asset url. Updates are processed by
+     * the asset job topic, deletions by the regular one.
+     *
+     * @param jobManager        the sling job manager.
+     * @param deduplication     service tracking the most recent job per url.
+     * @param indexUpdateAction the index update action.
+     * @param url               the externalized url.
+     * @param repositoryPath    the asset's location in jcr.
+     */
+    static void scheduleAsset(@NonNull JobManager jobManager,
+                              @NonNull IndexUpdateJobDeduplicationService deduplication,
+                              @NonNull IndexUpdateAction indexUpdateAction,
+                              @NonNull String url,
+                              @NonNull String repositoryPath) {
+        if (indexUpdateAction != IndexUpdateAction.UPDATE) {
+            schedule(jobManager, deduplication, indexUpdateAction, url, repositoryPath);
+            return;
+        }
+        schedule(jobManager,
+                 AssetIndexUpdateJobConsumer.JOB_TOPIC,
+                 url,
+                 repositoryPath,
+                 deduplication.register(url, indexUpdateAction));
+    }
+
+    private static void schedule(JobManager jobManager,
+                                 String jobTopic,
+                                 String url,
+                                 String repositoryPath,
+                                 long timestamp) {
+        Map<String, Object> properties = ImmutableMap.<String, Object>builder()
+                                                     .put(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_REPOSITORY_PATH,
+                                                          repositoryPath)
+                                                     .put(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_URL, url)
+                                                     .put(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_TIMESTAMP,
+                                                          timestamp)
+                                                     .build();
+        List<String> errorMessages = new ArrayList<>();
+        log.debug("Scheduling job {}, with properties {}.", jobTopic, properties);
+        Job job = jobManager.createJob(jobTopic).properties(properties).add(errorMessages);
+        log.info("Added job: {}, Errors: {}", job.getId(), errorMessages);
+    }
+}
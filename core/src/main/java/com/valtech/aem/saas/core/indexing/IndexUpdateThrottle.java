@@ -0,0 +1,57 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.core.http.response.SearchResponse;
+import lombok.NonNull;
+
+/**
+ * Paces the index update requests sent by the index update job consumers and the bulk index updates, and backs off
+ * when SaaS signals that it is overloaded. Instead of being failed and blindly retried, the jobs that can not be sent
+ * right away are deferred, while the items of a bulk update or of a batch wait for their permit.
+ */
+public interface IndexUpdateThrottle {
+
+    /**
+     * Acquires a permit to send an index update request. Short delays are waited for on the calling thread.
+     *
+     * @param reserved whether the caller holds a permit reserved by a previous call, which delayed it.
+     * @return 0 if the request may be sent right away, otherwise the delay in milliseconds after which the caller
+     * holds a reserved permit.
+     */
+    long acquire(boolean reserved);
+
+    /**
+     * Checks whether the requests are currently held back, because SaaS recently refused a request as too many
+     * requests or service unavailable.
+     *
+     * @return true if backing off.
+     */
+    boolean isBackingOff();
+
+    /**
+     * Adapts the request rate to the response of an index update request.
+     *
+     * @param searchResponse the response.
+     */
+    void onResponse(@NonNull SearchResponse searchResponse);
+
+    /**
+     * Waits for a permit of the throttle. Unlike the jobs of a single item, which are deferred, the items of a bulk
+     * update or of a batch wait for their permit, since they are processed together.
+     *
+     * @param throttle the throttle.
+     * @return true once the permit is held, false if the thread was interrupted while waiting.
+     */
+    static boolean awaitPermit(@NonNull IndexUpdateThrottle throttle) {
+        long delay = throttle.acquire(false);
+        while (delay > 0L) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            delay = throttle.acquire(true);
+        }
+        return true;
+    }
+}
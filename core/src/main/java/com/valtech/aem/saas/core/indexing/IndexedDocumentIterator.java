@@ -0,0 +1,107 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.google.common.collect.AbstractIterator;
+import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
+import com.valtech.aem.saas.api.fulltextsearch.SearchQuerySpec;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.ResultDTO;
+import com.valtech.aem.saas.api.query.Sort;
+import com.valtech.aem.saas.core.fulltextsearch.UncachedFulltextSearchService;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pages through the documents of an index, sorted by their repository path, one results page at a time.
+ * <p>
+ * Documents added or removed while paging shift the offsets of the following pages, hence a document may be returned
+ * twice. Documents sorting before the previously returned one are skipped, so that the iteration stays sorted.
+ * <p>
+ * The pages are queried bypassing the search results cache, so that the iteration neither sees outdated pages nor
+ * evicts the cached results of the visitors' queries.
+ */
+@Slf4j
+final class IndexedDocumentIterator extends AbstractIterator<ResultDTO> {
+
+    static final String FIELD_REPOSITORY_PATH = "repository_path_url";
+
+    private final UncachedFulltextSearchService fulltextSearchService;
+    private final SearchCAConfigurationModel searchConfiguration;
+    private final String language;
+    private final int pageSize;
+
+    private Iterator<ResultDTO> currentPage;
+    private int start;
+    private boolean lastPage;
+    private String lastRepositoryPath;
+
+    /**
+     * Constructs the iterator.
+     *
+     * @param fulltextSearchService service querying the index.
+     * @param searchConfiguration   search configuration of the index.
+     * @param language              language scope of the documents.
+     * @param pageSize              number of documents retrieved per request.
+     */
+    IndexedDocumentIterator(@NonNull UncachedFulltextSearchService fulltextSearchService,
+                            @NonNull SearchCAConfigurationModel searchConfiguration,
+                            @NonNull String language,
+                            int pageSize) {
+        this.fulltextSearchService = fulltextSearchService;
+        this.searchConfiguration = searchConfiguration;
+        this.language = language;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if a results page could not be retrieved.
+     */
+    @Override
+    protected ResultDTO computeNext() {
+        while (true) {
+            if (currentPage == null || !currentPage.hasNext()) {
+                if (lastPage) {
+                    return endOfData();
+                }
+                currentPage = fetchPage();
+            }
+            while (currentPage.hasNext()) {
+                ResultDTO result = currentPage.next();
+                String repositoryPath = result.getRepositoryPath();
+                if (repositoryPath == null) {
+                    continue;
+                }
+                if (lastRepositoryPath != null && repositoryPath.compareTo(lastRepositoryPath) < 0) {
+                    log.debug("Skipping out of order document {}.", result.getUrl());
+                    continue;
+                }
+                lastRepositoryPath = repositoryPath;
+                return result;
+            }
+        }
+    }
+
+    private Iterator<ResultDTO> fetchPage() {
+        SearchQuerySpec querySpec = SearchQuerySpec.builder()
+                                                   .language(language)
+                                                   .start(start)
+                                                   .rows(pageSize)
+                                                   .disableContextFilters(true)
+                                                   .sortParameter(Pair.of(FIELD_REPOSITORY_PATH, Sort.ASC))
+                                                   .build();
+        FulltextSearchResultsDTO results =
+                fulltextSearchService.getUncachedResults(searchConfiguration, querySpec)
+                                     .orElseThrow(() -> new IllegalStateException(String.format(
+                                             "Failed to retrieve the indexed documents at offset %s.",
+                                             start)));
+        List<ResultDTO> documents = results.getResults();
+        start += documents.size();
+        lastPage = documents.size() < pageSize || start >= results.getTotalResultsFound();
+        return documents.iterator();
+    }
+}
@@ -0,0 +1,66 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.day.cq.tagging.Tag;
+import com.day.cq.wcm.api.Page;
+import com.valtech.aem.saas.api.indexing.ContentExtractor;
+import com.valtech.aem.saas.api.indexing.dto.ExtractedContentDTO;
+import lombok.NonNull;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ValueMap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Extracts the content of pages without a dedicated {@link ContentExtractor}: the text properties of the components
+ * below the page content, in document order, stripped of their markup. The keywords are the titles of the page tags.
+ */
+final class PageContentExtractor implements ContentExtractor {
+
+    private static final List<String> TEXT_PROPERTIES =
+            Collections.unmodifiableList(Arrays.asList("jcr:title", "jcr:description", "title", "text", "description"));
+
+    private static final Pattern MARKUP = Pattern.compile("<[^>]*>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Override
+    public Optional<ExtractedContentDTO> extract(@NonNull Page page) {
+        Resource contentResource = page.getContentResource();
+        if (contentResource == null) {
+            return Optional.empty();
+        }
+        StringBuilder content = new StringBuilder();
+        contentResource.getChildren().forEach(child -> collectText(child, content));
+        return Optional.of(ExtractedContentDTO.builder()
+                                              .title(StringUtils.defaultIfBlank(page.getPageTitle(), page.getTitle()))
+                                              .description(page.getDescription())
+                                              .content(content.toString().trim())
+                                              .keywords(Arrays.stream(page.getTags())
+                                                              .map(Tag::getTitle)
+                                                              .filter(StringUtils::isNotBlank)
+                                                              .collect(Collectors.toList()))
+                                              .build());
+    }
+
+    private void collectText(Resource resource, StringBuilder content) {
+        ValueMap properties = resource.getValueMap();
+        TEXT_PROPERTIES.stream()
+                       .map(name -> properties.get(name, String.class))
+                       .filter(StringUtils::isNotBlank)
+                       .map(PageContentExtractor::toPlainText)
+                       .forEach(text -> content.append(text).append(' '));
+        resource.getChildren().forEach(child -> collectText(child, content));
+    }
+
+    @SuppressWarnings("deprecation") // commons-text is not available in AEM 6.5
+    static String toPlainText(String markup) {
+        String text = StringEscapeUtils.unescapeHtml4(MARKUP.matcher(markup).replaceAll(StringUtils.SPACE));
+        return WHITESPACE.matcher(text).replaceAll(StringUtils.SPACE).trim();
+    }
+}
@@ -3,12 +3,9 @@ package com.valtech.aem.saas.core.indexing;
 import com.day.cq.replication.ReplicationAction;
 import com.day.cq.replication.ReplicationActionType;
 import com.day.cq.replication.ReplicationEvent;
-import com.google.common.collect.ImmutableMap;
 import com.valtech.aem.saas.api.resource.PathTransformer;
 import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.sling.event.jobs.Job;
 import org.apache.sling.event.jobs.JobManager;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
@@ -18,9 +15,7 @@ import org.osgi.service.event.Event;
 import org.osgi.service.event.EventConstants;
 import org.osgi.service.event.EventHandler;
 
-import java.util.ArrayList;
 import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
 
 @Component(service = {EventHandler.class},
@@ -37,26 +32,31 @@ public class PageIndexUpdateHandler implements EventHandler {
 
     private static final Map<ReplicationActionType, IndexUpdateAction> replicationActionTypeToIndexUpdateAction =
             new EnumMap<>(ReplicationActionType.class);
-    private static final Map<IndexUpdateAction, String> indexUpdateActionToJobTopic =
-            new EnumMap<>(IndexUpdateAction.class);
 
     static {
         replicationActionTypeToIndexUpdateAction.put(ReplicationActionType.ACTIVATE, IndexUpdateAction.UPDATE);
         replicationActionTypeToIndexUpdateAction.put(ReplicationActionType.DEACTIVATE, IndexUpdateAction.DELETE);
         replicationActionTypeToIndexUpdateAction.put(ReplicationActionType.DELETE, IndexUpdateAction.DELETE);
-        indexUpdateActionToJobTopic.put(IndexUpdateAction.UPDATE, IndexUpdateJobConsumer.JOB_TOPIC);
-        indexUpdateActionToJobTopic.put(IndexUpdateAction.DELETE, IndexDeleteJobConsumer.JOB_TOPIC);
     }
 
     @Reference
     private JobManager jobManager;
 
+    @Reference
+    private IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
     @Reference
     private ResourceResolverProvider resourceResolverProvider;
 
     @Reference
     private PathTransformer pathTransformer;
 
+    @Reference
+    private IndexUpdateBatchService indexUpdateBatchService;
+
+    @Reference
+    private AssetContentPushService assetContentPushService;
+
     @Override
     public void handleEvent(Event event) {
         ReplicationAction action = getReplicationAction(event);
@@ -69,6 +69,10 @@ public class PageIndexUpdateHandler implements EventHandler {
             resourceResolverProvider.resourceResolverConsumer(resourceResolver -> pathTransformer.externalizeList(
                     resourceResolver,
                     actionPath).forEach(s -> scheduleJobForPath(s, action)));
+        } else if (isAsset(actionPath) && assetContentPushService.isEnabled()) {
+            resourceResolverProvider.resourceResolverConsumer(resourceResolver -> pathTransformer.externalizeList(
+                    resourceResolver,
+                    actionPath).forEach(s -> scheduleJobForAsset(s, action)));
         } else {
             log.warn("{} is not a Page", actionPath);
         }
@@ -100,21 +104,30 @@ public class PageIndexUpdateHandler implements EventHandler {
             log.info("Not able to resolve IndexUpdateAction from {}", action.getType());
             return;
         }
-        Map<String, Object> properties = ImmutableMap.<String, Object>builder()
-                                                     .put(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_REPOSITORY_PATH,
-                                                          action.getPath())
-                                                     .put(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_URL,
-                                                          externalizedPath)
-                                                     .build();
-        List<String> errorMessages = new ArrayList<>();
-        String jobTopic = indexUpdateActionToJobTopic.get(indexUpdateAction);
-        if (StringUtils.isBlank(jobTopic)) {
-            log.info("Not able to resolve jobTopic for {}", indexUpdateAction);
+        if (indexUpdateBatchService.isEnabled()) {
+            indexUpdateBatchService.add(indexUpdateAction, externalizedPath, action.getPath());
             return;
         }
-        log.debug("Scheduling job {}, with properties {}.", jobTopic, properties);
-        Job job = jobManager.createJob(jobTopic).properties(properties).add(errorMessages);
-        log.info("Added job: {}, Errors: {}", job.getId(), errorMessages);
+        IndexUpdateJobs.schedule(jobManager,
+                                 indexUpdateJobDeduplicationService,
+                                 indexUpdateAction,
+                                 externalizedPath,
+                                 action.getPath());
+    }
+
+    private void scheduleJobForAsset(
+            String externalizedPath,
+            ReplicationAction action) {
+        IndexUpdateAction indexUpdateAction = replicationActionTypeToIndexUpdateAction.get(action.getType());
+        if (indexUpdateAction == null) {
+            log.info("Not able to resolve IndexUpdateAction from {}", action.getType());
+            return;
+        }
+        IndexUpdateJobs.scheduleAsset(jobManager,
+                                      indexUpdateJobDeduplicationService,
+                                      indexUpdateAction,
+                                      externalizedPath,
+                                      action.getPath());
     }
 
     private ReplicationAction getAction(Event event) {
@@ -130,4 +143,8 @@ public class PageIndexUpdateHandler implements EventHandler {
     private boolean isPage(String pagePath) {
         return pagePath.startsWith(CONTENT_ROOT) && !pagePath.startsWith(ASSETS_ROOT);
     }
+
+    private boolean isAsset(String assetPath) {
+        return assetPath.startsWith(ASSETS_ROOT + "/");
+    }
 }
@@ -0,0 +1,93 @@
+package com.valtech.aem.saas.core.indexing;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.apache.sling.api.resource.ValueMap;
+
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * Persists the site reindex progress in the repository.
+ */
+@Slf4j
+final class ReindexCheckpointStore {
+
+    static final String CHECKPOINT_PATH = "/var/saas-aem-module/reindex";
+
+    private static final String PN_ROOT_PATH = "rootPath";
+    private static final String PN_STATE = "state";
+    private static final String PN_LAST_PATH = "lastPath";
+    private static final String PN_PAGES = "pages";
+    private static final String PN_URLS = "urls";
+    private static final String PN_FAILED_URLS = "failedUrls";
+    private static final String PN_START_TIME = "startTime";
+    private static final String PN_UPDATE_TIME = "updateTime";
+    private static final String NT_UNSTRUCTURED = "nt:unstructured";
+
+    private ReindexCheckpointStore() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Optional<ReindexProgress> read(@NonNull ResourceResolver resourceResolver) {
+        return Optional.ofNullable(resourceResolver.getResource(CHECKPOINT_PATH))
+                       .map(Resource::getValueMap)
+                       .filter(properties -> properties.containsKey(PN_ROOT_PATH))
+                       .flatMap(ReindexCheckpointStore::toProgress);
+    }
+
+    static void write(@NonNull ResourceResolver resourceResolver, @NonNull ReindexProgress progress) {
+        try {
+            Resource resource = ResourceUtil.getOrCreateResource(resourceResolver,
+                                                                 CHECKPOINT_PATH,
+                                                                 Collections.singletonMap(ResourceResolver.PROPERTY_RESOURCE_TYPE,
+                                                                                          NT_UNSTRUCTURED),
+                                                                 NT_UNSTRUCTURED,
+                                                                 false);
+            ModifiableValueMap properties = resource.adaptTo(ModifiableValueMap.class);
+            if (properties == null) {
+                log.error("Reindex checkpoint {} is not modifiable.", CHECKPOINT_PATH);
+                return;
+            }
+            properties.put(PN_ROOT_PATH, progress.getRootPath());
+            properties.put(PN_STATE, progress.getState().name());
+            if (progress.getLastPath() != null) {
+                properties.put(PN_LAST_PATH, progress.getLastPath());
+            } else {
+                properties.remove(PN_LAST_PATH);
+            }
+            properties.put(PN_PAGES, progress.getPages());
+            properties.put(PN_URLS, progress.getUrls());
+            properties.put(PN_FAILED_URLS, progress.getFailedUrls());
+            properties.put(PN_START_TIME, progress.getStartTime());
+            properties.put(PN_UPDATE_TIME, progress.getUpdateTime());
+            resourceResolver.commit();
+        } catch (PersistenceException e) {
+            log.error("Failed to write reindex checkpoint {}.", CHECKPOINT_PATH, e);
+            resourceResolver.revert();
+        }
+    }
+
+    private static Optional<ReindexProgress> toProgress(ValueMap properties) {
+        try {
+            return Optional.of(ReindexProgress.builder()
+                                              .rootPath(properties.get(PN_ROOT_PATH, String.class))
+                                              .state(ReindexState.valueOf(properties.get(PN_STATE, String.class)))
+                                              .lastPath(properties.get(PN_LAST_PATH, String.class))
+                                              .pages(properties.get(PN_PAGES, 0L))
+                                              .urls(properties.get(PN_URLS, 0L))
+                                              .failedUrls(properties.get(PN_FAILED_URLS, 0L))
+                                              .startTime(properties.get(PN_START_TIME, 0L))
+                                              .updateTime(properties.get(PN_UPDATE_TIME, 0L))
+                                              .build());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.error("Reindex checkpoint {} is invalid.", CHECKPOINT_PATH, e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.valtech.aem.saas.core.indexing;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Value object representing the progress of a site reindex run. All the pages up to and including the last path, in
+ * tree order, have been submitted.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ReindexProgress {
+
+    @NonNull
+    String rootPath;
+
+    @NonNull
+    ReindexState state;
+
+    String lastPath;
+
+    long pages;
+
+    long urls;
+
+    long failedUrls;
+
+    long startTime;
+
+    long updateTime;
+}
@@ -0,0 +1,27 @@
+package com.valtech.aem.saas.core.indexing;
+
+/**
+ * State of a site reindex run.
+ */
+public enum ReindexState {
+
+    /**
+     * The run is in progress, or was interrupted by a restart and will be resumed.
+     */
+    RUNNING,
+
+    /**
+     * The run was paused and can be resumed from its last checkpoint.
+     */
+    PAUSED,
+
+    /**
+     * All the pages below the root path were submitted.
+     */
+    COMPLETED,
+
+    /**
+     * The run could not be carried out, e.g. because the root page does not exist.
+     */
+    FAILED
+}
@@ -0,0 +1,44 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.adobe.granite.jmx.annotation.Description;
+import com.adobe.granite.jmx.annotation.Name;
+
+/**
+ * JMX interface controlling the {@link SiteReindexService}.
+ */
+@Description("Search as a Service - Site Reindex")
+public interface SiteReindexMBean {
+
+    @Description("Starts reindexing the pages below the root page. Returns false if a run is in progress.")
+    boolean start(@Name("rootPath") @Description("Path of the root page, e.g. /content/site/en") String rootPath);
+
+    @Description("Pauses the current run. Returns false if no run is in progress.")
+    boolean pause();
+
+    @Description("Resumes the last paused or interrupted run from its checkpoint.")
+    boolean resume();
+
+    @Description("State of the current or last run.")
+    String getState();
+
+    @Description("Root page of the current or last run.")
+    String getRootPath();
+
+    @Description("Last page submitted by the current or last run.")
+    String getLastPath();
+
+    @Description("Number of pages visited.")
+    long getPages();
+
+    @Description("Number of urls submitted.")
+    long getUrls();
+
+    @Description("Number of submitted urls that failed and were rescheduled as jobs.")
+    long getFailedUrls();
+
+    @Description("Start time of the current or last run.")
+    String getStartTime();
+
+    @Description("Time of the last checkpoint.")
+    String getUpdateTime();
+}
@@ -0,0 +1,85 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.adobe.granite.jmx.annotation.AnnotatedStandardMBean;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import javax.management.DynamicMBean;
+import javax.management.NotCompliantMBeanException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Exposes the {@link SiteReindexService} in the JMX console.
+ */
+@Component(service = DynamicMBean.class,
+           property = "jmx.objectname=com.valtech.aem.saas:type=SiteReindex")
+public class SiteReindexMBeanImpl extends AnnotatedStandardMBean implements SiteReindexMBean {
+
+    @Reference
+    private SiteReindexService siteReindexService;
+
+    public SiteReindexMBeanImpl() throws NotCompliantMBeanException {
+        super(SiteReindexMBean.class);
+    }
+
+    @Override
+    public boolean start(String rootPath) {
+        return rootPath != null && siteReindexService.start(rootPath);
+    }
+
+    @Override
+    public boolean pause() {
+        return siteReindexService.pause();
+    }
+
+    @Override
+    public boolean resume() {
+        return siteReindexService.resume();
+    }
+
+    @Override
+    public String getState() {
+        return getProgress(progress -> progress.getState().name()).orElse(null);
+    }
+
+    @Override
+    public String getRootPath() {
+        return getProgress(ReindexProgress::getRootPath).orElse(null);
+    }
+
+    @Override
+    public String getLastPath() {
+        return getProgress(ReindexProgress::getLastPath).orElse(null);
+    }
+
+    @Override
+    public long getPages() {
+        return getProgress(ReindexProgress::getPages).orElse(0L);
+    }
+
+    @Override
+    public long getUrls() {
+        return getProgress(ReindexProgress::getUrls).orElse(0L);
+    }
+
+    @Override
+    public long getFailedUrls() {
+        return getProgress(ReindexProgress::getFailedUrls).orElse(0L);
+    }
+
+    @Override
+    public String getStartTime() {
+        return getProgress(progress -> Instant.ofEpochMilli(progress.getStartTime()).toString()).orElse(null);
+    }
+
+    @Override
+    public String getUpdateTime() {
+        return getProgress(progress -> Instant.ofEpochMilli(progress.getUpdateTime()).toString()).orElse(null);
+    }
+
+    private <T> Optional<T> getProgress(Function<ReindexProgress, T> getter) {
+        return siteReindexService.getProgress().map(getter);
+    }
+}
@@ -0,0 +1,42 @@
+package com.valtech.aem.saas.core.indexing;
+
+import lombok.NonNull;
+
+import java.util.Optional;
+
+/**
+ * Rebuilds the index of a site by walking its page tree and submitting the urls of all the pages, without
+ * re-replicating the content. Only one run is carried out at a time. The progress is checkpointed in the repository,
+ * so that a run interrupted by a restart is resumed from its last checkpoint.
+ */
+public interface SiteReindexService {
+
+    /**
+     * Starts reindexing the pages below the specified root page, the root page included.
+     *
+     * @param rootPath path of the root page.
+     * @return false if another run is in progress.
+     */
+    boolean start(@NonNull String rootPath);
+
+    /**
+     * Pauses the current run after its pending chunk of pages.
+     *
+     * @return false if no run is in progress.
+     */
+    boolean pause();
+
+    /**
+     * Resumes the last paused or interrupted run from its checkpoint.
+     *
+     * @return false if a run is in progress, or there is no run to resume.
+     */
+    boolean resume();
+
+    /**
+     * Gets the progress of the current, or of the last run.
+     *
+     * @return the progress, or empty if no run has been started yet.
+     */
+    Optional<ReindexProgress> getProgress();
+}
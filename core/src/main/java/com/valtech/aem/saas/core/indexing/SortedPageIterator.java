@@ -0,0 +1,58 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.day.cq.wcm.api.Page;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Iterates over a page and all of its descendants in lexicographic order of their paths, so that the pages can be
+ * merged with other path sorted sources. A plain depth first walk does not yield that order: {@code /a-b} sorts before
+ * {@code /a/x}. The children of a page are therefore only listed once the iteration reaches the {@code <path>/}
+ * prefix, which keeps only the siblings along the current branch in memory.
+ */
+final class SortedPageIterator implements Iterator<Page> {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparing(Entry::getKey));
+
+    SortedPageIterator(@NonNull Page root) {
+        queue.add(new Entry(root.getPath(), root, false));
+    }
+
+    @Override
+    public boolean hasNext() {
+        expand();
+        return !queue.isEmpty();
+    }
+
+    @Override
+    public Page next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Entry entry = queue.poll();
+        queue.add(new Entry(entry.getKey() + PATH_SEPARATOR, entry.getPage(), true));
+        return entry.getPage();
+    }
+
+    private void expand() {
+        while (!queue.isEmpty() && queue.peek().isChildren()) {
+            Page parent = queue.poll().getPage();
+            parent.listChildren().forEachRemaining(child -> queue.add(new Entry(child.getPath(), child, false)));
+        }
+    }
+
+    @Value
+    private static class Entry {
+
+        String key;
+        Page page;
+        boolean children;
+    }
+}
@@ -21,6 +21,7 @@ import java.util.List;
 public class DefaultPathTransformer implements PathTransformer {
 
     public static final String HTML_EXTENSION = ".html";
+    public static final String ASSETS_ROOT = "/content/dam/";
 
     @Reference
     private Externalizer externalizer;
@@ -46,7 +47,8 @@ public class DefaultPathTransformer implements PathTransformer {
 
     @Override
     public String externalize(ResourceResolver resourceResolver, String path) {
-        return externalizer.publishLink(resourceResolver, path) + HTML_EXTENSION;
+        String link = externalizer.publishLink(resourceResolver, path);
+        return path.startsWith(ASSETS_ROOT) ? link : link + HTML_EXTENSION;
     }
 
     @Override
@@ -0,0 +1,63 @@
+package com.valtech.aem.saas.core.serialization;
+
+import lombok.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Encodes values in a compact binary form, for storage outside of the heap.
+ *
+ * @param <T> type of the encoded values.
+ */
+public interface BinaryCodec<T> {
+
+    /**
+     * Writes the value.
+     *
+     * @param value the value.
+     * @param out   the output.
+     * @throws IOException if writing fails.
+     */
+    void encode(@NonNull T value, @NonNull DataOutput out) throws IOException;
+
+    /**
+     * Reads a value written by {@link #encode(Object, DataOutput)}.
+     *
+     * @param in the input.
+     * @return the value.
+     * @throws IOException if reading fails or the input is not a valid encoded value.
+     */
+    T decode(@NonNull DataInput in) throws IOException;
+
+    /**
+     * Encodes the value into a byte array.
+     *
+     * @param value the value.
+     * @return the encoded value.
+     * @throws IOException if encoding fails.
+     */
+    default byte[] toBytes(@NonNull T value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encode(value, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a value from a byte array.
+     *
+     * @param bytes the encoded value.
+     * @return the value.
+     * @throws IOException if the bytes are not a valid encoded value.
+     */
+    default T fromBytes(@NonNull byte[] bytes) throws IOException {
+        return decode(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.valtech.aem.saas.core.serialization;
+
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Primitives of the binary codecs. Integers are written as variable length quantities, so that the small counts and
+ * lengths that make up most of the encoded values take a single byte. Strings are written as UTF-8 bytes prefixed by
+ * their length, with null encoded as its own length.
+ */
+public final class BinaryFormat {
+
+    private static final int MAX_LENGTH = 16 * 1024 * 1024;
+
+    private BinaryFormat() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes an integer, taken as unsigned, in one to five bytes.
+     *
+     * @param out   the output.
+     * @param value the value.
+     * @throws IOException if writing fails.
+     */
+    public static void writeVarInt(@NonNull DataOutput out, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    /**
+     * Reads an integer written by {@link #writeVarInt(DataOutput, int)}.
+     *
+     * @param in the input.
+     * @return the value.
+     * @throws IOException if reading fails or the value is malformed.
+     */
+    public static int readVarInt(@NonNull DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer.");
+    }
+
+    /**
+     * Writes a signed integer in zig-zag encoding, so that small negative values take few bytes as well.
+     *
+     * @param out   the output.
+     * @param value the value.
+     * @throws IOException if writing fails.
+     */
+    public static void writeSignedVarInt(@NonNull DataOutput out, int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Reads an integer written by {@link #writeSignedVarInt(DataOutput, int)}.
+     *
+     * @param in the input.
+     * @return the value.
+     * @throws IOException if reading fails or the value is malformed.
+     */
+    public static int readSignedVarInt(@NonNull DataInput in) throws IOException {
+        int encoded = readVarInt(in);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    /**
+     * Reads a length or count written by {@link #writeVarInt(DataOutput, int)}.
+     *
+     * @param in the input.
+     * @return the length.
+     * @throws IOException if reading fails or the length is negative or implausibly large.
+     */
+    public static int readLength(@NonNull DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IOException("Length out of range: " + length);
+        }
+        return length;
+    }
+
+    /**
+     * Writes a string that may be null.
+     *
+     * @param out   the output.
+     * @param value the value, or null.
+     * @throws IOException if writing fails.
+     */
+    public static void writeString(@NonNull DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutput, String)}.
+     *
+     * @param in the input.
+     * @return the value, or null.
+     * @throws IOException if reading fails or the value is malformed.
+     */
+    public static String readString(@NonNull DataInput in) throws IOException {
+        int length = readLength(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,21 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+@Component(service = SerializerRegistry.class)
+@ServiceDescription("Search as a Service - Serializer Registry")
+public class DefaultSerializerRegistry implements SerializerRegistry {
+
+    @Override
+    public Gson getGson() {
+        return Serializers.gson();
+    }
+
+    @Override
+    public ObjectMapper getObjectMapper() {
+        return Serializers.objectMapper();
+    }
+}
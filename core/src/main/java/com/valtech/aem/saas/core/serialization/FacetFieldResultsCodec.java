@@ -0,0 +1,55 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultsDTO;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary codec of {@link FacetFieldResultsDTO}. The field names and the item texts are interned, since the same
+ * values, such as domains or languages, recur in several facet fields.
+ */
+public final class FacetFieldResultsCodec extends VersionedBinaryCodec<FacetFieldResultsDTO> {
+
+    static final int FORMAT_VERSION = 1;
+
+    public FacetFieldResultsCodec() {
+        super(FORMAT_VERSION);
+    }
+
+    @Override
+    public void encodeBody(@NonNull FacetFieldResultsDTO value, @NonNull DataOutput out, @NonNull StringTable strings)
+            throws IOException {
+        strings.write(out, value.getFieldName());
+        List<FacetFieldResultDTO> items = value.getItems();
+        BinaryFormat.writeVarInt(out, items != null ? items.size() + 1 : 0);
+        if (items != null) {
+            for (FacetFieldResultDTO item : items) {
+                strings.write(out, item.getText());
+                BinaryFormat.writeSignedVarInt(out, item.getCount());
+            }
+        }
+    }
+
+    @Override
+    public FacetFieldResultsDTO decodeBody(@NonNull DataInput in, @NonNull StringTable strings) throws IOException {
+        String fieldName = strings.read(in);
+        int size = BinaryFormat.readLength(in) - 1;
+        List<FacetFieldResultDTO> items = null;
+        if (size >= 0) {
+            items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(FacetFieldResultDTO.builder()
+                                             .text(strings.read(in))
+                                             .count(BinaryFormat.readSignedVarInt(in))
+                                             .build());
+            }
+        }
+        return FacetFieldResultsDTO.builder().fieldName(fieldName).items(items).build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultsDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.ResultDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.SuggestionDTO;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary codec of {@link FulltextSearchResultsDTO}. The results, the suggestion and the facet fields are written by
+ * their own codecs, sharing a single string table, so that domains and facet values repeated across the results and
+ * facet fields are written once.
+ * <p>
+ * Format version 1 wrote all strings in full; values of that version are still read, since they may be held by a
+ * persistent cache store.
+ */
+public final class FulltextSearchResultsCodec extends VersionedBinaryCodec<FulltextSearchResultsDTO> {
+
+    static final int FORMAT_VERSION = 2;
+
+    private static final int FORMAT_VERSION_PLAIN_STRINGS = 1;
+
+    private final ResultCodec resultCodec = new ResultCodec();
+    private final SuggestionCodec suggestionCodec = new SuggestionCodec();
+    private final FacetFieldResultsCodec facetFieldResultsCodec = new FacetFieldResultsCodec();
+
+    public FulltextSearchResultsCodec() {
+        super(FORMAT_VERSION);
+    }
+
+    @Override
+    public void encodeBody(@NonNull FulltextSearchResultsDTO value,
+                           @NonNull DataOutput out,
+                           @NonNull StringTable strings) throws IOException {
+        BinaryFormat.writeSignedVarInt(out, value.getTotalResultsFound());
+        BinaryFormat.writeSignedVarInt(out, value.getCurrentResultPage());
+        BinaryFormat.writeVarInt(out, value.getResults().size());
+        for (ResultDTO result : value.getResults()) {
+            resultCodec.encodeBody(result, out, strings);
+        }
+        SuggestionDTO suggestion = value.getSuggestion();
+        out.writeBoolean(suggestion != null);
+        if (suggestion != null) {
+            suggestionCodec.encodeBody(suggestion, out, strings);
+        }
+        BinaryFormat.writeVarInt(out, value.getFacetFieldsResults().size());
+        for (FacetFieldResultsDTO facetFieldResults : value.getFacetFieldsResults()) {
+            facetFieldResultsCodec.encodeBody(facetFieldResults, out, strings);
+        }
+        out.writeBoolean(value.isStale());
+    }
+
+    @Override
+    public FulltextSearchResultsDTO decodeBody(@NonNull DataInput in, @NonNull StringTable strings)
+            throws IOException {
+        FulltextSearchResultsDTO.FulltextSearchResultsDTOBuilder builder =
+                FulltextSearchResultsDTO.builder()
+                                        .totalResultsFound(BinaryFormat.readSignedVarInt(in))
+                                        .currentResultPage(BinaryFormat.readSignedVarInt(in));
+        int results = BinaryFormat.readLength(in);
+        for (int i = 0; i < results; i++) {
+            builder.result(resultCodec.decodeBody(in, strings));
+        }
+        if (in.readBoolean()) {
+            builder.suggestion(suggestionCodec.decodeBody(in, strings));
+        }
+        int facetFields = BinaryFormat.readLength(in);
+        for (int i = 0; i < facetFields; i++) {
+            builder.facetFieldsResult(facetFieldResultsCodec.decodeBody(in, strings));
+        }
+        return builder.stale(in.readBoolean()).build();
+    }
+
+    @Override
+    protected FulltextSearchResultsDTO decodePreviousVersion(@NonNull DataInput in, int version) throws IOException {
+        if (version != FORMAT_VERSION_PLAIN_STRINGS) {
+            return super.decodePreviousVersion(in, version);
+        }
+        FulltextSearchResultsDTO.FulltextSearchResultsDTOBuilder builder =
+                FulltextSearchResultsDTO.builder()
+                                        .totalResultsFound(BinaryFormat.readSignedVarInt(in))
+                                        .currentResultPage(BinaryFormat.readSignedVarInt(in));
+        int results = BinaryFormat.readLength(in);
+        for (int i = 0; i < results; i++) {
+            builder.result(ResultDTO.builder()
+                                    .url(BinaryFormat.readString(in))
+                                    .title(BinaryFormat.readString(in))
+                                    .description(BinaryFormat.readString(in))
+                                    .repositoryPath(BinaryFormat.readString(in))
+                                    .bestBet(in.readBoolean())
+                                    .build());
+        }
+        if (in.readBoolean()) {
+            builder.suggestion(new SuggestionDTO(BinaryFormat.readString(in), BinaryFormat.readSignedVarInt(in)));
+        }
+        int facetFields = BinaryFormat.readLength(in);
+        for (int i = 0; i < facetFields; i++) {
+            String fieldName = BinaryFormat.readString(in);
+            int items = BinaryFormat.readLength(in) - 1;
+            List<FacetFieldResultDTO> facetItems = null;
+            if (items >= 0) {
+                facetItems = new ArrayList<>(items);
+                for (int j = 0; j < items; j++) {
+                    facetItems.add(FacetFieldResultDTO.builder()
+                                                      .text(BinaryFormat.readString(in))
+                                                      .count(BinaryFormat.readSignedVarInt(in))
+                                                      .build());
+                }
+            }
+            builder.facetFieldsResult(FacetFieldResultsDTO.builder().fieldName(fieldName).items(facetItems).build());
+        }
+        return builder.stale(in.readBoolean()).build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.valtech.aem.saas.api.fulltextsearch.dto.ResultDTO;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary codec of {@link ResultDTO}. The url is split into its origin, i.e. scheme, host and port, which is interned
+ * since the results of an index mostly share a few domains, and the remainder, which is written as is.
+ */
+public final class ResultCodec extends VersionedBinaryCodec<ResultDTO> {
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final String SCHEME_SEPARATOR = "://";
+
+    public ResultCodec() {
+        super(FORMAT_VERSION);
+    }
+
+    @Override
+    public void encodeBody(@NonNull ResultDTO value, @NonNull DataOutput out, @NonNull StringTable strings)
+            throws IOException {
+        String url = value.getUrl();
+        if (url == null) {
+            strings.write(out, null);
+        } else {
+            int originLength = getOriginLength(url);
+            strings.write(out, url.substring(0, originLength));
+            BinaryFormat.writeString(out, url.substring(originLength));
+        }
+        BinaryFormat.writeString(out, value.getTitle());
+        BinaryFormat.writeString(out, value.getDescription());
+        BinaryFormat.writeString(out, value.getRepositoryPath());
+        out.writeBoolean(value.isBestBet());
+    }
+
+    @Override
+    public ResultDTO decodeBody(@NonNull DataInput in, @NonNull StringTable strings) throws IOException {
+        String origin = strings.read(in);
+        return ResultDTO.builder()
+                        .url(origin != null ? origin + BinaryFormat.readString(in) : null)
+                        .title(BinaryFormat.readString(in))
+                        .description(BinaryFormat.readString(in))
+                        .repositoryPath(BinaryFormat.readString(in))
+                        .bestBet(in.readBoolean())
+                        .build();
+    }
+
+    static int getOriginLength(String url) {
+        int schemeEnd = url.indexOf(SCHEME_SEPARATOR);
+        if (schemeEnd < 0) {
+            return 0;
+        }
+        int pathStart = url.indexOf('/', schemeEnd + SCHEME_SEPARATOR.length());
+        return pathStart < 0 ? url.length() : pathStart;
+    }
+}
@@ -0,0 +1,29 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+
+/**
+ * Provides module wide, pre-configured and thread safe serializer instances. The instances should be reused instead
+ * of creating new ones per call, so that their internal type adapter/serializer caches are built only once.
+ * <p>
+ * Despite its name, no adapters or serializers are registered with it: it is only an injectable wrapper around the
+ * instances held by {@link Serializers}, for the sling models and OSGi components that get their dependencies
+ * injected. Classes that can not be injected use {@link Serializers} directly.
+ */
+public interface SerializerRegistry {
+
+    /**
+     * Gets the shared gson instance.
+     *
+     * @return gson instance.
+     */
+    Gson getGson();
+
+    /**
+     * Gets the shared jackson object mapper instance. The instance must not be reconfigured by the callers.
+     *
+     * @return object mapper instance.
+     */
+    ObjectMapper getObjectMapper();
+}
@@ -0,0 +1,77 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.valtech.aem.saas.api.bestbets.dto.BestBetDTO;
+import com.valtech.aem.saas.api.bestbets.dto.BestBetPayloadDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultsDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.ResultDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.SuggestionDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import com.valtech.aem.saas.api.tracking.dto.SearchResultItemTrackingDTO;
+import com.valtech.aem.saas.core.http.response.dto.FacetCountsDTO;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
+import com.valtech.aem.saas.core.http.response.dto.HighlightingDTO;
+import com.valtech.aem.saas.core.http.response.dto.ResponseBodyDTO;
+import com.valtech.aem.saas.core.http.response.dto.ResponseHeaderDTO;
+import com.valtech.aem.saas.core.http.response.dto.SearchResultDTO;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holder of the module wide serializer instances. Plain objects that are not able to obtain the
+ * {@link SerializerRegistry} service (e.g. data extraction strategies) access the instances directly through this
+ * class.
+ */
+public final class Serializers {
+
+    static final List<Type> PRE_REGISTERED_TYPES = Collections.unmodifiableList(Arrays.asList(
+            FulltextSearchResponseDTO.class,
+            ResponseHeaderDTO.class,
+            ResponseBodyDTO.class,
+            SearchResultDTO.class,
+            HighlightingDTO.class,
+            FacetCountsDTO.class,
+            FulltextSearchResultsDTO.class,
+            ResultDTO.class,
+            FacetFieldResultsDTO.class,
+            FacetFieldResultDTO.class,
+            SuggestionDTO.class,
+            BestBetDTO.class,
+            BestBetPayloadDTO.class,
+            IndexContentPayloadDTO.class,
+            IndexUpdateResponseDTO.class,
+            SearchResultItemTrackingDTO.class,
+            TypeToken.getParameterized(List.class, BestBetDTO.class).getType(),
+            TypeToken.getParameterized(List.class, String.class).getType()));
+
+    private static final Gson GSON = createGson();
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private Serializers() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static Gson gson() {
+        return GSON;
+    }
+
+    public static ObjectMapper objectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    private static Gson createGson() {
+        Gson gson = new Gson();
+        // resolving the adapters up front populates gson's (thread safe) type adapter cache
+        PRE_REGISTERED_TYPES.forEach(type -> gson.getAdapter(TypeToken.get(type)));
+        return gson;
+    }
+}
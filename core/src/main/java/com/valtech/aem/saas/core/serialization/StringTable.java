@@ -0,0 +1,80 @@
+package com.valtech.aem.saas.core.serialization;
+
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns the strings of a single encoded value: the first occurrence of a string is written in full, the following
+ * ones as a reference to the first, so that strings repeated throughout a value, such as facet field names and the
+ * domains of the result urls, are written only once. The table is built while writing and rebuilt while reading, so
+ * it is not part of the encoded form.
+ * <p>
+ * Each string starts with a variable length tag: zero for null, an odd tag for a new string whose byte length is the
+ * tag shifted right by one, and an even tag for a reference to the new string at the index of the tag halved, minus
+ * one. A new string hence takes as many bytes as a plain {@link BinaryFormat#writeString(DataOutput, String)} string
+ * of up to 63 bytes.
+ * <p>
+ * Instances are not thread safe and are meant to encode or decode a single value.
+ */
+public final class StringTable {
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * Writes a string that may be null.
+     *
+     * @param out   the output.
+     * @param value the value, or null.
+     * @throws IOException if writing fails.
+     */
+    public void write(@NonNull DataOutput out, String value) throws IOException {
+        if (value == null) {
+            BinaryFormat.writeVarInt(out, 0);
+            return;
+        }
+        Integer index = indexes.get(value);
+        if (index != null) {
+            BinaryFormat.writeVarInt(out, (index + 1) << 1);
+            return;
+        }
+        indexes.put(value, indexes.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        BinaryFormat.writeVarInt(out, (bytes.length << 1) | 1);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #write(DataOutput, String)}.
+     *
+     * @param in the input.
+     * @return the value, or null.
+     * @throws IOException if reading fails or the value is malformed.
+     */
+    public String read(@NonNull DataInput in) throws IOException {
+        int tag = BinaryFormat.readLength(in);
+        if (tag == 0) {
+            return null;
+        }
+        if ((tag & 1) == 0) {
+            int index = (tag >>> 1) - 1;
+            if (index >= strings.size()) {
+                throw new IOException("String reference out of range: " + index);
+            }
+            return strings.get(index);
+        }
+        byte[] bytes = new byte[tag >>> 1];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+}
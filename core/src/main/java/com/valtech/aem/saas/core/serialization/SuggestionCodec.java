@@ -0,0 +1,32 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.valtech.aem.saas.api.fulltextsearch.dto.SuggestionDTO;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary codec of {@link SuggestionDTO}.
+ */
+public final class SuggestionCodec extends VersionedBinaryCodec<SuggestionDTO> {
+
+    static final int FORMAT_VERSION = 1;
+
+    public SuggestionCodec() {
+        super(FORMAT_VERSION);
+    }
+
+    @Override
+    public void encodeBody(@NonNull SuggestionDTO value, @NonNull DataOutput out, @NonNull StringTable strings)
+            throws IOException {
+        BinaryFormat.writeString(out, value.getText());
+        BinaryFormat.writeSignedVarInt(out, value.getHits());
+    }
+
+    @Override
+    public SuggestionDTO decodeBody(@NonNull DataInput in, @NonNull StringTable strings) throws IOException {
+        return new SuggestionDTO(BinaryFormat.readString(in), BinaryFormat.readSignedVarInt(in));
+    }
+}
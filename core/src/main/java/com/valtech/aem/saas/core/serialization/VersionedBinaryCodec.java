@@ -0,0 +1,80 @@
+package com.valtech.aem.saas.core.serialization;
+
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Base of the binary codecs whose encoded form starts with a format version, so that values stored by another version
+ * of the module are recognized rather than misread. The body of the encoded value shares a {@link StringTable} with
+ * the bodies of the values nested in it, so that composite codecs intern strings across their parts.
+ *
+ * @param <T> type of the encoded values.
+ */
+public abstract class VersionedBinaryCodec<T> implements BinaryCodec<T> {
+
+    private final int formatVersion;
+
+    /**
+     * Constructs the codec.
+     *
+     * @param formatVersion version written in front of the encoded values, between 0 and 255.
+     */
+    protected VersionedBinaryCodec(int formatVersion) {
+        if (formatVersion < 0 || formatVersion > 0xFF) {
+            throw new IllegalArgumentException("Format version out of range: " + formatVersion);
+        }
+        this.formatVersion = formatVersion;
+    }
+
+    @Override
+    public final void encode(@NonNull T value, @NonNull DataOutput out) throws IOException {
+        out.writeByte(formatVersion);
+        encodeBody(value, out, new StringTable());
+    }
+
+    @Override
+    public final T decode(@NonNull DataInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version == formatVersion) {
+            return decodeBody(in, new StringTable());
+        }
+        return decodePreviousVersion(in, version);
+    }
+
+    /**
+     * Writes the value without the format version.
+     *
+     * @param value   the value.
+     * @param out     the output.
+     * @param strings the string table of the enclosing value.
+     * @throws IOException if writing fails.
+     */
+    public abstract void encodeBody(@NonNull T value, @NonNull DataOutput out, @NonNull StringTable strings)
+            throws IOException;
+
+    /**
+     * Reads a value written by {@link #encodeBody(Object, DataOutput, StringTable)}.
+     *
+     * @param in      the input.
+     * @param strings the string table of the enclosing value.
+     * @return the value.
+     * @throws IOException if reading fails or the input is not a valid encoded value.
+     */
+    public abstract T decodeBody(@NonNull DataInput in, @NonNull StringTable strings) throws IOException;
+
+    /**
+     * Reads a value encoded in another format version. Codecs override it to keep reading the values stored before
+     * their format changed.
+     *
+     * @param in      the input, positioned after the format version.
+     * @param version the format version of the value.
+     * @return the value.
+     * @throws IOException if the format version is not supported or the input is not a valid encoded value.
+     */
+    protected T decodePreviousVersion(@NonNull DataInput in, int version) throws IOException {
+        throw new IOException("Unsupported format version: " + version);
+    }
+}
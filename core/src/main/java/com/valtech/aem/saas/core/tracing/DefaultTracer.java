@@ -0,0 +1,133 @@
+package com.valtech.aem.saas.core.tracing;
+
+import com.valtech.aem.saas.api.tracing.SpanExporter;
+import com.valtech.aem.saas.api.tracing.dto.SpanDTO;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples the traces by ratio: a trace is recorded if a random number is below the sampling ratio, or, if configured,
+ * if the incoming traceparent header flags it as sampled. Since any client can send that header, parent based sampling
+ * is off by default and should only be enabled if the header is set or filtered by a trusted proxy. Unsampled traces
+ * are not propagated and cost a single random number. The spans of the sampled traces are handed over to all the
+ * registered exporters.
+ */
+@Slf4j
+@Component(service = Tracer.class)
+@ServiceDescription("Search as a Service - Tracer")
+@Designate(ocd = DefaultTracer.Configuration.class)
+public class DefaultTracer implements Tracer {
+
+    private final List<SpanExporter> spanExporters = new CopyOnWriteArrayList<>();
+
+    private volatile Configuration configuration;
+
+    @Reference(service = SpanExporter.class,
+               cardinality = ReferenceCardinality.MULTIPLE,
+               policy = ReferencePolicy.DYNAMIC,
+               policyOption = ReferencePolicyOption.GREEDY)
+    protected void bindSpanExporter(SpanExporter spanExporter) {
+        spanExporters.add(spanExporter);
+    }
+
+    protected void unbindSpanExporter(SpanExporter spanExporter) {
+        spanExporters.remove(spanExporter);
+    }
+
+    @Override
+    public Span startSpan(@NonNull String name, String traceparent) {
+        Configuration currentConfiguration = configuration;
+        if (!currentConfiguration.tracer_enabled() || spanExporters.isEmpty()) {
+            return Span.NOOP;
+        }
+        Span current = Span.current();
+        if (current.isRecording()) {
+            return current.startChild(name);
+        }
+        Span.TraceParent parent = Span.TraceParent.parse(traceparent);
+        if (!isSampled(parent, currentConfiguration)) {
+            return Span.NOOP;
+        }
+        return parent != null
+                ? Span.start(this::export, parent.getTraceId(), parent.getParentSpanId(), name)
+                : Span.start(this::export, Span.newTraceId(), null, name);
+    }
+
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    private static boolean isSampled(Span.TraceParent parent, Configuration configuration) {
+        if (parent != null && configuration.tracer_parentBased()) {
+            return parent.isSampled();
+        }
+        double ratio = configuration.tracer_samplingRatio();
+        return ratio >= 1d || (ratio > 0d && ThreadLocalRandom.current().nextDouble() < ratio);
+    }
+
+    private void export(Span span) {
+        SpanDTO spanDto = SpanDTO.builder()
+                                 .traceId(span.getTraceId())
+                                 .spanId(span.getSpanId())
+                                 .parentSpanId(span.getParentSpanId())
+                                 .name(span.getName())
+                                 .startTimeMillis(span.getStartTimeMillis())
+                                 .durationMicros(span.getDurationMicros())
+                                 .attributes(span.getAttributes())
+                                 .error(span.getError())
+                                 .build();
+        for (SpanExporter spanExporter : spanExporters) {
+            try {
+                spanExporter.export(spanDto);
+            } catch (RuntimeException e) {
+                log.debug("Span exporter {} failed.", spanExporter, e);
+            }
+        }
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - Tracer Configuration",
+                           description = "Tracing of the search requests, from the search component to the SaaS "
+                                   + "calls.")
+    public @interface Configuration {
+
+        boolean DEFAULT_ENABLED = false;
+        double DEFAULT_SAMPLING_RATIO = 0.01d;
+        boolean DEFAULT_PARENT_BASED = false;
+
+        @AttributeDefinition(name = "Enabled",
+                             description = "Trace the search requests. Spans are only recorded if at least one span "
+                                     + "exporter is registered.",
+                             type = AttributeType.BOOLEAN)
+        boolean tracer_enabled() default DEFAULT_ENABLED; // NOSONAR
+
+        @AttributeDefinition(name = "Sampling ratio",
+                             description = "Share of the traces that are recorded, between 0 and 1.",
+                             type = AttributeType.DOUBLE)
+        double tracer_samplingRatio() default DEFAULT_SAMPLING_RATIO; // NOSONAR
+
+        @AttributeDefinition(name = "Parent based sampling",
+                             description = "Follow the sampling decision of the incoming traceparent header instead of "
+                                     + "the sampling ratio. Any client can send that header, so only enable it if a "
+                                     + "trusted proxy sets or filters it.",
+                             type = AttributeType.BOOLEAN)
+        boolean tracer_parentBased() default DEFAULT_PARENT_BASED; // NOSONAR
+    }
+}
@@ -0,0 +1,118 @@
+package com.valtech.aem.saas.core.tracing;
+
+import com.valtech.aem.saas.api.tracing.SpanExporter;
+import com.valtech.aem.saas.api.tracing.dto.SpanDTO;
+import com.valtech.aem.saas.core.serialization.Serializers;
+import com.valtech.aem.saas.core.util.ThreadPools;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Appends the spans to a file, one json object per line, for local testing. The spans are written by a single
+ * background thread; spans arriving while its queue is full are dropped, so that request threads never wait for the
+ * file. Only active if configured.
+ */
+@Slf4j
+@Component(service = SpanExporter.class,
+           configurationPolicy = ConfigurationPolicy.REQUIRE)
+@ServiceDescription("Search as a Service - File Span Exporter")
+@Designate(ocd = FileSpanExporter.Configuration.class)
+public class FileSpanExporter implements SpanExporter {
+
+    static final String PROPERTY_SLING_HOME = "sling.home";
+
+    private static final String THREAD_NAME_FORMAT = "saas-span-exporter-%d";
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000L;
+
+    private ThreadPoolExecutor executor;
+
+    private Writer writer;
+
+    @Override
+    public void export(@NonNull SpanDTO span) {
+        try {
+            executor.execute(() -> write(span));
+        } catch (RejectedExecutionException e) {
+            log.debug("Span exporter queue is full, span {} dropped.", span.getSpanId());
+        }
+    }
+
+    @Activate
+    private void activate(Configuration configuration, BundleContext bundleContext) throws IOException {
+        Path path = resolvePath(configuration.fileSpanExporter_path(), bundleContext.getProperty(PROPERTY_SLING_HOME));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        writer = Files.newBufferedWriter(path,
+                                         StandardCharsets.UTF_8,
+                                         StandardOpenOption.CREATE,
+                                         StandardOpenOption.APPEND);
+        executor = ThreadPools.newBoundedThreadPool(THREAD_NAME_FORMAT, 1, configuration.fileSpanExporter_queueSize());
+        log.info("Exporting spans to {}.", path);
+    }
+
+    @Deactivate
+    private void deactivate() {
+        if (executor != null) {
+            ThreadPools.shutdown(executor, SHUTDOWN_TIMEOUT_MILLIS);
+        }
+        IOUtils.closeQuietly(writer, e -> log.error("Could not close span file.", e));
+    }
+
+    static Path resolvePath(String path, String slingHome) {
+        Path resolved = Paths.get(path);
+        return resolved.isAbsolute() || StringUtils.isBlank(slingHome)
+                ? resolved
+                : Paths.get(slingHome).resolve(resolved);
+    }
+
+    private void write(SpanDTO span) {
+        try {
+            writer.write(Serializers.gson().toJson(span));
+            writer.write(System.lineSeparator());
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Failed to write span {}.", span.getSpanId(), e);
+        }
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - File Span Exporter Configuration",
+                           description = "Appends the spans to a file, for local testing.")
+    public @interface Configuration {
+
+        String DEFAULT_PATH = "logs/saas-traces.log";
+        int DEFAULT_QUEUE_SIZE = 1000;
+
+        @AttributeDefinition(name = "Path",
+                             description = "Path of the file. Relative paths are resolved against the sling home "
+                                     + "directory.")
+        String fileSpanExporter_path() default DEFAULT_PATH; // NOSONAR
+
+        @AttributeDefinition(name = "Queue size",
+                             description = "Maximum number of spans waiting to be written. Spans above it are dropped.",
+                             type = AttributeType.INTEGER)
+        int fileSpanExporter_queueSize() default DEFAULT_QUEUE_SIZE; // NOSONAR
+    }
+}
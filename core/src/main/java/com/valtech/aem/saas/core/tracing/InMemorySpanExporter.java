@@ -0,0 +1,89 @@
+package com.valtech.aem.saas.core.tracing;
+
+import com.valtech.aem.saas.api.tracing.SpanExporter;
+import com.valtech.aem.saas.api.tracing.dto.SpanDTO;
+import lombok.NonNull;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the most recent spans in memory, for local testing. Only active if configured.
+ */
+@Component(service = {SpanExporter.class, InMemorySpanExporter.class},
+           configurationPolicy = ConfigurationPolicy.REQUIRE)
+@ServiceDescription("Search as a Service - In Memory Span Exporter")
+@Designate(ocd = InMemorySpanExporter.Configuration.class)
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final Deque<SpanDTO> spans = new ArrayDeque<>();
+
+    private int maxSize;
+
+    @Override
+    public synchronized void export(@NonNull SpanDTO span) {
+        while (spans.size() >= maxSize) {
+            spans.removeFirst();
+        }
+        spans.addLast(span);
+    }
+
+    /**
+     * Gets the kept spans.
+     *
+     * @return the spans, in the order they ended.
+     */
+    public synchronized List<SpanDTO> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * Gets the kept spans of a trace.
+     *
+     * @param traceId id of the trace.
+     * @return the spans of the trace, in the order they ended.
+     */
+    public synchronized List<SpanDTO> getSpans(@NonNull String traceId) {
+        return spans.stream().filter(span -> traceId.equals(span.getTraceId())).collect(Collectors.toList());
+    }
+
+    /**
+     * Discards the kept spans.
+     */
+    public synchronized void clear() {
+        spans.clear();
+    }
+
+    @Activate
+    @Modified
+    private synchronized void activate(Configuration configuration) {
+        maxSize = Math.max(1, configuration.inMemorySpanExporter_maxSize());
+        while (spans.size() > maxSize) {
+            spans.removeFirst();
+        }
+    }
+
+    @ObjectClassDefinition(name = "Search as a Service - In Memory Span Exporter Configuration",
+                           description = "Keeps the most recent spans in memory, for local testing.")
+    public @interface Configuration {
+
+        int DEFAULT_MAX_SIZE = 1000;
+
+        @AttributeDefinition(name = "Max size",
+                             description = "Maximum number of spans kept. The oldest spans are discarded first.",
+                             type = AttributeType.INTEGER)
+        int inMemorySpanExporter_maxSize() default DEFAULT_MAX_SIZE; // NOSONAR
+    }
+}
@@ -0,0 +1,329 @@
+package com.valtech.aem.saas.core.tracing;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Timed operation of a trace. A started span becomes the current span of its thread until it is closed, so that the
+ * spans started meanwhile become its children; hence spans are meant to be used in try-with-resources blocks.
+ * <p>
+ * Only the root span of a trace is started by the {@link Tracer}, which decides whether the trace is sampled. Nested
+ * operations start their span with {@link #start(String)}, which returns the no-op span {@link #NOOP} unless a sampled
+ * trace is in progress on the current thread, so that instrumented code costs next to nothing when tracing is off.
+ */
+public final class Span implements AutoCloseable {
+
+    /**
+     * Name of the W3C trace context header.
+     */
+    public static final String HEADER_TRACEPARENT = "traceparent";
+
+    /**
+     * Span that records nothing.
+     */
+    public static final Span NOOP = new Span();
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private static final String TRACEPARENT_VERSION = "00";
+    private static final String TRACEPARENT_SAMPLED = "01";
+    private static final char TRACEPARENT_SEPARATOR = '-';
+    private static final int TRACE_ID_LENGTH = 32;
+    private static final int SPAN_ID_LENGTH = 16;
+    private static final int HEX_RADIX = 16;
+
+    private final Consumer<Span> recorder;
+
+    @Getter
+    private final String traceId;
+
+    @Getter
+    private final String spanId;
+
+    @Getter
+    private final String parentSpanId;
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final long startTimeMillis;
+
+    private final long startNanos;
+
+    private final Span previous;
+
+    private Map<String, String> attributes;
+
+    @Getter
+    private String error;
+
+    @Getter
+    private long durationNanos = -1L;
+
+    private Span() {
+        recorder = null;
+        traceId = null;
+        spanId = null;
+        parentSpanId = null;
+        name = null;
+        startTimeMillis = 0L;
+        startNanos = 0L;
+        previous = null;
+    }
+
+    private Span(Consumer<Span> recorder, String traceId, String parentSpanId, String name) {
+        this.recorder = recorder;
+        this.traceId = traceId;
+        this.spanId = newSpanId();
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.startTimeMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.previous = CURRENT.get();
+        CURRENT.set(this);
+    }
+
+    /**
+     * Starts a span of a trace and makes it the current span.
+     *
+     * @param recorder     receives the span once it is closed.
+     * @param traceId      id of the trace.
+     * @param parentSpanId id of the parent span, or null for a root span.
+     * @param name         name of the span.
+     * @return the started span.
+     */
+    static Span start(@NonNull Consumer<Span> recorder,
+                      @NonNull String traceId,
+                      String parentSpanId,
+                      @NonNull String name) {
+        return new Span(recorder, traceId, parentSpanId, name);
+    }
+
+    /**
+     * Gets the current span of the thread.
+     *
+     * @return the current span, or {@link #NOOP} if no sampled trace is in progress.
+     */
+    public static Span current() {
+        Span span = CURRENT.get();
+        return span != null ? span : NOOP;
+    }
+
+    /**
+     * Starts a child span of the current span.
+     *
+     * @param name name of the span.
+     * @return the started span, or {@link #NOOP} if no sampled trace is in progress.
+     */
+    public static Span start(@NonNull String name) {
+        return current().startChild(name);
+    }
+
+    /**
+     * Wraps the supplier, so that it runs with the current span of the calling thread as its current span. Used to
+     * hand work over to thread pools without breaking the trace.
+     *
+     * @param supplier the supplier.
+     * @param <T>      type of the supplied value.
+     * @return the wrapped supplier, or the supplier itself if no sampled trace is in progress.
+     */
+    public static <T> Supplier<T> wrap(@NonNull Supplier<T> supplier) {
+        Span captured = CURRENT.get();
+        if (captured == null) {
+            return supplier;
+        }
+        return () -> {
+            Span previousSpan = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                return supplier.get();
+            } finally {
+                restore(previousSpan);
+            }
+        };
+    }
+
+    /**
+     * Starts a child span and makes it the current span.
+     *
+     * @param childName name of the child span.
+     * @return the started span, or {@link #NOOP} if this span does not record.
+     */
+    public Span startChild(@NonNull String childName) {
+        return isRecording() ? new Span(recorder, traceId, spanId, childName) : NOOP;
+    }
+
+    /**
+     * Tells whether the span belongs to a sampled trace.
+     *
+     * @return false for the {@link #NOOP} span.
+     */
+    public boolean isRecording() {
+        return recorder != null;
+    }
+
+    /**
+     * Sets an attribute of the span. Null values are ignored.
+     *
+     * @param key   attribute name.
+     * @param value attribute value.
+     * @return this span.
+     */
+    public Span setAttribute(@NonNull String key, Object value) {
+        if (isRecording() && value != null) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    /**
+     * Marks the span as failed.
+     *
+     * @param throwable cause of the failure.
+     * @return this span.
+     */
+    public Span setError(@NonNull Throwable throwable) {
+        if (isRecording()) {
+            error = throwable.getMessage() != null
+                    ? throwable.getClass().getName() + ": " + throwable.getMessage()
+                    : throwable.getClass().getName();
+        }
+        return this;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes != null ? Collections.unmodifiableMap(attributes) : Collections.emptyMap();
+    }
+
+    /**
+     * Gets the value of the W3C traceparent header propagating this span to the called service.
+     *
+     * @return the header value, or null if the span does not record.
+     */
+    public String getTraceparent() {
+        if (!isRecording()) {
+            return null;
+        }
+        return TRACEPARENT_VERSION + TRACEPARENT_SEPARATOR + traceId + TRACEPARENT_SEPARATOR + spanId
+                + TRACEPARENT_SEPARATOR + TRACEPARENT_SAMPLED;
+    }
+
+    /**
+     * Ends the span, restores the previous current span and hands the span over to the recorder. Closing a span more
+     * than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (!isRecording() || durationNanos >= 0L) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        if (CURRENT.get() == this) {
+            restore(previous);
+        }
+        recorder.accept(this);
+    }
+
+    long getDurationMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(Math.max(0L, durationNanos));
+    }
+
+    static String newTraceId() {
+        return newId(TRACE_ID_LENGTH);
+    }
+
+    static String newSpanId() {
+        return newId(SPAN_ID_LENGTH);
+    }
+
+    private static String newId(int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder id = new StringBuilder(length);
+        while (id.length() < length) {
+            String part = Long.toHexString(random.nextLong() | Long.MIN_VALUE);
+            id.append(part, 0, Math.min(part.length(), length - id.length()));
+        }
+        return id.toString();
+    }
+
+    private static void restore(Span span) {
+        if (span != null) {
+            CURRENT.set(span);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Parsed W3C traceparent header.
+     */
+    @Getter
+    static final class TraceParent {
+
+        private final String traceId;
+        private final String parentSpanId;
+        private final boolean sampled;
+
+        private TraceParent(String traceId, String parentSpanId, boolean sampled) {
+            this.traceId = traceId;
+            this.parentSpanId = parentSpanId;
+            this.sampled = sampled;
+        }
+
+        /**
+         * Parses the header value.
+         *
+         * @param value the header value.
+         * @return the trace parent, or null if the value is missing or invalid.
+         */
+        static TraceParent parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            String[] parts = value.trim().split(String.valueOf(TRACEPARENT_SEPARATOR));
+            if (parts.length < 4
+                    || !isHex(parts[0], 2) || "ff".equals(parts[0])
+                    || !isHex(parts[1], TRACE_ID_LENGTH) || isZero(parts[1])
+                    || !isHex(parts[2], SPAN_ID_LENGTH) || isZero(parts[2])
+                    || !isHex(parts[3], 2)) {
+                return null;
+            }
+            boolean sampled = (Integer.parseInt(parts[3], HEX_RADIX) & 1) == 1;
+            return new TraceParent(parts[1], parts[2], sampled);
+        }
+
+        private static boolean isHex(String value, int length) {
+            if (value.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isZero(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) != '0') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.valtech.aem.saas.core.tracing;
+
+import lombok.NonNull;
+
+/**
+ * Starts the traces of the search requests. The tracer decides whether a trace is sampled and hands the spans of the
+ * sampled traces over to the registered {@link com.valtech.aem.saas.api.tracing.SpanExporter}s.
+ */
+public interface Tracer {
+
+    /**
+     * Starts a span and makes it the current span. If a sampled trace is already in progress on the current thread, the
+     * span becomes a child of the current span. Otherwise a trace is started, continuing the trace of the traceparent
+     * header if one is passed.
+     *
+     * @param name        name of the span.
+     * @param traceparent value of the incoming W3C traceparent header, or null.
+     * @return the started span, or {@link Span#NOOP} if tracing is disabled or the trace is not sampled.
+     */
+    Span startSpan(@NonNull String name, String traceparent);
+}
@@ -3,6 +3,7 @@ package com.valtech.aem.saas.core.tracking;
 import com.valtech.aem.saas.api.tracking.TrackingService;
 import com.valtech.aem.saas.api.tracking.dto.SearchResultItemTrackingDTO;
 import com.valtech.aem.saas.core.http.client.SearchAdminRequestExecutorService;
+import com.valtech.aem.saas.core.http.client.SearchTrafficType;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.request.SearchRequestPost;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
@@ -54,7 +55,8 @@ public class DefaultTrackingService implements TrackingService {
                                                        .uri(createTrackingApiUrl())
                                                        .httpEntity(payload)
                                                        .build();
-        Optional<SearchResponse> searchResponse = searchAdminRequestExecutorService.execute(searchRequest);
+        Optional<SearchResponse> searchResponse = searchAdminRequestExecutorService.execute(searchRequest,
+                                                                                            SearchTrafficType.TRACKING);
 
         return searchResponse.filter(SearchResponse::isSuccess)
                              .flatMap(response -> response.get(new SearchResultItemTrackingExtractionStrategy()));
@@ -1,10 +1,13 @@
 package com.valtech.aem.saas.core.tracking;
 
+import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.fulltextsearch.SearchModel;
 import com.valtech.aem.saas.api.tracking.TrackingService;
 import com.valtech.aem.saas.api.tracking.dto.SearchResultItemTrackingDTO;
 import com.valtech.aem.saas.core.common.request.RequestWrapper;
 import com.valtech.aem.saas.core.fulltextsearch.SearchModelImpl;
+import com.valtech.aem.saas.core.health.IndexHealth;
+import com.valtech.aem.saas.core.health.IndexHealthService;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -15,6 +18,9 @@ import org.apache.sling.api.servlets.SlingAllMethodsServlet;
 import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 
 import javax.servlet.Servlet;
 import javax.servlet.ServletException;
@@ -39,6 +45,11 @@ public class SearchResultItemTrackingServlet extends SlingAllMethodsServlet {
     @Reference
     private transient TrackingService trackingService;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+               policy = ReferencePolicy.DYNAMIC,
+               policyOption = ReferencePolicyOption.GREEDY)
+    private transient volatile IndexHealthService indexHealthService;
+
     @Override
     protected void doPost(@NonNull SlingHttpServletRequest request,
                           @NonNull SlingHttpServletResponse response) throws ServletException, IOException {
@@ -64,6 +75,12 @@ public class SearchResultItemTrackingServlet extends SlingAllMethodsServlet {
             return;
         }
 
+        if (!isIndexAvailable(request)) {
+            log.warn("Search index is unavailable. Url is not tracked: {}", url.get());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
         Optional<SearchResultItemTrackingDTO> urlTrackingDTO = trackingService.trackUrl(url.get());
         if (!urlTrackingDTO.isPresent()) {
             log.error("Failed to update tracking entry for url: {}", url.get());
@@ -75,6 +92,24 @@ public class SearchResultItemTrackingServlet extends SlingAllMethodsServlet {
         response.setStatus(HttpServletResponse.SC_CREATED);
     }
 
+    private boolean isIndexAvailable(@NonNull SlingHttpServletRequest request) {
+        IndexHealthService healthService = indexHealthService;
+        if (healthService == null) {
+            return true;
+        }
+        SearchCAConfigurationModel searchConfiguration =
+                request.getResource().adaptTo(SearchCAConfigurationModel.class);
+        try {
+            // the cached state only, since the trial requests of a half-open circuit are left to the searches
+            return searchConfiguration == null || healthService.getHealth(searchConfiguration.getIndex())
+                                                               .map(IndexHealth::isAvailable)
+                                                               .orElse(true);
+        } catch (IllegalStateException e) {
+            log.debug("Search index is not configured.", e);
+            return true;
+        }
+    }
+
     private Optional<SearchModel> getSearch(@NonNull SlingHttpServletRequest request) {
         return Optional.ofNullable(request.adaptTo(SearchModel.class));
     }
@@ -0,0 +1,67 @@
+package com.valtech.aem.saas.core.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory and lifecycle helpers for the bounded thread pools used by the module's services.
+ */
+@Slf4j
+public final class ThreadPools {
+
+    private ThreadPools() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a fixed size thread pool backed by a bounded queue. Tasks submitted while both the threads and the queue
+     * are busy are rejected with {@link java.util.concurrent.RejectedExecutionException}.
+     *
+     * @param threadNameFormat format of the thread names, containing a single {@code %d} placeholder.
+     * @param threadPoolSize   number of threads.
+     * @param queueSize        maximum number of tasks waiting for a free thread.
+     * @return the thread pool.
+     */
+    public static ThreadPoolExecutor newBoundedThreadPool(String threadNameFormat, int threadPoolSize, int queueSize) {
+        return new ThreadPoolExecutor(Math.max(1, threadPoolSize),
+                                      Math.max(1, threadPoolSize),
+                                      0L,
+                                      TimeUnit.MILLISECONDS,
+                                      new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                                      createDaemonThreadFactory(threadNameFormat));
+    }
+
+    /**
+     * Shuts the executor down, giving the running tasks the specified time to complete before they are interrupted.
+     *
+     * @param executor      the executor.
+     * @param timeoutMillis time given to the running tasks to complete.
+     */
+    public static void shutdown(ExecutorService executor, long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Pending tasks did not complete in time and will be interrupted.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory createDaemonThreadFactory(String threadNameFormat) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, String.format(threadNameFormat, counter.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
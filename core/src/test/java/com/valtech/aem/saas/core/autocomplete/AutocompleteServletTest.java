@@ -7,6 +7,8 @@ import com.valtech.aem.saas.api.caconfig.SearchConfiguration;
 import com.valtech.aem.saas.api.fulltextsearch.SearchTabModel;
 import com.valtech.aem.saas.api.resource.PathTransformer;
 import com.valtech.aem.saas.core.i18n.I18nProvider;
+import com.valtech.aem.saas.core.serialization.DefaultSerializerRegistry;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextBuilder;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
@@ -52,6 +54,7 @@ class AutocompleteServletTest {
 
     @BeforeEach
     void setUp() {
+        context.registerService(SerializerRegistry.class, new DefaultSerializerRegistry());
         context.registerService(AutocompleteService.class, autocompleteService);
         context.registerService(I18nProvider.class, i18nProvider);
         context.registerService(PathTransformer.class, pathTransformer);
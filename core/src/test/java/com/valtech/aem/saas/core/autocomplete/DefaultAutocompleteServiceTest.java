@@ -6,8 +6,10 @@ import com.valtech.aem.saas.api.autocomplete.AutocompleteService;
 import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.caconfig.SearchConfiguration;
 import com.valtech.aem.saas.api.query.SimpleFilter;
+import com.valtech.aem.saas.core.health.IndexHealthService;
 import com.valtech.aem.saas.core.http.client.DefaultSearchServiceConnectionConfigurationService;
 import com.valtech.aem.saas.core.http.client.SearchApiRequestExecutorService;
+import com.valtech.aem.saas.core.http.client.SearchTrafficType;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
 import com.valtech.aem.saas.core.i18n.I18nProvider;
@@ -16,6 +18,7 @@ import io.wcm.testing.mock.aem.junit5.AemContextBuilder;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
 import org.apache.http.osgi.services.HttpClientBuilderFactory;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.commons.metrics.MetricsService;
 import org.apache.sling.testing.mock.caconfig.ContextPlugins;
 import org.apache.sling.testing.mock.caconfig.MockContextAwareConfig;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +32,7 @@ import java.io.InputStreamReader;
 import java.util.*;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -72,6 +76,7 @@ class DefaultAutocompleteServiceTest {
         context.registerService(HttpClientBuilderFactory.class, httpClientBuilderFactory);
         context.registerInjectActivateService(new DefaultSearchServiceConnectionConfigurationService());
         context.registerService(SearchApiRequestExecutorService.class, searchApiRequestExecutorService);
+        context.registerService(MetricsService.class, MetricsService.NOOP);
         service = context.registerInjectActivateService(new DefaultAutocompleteService());
         currentResource = context.currentResource();
     }
@@ -95,7 +100,7 @@ class DefaultAutocompleteServiceTest {
         MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
                                                   "index", "bar", "autocompleteOptionsMax", 5);
         searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
-        when(searchApiRequestExecutorService.execute(Mockito.any(SearchRequest.class))).thenReturn(
+        when(searchApiRequestExecutorService.execute(Mockito.any(SearchRequest.class), Mockito.eq(SearchTrafficType.AUTOCOMPLETE))).thenReturn(
                 Optional.of(new SearchResponse(new JsonParser().parse(new InputStreamReader(getClass().getResourceAsStream(
                         "/__files/search/typeahead/success.json"))).getAsJsonObject(), true)));
         List<String> results = service.getResults(searchCAConfigurationModel,
@@ -111,7 +116,7 @@ class DefaultAutocompleteServiceTest {
         MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
                                                   "index", "bar");
         searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
-        when(searchApiRequestExecutorService.execute(Mockito.any(SearchRequest.class))).thenReturn(
+        when(searchApiRequestExecutorService.execute(Mockito.any(SearchRequest.class), Mockito.eq(SearchTrafficType.AUTOCOMPLETE))).thenReturn(
                 Optional.of(new SearchResponse(new JsonParser().parse(
                                 new InputStreamReader(getClass().getResourceAsStream("/__files/search/typeahead/empty.json")))
                         .getAsJsonObject(), true)));
@@ -120,4 +125,38 @@ class DefaultAutocompleteServiceTest {
                    is(empty()));
     }
 
+    @Test
+    void testGetResults_cached() {
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar", "autocompleteOptionsMax", 2);
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        when(searchApiRequestExecutorService.execute(Mockito.any(SearchRequest.class), Mockito.eq(SearchTrafficType.AUTOCOMPLETE))).thenAnswer(
+                invocation -> Optional.of(new SearchResponse(new JsonParser().parse(new InputStreamReader(
+                        getClass().getResourceAsStream("/__files/search/typeahead/success.json"))).getAsJsonObject(),
+                                                             true)));
+        assertThat(service.getResults(searchCAConfigurationModel, "wk", "en", null), contains("wknd", "wknd is"));
+        assertThat(service.getResults(searchCAConfigurationModel, "wk", "en", null), contains("wknd", "wknd is"));
+        assertThat(service.getResults(searchCAConfigurationModel, "wkndc", "en", null),
+                   contains("wkndcil", "wkndcil and"));
+        Mockito.verify(searchApiRequestExecutorService, Mockito.times(1)).execute(Mockito.any(SearchRequest.class), Mockito.eq(SearchTrafficType.AUTOCOMPLETE));
+    }
+
+    @Test
+    void testGetResults_indexUnavailable_cachedOptionsServed() {
+        IndexHealthService indexHealthService = Mockito.mock(IndexHealthService.class);
+        when(indexHealthService.isAvailable("bar")).thenReturn(true, false);
+        context.registerService(IndexHealthService.class, indexHealthService);
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar", "autocompleteOptionsMax", 2);
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        when(searchApiRequestExecutorService.execute(Mockito.any(SearchRequest.class), Mockito.eq(SearchTrafficType.AUTOCOMPLETE))).thenReturn(
+                Optional.of(new SearchResponse(new JsonParser().parse(new InputStreamReader(
+                        getClass().getResourceAsStream("/__files/search/typeahead/success.json"))).getAsJsonObject(),
+                                               true)));
+        assertThat(service.getResults(searchCAConfigurationModel, "wk", "en", null), contains("wknd", "wknd is"));
+        assertThat(service.getResults(searchCAConfigurationModel, "wk", "en", null), contains("wknd", "wknd is"));
+        assertThat(service.getResults(searchCAConfigurationModel, "foo", "en", null), is(empty()));
+        Mockito.verify(searchApiRequestExecutorService, Mockito.times(1)).execute(Mockito.any(SearchRequest.class), Mockito.eq(SearchTrafficType.AUTOCOMPLETE));
+        Mockito.verify(indexHealthService).recordResult("bar", true);
+    }
 }
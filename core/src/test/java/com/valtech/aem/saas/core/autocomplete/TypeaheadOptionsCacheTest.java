@@ -0,0 +1,106 @@
+package com.valtech.aem.saas.core.autocomplete;
+
+import com.valtech.aem.saas.api.cache.SearchResultCacheStore;
+import com.valtech.aem.saas.api.query.SimpleFilter;
+import com.valtech.aem.saas.core.cache.CacheMetrics;
+import com.valtech.aem.saas.core.cache.CacheStoreTier;
+import lombok.NonNull;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+class TypeaheadOptionsCacheTest {
+
+    private static final String API_URL = "http://foo/api/v3/bar/typeahead";
+    private static final List<String> OPTIONS = Arrays.asList("wknd", "wknd is", "wknd is now", "wkndcil");
+
+    @Test
+    void testGet_exactPrefix() {
+        TypeaheadOptionsCache testee = createCache(2);
+        testee.put(key("wk"), OPTIONS);
+        assertThat(testee.get(key("wk")).get(), is(OPTIONS));
+    }
+
+    @Test
+    void testGet_extendedPrefix() {
+        TypeaheadOptionsCache testee = createCache(10);
+        testee.put(key("wk"), OPTIONS);
+        assertThat(testee.get(key("wknd i")).get(), contains("wknd is", "wknd is now"));
+        assertThat(testee.get(key("wkndx")).get(), is(empty()));
+        assertThat(testee.get(key("w")).isPresent(), is(false));
+    }
+
+    @Test
+    void testGet_truncatedOptionsNotReused() {
+        TypeaheadOptionsCache testee = createCache(OPTIONS.size());
+        testee.put(key("wk"), OPTIONS);
+        assertThat(testee.get(key("wknd i")).isPresent(), is(false));
+    }
+
+    @Test
+    void testGet_nonPrefixMatchingOptionsNotReused() {
+        TypeaheadOptionsCache testee = createCache(10);
+        testee.put(key("WK"), OPTIONS);
+        assertThat(testee.get(key("WKND")).isPresent(), is(false));
+    }
+
+    @Test
+    void testGet_scopedByLanguageAndFilters() {
+        TypeaheadOptionsCache testee = createCache(10);
+        testee.put(key("wk"), OPTIONS);
+        assertThat(testee.get(TypeaheadCacheKey.of(API_URL, "de", Collections.emptySet(), "wk")).isPresent(),
+                   is(false));
+        assertThat(testee.get(TypeaheadCacheKey.of(API_URL,
+                                                   "en",
+                                                   Collections.singleton(new SimpleFilter("foo", "bar")),
+                                                   "wk")).isPresent(), is(false));
+    }
+
+    @Test
+    void testGet_storeTier() {
+        Map<String, byte[]> store = new HashMap<>();
+        SearchResultCacheStore cacheStore = new SearchResultCacheStore() {
+            @Override
+            public Optional<byte[]> get(@NonNull String cacheName, @NonNull String key) {
+                return Optional.ofNullable(store.get(key));
+            }
+
+            @Override
+            public void put(@NonNull String cacheName, @NonNull String key, @NonNull byte[] value, long ttl) {
+                store.put(key, value);
+            }
+        };
+        TypeaheadOptionsCache first = createStoreBackedCache(cacheStore);
+        TypeaheadOptionsCache second = createStoreBackedCache(cacheStore);
+        first.put(key("wk"), OPTIONS);
+        assertThat(second.get(key("wk")).get(), is(OPTIONS));
+        assertThat(second.get(key("wknd i")).get(), contains("wknd is", "wknd is now"));
+        assertThat(second.get(key("w")).isPresent(), is(false));
+    }
+
+    private TypeaheadOptionsCache createStoreBackedCache(SearchResultCacheStore cacheStore) {
+        return new TypeaheadOptionsCache(100, 60000, 10,
+                                         new CacheMetrics(MetricsService.NOOP, "test"),
+                                         new CacheStoreTier<>("test", new TypeaheadOptionsCodec(), () -> cacheStore));
+    }
+
+    private TypeaheadOptionsCache createCache(int upstreamResultsLimit) {
+        return new TypeaheadOptionsCache(100, 60000, upstreamResultsLimit,
+                                         new CacheMetrics(MetricsService.NOOP, "test"), null);
+    }
+
+    private TypeaheadCacheKey key(String prefix) {
+        return TypeaheadCacheKey.of(API_URL, "en", Collections.emptySet(), prefix);
+    }
+}
@@ -15,6 +15,8 @@ import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.response.BestBetIdDataExtractionStrategy;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
 import com.valtech.aem.saas.core.i18n.I18nProvider;
+import com.valtech.aem.saas.core.serialization.DefaultSerializerRegistry;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextBuilder;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
@@ -77,6 +79,7 @@ class DefaultBestBetsServiceTest {
         context.currentPage("/content/saas-aem-module/us/en");
         context.currentResource("/content/saas-aem-module/us/en/jcr:content");
         MockContextAwareConfig.registerAnnotationClasses(context, SearchConfiguration.class);
+        context.registerService(SerializerRegistry.class, new DefaultSerializerRegistry());
         context.registerService(I18nProvider.class, i18nProvider);
         context.registerService(HttpClientBuilderFactory.class, httpClientBuilderFactory);
         context.registerInjectActivateService(new DefaultSearchServiceConnectionConfigurationService());
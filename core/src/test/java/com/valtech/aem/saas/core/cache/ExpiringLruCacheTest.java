@@ -0,0 +1,93 @@
+package com.valtech.aem.saas.core.cache;
+
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiringLruCacheTest {
+
+    @Mock
+    MetricsService metricsService;
+
+    Counter hits;
+    Counter misses;
+    Counter evictions;
+
+    AtomicLong now = new AtomicLong();
+
+    ExpiringLruCache<String, String> testee;
+
+    @BeforeEach
+    void setUp() {
+        hits = mock(Counter.class);
+        misses = mock(Counter.class);
+        evictions = mock(Counter.class);
+        when(metricsService.counter("saas.cache.test.hit")).thenReturn(hits);
+        when(metricsService.counter("saas.cache.test.miss")).thenReturn(misses);
+        when(metricsService.counter("saas.cache.test.eviction")).thenReturn(evictions);
+        testee = new ExpiringLruCache<>(2, 100, new CacheMetrics(metricsService, "test"), now::get);
+    }
+
+    @Test
+    void testGet() {
+        assertThat(testee.get("foo").isPresent(), is(false));
+        testee.put("foo", "bar");
+        assertThat(testee.get("foo").get(), is("bar"));
+        verify(hits).increment();
+        verify(misses).increment();
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        testee.put("a", "1");
+        testee.put("b", "2");
+        testee.get("a");
+        testee.put("c", "3");
+        assertThat(testee.size(), is(2));
+        assertThat(testee.get("a").isPresent(), is(true));
+        assertThat(testee.get("b").isPresent(), is(false));
+        assertThat(testee.get("c").isPresent(), is(true));
+        verify(evictions).increment();
+    }
+
+    @Test
+    void testExpiration() {
+        testee.put("foo", "bar");
+        now.set(99);
+        assertThat(testee.get("foo").isPresent(), is(true));
+        now.set(100);
+        assertThat(testee.get("foo").isPresent(), is(false));
+        assertThat(testee.size(), is(0));
+        verify(evictions).increment();
+        verify(misses, times(1)).increment();
+    }
+
+    @Test
+    void testInvalidateAll() {
+        testee.put("foo", "bar");
+        testee.invalidateAll();
+        assertThat(testee.size(), is(0));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        CacheMetrics metrics = new CacheMetrics(MetricsService.NOOP, "test");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ExpiringLruCache<>(0, 100, metrics));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ExpiringLruCache<>(10, 0, metrics));
+    }
+}
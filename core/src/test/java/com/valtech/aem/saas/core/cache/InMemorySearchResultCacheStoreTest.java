@@ -0,0 +1,54 @@
+package com.valtech.aem.saas.core.cache;
+
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@ExtendWith(AemContextExtension.class)
+class InMemorySearchResultCacheStoreTest {
+
+    InMemorySearchResultCacheStore testee;
+
+    @BeforeEach
+    void setUp(AemContext context) {
+        context.registerService(MetricsService.class, MetricsService.NOOP);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("inMemorySearchResultCacheStore.maxSize", 2);
+        properties.put("inMemorySearchResultCacheStore.maxTimeToLive", 60);
+        testee = context.registerInjectActivateService(new InMemorySearchResultCacheStore(), properties);
+    }
+
+    @Test
+    void testPutAndGet() {
+        testee.put("foo", "key", new byte[]{1}, 1000L);
+        testee.put("bar", "key", new byte[]{2}, 1000L);
+        assertThat(testee.get("foo", "key").get()[0], is((byte) 1));
+        assertThat(testee.get("bar", "key").get()[0], is((byte) 2));
+        assertThat(testee.get("baz", "key").isPresent(), is(false));
+    }
+
+    @Test
+    void testPut_evictsLeastRecentlyUsed() {
+        testee.put("foo", "a", new byte[]{1}, 1000L);
+        testee.put("foo", "b", new byte[]{2}, 1000L);
+        testee.get("foo", "a");
+        testee.put("foo", "c", new byte[]{3}, 1000L);
+        assertThat(testee.get("foo", "a").isPresent(), is(true));
+        assertThat(testee.get("foo", "b").isPresent(), is(false));
+    }
+
+    @Test
+    void testPut_expired() {
+        testee.put("foo", "key", new byte[]{1}, 0L);
+        assertThat(testee.get("foo", "key").isPresent(), is(false));
+    }
+}
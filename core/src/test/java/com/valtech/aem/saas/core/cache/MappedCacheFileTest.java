@@ -0,0 +1,131 @@
+package com.valtech.aem.saas.core.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class MappedCacheFileTest {
+
+    private static final int CAPACITY = 1000;
+    private static final long EXPIRES_AT = 1000L;
+
+    @TempDir
+    Path tempDir;
+
+    AtomicLong now = new AtomicLong();
+
+    @Test
+    void testPutAndGet() throws IOException {
+        try (MappedCacheFile testee = open()) {
+            assertThat(testee.put("foo", bytes("bar"), EXPIRES_AT), is(true));
+            assertThat(testee.put("baz", bytes("qux"), EXPIRES_AT), is(true));
+            assertThat(testee.put("foo", bytes("quux"), EXPIRES_AT), is(true));
+            assertThat(string(testee.get("foo").get()), is("quux"));
+            assertThat(string(testee.get("baz").get()), is("qux"));
+            assertThat(testee.get("missing").isPresent(), is(false));
+            assertThat(testee.size(), is(2));
+        }
+    }
+
+    @Test
+    void testGet_expired() throws IOException {
+        try (MappedCacheFile testee = open()) {
+            testee.put("foo", bytes("bar"), 10L);
+            now.set(9);
+            assertThat(testee.get("foo").isPresent(), is(true));
+            now.set(10);
+            assertThat(testee.get("foo").isPresent(), is(false));
+            assertThat(testee.size(), is(0));
+        }
+    }
+
+    @Test
+    void testPut_tooLarge() throws IOException {
+        try (MappedCacheFile testee = open()) {
+            assertThat(testee.put("foo", new byte[CAPACITY / 4], EXPIRES_AT), is(false));
+            assertThat(testee.get("foo").isPresent(), is(false));
+        }
+    }
+
+    @Test
+    void testPut_wrapsAroundEvictingOldest() throws IOException {
+        try (MappedCacheFile testee = open()) {
+            // records of 24 + 2 + 76 = 102 bytes, 9 fit into the file
+            for (int i = 10; i < 30; i++) {
+                testee.put(String.valueOf(i), new byte[76], EXPIRES_AT);
+            }
+            assertThat(testee.get("10").isPresent(), is(false));
+            assertThat(testee.get("20").isPresent(), is(false));
+            assertThat(testee.get("21").isPresent(), is(true));
+            assertThat(testee.get("29").isPresent(), is(true));
+            assertThat(testee.size(), is(9));
+        }
+    }
+
+    @Test
+    void testOpen_restoresRecords() throws IOException {
+        try (MappedCacheFile testee = open()) {
+            for (int i = 10; i < 30; i++) {
+                testee.put(String.valueOf(i), new byte[76], EXPIRES_AT);
+            }
+            testee.put("foo", bytes("bar"), 10L);
+        }
+        now.set(10);
+        try (MappedCacheFile testee = open()) {
+            assertThat(testee.size(), is(8));
+            assertThat(testee.get("21").isPresent(), is(false));
+            assertThat(testee.get("22").isPresent(), is(true));
+            assertThat(testee.get("29").get().length, is(76));
+            assertThat(testee.get("foo").isPresent(), is(false));
+        }
+    }
+
+    @Test
+    void testOpen_stopsAtCorruptedRecord() throws IOException {
+        try (MappedCacheFile testee = open()) {
+            testee.put("foo", bytes("bar"), EXPIRES_AT);
+            testee.put("baz", bytes("qux"), EXPIRES_AT);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(tempDir.resolve("test.cache").toFile(), "rw")) {
+            // first value byte of the second record
+            file.seek(MappedCacheFile.HEADER_SIZE + MappedCacheFile.RECORD_OVERHEAD + 6 + 20 + 3);
+            file.write('x');
+        }
+        try (MappedCacheFile testee = open()) {
+            assertThat(string(testee.get("foo").get()), is("bar"));
+            assertThat(testee.get("baz").isPresent(), is(false));
+            testee.put("baz", bytes("quux"), EXPIRES_AT);
+            assertThat(string(testee.get("baz").get()), is("quux"));
+        }
+    }
+
+    @Test
+    void testOpen_resetsOnCapacityChange() throws IOException {
+        try (MappedCacheFile testee = open()) {
+            testee.put("foo", bytes("bar"), EXPIRES_AT);
+        }
+        try (MappedCacheFile testee = new MappedCacheFile(tempDir.resolve("test.cache"), CAPACITY * 2, now::get)) {
+            assertThat(testee.get("foo").isPresent(), is(false));
+        }
+    }
+
+    private MappedCacheFile open() throws IOException {
+        return new MappedCacheFile(tempDir.resolve("test.cache"), CAPACITY, now::get);
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,48 @@
+package com.valtech.aem.saas.core.cache;
+
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@ExtendWith(AemContextExtension.class)
+class MappedFileSearchResultCacheStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testResolvePath() {
+        assertThat(MappedFileSearchResultCacheStore.resolvePath("cache/results.cache", "/opt/aem"),
+                   is(Paths.get("/opt/aem/cache/results.cache")));
+        assertThat(MappedFileSearchResultCacheStore.resolvePath("/var/cache/results.cache", "/opt/aem"),
+                   is(Paths.get("/var/cache/results.cache")));
+    }
+
+    @Test
+    void testPutAndGet(AemContext context) {
+        Path file = tempDir.resolve("cache").resolve("results.cache");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("mappedFileSearchResultCacheStore.path", file.toString());
+        properties.put("mappedFileSearchResultCacheStore.size", 1);
+        MappedFileSearchResultCacheStore testee =
+                context.registerInjectActivateService(new MappedFileSearchResultCacheStore(), properties);
+        testee.put("foo", "key", new byte[]{1}, 60000L);
+        testee.put("bar", "key", new byte[]{2}, 60000L);
+        testee.put("baz", "key", new byte[]{3}, 0L);
+        assertThat(testee.get("foo", "key").get()[0], is((byte) 1));
+        assertThat(testee.get("bar", "key").get()[0], is((byte) 2));
+        assertThat(testee.get("baz", "key").isPresent(), is(false));
+        assertThat(Files.exists(file), is(true));
+    }
+}
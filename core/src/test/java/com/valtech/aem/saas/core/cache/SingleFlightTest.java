@@ -0,0 +1,121 @@
+package com.valtech.aem.saas.core.cache;
+
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SingleFlightTest {
+
+    @Mock
+    MetricsService metricsService;
+
+    Counter executed;
+    Counter coalesced;
+
+    SingleFlight<String, String> testee;
+
+    @BeforeEach
+    void setUp() {
+        executed = mock(Counter.class);
+        coalesced = mock(Counter.class);
+        when(metricsService.counter("saas.singleflight.test.executed")).thenReturn(executed);
+        when(metricsService.counter("saas.singleflight.test.coalesced")).thenReturn(coalesced);
+        testee = new SingleFlight<>(metricsService, "test");
+    }
+
+    @Test
+    void testExecute_sequential() {
+        AtomicInteger calls = new AtomicInteger();
+        assertThat(testee.execute("foo", () -> "bar" + calls.incrementAndGet()), is("bar1"));
+        assertThat(testee.execute("foo", () -> "bar" + calls.incrementAndGet()), is("bar2"));
+        assertThat(testee.size(), is(0));
+        verify(executed, times(2)).increment();
+    }
+
+    @Test
+    void testExecute_coalesced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch follower = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            follower.countDown();
+            return null;
+        }).when(coalesced).increment();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> testee.execute("foo", () -> {
+            started.countDown();
+            await(release);
+            return "bar" + calls.incrementAndGet();
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+        CompletableFuture<String> coalescedCall =
+                CompletableFuture.supplyAsync(() -> testee.execute("foo", () -> "baz" + calls.incrementAndGet()));
+        assertThat(follower.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(testee.execute("other", () -> "qux"), is("qux"));
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS), is("bar1"));
+        assertThat(coalescedCall.get(5, TimeUnit.SECONDS), is("bar1"));
+        assertThat(calls.get(), is(1));
+        assertThat(testee.size(), is(0));
+        verify(executed, times(2)).increment();
+        verify(coalesced).increment();
+    }
+
+    @Test
+    void testExecute_failureShared() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch follower = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            follower.countDown();
+            return null;
+        }).when(coalesced).increment();
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> testee.execute("foo", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("failed");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+        CountDownLatch failed = new CountDownLatch(1);
+        Thread coalescedCall = new Thread(() -> {
+            try {
+                testee.execute("foo", () -> "baz");
+            } catch (IllegalStateException e) {
+                failed.countDown();
+            }
+        });
+        coalescedCall.start();
+        assertThat(follower.await(5, TimeUnit.SECONDS), is(true));
+        release.countDown();
+        assertThat(failed.await(5, TimeUnit.SECONDS), is(true));
+        Assertions.assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertThat(testee.execute("foo", () -> "bar"), is("bar"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.valtech.aem.saas.core.cache;
+
+import com.valtech.aem.saas.api.cache.SearchResultCacheStore;
+import com.valtech.aem.saas.core.serialization.BinaryCodec;
+import lombok.NonNull;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class StaleWhileRevalidateCacheTest {
+
+    AtomicLong now = new AtomicLong();
+
+    AtomicInteger loads = new AtomicInteger();
+
+    StaleWhileRevalidateCache<String, String> testee;
+
+    @BeforeEach
+    void setUp() {
+        testee = new StaleWhileRevalidateCache<>(10,
+                                                 100,
+                                                 50,
+                                                 200,
+                                                 value -> value + " (stale)",
+                                                 new CacheMetrics(MetricsService.NOOP, "test"),
+                                                 null,
+                                                 now::get);
+    }
+
+    @Test
+    void testGet_fresh() {
+        assertThat(testee.get("foo", () -> load("bar"), () -> loadAsync("baz")).get(), is("bar"));
+        now.set(99);
+        assertThat(testee.get("foo", () -> load("baz"), () -> loadAsync("baz")).get(), is("bar"));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void testGet_staleWhileRevalidate() {
+        testee.put("foo", "bar");
+        now.set(100);
+        CompletableFuture<String> refresh = new CompletableFuture<>();
+        assertThat(testee.get("foo", () -> load("baz"), () -> refresh).get(), is("bar"));
+        assertThat(testee.get("foo", () -> load("baz"), () -> loadAsync("qux")).get(), is("bar"));
+        assertThat(loads.get(), is(0));
+        refresh.complete("baz");
+        assertThat(testee.get("foo", () -> load("qux"), () -> loadAsync("qux")).get(), is("baz"));
+        assertThat(loads.get(), is(0));
+    }
+
+    @Test
+    void testGet_refreshFailed() {
+        testee.put("foo", "bar");
+        now.set(100);
+        assertThat(testee.get("foo", () -> load("baz"), () -> failedAsync()).get(), is("bar"));
+        assertThat(testee.get("foo", () -> load("baz"), () -> loadAsync("baz")).get(), is("bar"));
+        now.set(101);
+        assertThat(testee.get("foo", () -> load("qux"), () -> loadAsync("qux")).get(), is("baz"));
+    }
+
+    @Test
+    void testGet_expired() {
+        testee.put("foo", "bar");
+        now.set(150);
+        assertThat(testee.get("foo", () -> load("baz"), () -> loadAsync("qux")).get(), is("baz"));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void testGet_staleIfError() {
+        testee.put("foo", "bar");
+        now.set(349);
+        assertThat(testee.get("foo", Optional::empty, () -> loadAsync("qux")).get(), is("bar (stale)"));
+        now.set(350);
+        assertThat(testee.get("foo", Optional::empty, () -> loadAsync("qux")).isPresent(), is(false));
+        assertThat(testee.size(), is(0));
+    }
+
+    @Test
+    void testGetAsync() {
+        assertThat(testee.getAsync("foo", () -> loadAsync("bar")).join(), is("bar"));
+        assertThat(testee.getAsync("foo", () -> loadAsync("baz")).join(), is("bar"));
+        now.set(100);
+        assertThat(testee.getAsync("foo", () -> loadAsync("baz")).join(), is("bar"));
+        assertThat(testee.getAsync("foo", () -> loadAsync("qux")).join(), is("baz"));
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    void testGetAsync_staleIfError() {
+        CompletableFuture<String> missing = testee.getAsync("foo", this::failedAsync);
+        Assertions.assertThrows(CompletionException.class, missing::join);
+        testee.put("foo", "bar");
+        now.set(200);
+        assertThat(testee.getAsync("foo", this::failedAsync).join(), is("bar (stale)"));
+    }
+
+    @Test
+    void testGet_storeTier() {
+        Map<String, byte[]> store = new HashMap<>();
+        StaleWhileRevalidateCache<String, String> first = createStoreBackedCache(store);
+        StaleWhileRevalidateCache<String, String> second = createStoreBackedCache(store);
+        first.put("foo", "bar");
+        now.set(10);
+        assertThat(second.get("foo", () -> load("baz"), () -> loadAsync("baz")).get(), is("bar"));
+        assertThat(second.size(), is(1));
+        assertThat(loads.get(), is(0));
+        now.set(60);
+        second.put("foo", "baz");
+        now.set(155);
+        assertThat(first.get("foo", () -> load("qux"), () -> loadAsync("qux")).get(), is("baz"));
+        assertThat(loads.get(), is(0));
+        now.set(420);
+        assertThat(first.get("foo", () -> load("qux"), () -> loadAsync("qux")).get(), is("qux"));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        CacheMetrics metrics = new CacheMetrics(MetricsService.NOOP, "test");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> new StaleWhileRevalidateCache<String, String>(10, 0, 0, 0, v -> v, metrics,
+                                                                                    null));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> new StaleWhileRevalidateCache<String, String>(10, 100, -1, 0, v -> v, metrics,
+                                                                                    null));
+    }
+
+    private StaleWhileRevalidateCache<String, String> createStoreBackedCache(Map<String, byte[]> store) {
+        SearchResultCacheStore cacheStore = new SearchResultCacheStore() {
+            @Override
+            public Optional<byte[]> get(@NonNull String cacheName, @NonNull String key) {
+                return Optional.ofNullable(store.get(cacheName + key));
+            }
+
+            @Override
+            public void put(@NonNull String cacheName, @NonNull String key, @NonNull byte[] value, long ttl) {
+                store.put(cacheName + key, value);
+            }
+        };
+        BinaryCodec<String> codec = new BinaryCodec<String>() {
+            @Override
+            public void encode(@NonNull String value, @NonNull DataOutput out) throws IOException {
+                out.writeUTF(value);
+            }
+
+            @Override
+            public String decode(@NonNull DataInput in) throws IOException {
+                return in.readUTF();
+            }
+        };
+        return new StaleWhileRevalidateCache<>(10,
+                                               100,
+                                               50,
+                                               200,
+                                               value -> value + " (stale)",
+                                               new CacheMetrics(MetricsService.NOOP, "test"),
+                                               new CacheStoreTier<>("test", codec, () -> cacheStore),
+                                               now::get);
+    }
+
+    private Optional<String> load(String value) {
+        loads.incrementAndGet();
+        return Optional.of(value);
+    }
+
+    private CompletableFuture<String> loadAsync(String value) {
+        loads.incrementAndGet();
+        return CompletableFuture.completedFuture(value);
+    }
+
+    private CompletableFuture<String> failedAsync() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalStateException("failed"));
+        return future;
+    }
+}
@@ -1,22 +1,33 @@
 package com.valtech.aem.saas.core.fulltextsearch;
 
 import com.day.cq.i18n.I18n;
+import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.valtech.aem.saas.api.cache.SearchResultCacheStore;
 import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.caconfig.SearchConfiguration;
 import com.valtech.aem.saas.api.fulltextsearch.FulltextSearchPingService;
 import com.valtech.aem.saas.api.fulltextsearch.FulltextSearchService;
+import com.valtech.aem.saas.api.fulltextsearch.SearchQuerySpec;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.SearchQueryResultDTO;
+import com.valtech.aem.saas.api.query.Filter;
+import com.valtech.aem.saas.api.query.SimpleFilter;
+import com.valtech.aem.saas.core.health.IndexHealthService;
 import com.valtech.aem.saas.core.http.client.DefaultSearchServiceConnectionConfigurationService;
 import com.valtech.aem.saas.core.http.client.SearchApiRequestExecutorService;
+import com.valtech.aem.saas.core.http.client.SearchTrafficType;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
 import com.valtech.aem.saas.core.i18n.I18nProvider;
+import com.valtech.aem.saas.core.serialization.FulltextSearchResultsCodec;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextBuilder;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
 import org.apache.http.osgi.services.HttpClientBuilderFactory;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.commons.metrics.MetricsService;
 import org.apache.sling.testing.mock.caconfig.ContextPlugins;
 import org.apache.sling.testing.mock.caconfig.MockContextAwareConfig;
 import org.junit.jupiter.api.Assertions;
@@ -26,13 +37,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith({AemContextExtension.class, MockitoExtension.class})
@@ -74,6 +102,7 @@ class DefaultFulltextSearchServiceTest {
         context.registerService(HttpClientBuilderFactory.class, httpClientBuilderFactory);
         context.registerInjectActivateService(new DefaultSearchServiceConnectionConfigurationService());
         context.registerService(SearchApiRequestExecutorService.class, searchApiRequestExecutorService);
+        context.registerService(MetricsService.class, MetricsService.NOOP);
         testee = context.registerInjectActivateService(new DefaultFulltextSearchService());
         currentResource = context.currentResource();
     }
@@ -122,6 +151,183 @@ class DefaultFulltextSearchServiceTest {
         assertThat(testee.getResults(searchCAConfigurationModel, "de", 0, 10).isPresent(), is(true));
     }
 
+    @Test
+    void testGetResults_cached() {
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar");
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        mockSuccessfulResponse();
+        Filter foo = new SimpleFilter("foo", "1");
+        Filter bar = new SimpleFilter("bar", "2");
+        Set<Filter> filters = new LinkedHashSet<>(Arrays.asList(foo, bar));
+        Set<Filter> reorderedFilters = new LinkedHashSet<>(Arrays.asList(bar, foo));
+        assertThat(testee.getResults(searchCAConfigurationModel, "baz", "de", 0, 10, filters).isPresent(), is(true));
+        assertThat(testee.getResults(searchCAConfigurationModel, "baz", "de", 0, 10, reorderedFilters).isPresent(),
+                   is(true));
+        verify(searchApiRequestExecutorService, times(1)).execute(any(SearchRequest.class));
+        assertThat(testee.getResults(searchCAConfigurationModel, "baz", "de", 10, 10, filters).isPresent(), is(true));
+        verify(searchApiRequestExecutorService, times(2)).execute(any(SearchRequest.class));
+    }
+
+    @Test
+    void testGetResults_failedRequestNotCached() {
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar");
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        when(searchApiRequestExecutorService.execute(any(SearchRequest.class))).thenReturn(Optional.empty());
+        assertThat(testee.getResults(searchCAConfigurationModel, "de", 0, 10).isPresent(), is(false));
+        assertThat(testee.getResults(searchCAConfigurationModel, "de", 0, 10).isPresent(), is(false));
+        verify(searchApiRequestExecutorService, times(2)).execute(any(SearchRequest.class));
+    }
+
+    @Test
+    void testGetResults_cacheDisabled() {
+        testee = context.registerInjectActivateService(new DefaultFulltextSearchService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("fulltextSearchService.cacheEnabled", false)
+                                                                   .build());
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar");
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        mockSuccessfulResponse();
+        assertThat(testee.getResults(searchCAConfigurationModel, "baz", "de", 0, 10, Collections.emptySet())
+                         .isPresent(), is(true));
+        assertThat(testee.getResults(searchCAConfigurationModel, "baz", "de", 0, 10, Collections.emptySet())
+                         .isPresent(), is(true));
+        verify(searchApiRequestExecutorService, times(2)).execute(any(SearchRequest.class));
+    }
+
+    @Test
+    void testGetResults_querySpec() {
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar");
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        mockSuccessfulResponse();
+        SearchQuerySpec querySpec = SearchQuerySpec.builder().searchText("baz").language("de").rows(10).build();
+        assertThat(testee.getResults(searchCAConfigurationModel, querySpec).isPresent(), is(true));
+        assertThat(testee.getResults(searchCAConfigurationModel, "baz", "de", 0, 10, Collections.emptySet())
+                         .isPresent(), is(true));
+        verify(searchApiRequestExecutorService, times(1)).execute(any(SearchRequest.class));
+    }
+
+    @Test
+    void testGetResultsBatch() {
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar");
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        SearchQuerySpec tab = SearchQuerySpec.builder().searchText("baz").language("de").rows(10).build();
+        SearchQuerySpec count = tab.toBuilder().rows(0).filter(new SimpleFilter("foo", "1")).build();
+        SearchQuerySpec failing = tab.toBuilder().searchText("qux").build();
+        when(searchApiRequestExecutorService.executeAsync(any(SearchRequest.class))).thenAnswer(invocation -> {
+            SearchRequest request = invocation.getArgument(0);
+            if (request.getRequest().getURI().toString().contains("qux")) {
+                return CompletableFuture.completedFuture(new SearchResponse(new JsonObject(), true));
+            }
+            return CompletableFuture.completedFuture(successfulResponse());
+        });
+        List<SearchQueryResultDTO> results =
+                testee.getResultsBatch(searchCAConfigurationModel, Arrays.asList(tab, failing, count, tab));
+        assertThat(results.size(), is(4));
+        assertThat(results.get(0).getQuery(), is(tab));
+        assertThat(results.get(0).isSuccess(), is(true));
+        assertThat(results.get(1).isSuccess(), is(false));
+        assertThat(results.get(1).getError(), notNullValue());
+        assertThat(results.get(2).getQuery(), is(count));
+        assertThat(results.get(2).isSuccess(), is(true));
+        assertThat(results.get(3).isSuccess(), is(true));
+        verify(searchApiRequestExecutorService, times(3)).executeAsync(any(SearchRequest.class));
+        assertThat(testee.getResults(searchCAConfigurationModel, count).isPresent(), is(true));
+        verify(searchApiRequestExecutorService, never()).execute(any(SearchRequest.class));
+    }
+
+    @Test
+    void testGetResultsBatch_maxSizeExceeded() {
+        testee = context.registerInjectActivateService(new DefaultFulltextSearchService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("fulltextSearchService.batchMaxSize", 1)
+                                                                   .build());
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar");
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        when(searchApiRequestExecutorService.executeAsync(any(SearchRequest.class))).thenAnswer(
+                invocation -> CompletableFuture.completedFuture(successfulResponse()));
+        SearchQuerySpec first = SearchQuerySpec.builder().searchText("baz").language("de").rows(10).build();
+        SearchQuerySpec second = first.toBuilder().start(10).build();
+        List<SearchQueryResultDTO> results =
+                testee.getResultsBatch(searchCAConfigurationModel, Arrays.asList(first, second, first));
+        assertThat(results.get(0).isSuccess(), is(true));
+        assertThat(results.get(1).isSuccess(), is(false));
+        assertThat(results.get(2).isSuccess(), is(true));
+        verify(searchApiRequestExecutorService, times(1)).executeAsync(any(SearchRequest.class));
+    }
+
+    @Test
+    void testGetResults_indexUnavailable() {
+        IndexHealthService indexHealthService = mock(IndexHealthService.class);
+        when(indexHealthService.isAvailable("bar")).thenReturn(false);
+        context.registerService(IndexHealthService.class, indexHealthService);
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar");
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        SearchQuerySpec querySpec = SearchQuerySpec.builder().searchText("baz").language("de").rows(10).build();
+        assertThat(testee.getResults(searchCAConfigurationModel, querySpec).isPresent(), is(false));
+        List<SearchQueryResultDTO> results =
+                testee.getResultsBatch(searchCAConfigurationModel, Collections.singletonList(querySpec));
+        assertThat(results.get(0).isSuccess(), is(false));
+        verify(searchApiRequestExecutorService, never()).execute(any(SearchRequest.class));
+        verify(searchApiRequestExecutorService, never()).executeAsync(any(SearchRequest.class));
+    }
+
+    @Test
+    void testGetResults_indexUnavailable_expiredValueServed() throws IOException {
+        IndexHealthService indexHealthService = mock(IndexHealthService.class);
+        when(indexHealthService.isAvailable("bar")).thenReturn(false);
+        context.registerService(IndexHealthService.class, indexHealthService);
+        FulltextSearchResultsDTO cached = FulltextSearchResultsDTO.builder().totalResultsFound(1).build();
+        SearchResultCacheStore searchResultCacheStore = mock(SearchResultCacheStore.class);
+        when(searchResultCacheStore.get(eq(DefaultFulltextSearchService.CACHE_NAME), anyString())).thenReturn(
+                Optional.of(toStoredBytes(cached, System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5))));
+        context.registerService(SearchResultCacheStore.class, searchResultCacheStore);
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar");
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        SearchQuerySpec querySpec = SearchQuerySpec.builder().searchText("baz").language("de").rows(10).build();
+        Optional<FulltextSearchResultsDTO> results = testee.getResults(searchCAConfigurationModel, querySpec);
+        assertThat(results.isPresent(), is(true));
+        assertThat(results.get().isStale(), is(true));
+        assertThat(results.get().getTotalResultsFound(), is(1));
+        List<SearchQueryResultDTO> batchResults =
+                testee.getResultsBatch(searchCAConfigurationModel, Collections.singletonList(querySpec));
+        assertThat(batchResults.get(0).isSuccess(), is(true));
+        assertThat(batchResults.get(0).getResults().isStale(), is(true));
+        verify(searchApiRequestExecutorService, never()).execute(any(SearchRequest.class));
+        verify(searchApiRequestExecutorService, never()).executeAsync(any(SearchRequest.class));
+    }
+
+    @Test
+    void testGetUncachedResults() {
+        MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
+                                                  "index", "bar", "enableBestBets", true);
+        searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
+        JsonObject responseBody = new JsonParser().parse(new InputStreamReader(
+                getClass().getResourceAsStream("/__files/search/fulltext/response.json"))).getAsJsonObject();
+        responseBody.getAsJsonObject("response")
+                    .getAsJsonArray("docs")
+                    .get(1)
+                    .getAsJsonObject()
+                    .addProperty("[elevated]", true);
+        when(searchApiRequestExecutorService.execute(any(SearchRequest.class))).thenReturn(
+                Optional.of(new SearchResponse(responseBody, true)));
+        UncachedFulltextSearchService uncachedService = (UncachedFulltextSearchService) testee;
+        SearchQuerySpec querySpec = SearchQuerySpec.builder().language("en").rows(10).build();
+        Optional<FulltextSearchResultsDTO> results = uncachedService.getUncachedResults(searchCAConfigurationModel,
+                                                                                        querySpec);
+        assertThat(results.isPresent(), is(true));
+        assertThat(results.get().getResults().get(0).getUrl(), is("https://www.valtech.com/about/valtech-group/"));
+        assertThat(results.get().getResults().get(1).isBestBet(), is(true));
+        assertThat(uncachedService.getUncachedResults(searchCAConfigurationModel, querySpec).isPresent(), is(true));
+        verify(searchApiRequestExecutorService, times(2)).execute(any(SearchRequest.class));
+    }
 
     @Test
     void testPingApi_ok() {
@@ -129,9 +335,8 @@ class DefaultFulltextSearchServiceTest {
         MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
                 "index", "bar");
         searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
-        when(searchApiRequestExecutorService.execute(any(SearchRequest.class))).thenReturn(Optional.of(new SearchResponse(
-                null,
-                true)));
+        when(searchApiRequestExecutorService.execute(any(SearchRequest.class), eq(SearchTrafficType.PING))).thenReturn(
+                Optional.of(new SearchResponse(null, true)));
         assertThat(pingService.ping(searchCAConfigurationModel), is(true));
     }
 
@@ -141,8 +346,28 @@ class DefaultFulltextSearchServiceTest {
         MockContextAwareConfig.writeConfiguration(context, currentResource.getPath(), SearchConfiguration.class,
                 "index", "bar");
         searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
-        when(searchApiRequestExecutorService.execute(any(SearchRequest.class))).thenReturn(Optional.empty());
+        when(searchApiRequestExecutorService.execute(any(SearchRequest.class), eq(SearchTrafficType.PING))).thenReturn(
+                Optional.empty());
         assertThat(pingService.ping(searchCAConfigurationModel), is(false));
     }
 
+    private void mockSuccessfulResponse() {
+        when(searchApiRequestExecutorService.execute(any(SearchRequest.class))).thenAnswer(
+                invocation -> Optional.of(successfulResponse()));
+    }
+
+    private byte[] toStoredBytes(FulltextSearchResultsDTO results, long createdAt) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(createdAt);
+            new FulltextSearchResultsCodec().encode(results, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private SearchResponse successfulResponse() {
+        return new SearchResponse(new JsonParser().parse(
+                new InputStreamReader(getClass().getResourceAsStream("/__files/search/fulltext/response.json")))
+                                                  .getAsJsonObject(), true);
+    }
 }
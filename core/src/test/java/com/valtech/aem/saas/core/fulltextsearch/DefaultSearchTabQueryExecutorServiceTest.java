@@ -0,0 +1,31 @@
+package com.valtech.aem.saas.core.fulltextsearch;
+
+import com.google.common.collect.ImmutableMap;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@ExtendWith(AemContextExtension.class)
+class DefaultSearchTabQueryExecutorServiceTest {
+
+    @Test
+    void testCreateDispatcher(AemContext context) {
+        SearchTabQueryExecutorService testee =
+                context.registerInjectActivateService(new DefaultSearchTabQueryExecutorService());
+        assertThat(testee.createDispatcher().isPresent(), is(true));
+    }
+
+    @Test
+    void testCreateDispatcher_disabled(AemContext context) {
+        SearchTabQueryExecutorService testee =
+                context.registerInjectActivateService(new DefaultSearchTabQueryExecutorService(),
+                                                      ImmutableMap.<String, Object>builder()
+                                                                  .put("searchTabQueryExecutorService.enabled", false)
+                                                                  .build());
+        assertThat(testee.createDispatcher().isPresent(), is(false));
+    }
+}
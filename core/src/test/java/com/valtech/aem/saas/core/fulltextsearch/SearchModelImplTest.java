@@ -2,11 +2,19 @@ package com.valtech.aem.saas.core.fulltextsearch;
 
 import com.adobe.cq.export.json.ComponentExporter;
 import com.day.cq.i18n.I18n;
+import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.caconfig.SearchConfiguration;
 import com.valtech.aem.saas.api.fulltextsearch.FulltextSearchPingService;
+import com.valtech.aem.saas.api.fulltextsearch.FulltextSearchService;
 import com.valtech.aem.saas.api.fulltextsearch.SearchTabModel;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
 import com.valtech.aem.saas.api.resource.PathTransformer;
+import com.valtech.aem.saas.core.health.CircuitState;
+import com.valtech.aem.saas.core.health.IndexHealth;
+import com.valtech.aem.saas.core.health.IndexHealthService;
 import com.valtech.aem.saas.core.i18n.I18nProvider;
+import com.valtech.aem.saas.core.serialization.DefaultSerializerRegistry;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextBuilder;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
@@ -22,14 +30,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.hamcrest.core.IsNull.notNullValue;
-import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.*;
+import static org.mockito.Mockito.any;
 
 @ExtendWith({AemContextExtension.class, MockitoExtension.class})
 class SearchModelImplTest {
@@ -60,6 +70,7 @@ class SearchModelImplTest {
         when(i18n.get(SearchModelImpl.I18N_SEARCH_SUGGESTION_TEXT)).thenReturn("Did you mean");
         when(i18n.get(SearchModelImpl.I18N_SEARCH_NO_RESULTS_TEXT)).thenReturn("No results.");
 
+        context.registerService(SerializerRegistry.class, new DefaultSerializerRegistry());
         context.registerService(FulltextSearchPingService.class, fulltextSearchPingService);
         context.registerService(PathTransformer.class, pathTransformer);
         context.registerService(I18nProvider.class, i18nProvider);
@@ -113,6 +124,48 @@ class SearchModelImplTest {
         assertThat(testee.getTrackingUrl(), is("/search.tracking.json"));
     }
 
+    @Test
+    void testAdaptRequest_tabQueryDispatcher() {
+        FulltextSearchService fulltextSearchService = mock(FulltextSearchService.class);
+        when(fulltextSearchService.getResults(any(SearchCAConfigurationModel.class), anyString(), anyString(), anyInt(),
+                                              anyInt(), anySet(), anySet(), anyBoolean(), any(), any()))
+                .thenReturn(Optional.of(FulltextSearchResultsDTO.builder().totalResultsFound(20).build()));
+        context.registerService(FulltextSearchService.class, fulltextSearchService);
+        context.registerInjectActivateService(new DefaultSearchTabQueryExecutorService());
+        MockContextAwareConfig.writeConfiguration(context,
+                                                  context.currentResource().getPath(),
+                                                  SearchConfiguration.class,
+                                                  "index",
+                                                  "foo");
+        context.request().addRequestParameter(SearchTabModel.QUERY_PARAM_SEARCH_TERM, "bar");
+        adaptRequest();
+        testAdaptable();
+        assertThat(testee.getSearchTabs(), hasSize(2));
+        assertThat(testee.getSearchTabs().stream().map(SearchTabModel::getResultsTotal).collect(Collectors.toList()),
+                   contains(20, 20));
+        verify(fulltextSearchService, times(2)).getResults(any(SearchCAConfigurationModel.class), anyString(),
+                                                           anyString(), anyInt(), anyInt(), anySet(), anySet(),
+                                                           anyBoolean(), any(), any());
+        assertThat(context.request().getAttribute(SearchTabQueryDispatcher.REQUEST_ATTRIBUTE), nullValue());
+    }
+
+    @Test
+    void testAdaptRequest_indexHealthService() {
+        IndexHealthService indexHealthService = mock(IndexHealthService.class);
+        when(indexHealthService.getHealth("foo")).thenReturn(
+                Optional.of(new IndexHealth("foo", CircuitState.CLOSED, 1L, 0)));
+        context.registerService(IndexHealthService.class, indexHealthService);
+        MockContextAwareConfig.writeConfiguration(context,
+                                                  context.currentResource().getPath(),
+                                                  SearchConfiguration.class,
+                                                  "index",
+                                                  "foo");
+        adaptRequest();
+        testAdaptable();
+        assertThat(testee.getConnectionFailedAlert(), nullValue());
+        verify(fulltextSearchPingService, never()).ping(any(SearchCAConfigurationModel.class));
+    }
+
     @Test
     void testAdaptResource() {
         adaptResource();
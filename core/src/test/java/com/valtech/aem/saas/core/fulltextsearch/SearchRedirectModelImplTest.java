@@ -6,6 +6,8 @@ import com.valtech.aem.saas.api.fulltextsearch.SearchRedirectModel;
 import com.valtech.aem.saas.api.resource.PathTransformer;
 import com.valtech.aem.saas.core.i18n.I18nProvider;
 import com.valtech.aem.saas.core.resource.MockPathTransformer;
+import com.valtech.aem.saas.core.serialization.DefaultSerializerRegistry;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextBuilder;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
@@ -43,6 +45,7 @@ class SearchRedirectModelImplTest {
 
     @BeforeEach
     void setUp() {
+        context.registerService(SerializerRegistry.class, new DefaultSerializerRegistry());
         context.registerService(I18nProvider.class, i18nProvider);
 
         context.registerService(PathTransformer.class, new MockPathTransformer());
@@ -5,8 +5,13 @@ import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
 import com.valtech.aem.saas.api.caconfig.SearchConfiguration;
 import com.valtech.aem.saas.api.fulltextsearch.FulltextSearchService;
 import com.valtech.aem.saas.api.fulltextsearch.SearchTabModel;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
 import com.valtech.aem.saas.api.resource.PathTransformer;
 import com.valtech.aem.saas.core.i18n.I18nProvider;
+import com.valtech.aem.saas.core.serialization.DefaultSerializerRegistry;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
+import com.valtech.aem.saas.core.tracing.Span;
+import com.valtech.aem.saas.core.tracing.Tracer;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextBuilder;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
@@ -25,6 +30,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -32,6 +38,7 @@ import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -63,6 +70,7 @@ class SearchTabModelImplTest {
         when(i18n.get(SearchModelImpl.I18N_KEY_SEARCH_BUTTON_LABEL)).thenReturn("search");
         when(i18n.get(SearchModelImpl.I18N_SEARCH_SUGGESTION_TEXT)).thenReturn("Did you mean");
         when(i18n.get(SearchModelImpl.I18N_SEARCH_NO_RESULTS_TEXT)).thenReturn("No results.");
+        context.registerService(SerializerRegistry.class, new DefaultSerializerRegistry());
         context.registerService(FulltextSearchService.class, fulltextSearchService);
         context.registerService(I18nProvider.class, i18nProvider);
         context.registerService(PathTransformer.class, pathTransformer);
@@ -91,7 +99,11 @@ class SearchTabModelImplTest {
         context.request().addRequestParameter(SearchTabModel.QUERY_PARAM_PAGE, "2");
         ArgumentCaptor<Integer> startParam = ArgumentCaptor.forClass(Integer.class);
         ArgumentCaptor<LinkedHashSet> facetInput = ArgumentCaptor.forClass(LinkedHashSet.class);
+        Tracer tracer = mock(Tracer.class);
+        when(tracer.startSpan(anyString(), any())).thenReturn(Span.NOOP);
+        context.registerService(Tracer.class, tracer);
         testAdaptable();
+        verify(tracer).startSpan(eq(SearchTabModelImpl.SPAN_INIT), any());
         verify(fulltextSearchService).getResults(any(SearchCAConfigurationModel.class), anyString(), anyString(),
                                                  startParam.capture(), anyInt(), anySet(), facetInput.capture(),
                                                  anyBoolean(), any(), any());
@@ -103,6 +115,53 @@ class SearchTabModelImplTest {
         assertThat(facetInput.getValue().stream().findFirst().get(), Is.is("contentType"));
     }
 
+    @Test
+    void testSearchResults_applied() {
+        when(pathTransformer.map(any(SlingHttpServletRequest.class),
+                                 eq("/content/saas-aem-module/us/en/jcr:content/root/container/container/search/search-tabs/searchtab"))).thenReturn(
+                "foo");
+        MockContextAwareConfig.writeConfiguration(context,
+                                                  context.currentResource().getPath(),
+                                                  SearchConfiguration.class,
+                                                  "index",
+                                                  "foo");
+        context.requestPathInfo().setResourcePath(
+                "/content/saas-aem-module/us/en/jcr:content/root/container/container/search/search-tabs/searchtab");
+        context.request().addRequestParameter(SearchTabModel.QUERY_PARAM_SEARCH_TERM, "bar");
+        when(fulltextSearchService.getResults(any(SearchCAConfigurationModel.class), anyString(), anyString(), anyInt(),
+                                              anyInt(), anySet(), anySet(), anyBoolean(), any(), any()))
+                .thenReturn(Optional.of(FulltextSearchResultsDTO.builder().totalResultsFound(20).build()));
+        testAdaptable();
+        assertThat(testee.getResultsTotal(), is(20));
+        assertThat(testee.isShowLoadMoreButton(), is(true));
+    }
+
+    @Test
+    void testSearchResults_dispatched() {
+        when(pathTransformer.map(any(SlingHttpServletRequest.class),
+                                 eq("/content/saas-aem-module/us/en/jcr:content/root/container/container/search/search-tabs/searchtab"))).thenReturn(
+                "foo");
+        MockContextAwareConfig.writeConfiguration(context,
+                                                  context.currentResource().getPath(),
+                                                  SearchConfiguration.class,
+                                                  "index",
+                                                  "foo");
+        context.requestPathInfo().setResourcePath(
+                "/content/saas-aem-module/us/en/jcr:content/root/container/container/search/search-tabs/searchtab");
+        context.request().addRequestParameter(SearchTabModel.QUERY_PARAM_SEARCH_TERM, "bar");
+        when(fulltextSearchService.getResults(any(SearchCAConfigurationModel.class), anyString(), anyString(), anyInt(),
+                                              anyInt(), anySet(), anySet(), anyBoolean(), any(), any()))
+                .thenReturn(Optional.of(FulltextSearchResultsDTO.builder().totalResultsFound(20).build()));
+        SearchTabQueryDispatcher dispatcher = new SearchTabQueryDispatcher(Runnable::run, 5000,
+                                                                           SearchTabFailurePolicy.SKIP);
+        context.request().setAttribute(SearchTabQueryDispatcher.REQUEST_ATTRIBUTE, dispatcher);
+        testAdaptable();
+        assertThat(testee.getResultsTotal(), is(0));
+        dispatcher.awaitAll();
+        assertThat(testee.getResultsTotal(), is(20));
+        assertThat(testee.isShowLoadMoreButton(), is(true));
+    }
+
     @Test
     void testGetTabId() {
         SearchTabModelImpl searchTabModel1 = context.request().adaptTo(SearchTabModelImpl.class);
@@ -0,0 +1,124 @@
+package com.valtech.aem.saas.core.fulltextsearch;
+
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
+import com.valtech.aem.saas.core.util.ThreadPools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+class SearchTabQueryDispatcherTest {
+
+    ThreadPoolExecutor executor;
+
+    List<Integer> applied;
+
+    @BeforeEach
+    void setUp() {
+        executor = ThreadPools.newBoundedThreadPool("test-%d", 2, 1);
+        applied = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testAwaitAll_concurrent() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        SearchTabQueryDispatcher testee = new SearchTabQueryDispatcher(executor, 5000, SearchTabFailurePolicy.SKIP);
+        testee.dispatch(rendezvous(bothStarted, 1), r -> applied.add(r.getTotalResultsFound()));
+        testee.dispatch(rendezvous(bothStarted, 2), r -> applied.add(r.getTotalResultsFound()));
+        testee.awaitAll();
+        assertThat(bothStarted.getCount(), is(0L));
+        assertThat(applied, contains(1, 2));
+    }
+
+    @Test
+    void testAwaitAll_timeoutSkipped() {
+        CountDownLatch never = new CountDownLatch(1);
+        SearchTabQueryDispatcher testee = new SearchTabQueryDispatcher(executor, 50, SearchTabFailurePolicy.SKIP);
+        testee.dispatch(blockedBy(never, 1), r -> applied.add(r.getTotalResultsFound()));
+        testee.dispatch(() -> results(2), r -> applied.add(r.getTotalResultsFound()));
+        testee.awaitAll();
+        assertThat(applied, contains(2));
+    }
+
+    @Test
+    void testAwaitAll_failureSkipped() {
+        SearchTabQueryDispatcher testee = new SearchTabQueryDispatcher(executor, 5000, SearchTabFailurePolicy.SKIP);
+        testee.dispatch(() -> {
+            throw new IllegalStateException("foo");
+        }, r -> applied.add(r.getTotalResultsFound()));
+        testee.awaitAll();
+        assertThat(applied, empty());
+    }
+
+    @Test
+    void testAwaitAll_failureRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        SearchTabQueryDispatcher testee = new SearchTabQueryDispatcher(executor, 5000, SearchTabFailurePolicy.RETRY);
+        testee.dispatch(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("foo");
+            }
+            return results(1);
+        }, r -> applied.add(r.getTotalResultsFound()));
+        testee.awaitAll();
+        assertThat(attempts.get(), is(2));
+        assertThat(applied, contains(1));
+    }
+
+    @Test
+    void testDispatch_saturatedExecutesSynchronously() {
+        CountDownLatch release = new CountDownLatch(1);
+        SearchTabQueryDispatcher testee = new SearchTabQueryDispatcher(executor, 5000, SearchTabFailurePolicy.SKIP);
+        testee.dispatch(blockedBy(release, 1), r -> applied.add(r.getTotalResultsFound()));
+        testee.dispatch(blockedBy(release, 2), r -> applied.add(r.getTotalResultsFound()));
+        testee.dispatch(blockedBy(release, 3), r -> applied.add(r.getTotalResultsFound()));
+        Thread caller = Thread.currentThread();
+        testee.dispatch(() -> {
+            assertThat(Thread.currentThread(), is(caller));
+            release.countDown();
+            return results(4);
+        }, r -> applied.add(r.getTotalResultsFound()));
+        testee.awaitAll();
+        assertThat(applied, contains(1, 2, 3, 4));
+    }
+
+    private static Supplier<Optional<FulltextSearchResultsDTO>> rendezvous(CountDownLatch latch, int total) {
+        return () -> {
+            latch.countDown();
+            return blockedBy(latch, total).get();
+        };
+    }
+
+    private static Supplier<Optional<FulltextSearchResultsDTO>> blockedBy(CountDownLatch latch, int total) {
+        return () -> {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return results(total);
+        };
+    }
+
+    private static Optional<FulltextSearchResultsDTO> results(int total) {
+        return Optional.of(FulltextSearchResultsDTO.builder().totalResultsFound(total).build());
+    }
+}
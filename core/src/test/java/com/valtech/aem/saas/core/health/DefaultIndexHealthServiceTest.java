@@ -0,0 +1,143 @@
+package com.valtech.aem.saas.core.health;
+
+import com.google.common.collect.ImmutableMap;
+import com.valtech.aem.saas.core.fulltextsearch.IndexPingService;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.commons.metrics.Gauge;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({AemContextExtension.class, MockitoExtension.class})
+class DefaultIndexHealthServiceTest {
+
+    private final AemContext context = new AemContext();
+
+    @Mock
+    IndexPingService indexPingService;
+
+    @BeforeEach
+    void setUp() {
+        context.registerService(IndexPingService.class, indexPingService);
+        context.registerService(MetricsService.class, MetricsService.NOOP);
+    }
+
+    @Test
+    void testIsAvailable_notPingedOnRequest() {
+        DefaultIndexHealthService testee = context.registerInjectActivateService(new DefaultIndexHealthService());
+        assertThat(testee.isAvailable("foo"), is(true));
+        assertThat(testee.getHealth("foo").isPresent(), is(false));
+        verify(indexPingService, never()).ping("foo");
+        when(indexPingService.ping("foo")).thenReturn(true);
+        testee.run();
+        assertThat(testee.isAvailable("foo"), is(true));
+        verify(indexPingService, times(1)).ping("foo");
+        IndexHealth health = testee.getHealth("foo").orElseThrow(IllegalStateException::new);
+        assertThat(health.getCircuitState(), is(CircuitState.CLOSED));
+        assertThat(health.getLastCheckTime() > 0, is(true));
+    }
+
+    @Test
+    void testIsAvailable_circuitOpensAfterDefaultThreshold() {
+        DefaultIndexHealthService testee = context.registerInjectActivateService(new DefaultIndexHealthService());
+        when(indexPingService.ping("foo")).thenReturn(false);
+        testee.isAvailable("foo");
+        testee.run();
+        testee.run();
+        assertThat(testee.isAvailable("foo"), is(true));
+        testee.run();
+        assertThat(testee.isAvailable("foo"), is(false));
+        assertThat(testee.getHealth("foo").map(IndexHealth::getConsecutiveFailures).orElse(0), is(3));
+    }
+
+    @Test
+    void testIsAvailable_closedByPing() {
+        DefaultIndexHealthService testee = openCircuit();
+        when(indexPingService.ping("foo")).thenReturn(true);
+        testee.run();
+        assertThat(testee.isAvailable("foo"), is(true));
+        assertThat(testee.getHealth("foo").map(IndexHealth::getCircuitState).orElse(null), is(CircuitState.CLOSED));
+    }
+
+    @Test
+    void testIsAvailable_closedBySuccessfulRequest() {
+        DefaultIndexHealthService testee = openCircuit();
+        testee.recordResult("foo", true);
+        assertThat(testee.isAvailable("foo"), is(true));
+        assertThat(testee.getHealth("foo").map(IndexHealth::getConsecutiveFailures).orElse(-1), is(0));
+    }
+
+    @Test
+    void testIsAvailable_halfOpenTrial() {
+        DefaultIndexHealthService testee = openCircuit();
+        // open duration of 0 seconds, so the circuit is half-open right away
+        assertThat(testee.isAvailable("foo"), is(true));
+        assertThat(testee.getHealth("foo").map(IndexHealth::getCircuitState).orElse(null),
+                   is(CircuitState.HALF_OPEN));
+        testee.recordResult("foo", false);
+        assertThat(testee.getHealth("foo").map(IndexHealth::getCircuitState).orElse(null), is(CircuitState.OPEN));
+        assertThat(testee.isAvailable("foo"), is(true));
+        testee.recordResult("foo", true);
+        assertThat(testee.getHealth("foo").map(IndexHealth::getCircuitState).orElse(null), is(CircuitState.CLOSED));
+    }
+
+    @Test
+    void testIsAvailable_openUntilOpenDurationElapsed() {
+        DefaultIndexHealthService testee = context.registerInjectActivateService(new DefaultIndexHealthService(),
+                                                                                ImmutableMap.<String, Object>builder()
+                                                                                            .put("indexHealthService.failureThreshold", 1)
+                                                                                            .build());
+        when(indexPingService.ping("foo")).thenReturn(false);
+        testee.isAvailable("foo");
+        testee.run();
+        assertThat(testee.isAvailable("foo"), is(false));
+        testee.recordResult("foo", false);
+        assertThat(testee.isAvailable("foo"), is(false));
+    }
+
+    @Test
+    void testIsAvailable_pingException() {
+        DefaultIndexHealthService testee = context.registerInjectActivateService(new DefaultIndexHealthService(),
+                                                                                ImmutableMap.<String, Object>builder()
+                                                                                            .put("indexHealthService.failureThreshold", 1)
+                                                                                            .build());
+        when(indexPingService.ping("foo")).thenThrow(new IllegalStateException("bar"));
+        testee.isAvailable("foo");
+        testee.run();
+        assertThat(testee.isAvailable("foo"), is(false));
+    }
+
+    @Test
+    void testGauges() {
+        DefaultIndexHealthService testee = openCircuit();
+        Gauge<?>[] gauges = context.getServices(Gauge.class, "(" + Gauge.NAME + "=saas.health.foo.available)");
+        assertThat(gauges.length, is(1));
+        assertThat(gauges[0].getValue(), is(0));
+        testee.recordResult("foo", true);
+        assertThat(gauges[0].getValue(), is(1));
+    }
+
+    private DefaultIndexHealthService openCircuit() {
+        DefaultIndexHealthService testee = context.registerInjectActivateService(new DefaultIndexHealthService(),
+                                                                                ImmutableMap.<String, Object>builder()
+                                                                                            .put("indexHealthService.failureThreshold", 1)
+                                                                                            .put("indexHealthService.openDuration", 0L)
+                                                                                            .build());
+        when(indexPingService.ping("foo")).thenReturn(false);
+        testee.isAvailable("foo");
+        testee.run();
+        assertThat(testee.getHealth("foo").map(IndexHealth::getCircuitState).orElse(null), is(CircuitState.OPEN));
+        return testee;
+    }
+}
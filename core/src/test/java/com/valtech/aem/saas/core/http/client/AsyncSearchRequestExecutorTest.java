@@ -0,0 +1,76 @@
+package com.valtech.aem.saas.core.http.client;
+
+import com.valtech.aem.saas.core.http.metrics.SearchRequestMetrics;
+import com.valtech.aem.saas.core.http.request.SearchRequest;
+import com.valtech.aem.saas.core.http.response.SearchResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.protocol.HttpContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncSearchRequestExecutorTest {
+
+    @Mock
+    CloseableHttpClient httpClient;
+
+    @Mock
+    SearchRequestMetrics searchRequestMetrics;
+
+    @Mock
+    SearchRequest searchRequest;
+
+    @Mock
+    HttpUriRequest request;
+
+    @Test
+    void testExecute_saturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(searchRequest.getRequest()).thenReturn(request);
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IOException("foo");
+        });
+        AsyncSearchRequestExecutor testee = new AsyncSearchRequestExecutor(httpClient, searchRequestMetrics, 1, 1, 5000);
+        CompletableFuture<SearchResponse> running = testee.execute(searchRequest);
+        CompletableFuture<SearchResponse> queued = testee.execute(searchRequest);
+        CompletableFuture<SearchResponse> rejected = testee.execute(searchRequest);
+        assertThat(rejected.isCompletedExceptionally(), is(true));
+        ExecutionException exception = assertThrows(ExecutionException.class, rejected::get);
+        assertThat(exception.getCause(), instanceOf(RejectedExecutionException.class));
+        release.countDown();
+        assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        testee.close();
+    }
+
+    @Test
+    void testClose() throws IOException {
+        AsyncSearchRequestExecutor testee = new AsyncSearchRequestExecutor(httpClient, searchRequestMetrics, 1, 1, 100);
+        assertThat(testee.isClosed(), is(false));
+        testee.close();
+        assertThat(testee.isClosed(), is(true));
+        verify(httpClient).close();
+        CompletableFuture<SearchResponse> afterClose = testee.execute(searchRequest);
+        assertThat(afterClose.isCompletedExceptionally(), is(true));
+    }
+}
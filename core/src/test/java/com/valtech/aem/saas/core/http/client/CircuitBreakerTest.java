@@ -0,0 +1,70 @@
+package com.valtech.aem.saas.core.http.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class CircuitBreakerTest {
+
+    @Test
+    void testOnFailure_belowMinimumRequests() {
+        CircuitBreaker testee = new CircuitBreaker(10, 3, 50, 1000L);
+        assertThat(testee.onFailure(0L), is(false));
+        assertThat(testee.onFailure(0L), is(false));
+        assertThat(testee.getState(), is(CircuitBreaker.State.CLOSED));
+        assertThat(testee.tryAcquirePermission(0L), is(true));
+    }
+
+    @Test
+    void testOnFailure_failureRateThresholdReached() {
+        CircuitBreaker testee = new CircuitBreaker(4, 4, 50, 1000L);
+        testee.onSuccess();
+        testee.onSuccess();
+        assertThat(testee.onFailure(0L), is(false));
+        assertThat(testee.onFailure(0L), is(true));
+        assertThat(testee.getState(), is(CircuitBreaker.State.OPEN));
+        assertThat(testee.tryAcquirePermission(999L), is(false));
+    }
+
+    @Test
+    void testOnFailure_slidingWindow() {
+        CircuitBreaker testee = new CircuitBreaker(2, 2, 100, 1000L);
+        testee.onFailure(0L);
+        testee.onSuccess();
+        assertThat(testee.onFailure(0L), is(false));
+        assertThat(testee.onFailure(0L), is(true));
+    }
+
+    @Test
+    void testHalfOpen_trialSucceeds() {
+        CircuitBreaker testee = new CircuitBreaker(1, 1, 50, 1000L);
+        testee.onFailure(0L);
+        assertThat(testee.tryAcquirePermission(1000L), is(true));
+        assertThat(testee.getState(), is(CircuitBreaker.State.HALF_OPEN));
+        assertThat(testee.tryAcquirePermission(1000L), is(false));
+        assertThat(testee.onSuccess(), is(true));
+        assertThat(testee.getState(), is(CircuitBreaker.State.CLOSED));
+        assertThat(testee.tryAcquirePermission(1000L), is(true));
+    }
+
+    @Test
+    void testHalfOpen_trialFails() {
+        CircuitBreaker testee = new CircuitBreaker(1, 1, 50, 1000L);
+        testee.onFailure(0L);
+        assertThat(testee.tryAcquirePermission(1000L), is(true));
+        assertThat(testee.onFailure(1000L), is(true));
+        assertThat(testee.getState(), is(CircuitBreaker.State.OPEN));
+        assertThat(testee.tryAcquirePermission(1999L), is(false));
+        assertThat(testee.tryAcquirePermission(2000L), is(true));
+    }
+
+    @Test
+    void testHalfOpen_trialReleased() {
+        CircuitBreaker testee = new CircuitBreaker(1, 1, 50, 1000L);
+        testee.onFailure(0L);
+        assertThat(testee.tryAcquirePermission(1000L), is(true));
+        testee.release();
+        assertThat(testee.tryAcquirePermission(1000L), is(true));
+    }
+}
@@ -1,5 +1,10 @@
 package com.valtech.aem.saas.core.http.client;
 
+import com.google.common.collect.ImmutableMap;
+import com.valtech.aem.saas.core.http.metrics.DefaultSearchRequestMetrics;
+import com.valtech.aem.saas.core.http.metrics.SearchEndpoint;
+import com.valtech.aem.saas.core.http.metrics.SearchEndpointMetrics;
+import com.valtech.aem.saas.core.http.metrics.SearchRequestMetrics;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
 import io.wcm.testing.mock.aem.junit5.AemContext;
@@ -13,6 +18,8 @@ import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.osgi.services.HttpClientBuilderFactory;
+import org.apache.http.protocol.HttpContext;
+import org.apache.sling.commons.metrics.MetricsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,13 +29,26 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith({MockitoExtension.class, AemContextExtension.class})
@@ -52,28 +72,35 @@ class DefaultSearchApiRequestExecutorServiceTest {
     @Mock
     CloseableHttpResponse response;
 
+    SearchRequestMetrics searchRequestMetrics;
+
     SearchApiRequestExecutorService testee;
 
+    AemContext context;
+
     @BeforeEach
     void setUp(AemContext context) {
+        this.context = context;
         when(searchRequest.getRequest()).thenReturn(request);
         when(httpClientBuilderFactory.newBuilder()).thenReturn(httpClientBuilder);
         when(httpClientBuilder.build()).thenReturn(httpClient);
         context.registerService(HttpClientBuilderFactory.class, httpClientBuilderFactory);
         context.registerInjectActivateService(new DefaultSearchServiceConnectionConfigurationService());
+        context.registerService(MetricsService.class, MetricsService.NOOP);
+        searchRequestMetrics = context.registerInjectActivateService(new DefaultSearchRequestMetrics());
         testee = context.registerInjectActivateService(new DefaultSearchApiRequestExecutorService());
     }
 
     @Test
     void testExecute_clientExecuteThrowsException() throws IOException {
-        when(httpClient.execute(request)).thenThrow(IOException.class);
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenThrow(IOException.class);
         assertThat(testee.execute(searchRequest).isPresent(), is(false));
     }
 
     @Test
     void testExecute_responsNotOK() throws IOException {
         when(searchRequest.getSuccessStatusCodes()).thenReturn(Collections.singletonList(HttpServletResponse.SC_OK));
-        when(httpClient.execute(request)).thenReturn(response);
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenReturn(response);
         StatusLine statusLine = Mockito.mock(StatusLine.class);
         when(response.getStatusLine()).thenReturn(statusLine);
         HttpEntity httpEntity = mock(HttpEntity.class);
@@ -85,7 +112,7 @@ class DefaultSearchApiRequestExecutorServiceTest {
     @Test
     void testExecute_responsNotOK_withResponseBody() throws IOException {
         when(searchRequest.getSuccessStatusCodes()).thenReturn(Collections.singletonList(HttpServletResponse.SC_OK));
-        when(httpClient.execute(request)).thenReturn(response);
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenReturn(response);
         StatusLine statusLine = Mockito.mock(StatusLine.class);
         when(response.getStatusLine()).thenReturn(statusLine);
         HttpEntity httpEntity = mock(HttpEntity.class);
@@ -100,7 +127,7 @@ class DefaultSearchApiRequestExecutorServiceTest {
 
     @Test
     void testExecute_responsOK() throws IOException {
-        when(httpClient.execute(request)).thenReturn(response);
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenReturn(response);
         StatusLine statusLine = Mockito.mock(StatusLine.class);
         when(response.getStatusLine()).thenReturn(statusLine);
         when(statusLine.getStatusCode()).thenReturn(HttpServletResponse.SC_OK);
@@ -111,9 +138,28 @@ class DefaultSearchApiRequestExecutorServiceTest {
         assertThat(testee.execute(searchRequest).isPresent(), is(true));
     }
 
+    @Test
+    void testExecute_metricsRecorded() throws IOException {
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenReturn(response);
+        StatusLine statusLine = Mockito.mock(StatusLine.class);
+        when(response.getStatusLine()).thenReturn(statusLine);
+        when(statusLine.getStatusCode()).thenReturn(HttpServletResponse.SC_OK);
+        testee.execute(searchRequest);
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenThrow(IOException.class);
+        testee.execute(searchRequest);
+        SearchEndpointMetrics metrics = searchRequestMetrics.getEndpointMetrics()
+                                                            .stream()
+                                                            .filter(m -> m.getEndpoint() == SearchEndpoint.OTHER)
+                                                            .findFirst()
+                                                            .orElseThrow(IllegalStateException::new);
+        assertThat(metrics.getRequestCount(), is(2L));
+        assertThat(metrics.getSuccessCount(), is(1L));
+        assertThat(metrics.getFailureCount(), is(1L));
+    }
+
     @Test
     void testExecute_responsOK_invalidJsonFormat() throws IOException {
-        when(httpClient.execute(request)).thenReturn(response);
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenReturn(response);
         StatusLine statusLine = Mockito.mock(StatusLine.class);
         when(response.getStatusLine()).thenReturn(statusLine);
         when(statusLine.getStatusCode()).thenReturn(HttpServletResponse.SC_OK);
@@ -121,4 +167,179 @@ class DefaultSearchApiRequestExecutorServiceTest {
         when(response.getEntity()).thenReturn(httpEntity);
         assertThat(testee.execute(searchRequest).filter(SearchResponse::isSuccess).isPresent(), is(false));
     }
+
+    @Test
+    void testExecuteAsync_responseOK() throws Exception {
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenReturn(response);
+        StatusLine statusLine = Mockito.mock(StatusLine.class);
+        when(response.getStatusLine()).thenReturn(statusLine);
+        when(statusLine.getStatusCode()).thenReturn(HttpServletResponse.SC_OK);
+        when(searchRequest.getSuccessStatusCodes()).thenReturn(Collections.singletonList(HttpServletResponse.SC_OK));
+        HttpEntity httpEntity = new StringEntity(
+                IOUtils.toString(getClass().getResourceAsStream("/__files/search/fulltext/response.json"),
+                                 StandardCharsets.UTF_8.name()));
+        when(response.getEntity()).thenReturn(httpEntity);
+        SearchResponse searchResponse = testee.executeAsync(searchRequest).get(5, TimeUnit.SECONDS);
+        assertThat(searchResponse.isSuccess(), is(true));
+    }
+
+    @Test
+    void testExecuteAsync_clientExecuteThrowsException() throws IOException {
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenThrow(IOException.class);
+        CompletableFuture<SearchResponse> future = testee.executeAsync(searchRequest);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(exception.getCause(), instanceOf(UncheckedIOException.class));
+    }
+
+    @Test
+    void testExecuteAsync_executorReplaced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                throw new IOException("drained");
+            }
+            throw new IOException("replacement");
+        });
+        CompletableFuture<SearchResponse> pending = testee.executeAsync(searchRequest);
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+        DefaultSearchApiRequestExecutorService service = (DefaultSearchApiRequestExecutorService) testee;
+        Thread updater = new Thread(() -> service.updatedSearchConnectionConfig(
+                context.getService(SearchServiceConnectionConfigurationService.class)), "updater");
+        updater.start();
+        try {
+            // the previous executor is drained once the replacement is published
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (updater.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            ExecutionException replaced = assertThrows(ExecutionException.class,
+                                                       () -> testee.executeAsync(searchRequest).get(5, TimeUnit.SECONDS));
+            assertThat(replaced.getCause().getCause().getMessage(), is("replacement"));
+            assertThat(pending.isDone(), is(false));
+        } finally {
+            release.countDown();
+            updater.join(5000L);
+        }
+        ExecutionException drained = assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+        assertThat(drained.getCause().getCause().getMessage(), is("drained"));
+    }
+
+    @Test
+    void testExecute_circuitOpen() throws IOException {
+        testee = context.registerInjectActivateService(new DefaultSearchApiRequestExecutorService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.slidingWindowSize", 2)
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.minimumRequests", 2)
+                                                                   .build());
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenThrow(IOException.class);
+        assertThat(testee.execute(searchRequest).isPresent(), is(false));
+        assertThat(testee.execute(searchRequest).isPresent(), is(false));
+        assertThat(testee.execute(searchRequest).isPresent(), is(false));
+        verify(httpClient, times(2)).execute(eq(request), any(HttpContext.class));
+        CompletableFuture<SearchResponse> future = testee.executeAsync(searchRequest);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(exception.getCause(), instanceOf(RejectedExecutionException.class));
+        verify(httpClient, times(2)).execute(eq(request), any(HttpContext.class));
+    }
+
+    @Test
+    void testExecute_circuitOpenOnServerErrorResponses() throws IOException {
+        testee = context.registerInjectActivateService(new DefaultSearchApiRequestExecutorService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.slidingWindowSize", 2)
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.minimumRequests", 2)
+                                                                   .build());
+        mockResponse(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(testee.execute(searchRequest).isPresent(), is(true));
+        assertThat(testee.execute(searchRequest).isPresent(), is(true));
+        assertThat(testee.execute(searchRequest).isPresent(), is(false));
+        verify(httpClient, times(2)).execute(eq(request), any(HttpContext.class));
+    }
+
+    @Test
+    void testExecute_circuitClosedOnClientErrorResponses() throws IOException {
+        testee = context.registerInjectActivateService(new DefaultSearchApiRequestExecutorService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.slidingWindowSize", 2)
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.minimumRequests", 2)
+                                                                   .build());
+        mockResponse(HttpServletResponse.SC_NOT_FOUND);
+        assertThat(testee.execute(searchRequest).isPresent(), is(true));
+        assertThat(testee.execute(searchRequest).isPresent(), is(true));
+        assertThat(testee.execute(searchRequest).isPresent(), is(true));
+        verify(httpClient, times(3)).execute(eq(request), any(HttpContext.class));
+    }
+
+    @Test
+    void testExecute_circuitPerTrafficType() throws IOException {
+        testee = context.registerInjectActivateService(new DefaultSearchApiRequestExecutorService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.slidingWindowSize", 1)
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.minimumRequests", 1)
+                                                                   .build());
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenThrow(IOException.class);
+        testee.execute(searchRequest, SearchTrafficType.AUTOCOMPLETE);
+        testee.execute(searchRequest, SearchTrafficType.AUTOCOMPLETE);
+        testee.execute(searchRequest, SearchTrafficType.SEARCH);
+        verify(httpClient, times(2)).execute(eq(request), any(HttpContext.class));
+    }
+
+    @Test
+    void testExecute_pingNotGuarded() throws IOException {
+        testee = context.registerInjectActivateService(new DefaultSearchApiRequestExecutorService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.slidingWindowSize", 1)
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.minimumRequests", 1)
+                                                                   .build());
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenThrow(IOException.class);
+        testee.execute(searchRequest, SearchTrafficType.SEARCH);
+        testee.execute(searchRequest, SearchTrafficType.SEARCH);
+        verify(httpClient, times(1)).execute(eq(request), any(HttpContext.class));
+        testee.execute(searchRequest, SearchTrafficType.PING);
+        testee.execute(searchRequest, SearchTrafficType.PING);
+        verify(httpClient, times(3)).execute(eq(request), any(HttpContext.class));
+    }
+
+    @Test
+    void testExecute_bulkheadFull() throws Exception {
+        testee = context.registerInjectActivateService(new DefaultSearchApiRequestExecutorService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("searchApiRequestExecutorService.search.maxConcurrentRequests", 1)
+                                                                   .put("searchApiRequestExecutorService.circuitBreaker.enable", false)
+                                                                   .build());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread worker = new Thread(() -> testee.execute(searchRequest), "worker");
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenAnswer(invocation -> {
+            if (Thread.currentThread() == worker) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            throw new IOException();
+        });
+        worker.start();
+        try {
+            assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(testee.execute(searchRequest).isPresent(), is(false));
+            verify(httpClient, times(1)).execute(eq(request), any(HttpContext.class));
+            testee.execute(searchRequest, SearchTrafficType.AUTOCOMPLETE);
+            verify(httpClient, times(2)).execute(eq(request), any(HttpContext.class));
+        } finally {
+            release.countDown();
+            worker.join(5000L);
+        }
+        testee.execute(searchRequest);
+        verify(httpClient, times(3)).execute(eq(request), any(HttpContext.class));
+    }
+
+    private void mockResponse(int statusCode) throws IOException {
+        when(httpClient.execute(eq(request), any(HttpContext.class))).thenReturn(response);
+        StatusLine statusLine = Mockito.mock(StatusLine.class);
+        when(response.getStatusLine()).thenReturn(statusLine);
+        when(statusLine.getStatusCode()).thenReturn(statusCode);
+    }
 }
@@ -0,0 +1,66 @@
+package com.valtech.aem.saas.core.http.client;
+
+import com.google.gson.JsonElement;
+import com.valtech.aem.saas.core.http.response.dto.ResponseHeaderDTO;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HttpResponseParserTest {
+
+    @Mock
+    HttpResponse response;
+
+    @Test
+    void testToGsonModel_noEntity() {
+        when(response.getEntity()).thenReturn(null);
+        assertThat(new HttpResponseParser(response).toGsonModel(JsonElement.class), nullValue());
+    }
+
+    @Test
+    void testToGsonModel_noContent() throws IOException {
+        HttpEntity httpEntity = mock(HttpEntity.class);
+        when(httpEntity.getContent()).thenReturn(null);
+        when(response.getEntity()).thenReturn(httpEntity);
+        assertThat(new HttpResponseParser(response).toGsonModel(JsonElement.class), nullValue());
+    }
+
+    @Test
+    void testToGsonModel_invalidJson() throws IOException {
+        when(response.getEntity()).thenReturn(new StringEntity("{{}"));
+        assertThat(new HttpResponseParser(response).toGsonModel(JsonElement.class), nullValue());
+    }
+
+    @Test
+    void testToGsonModel_streamed() {
+        InputStream content = getClass().getResourceAsStream("/__files/search/fulltext/response.json");
+        when(response.getEntity()).thenReturn(new InputStreamEntity(content));
+        JsonElement jsonElement = new HttpResponseParser(response).toGsonModel(JsonElement.class);
+        assertThat(jsonElement, notNullValue());
+        assertThat(jsonElement.getAsJsonObject().has(ResponseHeaderDTO.PN_RESPONSE_HEADER), is(true));
+    }
+
+    @Test
+    void testToGsonModel_typed() throws IOException {
+        when(response.getEntity()).thenReturn(new StringEntity("{\"status\":0,\"QTime\":8}"));
+        ResponseHeaderDTO responseHeader = new HttpResponseParser(response).toGsonModel(ResponseHeaderDTO.class);
+        assertThat(responseHeader.getStatus(), is(0));
+        assertThat(responseHeader.getQueryTime(), is(8));
+    }
+}
@@ -0,0 +1,158 @@
+package com.valtech.aem.saas.core.http.client;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.valtech.aem.saas.core.http.metrics.SearchEndpoint;
+import com.valtech.aem.saas.core.http.response.JsonObjectDataExtractionStrategy;
+import com.valtech.aem.saas.core.http.response.ResponseBodyDataExtractionStrategy;
+import com.valtech.aem.saas.core.http.response.SearchResponse;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
+import com.valtech.aem.saas.core.serialization.Serializers;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchRequestExecutorTest {
+
+    private static final int DOCS = 20;
+    private static final int ALLOCATION_ITERATIONS = 50;
+
+    @Mock
+    HttpResponse response;
+
+    @Test
+    void testParseResponse_fulltextSearchDecodedTyped() {
+        byte[] content = createFulltextSearchResponse();
+        mockContent(content);
+        SearchResponse searchResponse = SearchRequestExecutor.parseResponse(response, SearchEndpoint.SEARCH, true,
+                                                                            200, 0L);
+        FulltextSearchResponseDTO decoded = searchResponse.getFulltextSearchResponse().get();
+        assertThat(decoded.getResponse().getNumFound(), is(1234));
+        assertThat(decoded.getResponse().getDocs().size(), is(DOCS));
+        assertThat(decoded.getResponse().getDocs().get(3).getTitle(), is("Adventure 3"));
+        assertThat(decoded.getHighlighting().get("https://wknd.site/adventure-3.html").get("title_en").get(0),
+                   is("<em>Adventure</em> 3"));
+        assertThat(searchResponse.get(new ResponseBodyDataExtractionStrategy()).get().getStart(), is(0));
+    }
+
+    @Test
+    void testParseResponse_otherEndpointDecodedAsJson() {
+        mockContent("{\"message\":\"ok\"}".getBytes(StandardCharsets.UTF_8));
+        SearchResponse searchResponse = SearchRequestExecutor.parseResponse(response, SearchEndpoint.INDEX, false,
+                                                                            429, 1000L);
+        assertThat(searchResponse.isSuccess(), is(false));
+        assertThat(searchResponse.isThrottled(), is(true));
+        assertThat(searchResponse.getRetryAfterMillis(), is(1000L));
+        assertThat(searchResponse.get(new JsonObjectDataExtractionStrategy()).get().get("message").getAsString(),
+                   is("ok"));
+    }
+
+    @Test
+    void testParseResponse_invalidFulltextSearchResponse() {
+        mockContent("[1,2]".getBytes(StandardCharsets.UTF_8));
+        SearchResponse searchResponse = SearchRequestExecutor.parseResponse(response, SearchEndpoint.SEARCH, true,
+                                                                            200, 0L);
+        assertThat(searchResponse.getFulltextSearchResponse().isPresent(), is(false));
+        assertThat(searchResponse.get(new ResponseBodyDataExtractionStrategy()).isPresent(), is(false));
+    }
+
+    @Test
+    void testDecode_allocationComparedToJsonTree(TestReporter reporter) {
+        com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean != null && threadMXBean.isThreadAllocatedMemoryEnabled(),
+                               "Thread allocation measurement is not supported.");
+        byte[] content = createFulltextSearchResponse();
+        long typedBytes = 0;
+        long treeBytes = 0;
+        for (int round = 0; round < 2; round++) {
+            // the first round warms up
+            typedBytes = allocatedBytes(threadMXBean, () -> Serializers.gson().fromJson(
+                    createReader(content), FulltextSearchResponseDTO.class));
+            // the json tree, decoded into the typed model afterwards, as done before the responses were decoded typed
+            treeBytes = allocatedBytes(threadMXBean, () -> Serializers.gson().fromJson(
+                    (JsonElement) Serializers.gson().fromJson(createReader(content), JsonElement.class),
+                    FulltextSearchResponseDTO.class));
+        }
+        // about 43% of the json tree when measured, since the fields not mapped by the model are skipped. Allocations
+        // depend on the jvm, hence they are only reported
+        reporter.publishEntry("content.bytes", String.valueOf(content.length));
+        reporter.publishEntry("typed.allocatedBytes", String.valueOf(typedBytes / ALLOCATION_ITERATIONS));
+        reporter.publishEntry("tree.allocatedBytes", String.valueOf(treeBytes / ALLOCATION_ITERATIONS));
+    }
+
+    private void mockContent(byte[] content) {
+        when(response.getEntity()).thenReturn(new ByteArrayEntity(content, ContentType.APPLICATION_JSON));
+    }
+
+    private static JsonReader createReader(byte[] content) {
+        return new JsonReader(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+    }
+
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threadMXBean, Supplier<?> decode) {
+        long threadId = Thread.currentThread().getId();
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ALLOCATION_ITERATIONS; i++) {
+            decode.get();
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - start;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        return threadMXBean instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) threadMXBean
+                : null;
+    }
+
+    /**
+     * Creates a fulltext search response shaped like the ones of SaaS, with the query parameters echoed in the header
+     * and the indexed fields not mapped by the model, such as the content, returned in the documents.
+     */
+    private static byte[] createFulltextSearchResponse() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"responseHeader\":{\"status\":0,\"QTime\":8,\"params\":{\"q\":\"adventure\",\"rows\":\"")
+            .append(DOCS)
+            .append("\",\"hl.fl\":\"title_en,meta_description_en,content_en\"}},")
+            .append("\"response\":{\"numFound\":1234,\"start\":0,\"docs\":[");
+        for (int i = 0; i < DOCS; i++) {
+            json.append(i > 0 ? "," : "")
+                .append("{\"meta_description\":\"Join us on adventure ").append(i).append("\",")
+                .append("\"domain\":\"wknd.site\",\"language\":\"en\",")
+                .append("\"title\":\"Adventure ").append(i).append("\",")
+                .append("\"url\":\"https://wknd.site/adventure-").append(i).append(".html\",")
+                .append("\"id\":\"https://wknd.site/adventure-").append(i).append(".html\",")
+                .append("\"content_en\":\"");
+            for (int j = 0; j < 10; j++) {
+                json.append("Ski, surf and climb with experienced guides, all equipment included. ");
+            }
+            json.append("\",\"meta_keywords\":[\"adventure\",\"surfing\",\"skiing\",\"climbing\"],")
+                .append("\"_version_\":1700000000000000").append(i).append(",")
+                .append("\"[elevated]\":false}");
+        }
+        json.append("]},\"highlighting\":{");
+        for (int i = 0; i < DOCS; i++) {
+            json.append(i > 0 ? "," : "")
+                .append("\"https://wknd.site/adventure-").append(i).append(".html\":")
+                .append("{\"title_en\":[\"<em>Adventure</em> ").append(i).append("\"]}");
+        }
+        json.append("},\"facet_counts\":{\"facet_fields\":{\"domain\":[\"wknd.site\",").append(DOCS).append("]}}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
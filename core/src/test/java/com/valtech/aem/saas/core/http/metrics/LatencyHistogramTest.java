@@ -0,0 +1,45 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testRecord() {
+        LatencyHistogram testee = new LatencyHistogram();
+        testee.record(TimeUnit.MILLISECONDS.toNanos(3L));
+        testee.record(TimeUnit.MILLISECONDS.toNanos(5L));
+        testee.record(TimeUnit.MILLISECONDS.toNanos(40L));
+        testee.record(TimeUnit.MILLISECONDS.toNanos(20000L));
+        testee.record(-1L);
+        long[] counts = testee.getCumulativeCounts();
+        assertThat(counts.length, is(LatencyHistogram.BUCKET_BOUNDS_MILLIS.length + 1));
+        assertThat(counts[0], is(2L));
+        assertThat(counts[2], is(2L));
+        assertThat(counts[3], is(3L));
+        assertThat(counts[counts.length - 2], is(3L));
+        assertThat(counts[counts.length - 1], is(4L));
+        assertThat(testee.getCount(), is(4L));
+        assertThat(testee.getMaxNanos(), is(TimeUnit.MILLISECONDS.toNanos(20000L)));
+        assertThat(testee.getMeanMillis(), is(5012d));
+    }
+
+    @Test
+    void testGetPercentileMillis() {
+        LatencyHistogram testee = new LatencyHistogram();
+        assertThat(testee.getPercentileMillis(0.5d), is(0L));
+        for (int i = 0; i < 98; i++) {
+            testee.record(TimeUnit.MILLISECONDS.toNanos(7L));
+        }
+        testee.record(TimeUnit.MILLISECONDS.toNanos(300L));
+        testee.record(TimeUnit.MILLISECONDS.toNanos(12345L));
+        assertThat(testee.getPercentileMillis(0.5d), is(10L));
+        assertThat(testee.getPercentileMillis(0.99d), is(500L));
+        assertThat(testee.getPercentileMillis(1d), is(12345L));
+    }
+}
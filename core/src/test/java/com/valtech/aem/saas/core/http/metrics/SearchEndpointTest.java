@@ -0,0 +1,38 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpPost;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class SearchEndpointTest {
+
+    private static final String API_URL = "https://ic-search-api.valtech.swiss/api/v3";
+
+    @Test
+    void testOf() {
+        assertThat(SearchEndpoint.of(new HttpGet(API_URL + "/foo/search?q=bar")), is(SearchEndpoint.SEARCH));
+        assertThat(SearchEndpoint.of(new HttpGet(API_URL + "/foo/typeahead?q=bar")), is(SearchEndpoint.TYPEAHEAD));
+        assertThat(SearchEndpoint.of(new HttpHead(API_URL + "/foo/search")), is(SearchEndpoint.PING));
+        assertThat(SearchEndpoint.of(new HttpPost(API_URL + "/foo/index/trigger")), is(SearchEndpoint.INDEX));
+        assertThat(SearchEndpoint.of(new HttpPost(API_URL + "/foo/content")), is(SearchEndpoint.CONTENT));
+        assertThat(SearchEndpoint.of(new HttpDelete(API_URL + "/foo/bestbets/42")), is(SearchEndpoint.BESTBETS));
+        assertThat(SearchEndpoint.of(new HttpPost(API_URL + "/foo/analytics/track")), is(SearchEndpoint.TRACKING));
+    }
+
+    @Test
+    void testOf_actionPathWins() {
+        assertThat(SearchEndpoint.of(new HttpGet(API_URL + "/content/search")), is(SearchEndpoint.SEARCH));
+        assertThat(SearchEndpoint.of(new HttpPost(API_URL + "/search/content")), is(SearchEndpoint.CONTENT));
+    }
+
+    @Test
+    void testOf_unknownPath() {
+        assertThat(SearchEndpoint.of(new HttpGet(API_URL + "/foo/bar")), is(SearchEndpoint.OTHER));
+        assertThat(SearchEndpoint.of(new HttpGet("https://ic-search-api.valtech.swiss")), is(SearchEndpoint.OTHER));
+    }
+}
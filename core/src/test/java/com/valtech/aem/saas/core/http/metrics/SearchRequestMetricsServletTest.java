@@ -0,0 +1,152 @@
+package com.valtech.aem.saas.core.http.metrics;
+
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.jackrabbit.api.security.user.Group;
+import org.apache.jackrabbit.api.security.user.User;
+import org.apache.jackrabbit.api.security.user.UserManager;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.jcr.RepositoryException;
+import javax.management.DynamicMBean;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.hamcrest.core.StringStartsWith.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({AemContextExtension.class, MockitoExtension.class})
+class SearchRequestMetricsServletTest {
+
+    private final AemContext context = new AemContext();
+
+    @Mock
+    ResourceResolver resourceResolver;
+
+    @Mock
+    UserManager userManager;
+
+    @Mock
+    User user;
+
+    SearchRequestMetrics searchRequestMetrics;
+
+    SearchRequestMetricsServlet testee;
+
+    @BeforeEach
+    void setUp() {
+        searchRequestMetrics = context.registerInjectActivateService(new DefaultSearchRequestMetrics());
+        testee = context.registerInjectActivateService(new SearchRequestMetricsServlet());
+    }
+
+    @Test
+    void testMBeansRegistered() {
+        assertThat(context.getServices(DynamicMBean.class, null).length, is(SearchEndpoint.values().length));
+    }
+
+    @Test
+    void testDoGet() throws IOException {
+        searchRequestMetrics.record(SearchRequestSample.builder()
+                                                       .endpoint(SearchEndpoint.SEARCH)
+                                                       .statusCode(200)
+                                                       .durationNanos(TimeUnit.MILLISECONDS.toNanos(40L))
+                                                       .leaseWaitNanos(TimeUnit.MILLISECONDS.toNanos(2L))
+                                                       .bytesReceived(1024L)
+                                                       .build());
+        searchRequestMetrics.record(SearchRequestSample.builder()
+                                                       .endpoint(SearchEndpoint.CONTENT)
+                                                       .statusCode(SearchRequestSample.NO_RESPONSE)
+                                                       .durationNanos(TimeUnit.SECONDS.toNanos(30L))
+                                                       .bytesSent(512L)
+                                                       .build());
+        testee.doGet(createRequest(false, "administrators"), context.response());
+        String output = context.response().getOutputAsString();
+        assertThat(context.response().getContentType(), startsWith(SearchRequestMetricsServlet.CONTENT_TYPE));
+        assertThat(output, containsString("# TYPE saas_request_duration_seconds histogram\n"));
+        assertThat(output, containsString("saas_request_duration_seconds_bucket{endpoint=\"search\",le=\"0.025\"} 0\n"));
+        assertThat(output, containsString("saas_request_duration_seconds_bucket{endpoint=\"search\",le=\"0.05\"} 1\n"));
+        assertThat(output, containsString("saas_request_duration_seconds_bucket{endpoint=\"content\",le=\"+Inf\"} 1\n"));
+        assertThat(output, containsString("saas_request_duration_seconds_sum{endpoint=\"search\"} 0.04\n"));
+        assertThat(output, containsString("saas_request_lease_wait_seconds_count{endpoint=\"search\"} 1\n"));
+        assertThat(output, containsString("saas_request_lease_wait_seconds_count{endpoint=\"content\"} 0\n"));
+        assertThat(output, containsString("saas_responses_total{endpoint=\"search\",status=\"200\"} 1\n"));
+        assertThat(output, containsString("saas_request_failures_total{endpoint=\"content\"} 1\n"));
+        assertThat(output, containsString("saas_request_sent_bytes_total{endpoint=\"content\"} 512\n"));
+        assertThat(output, containsString("saas_response_received_bytes_total{endpoint=\"search\"} 1024\n"));
+    }
+
+    @Test
+    void testDoGet_admin() throws IOException {
+        testee.doGet(createRequest(true), context.response());
+        assertThat(context.response().getStatus(), is(HttpServletResponse.SC_OK));
+        assertThat(context.response().getOutputAsString(), containsString("# TYPE saas_responses_total counter\n"));
+    }
+
+    @Test
+    void testDoGet_forbidden() throws IOException {
+        testee.doGet(createRequest(false, "contributor"), context.response());
+        assertThat(context.response().getStatus(), is(HttpServletResponse.SC_FORBIDDEN));
+        assertThat(context.response().getOutputAsString(), is(""));
+    }
+
+    @Test
+    void testDoGet_anonymous() throws IOException {
+        testee.doGet(context.request(), context.response());
+        assertThat(context.response().getStatus(), is(HttpServletResponse.SC_FORBIDDEN));
+    }
+
+    @Test
+    void testEndpointMetrics() {
+        searchRequestMetrics.record(SearchRequestSample.builder()
+                                                       .endpoint(SearchEndpoint.TYPEAHEAD)
+                                                       .statusCode(503)
+                                                       .durationNanos(TimeUnit.MILLISECONDS.toNanos(80L))
+                                                       .build());
+        SearchEndpointMetrics metrics = searchRequestMetrics.getEndpointMetrics()
+                                                            .stream()
+                                                            .filter(m -> m.getEndpoint() == SearchEndpoint.TYPEAHEAD)
+                                                            .findFirst()
+                                                            .orElseThrow(IllegalStateException::new);
+        assertThat(metrics.getRequestCount(), is(1L));
+        assertThat(metrics.getServerErrorCount(), is(1L));
+        assertThat(metrics.getSuccessCount(), is(0L));
+        assertThat(metrics.getStatusCodeCounts(), is(new String[]{"503=1"}));
+        assertThat(metrics.getP99LatencyMillis(), is(100L));
+        assertThat(metrics.getMeanLeaseWaitMillis(), is(0d));
+    }
+
+    private SlingHttpServletRequest createRequest(boolean admin, String... groupIds) {
+        try {
+            when(resourceResolver.getUserID()).thenReturn("user");
+            when(resourceResolver.adaptTo(UserManager.class)).thenReturn(userManager);
+            when(userManager.getAuthorizable("user")).thenReturn(user);
+            when(user.isAdmin()).thenReturn(admin);
+            if (!admin) {
+                List<Group> groups = new ArrayList<>();
+                for (String groupId : groupIds) {
+                    Group group = mock(Group.class);
+                    when(group.getID()).thenReturn(groupId);
+                    groups.add(group);
+                }
+                when(user.memberOf()).thenReturn(groups.iterator());
+            }
+        } catch (RepositoryException e) {
+            throw new IllegalStateException(e);
+        }
+        return new MockSlingHttpServletRequest(resourceResolver, context.bundleContext());
+    }
+}
@@ -0,0 +1,36 @@
+package com.valtech.aem.saas.core.http.request;
+
+import com.google.gson.Gson;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class GsonHttpEntityTest {
+
+    @Test
+    void testWriteTo() throws IOException {
+        GsonHttpEntity entity = new GsonHttpEntity(new Gson(), Arrays.asList(Collections.singletonMap("foo", "bär"),
+                                                                             Collections.singletonMap("baz", 1)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8.name()), is("[{\"foo\":\"bär\"},{\"baz\":1}]"));
+        assertThat(IOUtils.toString(entity.getContent(), StandardCharsets.UTF_8), is("[{\"foo\":\"bär\"},{\"baz\":1}]"));
+    }
+
+    @Test
+    void testHeaders() {
+        GsonHttpEntity entity = new GsonHttpEntity(new Gson(), Collections.emptyList());
+        assertThat(entity.isChunked(), is(true));
+        assertThat(entity.isRepeatable(), is(true));
+        assertThat(entity.getContentLength(), is(-1L));
+        assertThat(entity.getContentType().getValue(), is("application/json; charset=UTF-8"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.valtech.aem.saas.core.http.response;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+class BulkIndexUpdateDataExtractionStrategyTest {
+
+    @Test
+    void testGetData() {
+        BulkIndexUpdateDataExtractionStrategy strategy = new BulkIndexUpdateDataExtractionStrategy();
+        Assertions.assertThrows(UnsupportedOperationException.class, strategy::propertyName);
+        assertThat(strategy.getData(new JsonObject()).isPresent(), is(false));
+        JsonArray response = new JsonArray();
+        response.add(new JsonParser().parse(new InputStreamReader(getClass().getResourceAsStream(
+                "/__files/search/indexupdate/success.json"))));
+        response.add(new JsonPrimitive("failed"));
+        List<IndexUpdateResponseDTO> items = strategy.getData(response).orElseThrow(IllegalStateException::new);
+        assertThat(items.size(), is(2));
+        assertThat(items.get(0).getMessage(), is("Added URL to queue of site"));
+        assertThat(items.get(1), is(nullValue()));
+    }
+}
@@ -0,0 +1,77 @@
+package com.valtech.aem.saas.core.http.response;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultsDTO;
+import com.valtech.aem.saas.core.http.response.dto.FulltextSearchResponseDTO;
+import com.valtech.aem.saas.core.http.response.dto.ResponseBodyDTO;
+import com.valtech.aem.saas.core.serialization.Serializers;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+class SearchResponseTest {
+
+    @Test
+    void testGetFulltextSearchResponse_decodedOnce() {
+        SearchResponse searchResponse = new SearchResponse(getResponse(), true);
+        Optional<FulltextSearchResponseDTO> decoded = searchResponse.getFulltextSearchResponse();
+        assertThat(decoded.isPresent(), is(true));
+        assertThat(searchResponse.getFulltextSearchResponse().get(), sameInstance(decoded.get()));
+        Optional<ResponseBodyDTO> responseBody = searchResponse.get(new ResponseBodyDataExtractionStrategy());
+        assertThat(responseBody.isPresent(), is(true));
+        assertThat(responseBody.get(), sameInstance(decoded.get().getResponse()));
+    }
+
+    @Test
+    void testGet_sameResultAsJsonStrategy() {
+        JsonElement response = getResponse();
+        SearchResponse searchResponse = new SearchResponse(response, true);
+        FacetFieldsDataExtractionStrategy strategy = new FacetFieldsDataExtractionStrategy();
+        Optional<List<FacetFieldResultsDTO>> singlePass = searchResponse.get(strategy);
+        Optional<List<FacetFieldResultsDTO>> standalone = strategy.getData(response);
+        assertThat(singlePass.isPresent(), is(true));
+        assertThat(singlePass.get(), is(standalone.get()));
+        assertThat(searchResponse.get(new ResponseHeaderDataExtractionStrategy()).get(),
+                   is(new ResponseHeaderDataExtractionStrategy().getData(response).get()));
+    }
+
+    @Test
+    void testGetFulltextSearchResponse_invalidResponse() {
+        assertThat(new SearchResponse(null, false).getFulltextSearchResponse().isPresent(), is(false));
+        assertThat(new SearchResponse(new JsonArray(), true).getFulltextSearchResponse().isPresent(), is(false));
+        JsonObject invalid = new JsonObject();
+        invalid.addProperty(ResponseBodyDTO.PN_RESPONSE, "foo");
+        SearchResponse searchResponse = new SearchResponse(invalid, true);
+        assertThat(searchResponse.getFulltextSearchResponse().isPresent(), is(false));
+        assertThat(searchResponse.get(new ResponseBodyDataExtractionStrategy()).isPresent(), is(false));
+    }
+
+    @Test
+    void testOfFulltextSearchResponse() {
+        FulltextSearchResponseDTO decoded = Serializers.gson().fromJson(getResponse(), FulltextSearchResponseDTO.class);
+        SearchResponse searchResponse = SearchResponse.ofFulltextSearchResponse(decoded, true, 200, 0L);
+        assertThat(searchResponse.getFulltextSearchResponse().get(), sameInstance(decoded));
+        assertThat(searchResponse.get(new ResponseBodyDataExtractionStrategy()).get(),
+                   sameInstance(decoded.getResponse()));
+        Optional<JsonObject> json = searchResponse.get(new JsonObjectDataExtractionStrategy());
+        assertThat(json.get().getAsJsonObject(ResponseBodyDTO.PN_RESPONSE).get("numFound").getAsInt(),
+                   is(decoded.getResponse().getNumFound()));
+        assertThat(SearchResponse.ofFulltextSearchResponse(null, false, 500, 0L)
+                                 .get(new JsonObjectDataExtractionStrategy())
+                                 .isPresent(), is(false));
+    }
+
+    private JsonElement getResponse() {
+        return new JsonParser().parse(new InputStreamReader(getClass().getResourceAsStream(
+                "/__files/search/fulltext/response.json")));
+    }
+}
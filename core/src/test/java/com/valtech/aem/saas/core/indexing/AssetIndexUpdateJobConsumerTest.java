@@ -0,0 +1,85 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.event.jobs.consumer.JobConsumer.JobResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AssetIndexUpdateJobConsumerTest {
+
+    @Mock
+    AssetContentPushService assetContentPushService;
+
+    @Mock
+    IndexUpdateService indexUpdateService;
+
+    @Mock
+    IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @Mock
+    IndexUpdateThrottle indexUpdateThrottle;
+
+    @Mock
+    JobManager jobManager;
+
+    @Mock
+    Job job;
+
+    @InjectMocks
+    AssetIndexUpdateJobConsumer testee;
+
+    @BeforeEach
+    void setUp() {
+        when(job.getProperty(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_URL, StringUtils.EMPTY))
+                .thenReturn("bar");
+        when(job.getProperty(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_REPOSITORY_PATH, StringUtils.EMPTY))
+                .thenReturn("baz");
+    }
+
+    @Test
+    void testProcess_pushed() {
+        when(assetContentPushService.push("bar", "baz")).thenReturn(IndexContentPushService.Result.PUSHED);
+        assertThat(testee.process(job), is(JobResult.OK));
+        verify(indexUpdateService, never()).indexUrl(anyString(), anyString());
+    }
+
+    @Test
+    void testProcess_pushFailed() {
+        when(assetContentPushService.push("bar", "baz")).thenReturn(IndexContentPushService.Result.FAILED);
+        assertThat(testee.process(job), is(JobResult.FAILED));
+        verify(indexUpdateService, never()).indexUrl(anyString(), anyString());
+    }
+
+    @Test
+    void testProcess_notExtracted() {
+        when(assetContentPushService.push("bar", "baz")).thenReturn(IndexContentPushService.Result.NOT_EXTRACTED);
+        when(indexUpdateService.indexUrl("bar", "baz")).thenReturn(
+                Optional.of(new IndexUpdateResponseDTO("foo", "bar", "baz", "quz")));
+        assertThat(testee.process(job), is(JobResult.OK));
+    }
+
+    @Test
+    void testProcess_notExtractedIndexUpdateFailed() {
+        when(assetContentPushService.push("bar", "baz")).thenReturn(IndexContentPushService.Result.NOT_EXTRACTED);
+        when(indexUpdateService.indexUrl("bar", "baz")).thenReturn(Optional.empty());
+        assertThat(testee.process(job), is(JobResult.FAILED));
+    }
+}
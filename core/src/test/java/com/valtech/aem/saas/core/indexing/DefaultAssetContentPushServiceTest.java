@@ -0,0 +1,156 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.google.common.collect.ImmutableMap;
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({AemContextExtension.class, MockitoExtension.class})
+class DefaultAssetContentPushServiceTest {
+
+    private static final String ASSET_PATH = "/content/dam/site/brochure.pdf";
+    private static final String URL = "https://site.com/content/dam/site/brochure.pdf";
+
+    private final AemContext context = new AemContext();
+
+    @Mock
+    ResourceResolverProvider resourceResolverProvider;
+
+    @Mock
+    IndexFingerprintService indexFingerprintService;
+
+    @Mock
+    IndexUpdateService indexUpdateService;
+
+    @Mock
+    AssetTextExtractionService assetTextExtractionService;
+
+    DefaultAssetContentPushService testee;
+
+    @BeforeEach
+    void setUp() {
+        context.create().asset(ASSET_PATH,
+                               new ByteArrayInputStream(new byte[2048]),
+                               "application/pdf",
+                               ImmutableMap.of("dc:title", "Brochure",
+                                               "dc:subject", new String[]{"travel", "surf"}));
+        context.registerService(ResourceResolverProvider.class, resourceResolverProvider);
+        context.registerService(IndexFingerprintService.class, indexFingerprintService);
+        context.registerService(IndexUpdateService.class, indexUpdateService);
+        context.registerService(AssetTextExtractionService.class, assetTextExtractionService);
+        testee = context.registerInjectActivateService(new DefaultAssetContentPushService(),
+                                                       "assetContentPushService.enabled", true);
+    }
+
+    @Test
+    void testPush() {
+        mockResourceResolver();
+        when(assetTextExtractionService.extract(any(InputStream.class), eq("application/pdf"), anyInt()))
+                .thenReturn(Optional.of("Surf camp in Bali"));
+        when(indexFingerprintService.fingerprint(any(IndexContentPayloadDTO.class))).thenReturn("fingerprint");
+        when(indexUpdateService.indexContent(any(IndexContentPayloadDTO.class))).thenReturn(
+                Optional.of(new IndexUpdateResponseDTO("foo", "bar", "baz", "quz")));
+        assertThat(testee.push(URL, ASSET_PATH), is(IndexContentPushService.Result.PUSHED));
+        ArgumentCaptor<IndexContentPayloadDTO> payload = ArgumentCaptor.forClass(IndexContentPayloadDTO.class);
+        verify(indexUpdateService).indexContent(payload.capture());
+        assertThat(payload.getValue().getContent(), is("Surf camp in Bali"));
+        assertThat(payload.getValue().getTitle(), is("Brochure"));
+        assertThat(payload.getValue().getRepositoryPath(), is(ASSET_PATH));
+        assertThat(getMetadata(payload.getValue(), IndexContentPayloadDTO.PN_META_KEYWORDS), is("travel, surf"));
+        assertThat(getMetadata(payload.getValue(), IndexContentPayloadDTO.PN_META_DESCRIPTION),
+                   is("Surf camp in Bali"));
+        assertThat(getMetadata(payload.getValue(), IndexContentPayloadDTO.PN_LANGUAGE), is("en"));
+        assertThat(getMetadata(payload.getValue(), IndexContentPayloadDTO.PN_SCOPE), is("asset"));
+        verify(indexFingerprintService).update(URL, ASSET_PATH, "fingerprint");
+    }
+
+    @Test
+    void testPush_unchanged() {
+        mockResourceResolver();
+        when(assetTextExtractionService.extract(any(InputStream.class), eq("application/pdf"), anyInt()))
+                .thenReturn(Optional.of("Surf camp in Bali"));
+        when(indexFingerprintService.fingerprint(any(IndexContentPayloadDTO.class))).thenReturn("fingerprint");
+        when(indexFingerprintService.isUnchanged(URL, ASSET_PATH, "fingerprint")).thenReturn(true);
+        assertThat(testee.push(URL, ASSET_PATH), is(IndexContentPushService.Result.UNCHANGED));
+        verify(indexUpdateService, never()).indexContent(any(IndexContentPayloadDTO.class));
+    }
+
+    @Test
+    void testPush_noText() {
+        mockResourceResolver();
+        when(assetTextExtractionService.extract(any(InputStream.class), eq("application/pdf"), anyInt()))
+                .thenReturn(Optional.empty());
+        assertThat(testee.push(URL, ASSET_PATH), is(IndexContentPushService.Result.NOT_EXTRACTED));
+    }
+
+    @Test
+    void testPush_binaryTooLarge() {
+        mockResourceResolver();
+        testee = context.registerInjectActivateService(new DefaultAssetContentPushService(),
+                                                       "assetContentPushService.maxBinarySize", 0L);
+        assertThat(testee.push(URL, ASSET_PATH), is(IndexContentPushService.Result.NOT_EXTRACTED));
+        verifyNoInteractions(assetTextExtractionService);
+    }
+
+    @Test
+    void testPush_assetMissing() {
+        mockResourceResolver();
+        assertThat(testee.push(URL, "/content/dam/site/missing.pdf"),
+                   is(IndexContentPushService.Result.NOT_EXTRACTED));
+    }
+
+    @Test
+    void testPush_memoryBudgetExhausted() {
+        String largeAssetPath = "/content/dam/site/catalogue.pdf";
+        context.create().asset(largeAssetPath,
+                               new ByteArrayInputStream(new byte[2 * 1024 * 1024]),
+                               "application/pdf",
+                               ImmutableMap.of());
+        mockResourceResolver();
+        testee = context.registerInjectActivateService(new DefaultAssetContentPushService(),
+                                                       "assetContentPushService.memoryBudget", 1L,
+                                                       "assetContentPushService.memoryBudgetTimeout", 0L);
+        when(assetTextExtractionService.extract(any(InputStream.class), eq("application/pdf"), anyInt()))
+                .thenAnswer(invocation -> {
+                    assertThat(testee.push(URL, ASSET_PATH), is(IndexContentPushService.Result.FAILED));
+                    return Optional.empty();
+                });
+        assertThat(testee.push(URL, largeAssetPath), is(IndexContentPushService.Result.NOT_EXTRACTED));
+        verify(assetTextExtractionService).extract(any(InputStream.class), eq("application/pdf"), anyInt());
+    }
+
+    private void mockResourceResolver() {
+        when(resourceResolverProvider.resourceResolverFunction(any())).thenAnswer(
+                invocation -> Optional.ofNullable(invocation.<Function<ResourceResolver, Object>>getArgument(0)
+                                                            .apply(context.resourceResolver())));
+    }
+
+    private static String getMetadata(IndexContentPayloadDTO payload, String name) {
+        return payload.getMetadata().get(name).getAsString();
+    }
+}
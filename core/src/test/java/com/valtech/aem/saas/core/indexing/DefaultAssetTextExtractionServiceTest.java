@@ -0,0 +1,78 @@
+package com.valtech.aem.saas.core.indexing;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.AbstractParser;
+import org.apache.tika.parser.ParseContext;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class DefaultAssetTextExtractionServiceTest {
+
+    @Test
+    void testExtract() {
+        assertThat(extract(new TextParser(), "  Fish\n\n and\tchips ", 100), is(Optional.of("Fish and chips")));
+    }
+
+    @Test
+    void testExtract_truncated() {
+        assertThat(extract(new TextParser(), "Fish and chips", 4), is(Optional.of("Fish")));
+    }
+
+    @Test
+    void testExtract_noText() {
+        assertThat(extract(new TextParser(), " ", 100).isPresent(), is(false));
+    }
+
+    @Test
+    void testExtract_parserFails() {
+        AbstractParser failing = new TextParser() {
+            @Override
+            public void parse(InputStream stream, ContentHandler handler, Metadata metadata, ParseContext context)
+                    throws TikaException {
+                throw new TikaException("corrupt");
+            }
+        };
+        assertThat(extract(failing, "Fish", 100).isPresent(), is(false));
+    }
+
+    private static Optional<String> extract(AbstractParser parser, String text, int maxLength) {
+        return DefaultAssetTextExtractionService.extract(parser,
+                                                         new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+                                                         "text/plain",
+                                                         maxLength);
+    }
+
+    private static class TextParser extends AbstractParser {
+
+        @Override
+        public Set<MediaType> getSupportedTypes(ParseContext context) {
+            return Collections.singleton(MediaType.TEXT_PLAIN);
+        }
+
+        @Override
+        public void parse(InputStream stream, ContentHandler handler, Metadata metadata, ParseContext context)
+                throws TikaException, SAXException {
+            try {
+                char[] text = IOUtils.toString(stream, StandardCharsets.UTF_8).toCharArray();
+                handler.characters(text, 0, text.length);
+            } catch (IOException e) {
+                throw new TikaException("unreadable", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.google.common.collect.ImmutableMap;
+import com.valtech.aem.saas.api.indexing.ContentExtractor;
+import com.valtech.aem.saas.api.indexing.dto.ExtractedContentDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.Constants;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({AemContextExtension.class, MockitoExtension.class})
+class DefaultIndexContentExtractionServiceTest {
+
+    private static final String PAGE_PATH = "/content/site/en/page";
+    private static final String URL = "https://site.com/en/page.html";
+    private static final String PAGE_RESOURCE_TYPE = "site/components/page";
+
+    private final AemContext context = new AemContext();
+
+    @Mock
+    ResourceResolverProvider resourceResolverProvider;
+
+    DefaultIndexContentExtractionService testee;
+
+    @BeforeEach
+    void setUp() {
+        context.create().page(PAGE_PATH, null, ImmutableMap.of("jcr:title", "Page",
+                                                               "jcr:language", "de_CH",
+                                                               "sling:resourceType", PAGE_RESOURCE_TYPE));
+        context.create().resource(PAGE_PATH + "/jcr:content/root/title", "jcr:title", "Welcome");
+        context.create().resource(PAGE_PATH + "/jcr:content/root/text", "text", "<p>Fish &amp; <b>chips</b></p>");
+        context.registerService(ResourceResolverProvider.class, resourceResolverProvider);
+    }
+
+    @Test
+    void testExtract_pageContent() {
+        mockResourceResolver();
+        registerTestee();
+        Optional<IndexContentPayloadDTO> payload = testee.extract(URL, PAGE_PATH);
+        assertThat(payload.isPresent(), is(true));
+        assertThat(payload.get().getContent(), is("Welcome Fish & chips"));
+        assertThat(payload.get().getTitle(), is("Page"));
+        assertThat(payload.get().getUrl(), is(URL));
+        assertThat(payload.get().getRepositoryPath(), is(PAGE_PATH));
+        assertThat(getMetadata(payload.get(), IndexContentPayloadDTO.PN_LANGUAGE), is("de"));
+        assertThat(getMetadata(payload.get(), IndexContentPayloadDTO.PN_META_KEYWORDS), is("Page"));
+        assertThat(getMetadata(payload.get(), IndexContentPayloadDTO.PN_META_DESCRIPTION),
+                   is("Welcome Fish & chips"));
+        assertThat(getMetadata(payload.get(), IndexContentPayloadDTO.PN_SCOPE), is("page"));
+    }
+
+    @Test
+    void testExtract_pageMissing() {
+        mockResourceResolver();
+        registerTestee();
+        assertThat(testee.extract(URL, "/content/site/en/missing").isPresent(), is(false));
+    }
+
+    @Test
+    void testExtract_contentExtractorOfResourceType() {
+        mockResourceResolver();
+        context.registerService(ContentExtractor.class,
+                                page -> Optional.of(ExtractedContentDTO.builder().content("low").build()),
+                                ContentExtractor.PROPERTY_RESOURCE_TYPES, PAGE_RESOURCE_TYPE);
+        context.registerService(ContentExtractor.class,
+                                page -> Optional.of(ExtractedContentDTO.builder()
+                                                                       .title("Custom")
+                                                                       .content("high")
+                                                                       .description("Description")
+                                                                       .keyword("a")
+                                                                       .keyword("b")
+                                                                       .language("fr")
+                                                                       .build()),
+                                ContentExtractor.PROPERTY_RESOURCE_TYPES, new String[]{PAGE_RESOURCE_TYPE},
+                                Constants.SERVICE_RANKING, 100);
+        context.registerService(ContentExtractor.class,
+                                page -> Optional.of(ExtractedContentDTO.builder().content("other").build()),
+                                ContentExtractor.PROPERTY_RESOURCE_TYPES, "other/components/page",
+                                Constants.SERVICE_RANKING, 200);
+        registerTestee();
+        Optional<IndexContentPayloadDTO> payload = testee.extract(URL, PAGE_PATH);
+        assertThat(payload.isPresent(), is(true));
+        assertThat(payload.get().getContent(), is("high"));
+        assertThat(payload.get().getTitle(), is("Custom"));
+        assertThat(getMetadata(payload.get(), IndexContentPayloadDTO.PN_LANGUAGE), is("fr"));
+        assertThat(getMetadata(payload.get(), IndexContentPayloadDTO.PN_META_KEYWORDS), is("a, b"));
+        assertThat(getMetadata(payload.get(), IndexContentPayloadDTO.PN_META_DESCRIPTION), is("Description"));
+    }
+
+    @Test
+    void testExtract_nothingExtracted() {
+        mockResourceResolver();
+        context.registerService(ContentExtractor.class,
+                                page -> Optional.empty(),
+                                ContentExtractor.PROPERTY_RESOURCE_TYPES, PAGE_RESOURCE_TYPE);
+        registerTestee();
+        assertThat(testee.extract(URL, PAGE_PATH).isPresent(), is(false));
+    }
+
+    private void registerTestee() {
+        testee = context.registerInjectActivateService(new DefaultIndexContentExtractionService());
+    }
+
+    private void mockResourceResolver() {
+        when(resourceResolverProvider.resourceResolverFunction(any())).thenAnswer(
+                invocation -> Optional.ofNullable(invocation.<Function<ResourceResolver, Object>>getArgument(0)
+                                                            .apply(context.resourceResolver())));
+    }
+
+    private static String getMetadata(IndexContentPayloadDTO payload, String name) {
+        return payload.getMetadata().get(name).getAsString();
+    }
+}
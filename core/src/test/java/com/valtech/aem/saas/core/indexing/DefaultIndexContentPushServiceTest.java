@@ -0,0 +1,97 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({AemContextExtension.class, MockitoExtension.class})
+class DefaultIndexContentPushServiceTest {
+
+    private static final String PAGE_PATH = "/content/site/en/page";
+    private static final String URL = "https://site.com/en/page.html";
+
+    private final AemContext context = new AemContext(ResourceResolverType.NONE);
+
+    @Mock
+    IndexContentExtractionService indexContentExtractionService;
+
+    @Mock
+    IndexFingerprintService indexFingerprintService;
+
+    @Mock
+    IndexUpdateService indexUpdateService;
+
+    @Mock
+    IndexContentPayloadDTO payload;
+
+    DefaultIndexContentPushService testee;
+
+    @BeforeEach
+    void setUp() {
+        context.registerService(IndexContentExtractionService.class, indexContentExtractionService);
+        context.registerService(IndexFingerprintService.class, indexFingerprintService);
+        context.registerService(IndexUpdateService.class, indexUpdateService);
+        testee = context.registerInjectActivateService(new DefaultIndexContentPushService(),
+                                                       "indexContentPushService.enabled", true);
+    }
+
+    @Test
+    void testIsEnabled() {
+        assertThat(testee.isEnabled(), is(true));
+        testee = context.registerInjectActivateService(new DefaultIndexContentPushService());
+        assertThat(testee.isEnabled(), is(false));
+    }
+
+    @Test
+    void testPush() {
+        mockPayload(false);
+        when(indexUpdateService.indexContent(payload)).thenReturn(
+                Optional.of(new IndexUpdateResponseDTO("foo", "bar", "baz", "quz")));
+        assertThat(testee.push(URL, PAGE_PATH), is(IndexContentPushService.Result.PUSHED));
+        verify(indexFingerprintService).update(URL, PAGE_PATH, "fingerprint");
+    }
+
+    @Test
+    void testPush_unchanged() {
+        mockPayload(true);
+        assertThat(testee.push(URL, PAGE_PATH), is(IndexContentPushService.Result.UNCHANGED));
+        verify(indexUpdateService, never()).indexContent(payload);
+    }
+
+    @Test
+    void testPush_failed() {
+        mockPayload(false);
+        when(indexUpdateService.indexContent(payload)).thenReturn(Optional.empty());
+        assertThat(testee.push(URL, PAGE_PATH), is(IndexContentPushService.Result.FAILED));
+        verify(indexFingerprintService, never()).update(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testPush_notExtracted() {
+        when(indexContentExtractionService.extract(URL, PAGE_PATH)).thenReturn(Optional.empty());
+        assertThat(testee.push(URL, PAGE_PATH), is(IndexContentPushService.Result.NOT_EXTRACTED));
+    }
+
+    private void mockPayload(boolean unchanged) {
+        when(indexContentExtractionService.extract(URL, PAGE_PATH)).thenReturn(Optional.of(payload));
+        when(indexFingerprintService.fingerprint(payload)).thenReturn("fingerprint");
+        when(indexFingerprintService.isUnchanged(URL, PAGE_PATH, "fingerprint")).thenReturn(unchanged);
+    }
+}
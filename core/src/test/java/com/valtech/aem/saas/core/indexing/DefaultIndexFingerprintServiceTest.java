@@ -0,0 +1,108 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
+import com.valtech.aem.saas.core.serialization.DefaultSerializerRegistry;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({AemContextExtension.class, MockitoExtension.class})
+class DefaultIndexFingerprintServiceTest {
+
+    private static final String PAGE_PATH = "/content/site/en/page";
+    private static final String URL = "https://site.com/en/page.html";
+
+    private final AemContext context = new AemContext();
+
+    @Mock
+    ResourceResolverProvider resourceResolverProvider;
+
+    DefaultIndexFingerprintService testee;
+
+    @BeforeEach
+    void setUp() {
+        context.registerService(ResourceResolverProvider.class, resourceResolverProvider);
+        context.registerService(SerializerRegistry.class, new DefaultSerializerRegistry());
+        context.registerService(MetricsService.class, MetricsService.NOOP);
+        testee = context.registerInjectActivateService(new DefaultIndexFingerprintService());
+    }
+
+    @Test
+    void testFingerprint() {
+        String fingerprint = testee.fingerprint(getPayload("content"));
+        assertThat(testee.fingerprint(getPayload("content")), is(fingerprint));
+        assertThat(testee.fingerprint(getPayload("changed")), not(fingerprint));
+    }
+
+    @Test
+    void testIsUnchanged() {
+        mockResourceResolver();
+        assertThat(testee.isUnchanged(URL, PAGE_PATH, "a"), is(false));
+        testee.update(URL, PAGE_PATH, "a");
+        assertThat(testee.isUnchanged(URL, PAGE_PATH, "a"), is(true));
+        assertThat(testee.isUnchanged(URL, PAGE_PATH, "b"), is(false));
+        assertThat(testee.getSkipRatio(), is(1D / 3));
+    }
+
+    @Test
+    void testIsUnchanged_persisted() {
+        mockResourceResolver();
+        testee.update(URL, PAGE_PATH, "a");
+        assertThat(context.resourceResolver()
+                          .getResource(DefaultIndexFingerprintService.FINGERPRINTS_PATH + PAGE_PATH)
+                          .getValueMap()
+                          .containsValue("a"), is(true));
+        testee = context.registerInjectActivateService(new DefaultIndexFingerprintService());
+        assertThat(testee.isUnchanged(URL, PAGE_PATH, "a"), is(true));
+        assertThat(testee.isUnchanged("https://site.com/other.html", PAGE_PATH, "a"), is(false));
+    }
+
+    @Test
+    void testRemove() {
+        mockResourceResolver();
+        testee.update(URL, PAGE_PATH, "a");
+        testee.remove(URL, PAGE_PATH);
+        assertThat(testee.isUnchanged(URL, PAGE_PATH, "a"), is(false));
+        testee = context.registerInjectActivateService(new DefaultIndexFingerprintService());
+        assertThat(testee.isUnchanged(URL, PAGE_PATH, "a"), is(false));
+    }
+
+    @Test
+    void testIsEnabled_default() {
+        assertThat(testee.isEnabled(), is(false));
+        assertThat(testee.getSkipRatio(), is(0D));
+    }
+
+    private void mockResourceResolver() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<ResourceResolver>>getArgument(0).accept(context.resourceResolver());
+            return null;
+        }).when(resourceResolverProvider).resourceResolverConsumer(any());
+        when(resourceResolverProvider.resourceResolverFunction(any())).thenAnswer(
+                invocation -> Optional.ofNullable(invocation.<Function<ResourceResolver, Object>>getArgument(0)
+                                                            .apply(context.resourceResolver())));
+    }
+
+    private static IndexContentPayloadDTO getPayload(String content) {
+        return new IndexContentPayloadDTO(content, "title", URL, PAGE_PATH, "en", "keywords", "description", "page");
+    }
+}
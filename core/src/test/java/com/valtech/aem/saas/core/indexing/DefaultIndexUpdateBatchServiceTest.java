@@ -0,0 +1,119 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.google.common.collect.ImmutableMap;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobBuilder;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({AemContextExtension.class, MockitoExtension.class})
+class DefaultIndexUpdateBatchServiceTest {
+
+    private final AemContext context = new AemContext(ResourceResolverType.NONE);
+
+    @Mock
+    JobManager jobManager;
+
+    @Mock
+    JobBuilder jobBuilder;
+
+    @Mock
+    Job job;
+
+    @Mock
+    IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    DefaultIndexUpdateBatchService testee;
+
+    @BeforeEach
+    void setUp() {
+        context.registerService(JobManager.class, jobManager);
+        context.registerService(IndexUpdateJobDeduplicationService.class, indexUpdateJobDeduplicationService);
+        testee = context.registerInjectActivateService(new DefaultIndexUpdateBatchService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("indexUpdateBatchService.maxBatchSize", 3)
+                                                                   .build());
+    }
+
+    @Test
+    void testRun_coalescesActions() {
+        mockJobCreation();
+        when(indexUpdateJobDeduplicationService.register("foo", IndexUpdateAction.UPDATE)).thenReturn(1L, 3L);
+        when(indexUpdateJobDeduplicationService.register("bar", IndexUpdateAction.UPDATE)).thenReturn(2L);
+        when(indexUpdateJobDeduplicationService.register("bar", IndexUpdateAction.DELETE)).thenReturn(4L);
+        testee.add(IndexUpdateAction.UPDATE, "foo", "/content/foo");
+        testee.add(IndexUpdateAction.UPDATE, "bar", "/content/bar");
+        testee.add(IndexUpdateAction.UPDATE, "foo", "/content/foo");
+        testee.add(IndexUpdateAction.DELETE, "bar", "/content/bar");
+        verify(jobManager, never()).createJob(anyString());
+        testee.run();
+        Map<String, Object> properties = captureJobProperties();
+        assertThat(properties.get(IndexBatchJobConsumer.JOB_PROPERTY_ACTIONS),
+                   is(new String[]{"update", "delete"}));
+        assertThat(properties.get(IndexBatchJobConsumer.JOB_PROPERTY_URLS), is(new String[]{"foo", "bar"}));
+        assertThat(properties.get(IndexBatchJobConsumer.JOB_PROPERTY_REPOSITORY_PATHS),
+                   is(new String[]{"/content/foo", "/content/bar"}));
+        assertThat(properties.get(IndexBatchJobConsumer.JOB_PROPERTY_TIMESTAMPS), is(new Long[]{3L, 4L}));
+    }
+
+    @Test
+    void testAdd_maxBatchSizeReached() {
+        mockJobCreation();
+        testee.add(IndexUpdateAction.UPDATE, "foo", "/content/foo");
+        testee.add(IndexUpdateAction.UPDATE, "bar", "/content/bar");
+        testee.add(IndexUpdateAction.DELETE, "baz", "/content/baz");
+        assertThat(captureJobProperties().get(IndexBatchJobConsumer.JOB_PROPERTY_URLS),
+                   is(new String[]{"foo", "bar", "baz"}));
+        testee.run();
+        verify(jobManager, times(1)).createJob(IndexBatchJobConsumer.JOB_TOPIC);
+    }
+
+    @Test
+    void testRun_nothingPending() {
+        testee.run();
+        verify(jobManager, never()).createJob(anyString());
+    }
+
+    @Test
+    void testIsEnabled() {
+        assertThat(testee.isEnabled(), is(true));
+        testee = context.registerInjectActivateService(new DefaultIndexUpdateBatchService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("indexUpdateBatchService.enabled", false)
+                                                                   .build());
+        assertThat(testee.isEnabled(), is(false));
+    }
+
+    private void mockJobCreation() {
+        when(jobManager.createJob(IndexBatchJobConsumer.JOB_TOPIC)).thenReturn(jobBuilder);
+        when(jobBuilder.properties(anyMap())).thenReturn(jobBuilder);
+        when(jobBuilder.add(anyList())).thenReturn(job);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> captureJobProperties() {
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(jobBuilder).properties(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,65 @@
+package com.valtech.aem.saas.core.indexing;
+
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+
+@ExtendWith(AemContextExtension.class)
+class DefaultIndexUpdateJobDeduplicationServiceTest {
+
+    private final AemContext context = new AemContext(ResourceResolverType.NONE);
+
+    DefaultIndexUpdateJobDeduplicationService testee;
+
+    @BeforeEach
+    void setUp() {
+        context.registerService(MetricsService.class, MetricsService.NOOP);
+        testee = context.registerInjectActivateService(new DefaultIndexUpdateJobDeduplicationService());
+    }
+
+    @Test
+    void testRegister_timestampsIncrease() {
+        long first = testee.register("foo", IndexUpdateAction.UPDATE);
+        long second = testee.register("bar", IndexUpdateAction.UPDATE);
+        assertThat(second, greaterThan(first));
+    }
+
+    @Test
+    void testIsSuperseded() {
+        long activated = testee.register("foo", IndexUpdateAction.UPDATE);
+        long deactivated = testee.register("foo", IndexUpdateAction.DELETE);
+        assertThat(testee.isSuperseded("foo", activated), is(true));
+        assertThat(testee.isSuperseded("foo", deactivated), is(false));
+    }
+
+    @Test
+    void testIsSuperseded_otherUrl() {
+        long foo = testee.register("foo", IndexUpdateAction.UPDATE);
+        testee.register("bar", IndexUpdateAction.UPDATE);
+        assertThat(testee.isSuperseded("foo", foo), is(false));
+    }
+
+    @Test
+    void testCurrentTimestamp() {
+        long registered = testee.register("foo", IndexUpdateAction.UPDATE);
+        long current = testee.currentTimestamp();
+        assertThat(testee.isSuperseded("foo", current), is(false));
+        testee.register("foo", IndexUpdateAction.DELETE);
+        assertThat(testee.isSuperseded("foo", current), is(true));
+        assertThat(current, greaterThanOrEqualTo(registered));
+    }
+
+    @Test
+    void testIsSuperseded_unknownUrl() {
+        assertThat(testee.isSuperseded("foo", 1L), is(false));
+    }
+}
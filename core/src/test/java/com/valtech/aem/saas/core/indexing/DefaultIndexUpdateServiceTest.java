@@ -1,31 +1,46 @@
 package com.valtech.aem.saas.core.indexing;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.valtech.aem.saas.api.indexing.IndexUpdateService;
 import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentsResultDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateItemDTO;
 import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResultDTO;
 import com.valtech.aem.saas.core.http.client.DefaultSearchServiceConnectionConfigurationService;
 import com.valtech.aem.saas.core.http.client.SearchAdminRequestExecutorService;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
+import com.valtech.aem.saas.core.serialization.DefaultSerializerRegistry;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith({AemContextExtension.class, MockitoExtension.class})
@@ -37,12 +52,17 @@ class DefaultIndexUpdateServiceTest {
     @Mock
     SearchAdminRequestExecutorService searchAdminRequestExecutorService;
 
+    @Mock
+    IndexUpdateThrottle indexUpdateThrottle;
+
     IndexUpdateService testee;
 
     @BeforeEach
     void setUp(AemContext context) {
+        context.registerService(SerializerRegistry.class, new DefaultSerializerRegistry());
         context.registerInjectActivateService(new DefaultSearchServiceConnectionConfigurationService());
         context.registerService(SearchAdminRequestExecutorService.class, searchAdminRequestExecutorService);
+        context.registerService(IndexUpdateThrottle.class, indexUpdateThrottle);
         testee = context.registerInjectActivateService(new DefaultIndexUpdateService());
     }
 
@@ -55,6 +75,14 @@ class DefaultIndexUpdateServiceTest {
         testSuccessfulResponse(response.get());
     }
 
+    @Test
+    void testIndexUrl_throttled() {
+        SearchResponse searchResponse = new SearchResponse(getSuccessResponse(), false, 429, 1000L);
+        when(searchAdminRequestExecutorService.execute(any(SearchRequest.class))).thenReturn(Optional.of(searchResponse));
+        assertThat(testee.indexUrl(SAMPLE_URL, SAMPLE_REPO_PATH).isPresent(), is(false));
+        verify(indexUpdateThrottle).onResponse(searchResponse);
+    }
+
     @Test
     void testIndexUrl_exceptionDuringExecution() {
         when(searchAdminRequestExecutorService.execute(any(SearchRequest.class)))
@@ -120,6 +148,92 @@ class DefaultIndexUpdateServiceTest {
                      () -> testee.deleteIndexedUrl(SAMPLE_URL, ""));
     }
 
+    @Test
+    void testIndexUrls() {
+        when(searchAdminRequestExecutorService.execute(any(SearchRequest.class)))
+                .thenReturn(Optional.of(new SearchResponse(getSuccessResponse(), true)))
+                .thenReturn(Optional.empty());
+        List<IndexUpdateResultDTO> results = testee.indexUrls(Arrays.asList(new IndexUpdateItemDTO(SAMPLE_URL,
+                                                                                                   SAMPLE_REPO_PATH),
+                                                                            new IndexUpdateItemDTO(SAMPLE_URL,
+                                                                                                   SAMPLE_REPO_PATH),
+                                                                            new IndexUpdateItemDTO(StringUtils.EMPTY,
+                                                                                                   SAMPLE_REPO_PATH)));
+        assertThat(results.size(), is(3));
+        assertThat(results.stream().filter(IndexUpdateResultDTO::isSuccess).count(), is(1L));
+        assertThat(results.get(2).isSuccess(), is(false));
+        assertThat(results.get(2).getItem().getUrl(), is(StringUtils.EMPTY));
+        verify(searchAdminRequestExecutorService, times(2)).execute(any(SearchRequest.class));
+    }
+
+    @Test
+    void testIndexUrls_throttled() {
+        when(indexUpdateThrottle.acquire(false)).thenReturn(0L, 20L);
+        when(searchAdminRequestExecutorService.execute(any(SearchRequest.class)))
+                .thenReturn(Optional.of(new SearchResponse(getSuccessResponse(), true)));
+        List<IndexUpdateResultDTO> results = testee.indexUrls(Arrays.asList(new IndexUpdateItemDTO(SAMPLE_URL,
+                                                                                                   SAMPLE_REPO_PATH),
+                                                                            new IndexUpdateItemDTO(SAMPLE_URL,
+                                                                                                   SAMPLE_REPO_PATH)));
+        assertThat(results.stream().filter(IndexUpdateResultDTO::isSuccess).count(), is(2L));
+        verify(indexUpdateThrottle, times(2)).acquire(false);
+        verify(indexUpdateThrottle).acquire(true);
+        verify(searchAdminRequestExecutorService, times(2)).execute(any(SearchRequest.class));
+    }
+
+    @Test
+    void testDeleteIndexedUrls() {
+        when(searchAdminRequestExecutorService.execute(any(SearchRequest.class)))
+                .thenReturn(Optional.of(new SearchResponse(getSuccessResponse(), true)));
+        List<IndexUpdateResultDTO> results =
+                testee.deleteIndexedUrls(Collections.singletonList(new IndexUpdateItemDTO(SAMPLE_URL,
+                                                                                          SAMPLE_REPO_PATH)));
+        assertThat(results.size(), is(1));
+        assertThat(results.get(0).isSuccess(), is(true));
+        testSuccessfulResponse(results.get(0).getResponse());
+    }
+
+    @Test
+    void testIndexContents() {
+        when(searchAdminRequestExecutorService.execute(any(SearchRequest.class)))
+                .thenReturn(Optional.of(new SearchResponse(getSuccessResponse(), true)))
+                .thenReturn(Optional.empty());
+        IndexContentsResultDTO result = testee.indexContents(Stream.of(getCompleteDefaultIndexContentPayload(),
+                                                                       getCompleteDefaultIndexContentPayload()));
+        assertThat(result.getTotal(), is(2));
+        assertThat(result.getSucceeded(), is(1));
+        assertThat(result.getFailed(), is(1));
+        assertThat(result.getFailures().get(0).getItem().getUrl(), is("https://wknd.site/us/en/adventures.html"));
+    }
+
+    @Test
+    void testIndexContents_bulkPushContentAction(AemContext context) {
+        testee = context.registerInjectActivateService(new DefaultIndexUpdateService(),
+                                                       ImmutableMap.<String, Object>builder()
+                                                                   .put("indexUpdateService.apiBulkPushContentAction",
+                                                                        "/content/bulk")
+                                                                   .put("indexUpdateService.bulkBatchSize", 2)
+                                                                   .build());
+        JsonArray batchResponse = new JsonArray();
+        batchResponse.add(getSuccessResponse());
+        batchResponse.add(JsonNull.INSTANCE);
+        JsonArray lastBatchResponse = new JsonArray();
+        lastBatchResponse.add(getSuccessResponse());
+        when(searchAdminRequestExecutorService.getBaseUrl()).thenReturn("https://admin");
+        when(searchAdminRequestExecutorService.execute(any(SearchRequest.class)))
+                .thenReturn(Optional.of(new SearchResponse(batchResponse, true)))
+                .thenReturn(Optional.of(new SearchResponse(lastBatchResponse, true)));
+        IndexContentsResultDTO result = testee.indexContents(Stream.of(getCompleteDefaultIndexContentPayload(),
+                                                                       getCompleteDefaultIndexContentPayload(),
+                                                                       getCompleteDefaultIndexContentPayload()));
+        assertThat(result.getTotal(), is(3));
+        assertThat(result.getSucceeded(), is(2));
+        assertThat(result.getFailed(), is(1));
+        ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(searchAdminRequestExecutorService, times(2)).execute(captor.capture());
+        assertThat(captor.getValue().getRequest().getURI().toString(), is("https://admin/api/v3/content/bulk"));
+    }
+
     private void testSuccessfulResponse(IndexUpdateResponseDTO response) {
         assertThat(response, instanceOf(IndexUpdateResponseDTO.class));
         assertThat(response.getUrl(), is(SAMPLE_URL));
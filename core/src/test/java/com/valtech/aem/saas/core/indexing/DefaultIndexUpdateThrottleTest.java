@@ -0,0 +1,105 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.google.gson.JsonObject;
+import com.valtech.aem.saas.core.http.response.SearchResponse;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.commons.metrics.Gauge;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+
+@ExtendWith({AemContextExtension.class, MockitoExtension.class})
+class DefaultIndexUpdateThrottleTest {
+
+    private final AemContext context = new AemContext(ResourceResolverType.NONE);
+
+    @Mock
+    JobManager jobManager;
+
+    DefaultIndexUpdateThrottle testee;
+
+    @BeforeEach
+    void setUp() {
+        context.registerService(MetricsService.class, MetricsService.NOOP);
+        context.registerService(JobManager.class, jobManager);
+        testee = context.registerInjectActivateService(new DefaultIndexUpdateThrottle(),
+                                                       "indexUpdateThrottle.maxRequestsPerSecond", 1.0,
+                                                       "indexUpdateThrottle.minRequestsPerSecond", 0.5,
+                                                       "indexUpdateThrottle.maxWait", 0L);
+    }
+
+    @Test
+    void testAcquire_deferredAtRate() {
+        assertThat(testee.acquire(false), is(0L));
+        assertThat(testee.acquire(false), allOf(greaterThan(0L), lessThanOrEqualTo(1000L)));
+        assertThat(testee.acquire(false), allOf(greaterThan(1000L), lessThanOrEqualTo(2000L)));
+    }
+
+    @Test
+    void testAcquire_reserved() {
+        testee.acquire(false);
+        assertThat(testee.acquire(true), is(0L));
+    }
+
+    @Test
+    void testAcquire_disabled() {
+        testee = context.registerInjectActivateService(new DefaultIndexUpdateThrottle(),
+                                                       "indexUpdateThrottle.enabled", false,
+                                                       "indexUpdateThrottle.maxWait", 0L);
+        assertThat(testee.acquire(false), is(0L));
+        assertThat(testee.acquire(false), is(0L));
+    }
+
+    @Test
+    void testOnResponse_throttledWithRetryAfter() {
+        testee.onResponse(new SearchResponse(new JsonObject(), false, 429, 60000L));
+        assertThat(testee.isBackingOff(), is(true));
+        assertThat(testee.getRate(), is(0.5));
+        assertThat(testee.acquire(true), allOf(greaterThan(59000L), lessThanOrEqualTo(60000L)));
+    }
+
+    @Test
+    void testOnResponse_throttledExponentialBackoff() {
+        testee.onResponse(new SearchResponse(new JsonObject(), false, 503, 0L));
+        assertThat(testee.acquire(false), allOf(greaterThan(4000L), lessThanOrEqualTo(5000L)));
+        testee.onResponse(new SearchResponse(new JsonObject(), false, 503, 0L));
+        assertThat(testee.acquire(false), allOf(greaterThan(9000L), lessThanOrEqualTo(12000L)));
+    }
+
+    @Test
+    void testOnResponse_successRestoresRate() {
+        testee.onResponse(new SearchResponse(new JsonObject(), false, 429, 1L));
+        assertThat(testee.getRate(), is(0.5));
+        for (int i = 0; i < 20; i++) {
+            testee.onResponse(new SearchResponse(new JsonObject(), true, 200, 0L));
+        }
+        assertThat(testee.getRate(), is(1.0));
+    }
+
+    @Test
+    void testOnResponse_otherErrorIgnored() {
+        testee.onResponse(new SearchResponse(new JsonObject(), false, 500, 0L));
+        assertThat(testee.isBackingOff(), is(false));
+        assertThat(testee.getRate(), is(1.0));
+    }
+
+    @Test
+    void testGauges() {
+        assertThat(context.getServices(Gauge.class, "(" + Gauge.NAME + "=saas.indexing.rate)")[0].getValue(),
+                   is(1.0));
+        assertThat(context.getServices(Gauge.class, "(" + Gauge.NAME + "=saas.indexing.queue.depth)")[0].getValue(),
+                   is(0L));
+    }
+}
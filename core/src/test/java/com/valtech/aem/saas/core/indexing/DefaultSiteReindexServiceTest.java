@@ -0,0 +1,258 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.google.common.collect.ImmutableMap;
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateItemDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResultDTO;
+import com.valtech.aem.saas.api.resource.PathTransformer;
+import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobBuilder;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.testing.mock.sling.MockSling;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({AemContextExtension.class, MockitoExtension.class})
+class DefaultSiteReindexServiceTest {
+
+    private static final long TIMEOUT_MILLIS = 5000L;
+
+    private final AemContext context = new AemContext();
+
+    private final List<String> submittedUrls = Collections.synchronizedList(new ArrayList<>());
+
+    @Mock
+    ResourceResolverProvider resourceResolverProvider;
+
+    @Mock
+    PathTransformer pathTransformer;
+
+    @Mock
+    IndexUpdateService indexUpdateService;
+
+    @Mock
+    JobManager jobManager;
+
+    @Mock
+    IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @Mock
+    JobBuilder jobBuilder;
+
+    @Mock
+    Job job;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> activated = Collections.singletonMap(DefaultSiteReindexService.PN_LAST_REPLICATION_ACTION,
+                                                                 DefaultSiteReindexService.REPLICATION_ACTION_ACTIVATE);
+        context.create().page("/content/site", null, activated);
+        context.create().page("/content/site/a", null, activated);
+        context.create().page("/content/site/a/a1", null, activated);
+        context.create().page("/content/site/b");
+        context.registerService(PathTransformer.class, pathTransformer);
+        context.registerService(IndexUpdateService.class, indexUpdateService);
+        context.registerService(JobManager.class, jobManager);
+        context.registerService(IndexUpdateJobDeduplicationService.class, indexUpdateJobDeduplicationService);
+        context.registerService(ResourceResolverProvider.class, resourceResolverProvider);
+        when(resourceResolverProvider.resourceResolverFunction(any())).thenAnswer(invocation -> {
+            // the reindex runs on its own thread, which requires the adapter factories to be bound to it
+            MockSling.setAdapterManagerBundleContext(context.bundleContext());
+            return Optional.ofNullable(invocation.<Function<ResourceResolver, ?>>getArgument(0)
+                                                 .apply(context.resourceResolver()));
+        });
+    }
+
+    @Test
+    void testStart() {
+        mockExternalization();
+        mockIndexUpdate(true);
+        DefaultSiteReindexService testee = registerService(2);
+        assertThat(testee.start("/content/site"), is(true));
+        ReindexProgress progress = awaitState(testee, ReindexState.COMPLETED);
+        assertThat(submittedUrls, contains("/content/site.html", "/content/site/a.html", "/content/site/a/a1.html"));
+        assertThat(progress.getPages(), is(4L));
+        assertThat(progress.getUrls(), is(3L));
+        assertThat(progress.getFailedUrls(), is(0L));
+        assertThat(progress.getLastPath(), is("/content/site/b"));
+        ValueMap checkpoint = context.resourceResolver().getResource(ReindexCheckpointStore.CHECKPOINT_PATH)
+                                     .getValueMap();
+        assertThat(checkpoint.get("state", String.class), is("COMPLETED"));
+        assertThat(checkpoint.get("urls", 0L), is(3L));
+    }
+
+    @Test
+    void testStart_rootPageMissing() {
+        DefaultSiteReindexService testee = registerService(2);
+        assertThat(testee.start("/content/missing"), is(true));
+        ReindexProgress progress = awaitState(testee, ReindexState.FAILED);
+        assertThat(progress.getPages(), is(0L));
+    }
+
+    @Test
+    void testStart_chunkFailed() {
+        mockExternalization();
+        mockIndexUpdate(false);
+        DefaultSiteReindexService testee = registerService(2);
+        assertThat(testee.start("/content/site"), is(true));
+        ReindexProgress progress = awaitState(testee, ReindexState.PAUSED);
+        assertThat(progress.getLastPath(), is(nullValue()));
+        assertThat(progress.getUrls(), is(0L));
+        verify(jobManager, never()).createJob(anyString());
+    }
+
+    @Test
+    void testStart_failedUrlsRescheduled() {
+        mockExternalization();
+        List<String> rejectedUrls = Arrays.asList("/content/site.html", "/content/site/a/a1.html");
+        when(indexUpdateService.indexUrls(anyList())).thenAnswer(invocation -> {
+            Map<Boolean, List<IndexUpdateItemDTO>> items =
+                    invocation.<List<IndexUpdateItemDTO>>getArgument(0)
+                              .stream()
+                              .collect(Collectors.partitioningBy(item -> rejectedUrls.contains(item.getUrl())));
+            List<IndexUpdateResultDTO> results = new ArrayList<>(succeed(items.get(false)));
+            results.addAll(reject(items.get(true)));
+            return results;
+        });
+        when(indexUpdateJobDeduplicationService.currentTimestamp()).thenReturn(5L);
+        // /content/site.html has been deactivated while its chunk was submitted
+        when(indexUpdateJobDeduplicationService.isSuperseded(anyString(), eq(5L)))
+                .thenAnswer(invocation -> "/content/site.html".equals(invocation.getArgument(0)));
+        when(jobManager.createJob(IndexUpdateJobConsumer.JOB_TOPIC)).thenReturn(jobBuilder);
+        when(jobBuilder.properties(anyMap())).thenReturn(jobBuilder);
+        when(jobBuilder.add(anyList())).thenReturn(job);
+        DefaultSiteReindexService testee = registerService(10);
+        assertThat(testee.start("/content/site"), is(true));
+        ReindexProgress progress = awaitState(testee, ReindexState.COMPLETED);
+        assertThat(progress.getFailedUrls(), is(2L));
+        verify(jobManager).createJob(IndexUpdateJobConsumer.JOB_TOPIC);
+        verify(jobBuilder).properties(argThat(properties -> "/content/site/a/a1.html".equals(
+                properties.get(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_URL))
+                && Long.valueOf(5L).equals(properties.get(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_TIMESTAMP))));
+        verify(indexUpdateJobDeduplicationService, never()).register(anyString(), any(IndexUpdateAction.class));
+    }
+
+    @Test
+    void testPauseAndResume() throws InterruptedException {
+        mockExternalization();
+        CountDownLatch submitted = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        when(indexUpdateService.indexUrls(anyList())).thenAnswer(invocation -> {
+            submitted.countDown();
+            released.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            return succeed(invocation.getArgument(0));
+        });
+        DefaultSiteReindexService testee = registerService(1);
+        assertThat(testee.start("/content/site"), is(true));
+        assertThat(submitted.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(true));
+        assertThat(testee.start("/content/site"), is(false));
+        assertThat(testee.pause(), is(true));
+        released.countDown();
+        ReindexProgress paused = awaitState(testee, ReindexState.PAUSED);
+        assertThat(paused.getLastPath(), is("/content/site"));
+        assertThat(testee.resume(), is(true));
+        awaitState(testee, ReindexState.COMPLETED);
+        assertThat(submittedUrls, contains("/content/site.html", "/content/site/a.html", "/content/site/a/a1.html"));
+    }
+
+    @Test
+    void testActivate_resumesInterruptedRun() {
+        mockExternalization();
+        mockIndexUpdate(true);
+        ReindexCheckpointStore.write(context.resourceResolver(),
+                                     ReindexProgress.builder()
+                                                    .rootPath("/content/site")
+                                                    .state(ReindexState.RUNNING)
+                                                    .lastPath("/content/site/a")
+                                                    .pages(2L)
+                                                    .urls(2L)
+                                                    .build());
+        DefaultSiteReindexService testee = registerService(2);
+        ReindexProgress progress = awaitState(testee, ReindexState.COMPLETED);
+        assertThat(submittedUrls, contains("/content/site/a/a1.html"));
+        assertThat(progress.getPages(), is(4L));
+        assertThat(progress.getUrls(), is(3L));
+    }
+
+    private DefaultSiteReindexService registerService(int chunkSize) {
+        return context.registerInjectActivateService(new DefaultSiteReindexService(),
+                                                     ImmutableMap.<String, Object>builder()
+                                                                 .put("siteReindexService.chunkSize", chunkSize)
+                                                                 .put("siteReindexService.maxRequestsPerSecond", 1000)
+                                                                 .build());
+    }
+
+    private void mockExternalization() {
+        when(pathTransformer.externalizeList(any(ResourceResolver.class), anyString()))
+                .thenAnswer(invocation -> Collections.singletonList(invocation.getArgument(1) + ".html"));
+    }
+
+    private void mockIndexUpdate(boolean success) {
+        when(indexUpdateService.indexUrls(anyList())).thenAnswer(invocation -> success
+                ? succeed(invocation.getArgument(0))
+                : reject(invocation.getArgument(0)));
+    }
+
+    private List<IndexUpdateResultDTO> succeed(List<IndexUpdateItemDTO> items) {
+        items.forEach(item -> submittedUrls.add(item.getUrl()));
+        return items.stream()
+                    .map(item -> IndexUpdateResultDTO.builder()
+                                                     .item(item)
+                                                     .response(new IndexUpdateResponseDTO("foo", item.getUrl(), "1", "1"))
+                                                     .build())
+                    .collect(Collectors.toList());
+    }
+
+    private List<IndexUpdateResultDTO> reject(List<IndexUpdateItemDTO> items) {
+        return items.stream()
+                    .map(item -> IndexUpdateResultDTO.builder().item(item).error("failed").build())
+                    .collect(Collectors.toList());
+    }
+
+    private ReindexProgress awaitState(DefaultSiteReindexService testee, ReindexState state) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<ReindexProgress> progress = testee.getProgress().filter(p -> p.getState() == state);
+            if (progress.isPresent()) {
+                return progress.get();
+            }
+            Thread.yield();
+        }
+        return fail("Site reindex did not reach state " + state);
+    }
+}
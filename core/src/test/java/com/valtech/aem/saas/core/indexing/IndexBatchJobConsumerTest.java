@@ -0,0 +1,220 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateItemDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResultDTO;
+import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobBuilder;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.event.jobs.consumer.JobConsumer.JobResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexBatchJobConsumerTest {
+
+    @Mock
+    IndexUpdateService indexUpdateService;
+
+    @Mock
+    JobManager jobManager;
+
+    @Mock
+    JobBuilder jobBuilder;
+
+    @Mock
+    IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @Mock
+    IndexUpdateThrottle indexUpdateThrottle;
+
+    @Mock
+    IndexContentPushService indexContentPushService;
+
+    @Mock
+    IndexContentExtractionService indexContentExtractionService;
+
+    @Mock
+    IndexFingerprintService indexFingerprintService;
+
+    @Mock
+    Job job;
+
+    @InjectMocks
+    IndexBatchJobConsumer testee;
+
+    @Test
+    void testProcess_itemsMissing() {
+        assertThrows(IllegalArgumentException.class, () -> testee.process(job));
+    }
+
+    @Test
+    void testProcess_itemsIncomplete() {
+        mockItems(new String[]{"update", "delete"}, new String[]{"foo", "bar"}, new String[]{"/content/foo"});
+        assertThrows(IllegalArgumentException.class, () -> testee.process(job));
+    }
+
+    @Test
+    void testProcess_allSucceeded() {
+        mockItems(new String[]{"update", "delete"}, new String[]{"foo", "bar"},
+                  new String[]{"/content/foo", "/content/bar"});
+        IndexUpdateItemDTO update = new IndexUpdateItemDTO("foo", "/content/foo");
+        IndexUpdateItemDTO delete = new IndexUpdateItemDTO("bar", "/content/bar");
+        when(indexUpdateService.indexUrls(Collections.singletonList(update)))
+                .thenReturn(Collections.singletonList(success(update)));
+        when(indexUpdateService.deleteIndexedUrls(Collections.singletonList(delete)))
+                .thenReturn(Collections.singletonList(success(delete)));
+        assertThat(testee.process(job), is(JobResult.OK));
+        verify(jobManager, never()).createJob(IndexUpdateJobConsumer.JOB_TOPIC);
+        verify(indexFingerprintService).remove("bar", "/content/bar");
+    }
+
+    @Test
+    void testProcess_unchangedItemSkipped() {
+        mockItems(new String[]{"update", "update"}, new String[]{"foo", "bar"},
+                  new String[]{"/content/foo", "/content/bar"});
+        IndexContentPayloadDTO fooPayload = mock(IndexContentPayloadDTO.class);
+        IndexContentPayloadDTO barPayload = mock(IndexContentPayloadDTO.class);
+        when(indexFingerprintService.isEnabled()).thenReturn(true);
+        when(indexContentExtractionService.extract("foo", "/content/foo")).thenReturn(Optional.of(fooPayload));
+        when(indexContentExtractionService.extract("bar", "/content/bar")).thenReturn(Optional.of(barPayload));
+        when(indexFingerprintService.fingerprint(fooPayload)).thenReturn("foo-fingerprint");
+        when(indexFingerprintService.fingerprint(barPayload)).thenReturn("bar-fingerprint");
+        when(indexFingerprintService.isUnchanged("foo", "/content/foo", "foo-fingerprint")).thenReturn(true);
+        IndexUpdateItemDTO bar = new IndexUpdateItemDTO("bar", "/content/bar");
+        when(indexUpdateService.indexUrls(Collections.singletonList(bar)))
+                .thenReturn(Collections.singletonList(success(bar)));
+        assertThat(testee.process(job), is(JobResult.OK));
+        verify(indexFingerprintService).update("bar", "/content/bar", "bar-fingerprint");
+        verify(indexFingerprintService, never()).update(eq("foo"), anyString(), anyString());
+    }
+
+    @Test
+    void testProcess_allUnchanged() {
+        mockItems(new String[]{"update"}, new String[]{"foo"}, new String[]{"/content/foo"});
+        IndexContentPayloadDTO payload = mock(IndexContentPayloadDTO.class);
+        when(indexFingerprintService.isEnabled()).thenReturn(true);
+        when(indexContentExtractionService.extract("foo", "/content/foo")).thenReturn(Optional.of(payload));
+        when(indexFingerprintService.fingerprint(payload)).thenReturn("fingerprint");
+        when(indexFingerprintService.isUnchanged("foo", "/content/foo", "fingerprint")).thenReturn(true);
+        assertThat(testee.process(job), is(JobResult.OK));
+        verify(indexUpdateService, never()).indexUrls(anyList());
+    }
+
+    @Test
+    void testProcess_failedItemRescheduled() {
+        mockItems(new String[]{"update", "update"}, new String[]{"foo", "bar"},
+                  new String[]{"/content/foo", "/content/bar"});
+        IndexUpdateItemDTO foo = new IndexUpdateItemDTO("foo", "/content/foo");
+        IndexUpdateItemDTO bar = new IndexUpdateItemDTO("bar", "/content/bar");
+        when(job.getProperty(IndexBatchJobConsumer.JOB_PROPERTY_TIMESTAMPS, Long[].class))
+                .thenReturn(new Long[]{1L, 2L});
+        when(indexUpdateService.indexUrls(Arrays.asList(foo, bar)))
+                .thenReturn(Arrays.asList(success(foo),
+                                          IndexUpdateResultDTO.builder().item(bar).error("failed").build()));
+        when(jobManager.createJob(IndexUpdateJobConsumer.JOB_TOPIC)).thenReturn(jobBuilder);
+        when(jobBuilder.properties(anyMap())).thenReturn(jobBuilder);
+        when(jobBuilder.add(anyList())).thenReturn(job);
+        assertThat(testee.process(job), is(JobResult.OK));
+        verify(jobManager).createJob(IndexUpdateJobConsumer.JOB_TOPIC);
+        verify(jobManager, never()).createJob(IndexDeleteJobConsumer.JOB_TOPIC);
+        verify(jobBuilder).properties(argThat(properties -> Long.valueOf(2L).equals(
+                properties.get(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_TIMESTAMP))));
+        verify(indexUpdateJobDeduplicationService, never()).register(anyString(), any(IndexUpdateAction.class));
+    }
+
+    @Test
+    void testProcess_failedSupersededItemNotRescheduled() {
+        mockItems(new String[]{"delete"}, new String[]{"foo"}, new String[]{"/content/foo"});
+        IndexUpdateItemDTO foo = new IndexUpdateItemDTO("foo", "/content/foo");
+        when(job.getProperty(IndexBatchJobConsumer.JOB_PROPERTY_TIMESTAMPS, Long[].class))
+                .thenReturn(new Long[]{1L});
+        // activated again while the deletion was submitted
+        when(indexUpdateJobDeduplicationService.isSuperseded("foo", 1L)).thenReturn(false, true);
+        when(indexUpdateService.deleteIndexedUrls(Collections.singletonList(foo)))
+                .thenReturn(Collections.singletonList(IndexUpdateResultDTO.builder().item(foo).error("failed").build()));
+        assertThat(testee.process(job), is(JobResult.OK));
+        verify(jobManager, never()).createJob(anyString());
+    }
+
+    @Test
+    void testProcess_contentPushed() {
+        mockItems(new String[]{"update", "update", "update"}, new String[]{"foo", "bar", "baz"},
+                  new String[]{"/content/foo", "/content/bar", "/content/baz"});
+        when(indexContentPushService.isEnabled()).thenReturn(true);
+        when(indexContentPushService.push("foo", "/content/foo")).thenReturn(IndexContentPushService.Result.PUSHED);
+        when(indexContentPushService.push("bar", "/content/bar"))
+                .thenReturn(IndexContentPushService.Result.NOT_EXTRACTED);
+        when(indexContentPushService.push("baz", "/content/baz")).thenReturn(IndexContentPushService.Result.FAILED);
+        IndexUpdateItemDTO bar = new IndexUpdateItemDTO("bar", "/content/bar");
+        when(indexUpdateService.indexUrls(Collections.singletonList(bar)))
+                .thenReturn(Collections.singletonList(success(bar)));
+        when(jobManager.createJob(IndexUpdateJobConsumer.JOB_TOPIC)).thenReturn(jobBuilder);
+        when(jobBuilder.properties(anyMap())).thenReturn(jobBuilder);
+        when(jobBuilder.add(anyList())).thenReturn(job);
+        assertThat(testee.process(job), is(JobResult.OK));
+        verify(indexUpdateThrottle, times(3)).acquire(false);
+        verify(jobManager).createJob(IndexUpdateJobConsumer.JOB_TOPIC);
+        verify(indexUpdateJobDeduplicationService, never()).register(anyString(), any(IndexUpdateAction.class));
+    }
+
+    @Test
+    void testProcess_timestampsIncomplete() {
+        mockItems(new String[]{"update", "delete"}, new String[]{"foo", "bar"},
+                  new String[]{"/content/foo", "/content/bar"});
+        when(job.getProperty(IndexBatchJobConsumer.JOB_PROPERTY_TIMESTAMPS, Long[].class)).thenReturn(new Long[]{1L});
+        assertThrows(IllegalArgumentException.class, () -> testee.process(job));
+    }
+
+    @Test
+    void testProcess_supersededItemDropped() {
+        mockItems(new String[]{"update", "delete"}, new String[]{"foo", "bar"},
+                  new String[]{"/content/foo", "/content/bar"});
+        when(job.getProperty(IndexBatchJobConsumer.JOB_PROPERTY_TIMESTAMPS, Long[].class))
+                .thenReturn(new Long[]{1L, 2L});
+        when(indexUpdateJobDeduplicationService.isSuperseded("foo", 1L)).thenReturn(true);
+        IndexUpdateItemDTO delete = new IndexUpdateItemDTO("bar", "/content/bar");
+        when(indexUpdateService.deleteIndexedUrls(Collections.singletonList(delete)))
+                .thenReturn(Collections.singletonList(success(delete)));
+        assertThat(testee.process(job), is(JobResult.OK));
+        verify(indexUpdateService, never()).indexUrls(anyList());
+    }
+
+    private void mockItems(String[] actions, String[] urls, String[] repositoryPaths) {
+        when(job.getProperty(IndexBatchJobConsumer.JOB_PROPERTY_ACTIONS, String[].class)).thenReturn(actions);
+        when(job.getProperty(IndexBatchJobConsumer.JOB_PROPERTY_URLS, String[].class)).thenReturn(urls);
+        when(job.getProperty(IndexBatchJobConsumer.JOB_PROPERTY_REPOSITORY_PATHS, String[].class))
+                .thenReturn(repositoryPaths);
+    }
+
+    private static IndexUpdateResultDTO success(IndexUpdateItemDTO item) {
+        return IndexUpdateResultDTO.builder()
+                                   .item(item)
+                                   .response(new IndexUpdateResponseDTO("foo", item.getUrl(), "1", "1"))
+                                   .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.valtech.aem.saas.api.indexing.IndexUpdateService;
 import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobManager;
 import org.apache.sling.event.jobs.consumer.JobConsumer.JobResult;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.Is;
@@ -18,6 +19,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +28,18 @@ class IndexDeleteJobConsumerTest {
     @Mock
     IndexUpdateService indexUpdateService;
 
+    @Mock
+    IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @Mock
+    IndexUpdateThrottle indexUpdateThrottle;
+
+    @Mock
+    JobManager jobManager;
+
+    @Mock
+    IndexFingerprintService indexFingerprintService;
+
     @Mock
     Job job;
 
@@ -68,6 +82,15 @@ class IndexDeleteJobConsumerTest {
         MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.FAILED));
     }
 
+    @Test
+    void testProcess_fingerprintRemoved() {
+        mockUrl();
+        mockRepositoryPath();
+        when(indexUpdateService.deleteIndexedUrl(anyString(), anyString())).thenReturn(Optional.empty());
+        testee.process(job);
+        verify(indexFingerprintService).remove("bar", "baz");
+    }
+
     private void mockUrl() {
         when(job.getProperty(IndexUpdateJobConsumer.JOB_PROPERTY_URL, StringUtils.EMPTY)).thenReturn("bar");
     }
@@ -0,0 +1,248 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.google.common.collect.ImmutableMap;
+import com.valtech.aem.saas.api.caconfig.SearchCAConfigurationModel;
+import com.valtech.aem.saas.api.fulltextsearch.SearchQuerySpec;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.ResultDTO;
+import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateItemDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
+import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResultDTO;
+import com.valtech.aem.saas.api.resource.PathTransformer;
+import com.valtech.aem.saas.core.fulltextsearch.UncachedFulltextSearchService;
+import com.valtech.aem.saas.core.resource.ResourceResolverProvider;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobBuilder;
+import org.apache.sling.event.jobs.JobManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({AemContextExtension.class, MockitoExtension.class})
+class IndexReconciliationTaskTest {
+
+    private final AemContext context = new AemContext();
+
+    @Mock
+    ResourceResolverProvider resourceResolverProvider;
+
+    @Mock
+    UncachedFulltextSearchService fulltextSearchService;
+
+    @Mock
+    PathTransformer pathTransformer;
+
+    @Mock
+    IndexUpdateService indexUpdateService;
+
+    @Mock
+    SearchCAConfigurationModel searchConfiguration;
+
+    @Mock
+    JobManager jobManager;
+
+    @Mock
+    JobBuilder jobBuilder;
+
+    @Mock
+    Job job;
+
+    @Mock
+    IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @BeforeEach
+    void setUp() {
+        context.create().page("/content/site", null, activated(500L));
+        context.create().page("/content/site/a", null, activated(2000L));
+        context.create().page("/content/site/a-b", null, activated(500L));
+        context.create().page("/content/site/a/x");
+        context.create().page("/content/site/c", null, activated(500L));
+        context.create().resource(IndexReconciliationTask.STATE_PATH,
+                                  IndexReconciliationTask.PN_LAST_COMPLETED, 1000L);
+        context.registerAdapter(Resource.class, SearchCAConfigurationModel.class, searchConfiguration);
+        context.registerService(ResourceResolverProvider.class, resourceResolverProvider);
+        context.registerService(UncachedFulltextSearchService.class, fulltextSearchService);
+        context.registerService(PathTransformer.class, pathTransformer);
+        context.registerService(IndexUpdateService.class, indexUpdateService);
+        context.registerService(JobManager.class, jobManager);
+        context.registerService(IndexUpdateJobDeduplicationService.class, indexUpdateJobDeduplicationService);
+    }
+
+    @Test
+    void testRun_disabled() {
+        context.registerInjectActivateService(new IndexReconciliationTask()).run();
+        verifyNoInteractions(resourceResolverProvider);
+    }
+
+    @Test
+    void testRun() {
+        mockResourceResolver();
+        mockIndexedDocuments(Arrays.asList("/content/other",
+                                           "/content/site",
+                                           "/content/site/a",
+                                           "/content/site/a/x",
+                                           "/content/site/b"));
+        when(pathTransformer.externalizeList(any(ResourceResolver.class), anyString()))
+                .thenAnswer(invocation -> Collections.singletonList(invocation.getArgument(1) + ".html"));
+        when(indexUpdateService.indexUrls(anyList())).thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+        when(indexUpdateService.deleteIndexedUrls(anyList()))
+                .thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+        registerTask().run();
+        verify(indexUpdateService).indexUrls(Arrays.asList(
+                new IndexUpdateItemDTO("/content/site/a.html", "/content/site/a"),
+                new IndexUpdateItemDTO("/content/site/a-b.html", "/content/site/a-b"),
+                new IndexUpdateItemDTO("/content/site/c.html", "/content/site/c")));
+        verify(indexUpdateService).deleteIndexedUrls(Arrays.asList(
+                new IndexUpdateItemDTO("/content/site/a/x.html", "/content/site/a/x"),
+                new IndexUpdateItemDTO("/content/site/b.html", "/content/site/b")));
+        assertThat(getLastCompleted(), greaterThan(1000L));
+    }
+
+    @Test
+    void testRun_customDocumentsKept() {
+        context.create().resource("/content/site/c/jcr:content/custom");
+        mockResourceResolver();
+        mockDocuments(Arrays.asList(document("/content/site", "/content/site.html"),
+                                    document("/content/site/a", "/content/site/a.html"),
+                                    document("/content/site/a-b", "/content/site/a-b.html"),
+                                    document("/content/site/b", "/content/site/b.json"),
+                                    document("/content/site/c", "/content/site/c.html"),
+                                    document("/content/site/c/jcr:content/custom", "/content/site/c/custom.html")));
+        registerTask().run();
+        verify(indexUpdateService, never()).indexUrls(anyList());
+        verify(indexUpdateService, never()).deleteIndexedUrls(anyList());
+        assertThat(getLastCompleted(), greaterThan(1000L));
+    }
+
+    @Test
+    void testRun_failedItemsRescheduled() {
+        mockResourceResolver();
+        mockIndexedDocuments(Arrays.asList("/content/site", "/content/site/a-b", "/content/site/b"));
+        when(pathTransformer.externalizeList(any(ResourceResolver.class), anyString()))
+                .thenAnswer(invocation -> Collections.singletonList(invocation.getArgument(1) + ".html"));
+        when(indexUpdateService.indexUrls(anyList())).thenAnswer(invocation -> fail(invocation.getArgument(0)));
+        when(indexUpdateService.deleteIndexedUrls(anyList())).thenAnswer(invocation -> fail(invocation.getArgument(0)));
+        when(jobManager.createJob(anyString())).thenReturn(jobBuilder);
+        when(jobBuilder.properties(anyMap())).thenReturn(jobBuilder);
+        when(jobBuilder.add(anyList())).thenReturn(job);
+        registerTask().run();
+        verify(jobManager, times(2)).createJob(IndexUpdateJobConsumer.JOB_TOPIC);
+        verify(jobManager).createJob(IndexDeleteJobConsumer.JOB_TOPIC);
+        verify(jobBuilder).properties(argThat(properties -> "/content/site/b.html".equals(
+                properties.get(AbstractIndexUpdateActionJobConsumer.JOB_PROPERTY_URL))));
+        verify(indexUpdateJobDeduplicationService, never()).register(anyString(), any(IndexUpdateAction.class));
+    }
+
+    @Test
+    void testRun_indexNotAccessible() {
+        mockResourceResolver();
+        when(fulltextSearchService.getUncachedResults(eq(searchConfiguration), any(SearchQuerySpec.class)))
+                .thenReturn(Optional.empty());
+        registerTask().run();
+        verify(indexUpdateService, never()).indexUrls(anyList());
+        verify(indexUpdateService, never()).deleteIndexedUrls(anyList());
+        assertThat(getLastCompleted(), is(1000L));
+    }
+
+    private IndexReconciliationTask registerTask() {
+        return context.registerInjectActivateService(new IndexReconciliationTask(),
+                                                     ImmutableMap.<String, Object>builder()
+                                                                 .put("indexReconciliation.enabled", true)
+                                                                 .put("indexReconciliation.rootPaths",
+                                                                      new String[]{"/content/site"})
+                                                                 .put("indexReconciliation.pageSize", 2)
+                                                                 .build());
+    }
+
+    private void mockResourceResolver() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<ResourceResolver>>getArgument(0).accept(context.resourceResolver());
+            return null;
+        }).when(resourceResolverProvider).resourceResolverConsumer(any());
+    }
+
+    private void mockIndexedDocuments(List<String> repositoryPaths) {
+        mockDocuments(repositoryPaths.stream()
+                                     .map(path -> document(path, path + ".html"))
+                                     .collect(Collectors.toList()));
+    }
+
+    private void mockDocuments(List<ResultDTO> documents) {
+        when(fulltextSearchService.getUncachedResults(eq(searchConfiguration), any(SearchQuerySpec.class)))
+                .thenAnswer(invocation -> {
+                    SearchQuerySpec querySpec = invocation.getArgument(1);
+                    int end = Math.min(documents.size(), querySpec.getStart() + querySpec.getRows());
+                    return Optional.of(FulltextSearchResultsDTO.builder()
+                                                               .totalResultsFound(documents.size())
+                                                               .results(documents.subList(querySpec.getStart(), end))
+                                                               .build());
+                });
+    }
+
+    private long getLastCompleted() {
+        return context.resourceResolver()
+                      .getResource(IndexReconciliationTask.STATE_PATH)
+                      .getValueMap()
+                      .get(IndexReconciliationTask.PN_LAST_COMPLETED, 0L);
+    }
+
+    private static Map<String, Object> activated(long lastReplicated) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(lastReplicated);
+        return ImmutableMap.of(DefaultSiteReindexService.PN_LAST_REPLICATION_ACTION,
+                               DefaultSiteReindexService.REPLICATION_ACTION_ACTIVATE,
+                               IndexReconciliationTask.PN_LAST_REPLICATED,
+                               calendar);
+    }
+
+    private static ResultDTO document(String repositoryPath, String url) {
+        return ResultDTO.builder().url(url).repositoryPath(repositoryPath).build();
+    }
+
+    private static List<IndexUpdateResultDTO> fail(List<IndexUpdateItemDTO> items) {
+        return items.stream()
+                    .map(item -> IndexUpdateResultDTO.builder().item(item).error("failed").build())
+                    .collect(Collectors.toList());
+    }
+
+    private static List<IndexUpdateResultDTO> succeed(List<IndexUpdateItemDTO> items) {
+        return items.stream()
+                    .map(item -> IndexUpdateResultDTO.builder()
+                                                     .item(item)
+                                                     .response(new IndexUpdateResponseDTO("foo", item.getUrl(), "1", "1"))
+                                                     .build())
+                    .collect(Collectors.toList());
+    }
+}
@@ -1,9 +1,13 @@
 package com.valtech.aem.saas.core.indexing;
 
 import com.valtech.aem.saas.api.indexing.IndexUpdateService;
+import com.valtech.aem.saas.api.indexing.dto.IndexContentPayloadDTO;
 import com.valtech.aem.saas.api.indexing.dto.IndexUpdateResponseDTO;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobBuilder;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.event.jobs.ScheduledJobInfo;
 import org.apache.sling.event.jobs.consumer.JobConsumer.JobResult;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.Is;
@@ -13,11 +17,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.anyMap;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +37,24 @@ class IndexUpdateJobConsumerTest {
     @Mock
     IndexUpdateService indexUpdateService;
 
+    @Mock
+    IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @Mock
+    IndexUpdateThrottle indexUpdateThrottle;
+
+    @Mock
+    JobManager jobManager;
+
+    @Mock
+    IndexContentPushService indexContentPushService;
+
+    @Mock
+    IndexContentExtractionService indexContentExtractionService;
+
+    @Mock
+    IndexFingerprintService indexFingerprintService;
+
     @Mock
     Job job;
 
@@ -68,6 +97,131 @@ class IndexUpdateJobConsumerTest {
         MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.FAILED));
     }
 
+    @Test
+    void testProcess_contentPushed() {
+        mockUrl();
+        mockRepositoryPath();
+        when(indexContentPushService.isEnabled()).thenReturn(true);
+        when(indexContentPushService.push("bar", "baz")).thenReturn(IndexContentPushService.Result.UNCHANGED);
+        MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.OK));
+        verify(indexUpdateService, never()).indexUrl(anyString(), anyString());
+    }
+
+    @Test
+    void testProcess_contentPushFailed() {
+        mockUrl();
+        mockRepositoryPath();
+        when(indexContentPushService.isEnabled()).thenReturn(true);
+        when(indexContentPushService.push("bar", "baz")).thenReturn(IndexContentPushService.Result.FAILED);
+        MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.FAILED));
+        verify(indexUpdateService, never()).indexUrl(anyString(), anyString());
+    }
+
+    @Test
+    void testProcess_contentNotExtracted() {
+        mockUrl();
+        mockRepositoryPath();
+        when(indexContentPushService.isEnabled()).thenReturn(true);
+        when(indexContentPushService.push("bar", "baz")).thenReturn(IndexContentPushService.Result.NOT_EXTRACTED);
+        when(indexUpdateService.indexUrl("bar", "baz")).thenReturn(
+                Optional.of(new IndexUpdateResponseDTO("foo", "bar", "baz", "quz")));
+        MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.OK));
+    }
+
+    @Test
+    void testProcess_unchangedSkipped() {
+        mockUrl();
+        mockRepositoryPath();
+        IndexContentPayloadDTO payload = mock(IndexContentPayloadDTO.class);
+        when(indexFingerprintService.isEnabled()).thenReturn(true);
+        when(indexContentExtractionService.extract("bar", "baz")).thenReturn(Optional.of(payload));
+        when(indexFingerprintService.fingerprint(payload)).thenReturn("fingerprint");
+        when(indexFingerprintService.isUnchanged("bar", "baz", "fingerprint")).thenReturn(true);
+        MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.OK));
+        verify(indexUpdateService, never()).indexUrl(anyString(), anyString());
+    }
+
+    @Test
+    void testProcess_changedFingerprintUpdated() {
+        mockUrl();
+        mockRepositoryPath();
+        IndexContentPayloadDTO payload = mock(IndexContentPayloadDTO.class);
+        when(indexFingerprintService.isEnabled()).thenReturn(true);
+        when(indexContentExtractionService.extract("bar", "baz")).thenReturn(Optional.of(payload));
+        when(indexFingerprintService.fingerprint(payload)).thenReturn("fingerprint");
+        when(indexFingerprintService.isUnchanged("bar", "baz", "fingerprint")).thenReturn(false);
+        when(indexUpdateService.indexUrl("bar", "baz")).thenReturn(
+                Optional.of(new IndexUpdateResponseDTO("foo", "bar", "baz", "quz")));
+        MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.OK));
+        verify(indexFingerprintService).update("bar", "baz", "fingerprint");
+    }
+
+    @Test
+    void testProcess_superseded() {
+        mockUrl();
+        mockRepositoryPath();
+        when(job.getProperty(IndexUpdateJobConsumer.JOB_PROPERTY_TIMESTAMP, Long.class)).thenReturn(1L);
+        when(indexUpdateJobDeduplicationService.isSuperseded("bar", 1L)).thenReturn(true);
+        MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.OK));
+        verify(indexUpdateService, never()).indexUrl(anyString(), anyString());
+    }
+
+    @Test
+    void testProcess_throttled() {
+        mockUrl();
+        mockRepositoryPath();
+        when(indexUpdateThrottle.acquire(false)).thenReturn(5000L);
+        JobBuilder.ScheduleBuilder scheduleBuilder = mockDeferral();
+        when(scheduleBuilder.add(anyList())).thenReturn(mock(ScheduledJobInfo.class));
+        MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.OK));
+        verify(indexUpdateService, never()).indexUrl(anyString(), anyString());
+        verify(scheduleBuilder).at(any(Date.class));
+    }
+
+    @Test
+    void testProcess_throttledDeferralFails() {
+        mockUrl();
+        mockRepositoryPath();
+        when(indexUpdateThrottle.acquire(false)).thenReturn(5000L);
+        mockDeferral();
+        MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.FAILED));
+    }
+
+    @Test
+    void testProcess_reserved() {
+        mockUrl();
+        mockRepositoryPath();
+        when(job.getProperty(IndexUpdateJobConsumer.JOB_PROPERTY_TIMESTAMP, Long.class)).thenReturn(null);
+        when(job.getProperty(IndexUpdateJobConsumer.JOB_PROPERTY_RESERVED, Boolean.class)).thenReturn(true);
+        when(indexUpdateService.indexUrl(anyString(), anyString())).thenReturn(
+                Optional.of(new IndexUpdateResponseDTO("foo", "bar", "baz", "quz")));
+        MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.OK));
+        verify(indexUpdateThrottle).acquire(true);
+    }
+
+    @Test
+    void testProcess_indexUpdateFailedWhileBackingOff() {
+        mockUrl();
+        mockRepositoryPath();
+        when(indexUpdateService.indexUrl(anyString(), anyString())).thenReturn(Optional.empty());
+        when(indexUpdateThrottle.acquire(false)).thenReturn(0L, 5000L);
+        when(indexUpdateThrottle.isBackingOff()).thenReturn(true);
+        JobBuilder.ScheduleBuilder scheduleBuilder = mockDeferral();
+        when(scheduleBuilder.add(anyList())).thenReturn(mock(ScheduledJobInfo.class));
+        MatcherAssert.assertThat(testee.process(job), Is.is(JobResult.OK));
+    }
+
+    private JobBuilder.ScheduleBuilder mockDeferral() {
+        JobBuilder jobBuilder = mock(JobBuilder.class);
+        JobBuilder.ScheduleBuilder scheduleBuilder = mock(JobBuilder.ScheduleBuilder.class);
+        when(job.getTopic()).thenReturn(IndexUpdateJobConsumer.JOB_TOPIC);
+        when(jobManager.createJob(IndexUpdateJobConsumer.JOB_TOPIC)).thenReturn(jobBuilder);
+        when(jobBuilder.properties(anyMap())).thenReturn(jobBuilder);
+        when(jobBuilder.schedule()).thenReturn(scheduleBuilder);
+        when(scheduleBuilder.at(any(Date.class))).thenReturn(scheduleBuilder);
+        return scheduleBuilder;
+    }
+
     private void mockUrl() {
         when(job.getProperty(IndexUpdateJobConsumer.JOB_PROPERTY_URL, StringUtils.EMPTY)).thenReturn("bar");
     }
@@ -55,6 +55,15 @@ class PageIndexUpdateHandlerTest {
     @Mock
     Event event;
 
+    @Mock
+    IndexUpdateBatchService indexUpdateBatchService;
+
+    @Mock
+    IndexUpdateJobDeduplicationService indexUpdateJobDeduplicationService;
+
+    @Mock
+    AssetContentPushService assetContentPushService;
+
     PageIndexUpdateHandler testee;
 
     @BeforeEach
@@ -63,6 +72,9 @@ class PageIndexUpdateHandlerTest {
         context.registerService(ResourceResolverFactory.class, resourceResolverFactory);
         context.registerInjectActivateService(new ResourceResolverProviderService());
         context.registerService(PathTransformer.class, pathTransformer);
+        context.registerService(IndexUpdateBatchService.class, indexUpdateBatchService);
+        context.registerService(IndexUpdateJobDeduplicationService.class, indexUpdateJobDeduplicationService);
+        context.registerService(AssetContentPushService.class, assetContentPushService);
     }
 
     @Test
@@ -126,6 +138,7 @@ class PageIndexUpdateHandlerTest {
                                             .put("path", "/content/foo/bar")
                                             .build());
         when(resourceResolverFactory.getServiceResourceResolver(anyMap())).thenReturn(resourceResolver);
+        when(indexUpdateBatchService.isEnabled()).thenReturn(false);
         when(jobManager.createJob(anyString())).thenReturn(jobBuilder);
         when(jobBuilder.properties(anyMap())).thenReturn(jobBuilder);
         when(jobBuilder.add(anyList())).thenReturn(job);
@@ -135,5 +148,58 @@ class PageIndexUpdateHandlerTest {
         verify(pathTransformer, times(1)).externalizeList(Mockito.eq(resourceResolver), anyString());
         verify(jobManager, times(2)).createJob(anyString());
     }
-}
 
+    @Test
+    void testHandleEvent_batched() throws LoginException {
+        testee = context.registerInjectActivateService(new PageIndexUpdateHandler());
+        Event event = new Event(ReplicationAction.EVENT_TOPIC,
+                                ImmutableMap.<String, String>builder()
+                                            .put("type", "Activate")
+                                            .put("userId", "foo")
+                                            .put("path", "/content/foo/bar")
+                                            .build());
+        when(resourceResolverFactory.getServiceResourceResolver(anyMap())).thenReturn(resourceResolver);
+        when(indexUpdateBatchService.isEnabled()).thenReturn(true);
+        when(pathTransformer.externalizeList(Mockito.eq(resourceResolver), anyString())).thenReturn(Arrays.asList("foo",
+                                                                                                                  "bar"));
+        testee.handleEvent(event);
+        verify(indexUpdateBatchService).add(IndexUpdateAction.UPDATE, "foo", "/content/foo/bar");
+        verify(indexUpdateBatchService).add(IndexUpdateAction.UPDATE, "bar", "/content/foo/bar");
+        verify(jobManager, never()).createJob(anyString());
+    }
+
+    @Test
+    void testHandleEvent_asset() throws LoginException {
+        testee = context.registerInjectActivateService(new PageIndexUpdateHandler());
+        Event event = new Event(ReplicationAction.EVENT_TOPIC,
+                                ImmutableMap.<String, String>builder()
+                                            .put("type", "Activate")
+                                            .put("userId", "foo")
+                                            .put("path", "/content/dam/foo/bar.pdf")
+                                            .build());
+        when(resourceResolverFactory.getServiceResourceResolver(anyMap())).thenReturn(resourceResolver);
+        when(assetContentPushService.isEnabled()).thenReturn(true);
+        when(jobManager.createJob(anyString())).thenReturn(jobBuilder);
+        when(jobBuilder.properties(anyMap())).thenReturn(jobBuilder);
+        when(jobBuilder.add(anyList())).thenReturn(job);
+        when(pathTransformer.externalizeList(resourceResolver, "/content/dam/foo/bar.pdf")).thenReturn(
+                Collections.singletonList("foo"));
+        testee.handleEvent(event);
+        verify(jobManager).createJob(AssetIndexUpdateJobConsumer.JOB_TOPIC);
+        verify(indexUpdateBatchService, never()).add(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testHandleEvent_assetIndexingDisabled() {
+        testee = context.registerInjectActivateService(new PageIndexUpdateHandler());
+        Event event = new Event(ReplicationAction.EVENT_TOPIC,
+                                ImmutableMap.<String, String>builder()
+                                            .put("type", "Activate")
+                                            .put("userId", "foo")
+                                            .put("path", "/content/dam/foo/bar.pdf")
+                                            .build());
+        when(assetContentPushService.isEnabled()).thenReturn(false);
+        testee.handleEvent(event);
+        verify(jobManager, never()).createJob(anyString());
+    }
+}
@@ -0,0 +1,40 @@
+package com.valtech.aem.saas.core.indexing;
+
+import com.day.cq.wcm.api.Page;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+
+@ExtendWith(AemContextExtension.class)
+class SortedPageIteratorTest {
+
+    private final AemContext context = new AemContext();
+
+    @Test
+    void testIteration() {
+        Page root = context.create().page("/content/site");
+        context.create().page("/content/site/b");
+        context.create().page("/content/site/a");
+        context.create().page("/content/site/a/x");
+        context.create().page("/content/site/a-b");
+        context.create().page("/content/site/a-b/y");
+        SortedPageIterator testee = new SortedPageIterator(root);
+        List<String> paths = new ArrayList<>();
+        testee.forEachRemaining(page -> paths.add(page.getPath()));
+        assertThat(paths, contains("/content/site",
+                                   "/content/site/a",
+                                   "/content/site/a-b",
+                                   "/content/site/a-b/y",
+                                   "/content/site/a/x",
+                                   "/content/site/b"));
+        assertThat(testee.hasNext(), is(false));
+    }
+}
@@ -10,6 +10,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +44,14 @@ class DefaultPathTransformerTest {
         verify(externalizer, times(1)).publishLink(resourceResolver, "foo");
     }
 
+    @Test
+    void testExternalize_asset() {
+        when(externalizer.publishLink(resourceResolver, "/content/dam/foo.pdf")).thenReturn("bar.pdf");
+        assertThat(testee.externalize(resourceResolver, "/content/dam/foo.pdf"), is("bar.pdf"));
+        when(externalizer.publishLink(resourceResolver, "/content/foo")).thenReturn("bar");
+        assertThat(testee.externalize(resourceResolver, "/content/foo"), is("bar.html"));
+    }
+
     @Test
     void testMap() {
         testee.map(request, "bar");
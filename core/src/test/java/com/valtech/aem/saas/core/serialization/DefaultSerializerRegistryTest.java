@@ -0,0 +1,33 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.valtech.aem.saas.api.fulltextsearch.dto.SuggestionDTO;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+@ExtendWith(AemContextExtension.class)
+class DefaultSerializerRegistryTest {
+
+    @Test
+    void testSharedInstances(AemContext context) {
+        SerializerRegistry testee = context.registerInjectActivateService(new DefaultSerializerRegistry());
+        assertThat(testee.getGson(), sameInstance(Serializers.gson()));
+        assertThat(testee.getObjectMapper(), sameInstance(Serializers.objectMapper()));
+        assertThat(context.getService(SerializerRegistry.class), sameInstance(testee));
+    }
+
+    @Test
+    void testPreRegisteredTypeAdapters() {
+        Gson gson = Serializers.gson();
+        Serializers.PRE_REGISTERED_TYPES.forEach(type -> assertThat(gson.getAdapter(TypeToken.get(type)),
+                                                                    sameInstance(gson.getAdapter(TypeToken.get(type)))));
+        assertThat(gson.toJson(new SuggestionDTO("foo", 1)), is("{\"text\":\"foo\",\"hits\":1}"));
+    }
+}
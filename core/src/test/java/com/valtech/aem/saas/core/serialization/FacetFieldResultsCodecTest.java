@@ -0,0 +1,34 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class FacetFieldResultsCodecTest {
+
+    FacetFieldResultsCodec testee = new FacetFieldResultsCodec();
+
+    @Test
+    void testRoundTrip() throws IOException {
+        FacetFieldResultsDTO facetFieldResults =
+                FacetFieldResultsDTO.builder()
+                                    .fieldName("meta_keywords")
+                                    .items(Arrays.asList(FacetFieldResultDTO.builder().text("ski").count(3).build(),
+                                                         FacetFieldResultDTO.builder().text("ski").count(1).build(),
+                                                         FacetFieldResultDTO.builder().count(0).build()))
+                                    .build();
+        assertThat(testee.fromBytes(testee.toBytes(facetFieldResults)), is(facetFieldResults));
+    }
+
+    @Test
+    void testRoundTrip_noItems() throws IOException {
+        FacetFieldResultsDTO facetFieldResults = FacetFieldResultsDTO.builder().fieldName("domain").build();
+        assertThat(testee.fromBytes(testee.toBytes(facetFieldResults)), is(facetFieldResults));
+    }
+}
@@ -0,0 +1,184 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FacetFieldResultsDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.FulltextSearchResultsDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.ResultDTO;
+import com.valtech.aem.saas.api.fulltextsearch.dto.SuggestionDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class FulltextSearchResultsCodecTest {
+
+    private static final int BENCHMARK_ITERATIONS = 2000;
+
+    FulltextSearchResultsCodec testee = new FulltextSearchResultsCodec();
+
+    @Test
+    void testRoundTrip() throws IOException {
+        FulltextSearchResultsDTO results =
+                FulltextSearchResultsDTO.builder()
+                                        .totalResultsFound(1200)
+                                        .currentResultPage(3)
+                                        .result(ResultDTO.builder()
+                                                         .url("https://wknd.site/us/en/adventures.html")
+                                                         .title("Adventures – <em>WKND</em>")
+                                                         .description("Ski, surf and climb")
+                                                         .repositoryPath("/content/wknd/us/en/adventures")
+                                                         .bestBet(true)
+                                                         .build())
+                                        .result(ResultDTO.builder().url("https://wknd.site/").build())
+                                        .suggestion(new SuggestionDTO("wknd", 42))
+                                        .facetFieldsResult(FacetFieldResultsDTO.builder()
+                                                                               .fieldName("domain")
+                                                                               .items(Arrays.asList(item("a", 1),
+                                                                                                    item("b", 0)))
+                                                                               .build())
+                                        .facetFieldsResult(FacetFieldResultsDTO.builder().fieldName("empty").build())
+                                        .stale(true)
+                                        .build();
+        assertThat(testee.fromBytes(testee.toBytes(results)), is(results));
+    }
+
+    @Test
+    void testRoundTrip_empty() throws IOException {
+        FulltextSearchResultsDTO results = FulltextSearchResultsDTO.builder().build();
+        assertThat(testee.fromBytes(testee.toBytes(results)), is(results));
+    }
+
+    @Test
+    void testDecode_unsupportedVersion() throws IOException {
+        byte[] bytes = testee.toBytes(FulltextSearchResultsDTO.builder().build());
+        bytes[0] = (byte) (FulltextSearchResultsCodec.FORMAT_VERSION + 1);
+        Assertions.assertThrows(IOException.class, () -> testee.fromBytes(bytes));
+    }
+
+    @Test
+    void testDecode_version1() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(1);
+            BinaryFormat.writeSignedVarInt(out, 1);
+            BinaryFormat.writeSignedVarInt(out, 0);
+            BinaryFormat.writeVarInt(out, 1);
+            BinaryFormat.writeString(out, "https://wknd.site/us/en.html");
+            BinaryFormat.writeString(out, "WKND");
+            BinaryFormat.writeString(out, null);
+            BinaryFormat.writeString(out, "/content/wknd/us/en");
+            out.writeBoolean(false);
+            out.writeBoolean(true);
+            BinaryFormat.writeString(out, "wknd");
+            BinaryFormat.writeSignedVarInt(out, 2);
+            BinaryFormat.writeVarInt(out, 1);
+            BinaryFormat.writeString(out, "domain");
+            BinaryFormat.writeVarInt(out, 2);
+            BinaryFormat.writeString(out, "wknd.site");
+            BinaryFormat.writeSignedVarInt(out, 1);
+            out.writeBoolean(false);
+        }
+        FulltextSearchResultsDTO expected =
+                FulltextSearchResultsDTO.builder()
+                                        .totalResultsFound(1)
+                                        .result(ResultDTO.builder()
+                                                         .url("https://wknd.site/us/en.html")
+                                                         .title("WKND")
+                                                         .repositoryPath("/content/wknd/us/en")
+                                                         .build())
+                                        .suggestion(new SuggestionDTO("wknd", 2))
+                                        .facetFieldsResult(FacetFieldResultsDTO.builder()
+                                                                               .fieldName("domain")
+                                                                               .items(Collections.singletonList(
+                                                                                       item("wknd.site", 1)))
+                                                                               .build())
+                                        .build();
+        assertThat(testee.fromBytes(bytes.toByteArray()), is(expected));
+    }
+
+    @Test
+    void testBenchmark_comparedToJson(TestReporter reporter) throws IOException {
+        FulltextSearchResultsDTO results = createResultsPage();
+        byte[] binary = testee.toBytes(results);
+        byte[] json = Serializers.gson().toJson(results).getBytes(StandardCharsets.UTF_8);
+        assertThat(testee.fromBytes(binary), is(results));
+        assertThat(Serializers.gson().fromJson(new String(json, StandardCharsets.UTF_8),
+                                               FulltextSearchResultsDTO.class), is(results));
+        reporter.publishEntry("binary.bytes", String.valueOf(binary.length));
+        reporter.publishEntry("json.bytes", String.valueOf(json.length));
+        // about 57% of the json when measured, thanks to the interned strings, the varints and the absent field names
+        assertThat(binary.length * 3 < json.length * 2, is(true));
+        long binaryNanos = 0;
+        long jsonNanos = 0;
+        for (int round = 0; round < 2; round++) {
+            // the first round warms up
+            binaryNanos = time(() -> testee.fromBytes(testee.toBytes(results)));
+            jsonNanos = time(() -> Serializers.gson().fromJson(Serializers.gson().toJson(results),
+                                                               FulltextSearchResultsDTO.class));
+        }
+        // timings are only reported, wall clock time is too noisy on shared build machines to assert on
+        reporter.publishEntry("binary.roundTrip.nanos", String.valueOf(binaryNanos / BENCHMARK_ITERATIONS));
+        reporter.publishEntry("json.roundTrip.nanos", String.valueOf(jsonNanos / BENCHMARK_ITERATIONS));
+    }
+
+    private long time(RoundTrip roundTrip) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            roundTrip.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private FulltextSearchResultsDTO createResultsPage() {
+        FulltextSearchResultsDTO.FulltextSearchResultsDTOBuilder builder =
+                FulltextSearchResultsDTO.builder()
+                                        .totalResultsFound(1234)
+                                        .currentResultPage(2)
+                                        .suggestion(new SuggestionDTO("adventures", 17));
+        for (int i = 0; i < 10; i++) {
+            builder.result(ResultDTO.builder()
+                                    .url("https://www.wknd.site/us/en/adventures/adventure-" + i + ".html")
+                                    .title("Adventure " + i + " - <em>WKND</em> Adventures and Travel")
+                                    .description("Join us on an unforgettable <em>adventure</em> number " + i
+                                                         + ", with experienced guides, all equipment included.")
+                                    .repositoryPath("/content/wknd/us/en/adventures/adventure-" + i)
+                                    .bestBet(i == 0)
+                                    .build());
+        }
+        builder.facetFieldsResult(facetField("domain", "www.wknd.site", "shop.wknd.site", "blog.wknd.site"));
+        builder.facetFieldsResult(facetField("language", "en", "de", "fr", "it", "es"));
+        builder.facetFieldsResult(facetField("meta_keywords", "adventure", "surfing", "skiing", "climbing", "cycling",
+                                             "camping", "hiking", "travel", "en", "www.wknd.site"));
+        builder.facetFieldsResult(facetField("meta_language", "en", "de", "fr", "it", "es"));
+        return builder.build();
+    }
+
+    private FacetFieldResultsDTO facetField(String fieldName, String... values) {
+        List<FacetFieldResultDTO> items = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            items.add(item(values[i], 100 - i * 7));
+        }
+        return FacetFieldResultsDTO.builder().fieldName(fieldName).items(items).build();
+    }
+
+    private FacetFieldResultDTO item(String text, int count) {
+        return FacetFieldResultDTO.builder().text(text).count(count).build();
+    }
+
+    @FunctionalInterface
+    private interface RoundTrip {
+
+        void run() throws IOException;
+    }
+}
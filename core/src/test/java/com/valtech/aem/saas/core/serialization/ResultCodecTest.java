@@ -0,0 +1,46 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.valtech.aem.saas.api.fulltextsearch.dto.ResultDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class ResultCodecTest {
+
+    ResultCodec testee = new ResultCodec();
+
+    @Test
+    void testRoundTrip() throws IOException {
+        for (String url : Arrays.asList("https://wknd.site/us/en.html",
+                                        "https://wknd.site",
+                                        "http://localhost:4503/?q=a",
+                                        "/content/wknd/us/en.html",
+                                        "")) {
+            ResultDTO result = ResultDTO.builder()
+                                        .url(url)
+                                        .title("WKND")
+                                        .description("Adventures")
+                                        .repositoryPath("/content/wknd/us/en")
+                                        .bestBet(true)
+                                        .build();
+            assertThat(testee.fromBytes(testee.toBytes(result)), is(result));
+        }
+    }
+
+    @Test
+    void testRoundTrip_nullValues() throws IOException {
+        ResultDTO result = ResultDTO.builder().build();
+        assertThat(testee.fromBytes(testee.toBytes(result)), is(result));
+    }
+
+    @Test
+    void testGetOriginLength() {
+        assertThat(ResultCodec.getOriginLength("https://wknd.site/us/en.html"), is(17));
+        assertThat(ResultCodec.getOriginLength("https://wknd.site"), is(17));
+        assertThat(ResultCodec.getOriginLength("/content/wknd"), is(0));
+    }
+}
@@ -0,0 +1,48 @@
+package com.valtech.aem.saas.core.serialization;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+class StringTableTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        StringTable writer = new StringTable();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out, "domain");
+            writer.write(out, null);
+            writer.write(out, "");
+            writer.write(out, "domain");
+            writer.write(out, "wknd.site – äöü");
+            writer.write(out, "");
+        }
+        // tag and 6 bytes, null tag, empty tag, reference tag, tag and 20 bytes, reference tag
+        assertThat(bytes.size(), is(7 + 1 + 1 + 1 + 21 + 1));
+        StringTable reader = new StringTable();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(reader.read(in), is("domain"));
+        assertThat(reader.read(in), is(nullValue()));
+        assertThat(reader.read(in), is(""));
+        assertThat(reader.read(in), is("domain"));
+        assertThat(reader.read(in), is("wknd.site – äöü"));
+        assertThat(reader.read(in), is(""));
+    }
+
+    @Test
+    void testRead_referenceOutOfRange() {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(new byte[]{2}));
+        StringTable reader = new StringTable();
+        Assertions.assertThrows(IOException.class, () -> reader.read(in));
+    }
+}
@@ -0,0 +1,26 @@
+package com.valtech.aem.saas.core.serialization;
+
+import com.valtech.aem.saas.api.fulltextsearch.dto.SuggestionDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class SuggestionCodecTest {
+
+    SuggestionCodec testee = new SuggestionCodec();
+
+    @Test
+    void testRoundTrip() throws IOException {
+        SuggestionDTO suggestion = new SuggestionDTO("adventures", 42);
+        assertThat(testee.fromBytes(testee.toBytes(suggestion)), is(suggestion));
+    }
+
+    @Test
+    void testDecode_unsupportedVersion() {
+        Assertions.assertThrows(IOException.class, () -> testee.fromBytes(new byte[]{0, 1, 0}));
+    }
+}
@@ -0,0 +1,131 @@
+package com.valtech.aem.saas.core.tracing;
+
+import com.google.common.collect.ImmutableMap;
+import com.valtech.aem.saas.api.tracing.dto.SpanDTO;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+@ExtendWith(AemContextExtension.class)
+class DefaultTracerTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+
+    @Test
+    void testStartSpan_disabled(AemContext context) {
+        registerInMemorySpanExporter(context);
+        Tracer testee = context.registerInjectActivateService(new DefaultTracer());
+        assertThat(testee.startSpan("root", null), sameInstance(Span.NOOP));
+    }
+
+    @Test
+    void testStartSpan_noExporter(AemContext context) {
+        Tracer testee = registerTracer(context, 1d, true);
+        assertThat(testee.startSpan("root", null), sameInstance(Span.NOOP));
+    }
+
+    @Test
+    void testStartSpan_notSampled(AemContext context) {
+        registerInMemorySpanExporter(context);
+        Tracer testee = registerTracer(context, 0d, true);
+        assertThat(testee.startSpan("root", null), sameInstance(Span.NOOP));
+    }
+
+    @Test
+    void testStartSpan_exported(AemContext context) {
+        InMemorySpanExporter exporter = registerInMemorySpanExporter(context);
+        Tracer testee = registerTracer(context, 1d, true);
+        String traceId;
+        try (Span root = testee.startSpan("root", null)) {
+            traceId = root.getTraceId();
+            try (Span nested = testee.startSpan("nested", null); Span child = Span.start("child")) {
+                child.setAttribute("key", "value");
+                assertThat(nested.getParentSpanId(), is(root.getSpanId()));
+            }
+        }
+        List<SpanDTO> spans = exporter.getSpans(traceId);
+        assertThat(spans.size(), is(3));
+        assertThat(spans.get(0).getName(), is("child"));
+        assertThat(spans.get(0).getAttributes().get("key"), is("value"));
+        assertThat(spans.get(0).getParentSpanId(), is(spans.get(1).getSpanId()));
+        assertThat(spans.get(2).getName(), is("root"));
+        assertThat(spans.get(2).getParentSpanId(), nullValue());
+        assertThat(exporter.getSpans("unknown").isEmpty(), is(true));
+        exporter.clear();
+        assertThat(exporter.getSpans().isEmpty(), is(true));
+    }
+
+    @Test
+    void testStartSpan_traceparent(AemContext context) {
+        InMemorySpanExporter exporter = registerInMemorySpanExporter(context);
+        Tracer testee = registerTracer(context, 0d, true);
+        try (Span root = testee.startSpan("root", "00-" + TRACE_ID + "-" + SPAN_ID + "-01")) {
+            assertThat(root.getTraceId(), is(TRACE_ID));
+            assertThat(root.getParentSpanId(), is(SPAN_ID));
+        }
+        assertThat(testee.startSpan("root", "00-" + TRACE_ID + "-" + SPAN_ID + "-00"), sameInstance(Span.NOOP));
+        assertThat(exporter.getSpans().size(), is(1));
+    }
+
+    @Test
+    void testStartSpan_traceparentNotParentBased(AemContext context) {
+        registerInMemorySpanExporter(context);
+        Tracer testee = registerTracer(context, 1d, false);
+        try (Span root = testee.startSpan("root", "00-" + TRACE_ID + "-" + SPAN_ID + "-00")) {
+            assertThat(root.isRecording(), is(true));
+            assertThat(root.getTraceId(), is(TRACE_ID));
+        }
+        try (Span root = testee.startSpan("root", "invalid")) {
+            assertThat(root.getTraceId(), not(TRACE_ID));
+            assertThat(root.getParentSpanId(), nullValue());
+        }
+    }
+
+    @Test
+    void testStartSpan_traceparentIgnoredByDefault(AemContext context) {
+        registerInMemorySpanExporter(context);
+        Tracer testee = context.registerInjectActivateService(new DefaultTracer(),
+                                                              ImmutableMap.of("tracer.enabled", true,
+                                                                              "tracer.samplingRatio", 0d));
+        assertThat(testee.startSpan("root", "00-" + TRACE_ID + "-" + SPAN_ID + "-01"), sameInstance(Span.NOOP));
+    }
+
+    @Test
+    void testInMemorySpanExporter_maxSize(AemContext context) {
+        InMemorySpanExporter exporter =
+                context.registerInjectActivateService(new InMemorySpanExporter(),
+                                                      Collections.singletonMap("inMemorySpanExporter.maxSize", 2));
+        Tracer testee = registerTracer(context, 1d, true);
+        for (int i = 0; i < 3; i++) {
+            testee.startSpan("span" + i, null).close();
+        }
+        List<SpanDTO> spans = exporter.getSpans();
+        assertThat(spans.size(), is(2));
+        assertThat(spans.get(0).getName(), is("span1"));
+    }
+
+    private static InMemorySpanExporter registerInMemorySpanExporter(AemContext context) {
+        return context.registerInjectActivateService(new InMemorySpanExporter());
+    }
+
+    private static Tracer registerTracer(AemContext context, double samplingRatio, boolean parentBased) {
+        Map<String, Object> properties = ImmutableMap.<String, Object>builder()
+                                                     .put("tracer.enabled", true)
+                                                     .put("tracer.samplingRatio", samplingRatio)
+                                                     .put("tracer.parentBased", parentBased)
+                                                     .build();
+        return context.registerInjectActivateService(new DefaultTracer(), properties);
+    }
+}
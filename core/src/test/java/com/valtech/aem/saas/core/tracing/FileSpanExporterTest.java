@@ -0,0 +1,59 @@
+package com.valtech.aem.saas.core.tracing;
+
+import com.valtech.aem.saas.api.tracing.dto.SpanDTO;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
+
+@ExtendWith(AemContextExtension.class)
+class FileSpanExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testResolvePath() {
+        assertThat(FileSpanExporter.resolvePath("logs/traces.log", "/opt/aem"),
+                   is(Paths.get("/opt/aem/logs/traces.log")));
+        assertThat(FileSpanExporter.resolvePath("/var/log/traces.log", "/opt/aem"),
+                   is(Paths.get("/var/log/traces.log")));
+        assertThat(FileSpanExporter.resolvePath("logs/traces.log", null), is(Paths.get("logs/traces.log")));
+    }
+
+    @Test
+    void testExport(AemContext context) throws IOException, InterruptedException {
+        Path file = tempDir.resolve("logs").resolve("traces.log");
+        FileSpanExporter testee =
+                context.registerInjectActivateService(new FileSpanExporter(),
+                                                      Collections.singletonMap("fileSpanExporter.path",
+                                                                               file.toString()));
+        testee.export(SpanDTO.builder()
+                             .traceId("4bf92f3577b34da6a3ce929d0e0e4736")
+                             .spanId("00f067aa0ba902b7")
+                             .name("root")
+                             .attribute("key", "value")
+                             .build());
+        List<String> lines = Collections.emptyList();
+        for (int i = 0; i < 50 && lines.isEmpty(); i++) {
+            Thread.sleep(20L);
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        }
+        assertThat(lines.size(), is(1));
+        assertThat(lines.get(0), containsString("\"spanId\":\"00f067aa0ba902b7\""));
+        assertThat(lines.get(0), containsString("\"key\":\"value\""));
+    }
+}
@@ -0,0 +1,122 @@
+package com.valtech.aem.saas.core.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+class SpanTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+
+    @Test
+    void testStart_nested() {
+        List<Span> recorded = new ArrayList<>();
+        try (Span root = Span.start(recorded::add, TRACE_ID, SPAN_ID, "root")) {
+            assertThat(Span.current(), sameInstance(root));
+            try (Span child = Span.start("child")) {
+                child.setAttribute("key", 1).setAttribute("ignored", null);
+                assertThat(Span.current(), sameInstance(child));
+                assertThat(child.getTraceId(), is(TRACE_ID));
+                assertThat(child.getParentSpanId(), is(root.getSpanId()));
+            }
+            assertThat(Span.current(), sameInstance(root));
+        }
+        assertThat(Span.current(), sameInstance(Span.NOOP));
+        assertThat(recorded.size(), is(2));
+        assertThat(recorded.get(0).getName(), is("child"));
+        assertThat(recorded.get(0).getAttributes().size(), is(1));
+        assertThat(recorded.get(0).getAttributes().get("key"), is("1"));
+        assertThat(recorded.get(1).getName(), is("root"));
+        assertThat(recorded.get(1).getParentSpanId(), is(SPAN_ID));
+    }
+
+    @Test
+    void testClose_once() {
+        List<Span> recorded = new ArrayList<>();
+        Span span = Span.start(recorded::add, TRACE_ID, null, "root");
+        span.close();
+        span.close();
+        assertThat(recorded.size(), is(1));
+    }
+
+    @Test
+    void testSetError() {
+        List<Span> recorded = new ArrayList<>();
+        try (Span span = Span.start(recorded::add, TRACE_ID, null, "root")) {
+            span.setError(new IllegalStateException("failed"));
+        }
+        assertThat(recorded.get(0).getError(), is("java.lang.IllegalStateException: failed"));
+    }
+
+    @Test
+    void testNoop() {
+        try (Span span = Span.start("child")) {
+            assertThat(span, sameInstance(Span.NOOP));
+            assertThat(span.isRecording(), is(false));
+            assertThat(span.setAttribute("key", "value").getAttributes().isEmpty(), is(true));
+            assertThat(span.getTraceparent(), nullValue());
+        }
+    }
+
+    @Test
+    void testGetTraceparent() {
+        try (Span span = Span.start(s -> {}, TRACE_ID, null, "root")) {
+            String traceparent = span.getTraceparent();
+            assertThat(traceparent, is("00-" + TRACE_ID + "-" + span.getSpanId() + "-01"));
+            Span.TraceParent parsed = Span.TraceParent.parse(traceparent);
+            assertThat(parsed.getTraceId(), is(TRACE_ID));
+            assertThat(parsed.getParentSpanId(), is(span.getSpanId()));
+            assertThat(parsed.isSampled(), is(true));
+        }
+    }
+
+    @Test
+    void testTraceParentParse() {
+        assertThat(Span.TraceParent.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-00").isSampled(), is(false));
+        assertThat(Span.TraceParent.parse(null), nullValue());
+        assertThat(Span.TraceParent.parse("00-" + TRACE_ID + "-" + SPAN_ID), nullValue());
+        assertThat(Span.TraceParent.parse("ff-" + TRACE_ID + "-" + SPAN_ID + "-01"), nullValue());
+        assertThat(Span.TraceParent.parse("00-00000000000000000000000000000000-" + SPAN_ID + "-01"), nullValue());
+        assertThat(Span.TraceParent.parse("00-" + TRACE_ID + "-0000000000000000-01"), nullValue());
+        assertThat(Span.TraceParent.parse("00-" + TRACE_ID.toUpperCase() + "-" + SPAN_ID + "-01"), nullValue());
+    }
+
+    @Test
+    void testNewIds() {
+        assertThat(Span.newTraceId().length(), is(32));
+        assertThat(Span.newSpanId().length(), is(16));
+    }
+
+    @Test
+    void testWrap() throws Exception {
+        List<Span> recorded = new ArrayList<>();
+        Supplier<String> supplier;
+        try (Span root = Span.start(recorded::add, TRACE_ID, null, "root")) {
+            supplier = Span.wrap(() -> {
+                try (Span child = Span.start("child")) {
+                    return child.getParentSpanId();
+                }
+            });
+            String[] parentSpanId = new String[1];
+            Thread thread = new Thread(() -> parentSpanId[0] = supplier.get());
+            thread.start();
+            thread.join();
+            assertThat(parentSpanId[0], is(root.getSpanId()));
+        }
+        assertThat(recorded.size(), is(2));
+    }
+
+    @Test
+    void testWrap_noTrace() {
+        Supplier<String> supplier = () -> "value";
+        assertThat(Span.wrap(supplier), sameInstance(supplier));
+    }
+}
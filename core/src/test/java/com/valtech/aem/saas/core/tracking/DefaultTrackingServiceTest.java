@@ -7,6 +7,7 @@ import com.valtech.aem.saas.api.tracking.TrackingService;
 import com.valtech.aem.saas.api.tracking.dto.SearchResultItemTrackingDTO;
 import com.valtech.aem.saas.core.http.client.DefaultSearchServiceConnectionConfigurationService;
 import com.valtech.aem.saas.core.http.client.SearchAdminRequestExecutorService;
+import com.valtech.aem.saas.core.http.client.SearchTrafficType;
 import com.valtech.aem.saas.core.http.request.SearchRequest;
 import com.valtech.aem.saas.core.http.response.SearchResponse;
 import io.wcm.testing.mock.aem.junit5.AemContext;
@@ -78,7 +79,7 @@ class DefaultTrackingServiceTest {
     @Test
     void testTrackUrl() {
         searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
-        when(searchAdminRequestExecutorService.execute(Mockito.any(SearchRequest.class))).thenReturn(
+        when(searchAdminRequestExecutorService.execute(Mockito.any(SearchRequest.class), Mockito.eq(SearchTrafficType.TRACKING))).thenReturn(
                 Optional.of(new SearchResponse(new JsonParser().parse(new InputStreamReader(getClass().getResourceAsStream(
                         "/__files/search/tracking/success.json"))).getAsJsonObject(), true)));
         Optional<SearchResultItemTrackingDTO> result = service.trackUrl("https://www.valtech.com/career/jobs/business-development-lead-1569700");
@@ -88,7 +89,7 @@ class DefaultTrackingServiceTest {
     @Test
     void testTrackUrl_unexpectedResponseContent() {
         searchCAConfigurationModel = currentResource.adaptTo(SearchCAConfigurationModel.class);
-        when(searchAdminRequestExecutorService.execute(Mockito.any(SearchRequest.class))).thenReturn(
+        when(searchAdminRequestExecutorService.execute(Mockito.any(SearchRequest.class), Mockito.eq(SearchTrafficType.TRACKING))).thenReturn(
                 Optional.of(new SearchResponse(new JsonParser().parse(""), true)));
         Optional<SearchResultItemTrackingDTO> result = service.trackUrl("https://www.valtech.com/career/jobs/business-development-lead-1569700");
         assertThat(result.isPresent(), is(false));
@@ -7,7 +7,12 @@ import com.valtech.aem.saas.api.tracking.TrackingService;
 import com.valtech.aem.saas.api.tracking.dto.SearchResultItemTrackingDTO;
 import com.valtech.aem.saas.core.fulltextsearch.SearchModelImpl;
 import com.valtech.aem.saas.core.fulltextsearch.SearchTabModelImpl;
+import com.valtech.aem.saas.core.health.CircuitState;
+import com.valtech.aem.saas.core.health.IndexHealth;
+import com.valtech.aem.saas.core.health.IndexHealthService;
 import com.valtech.aem.saas.core.i18n.I18nProvider;
+import com.valtech.aem.saas.core.serialization.DefaultSerializerRegistry;
+import com.valtech.aem.saas.core.serialization.SerializerRegistry;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextBuilder;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
@@ -53,10 +58,14 @@ class SearchResultItemTrackingServletTest {
     @Mock
     I18n i18n;
 
+    @Mock
+    IndexHealthService indexHealthService;
+
     SearchResultItemTrackingServlet testee;
 
     @BeforeEach
     void setUp() {
+        context.registerService(SerializerRegistry.class, new DefaultSerializerRegistry());
         context.registerService(TrackingService.class, trackingService);
         context.registerService(I18nProvider.class, i18nProvider);
         context.registerService(PathTransformer.class, pathTransformer);
@@ -98,4 +107,26 @@ class SearchResultItemTrackingServletTest {
         testee.doPost(request, response);
         assertThat(response.getStatus(), is(HttpServletResponse.SC_CREATED));
     }
+
+    @Test
+    void testTracking_indexUnavailable() throws ServletException, IOException {
+        MockContextAwareConfig.writeConfiguration(context,
+                                                  context.currentResource().getPath(),
+                                                  SearchConfiguration.class,
+                                                  "index",
+                                                  "bar",
+                                                  "enableSearchResultItemTracking",
+                                                  true);
+        when(i18nProvider.getI18n(Locale.ENGLISH)).thenReturn(i18n);
+        when(indexHealthService.getHealth("bar")).thenReturn(
+                Optional.of(new IndexHealth("bar", CircuitState.OPEN, 1L, 3)));
+        context.registerService(IndexHealthService.class, indexHealthService);
+        when(pathTransformer.map(any(SlingHttpServletRequest.class), Mockito.eq(context.currentResource().getPath()))).thenReturn(context.currentResource().getPath());
+        SlingHttpServletRequest request = context.request();
+        SlingHttpServletResponse response = context.response();
+        context.request().addRequestParameter(SearchResultItemTrackingServlet.QUERY_PARAM_TRACKED_URL, "foo");
+        testee.doPost(request, response);
+        assertThat(response.getStatus(), is(HttpServletResponse.SC_SERVICE_UNAVAILABLE));
+        verify(trackingService, never()).trackUrl(anyString());
+    }
 }